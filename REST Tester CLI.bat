@@ -0,0 +1 @@
+mvn -q compile exec:java -Dexec.args="%*"
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Отримання рядка з файлу даних (DataFeeder.next) кількома потоками одночасно: файл CSV на 1 млн рядків
+// відображений у пам'ять, наступний рядок вибирається атомарним лічильником без блокувань
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class DataFeederBenchmark {
+    private static final int ROW_COUNT = 1_000_000; // Кількість рядків у файлі
+
+    @Param({"circular", "random"})
+    private String strategy; // Порядок рядків
+
+    private Path file; // Тимчасовий файл даних
+    private DataFeeder feeder; // Джерело даних, спільне для всіх потоків
+
+    @Setup(Level.Trial)
+    public void createFile() throws IOException {
+        file = Files.createTempFile("rest-tester-data", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("id,user,token\n");
+            for (int i = 0; i < ROW_COUNT; i++) {
+                writer.write(i + ",user" + i + ",\"t," + Integer.toHexString(i * 31) + "\"\n");
+            }
+        }
+        feeder = DataFeeder.of(new DataSource(file.toString(), strategy));
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".rows"));
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Map<String, String> next() {
+        return feeder.next();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Облік результату в історії (пошук запису, як у Main.addToHistory, і додавання результату)
+// та розрахунок метрик для вкладок "Час виконання" і "Розмір відповіді"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryBenchmark {
+    // Кількість результатів, що відображаються на графіку (у Main — кількість запусків тесту)
+    private static final int DISPLAY_RUN_COUNT = 1000;
+    // Кількість результатів у кожному записі, крім обраного (обраний заповнюється повністю)
+    private static final int RESULTS_PER_HISTORY = 100;
+
+    @Param({"10", "100", "1000"})
+    private int historyCount; // Кількість записів в історії (різних запитів)
+
+    private final List<RequestHistory> histories = new ArrayList<>(); // Історія запитів
+    // Індекс записів за запитом, як у Main
+    private final Map<RequestHistory.RequestKey, RequestHistory> historyIndex = new ConcurrentHashMap<>();
+    private RequestHistory selected; // Обраний запис (останній у списку)
+    private TestCase selectedTestCase; // Копія тест-кейсу обраного запису (порівнюється за значенням)
+    private TestResult result; // Результат, що додається
+
+    @Setup(Level.Trial)
+    public void fillHistory() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < historyCount; i++) {
+            RequestHistory history = new RequestHistory(TestCase.of("https://api.example.com/items/" + i, "GET",
+                    "", "page=1", "", "200"), DISPLAY_RUN_COUNT);
+            boolean last = i == historyCount - 1;
+            int count = last ? RequestHistory.DEFAULT_CAPACITY : RESULTS_PER_HISTORY;
+            for (int j = 0; j < count; j++) {
+                history.addResult(randomResult(random));
+            }
+            histories.add(history);
+            historyIndex.put(RequestHistory.RequestKey.of(history.getTestCase()), history);
+        }
+        selected = histories.get(historyCount - 1);
+        selectedTestCase = TestCase.of("https://api.example.com/items/" + (historyCount - 1), "GET",
+                "", "page=1", "", "200");
+        result = randomResult(random);
+    }
+
+    private static TestResult randomResult(ThreadLocalRandom random) {
+        long totalNanos = random.nextLong(1_000_000, 200_000_000);
+        RequestTiming timing = new RequestTiming(0, 0, 0, totalNanos * 3 / 4, totalNanos / 4, totalNanos,
+                random.nextInt(10) != 0);
+        return TestResult.of("", totalNanos / 1_000_000, random.nextLong(100, 100_000), 200, 8, timing, true, "");
+    }
+
+    // Пошук запису за тест-кейсом і додавання результату
+    @Benchmark
+    public RequestHistory addToHistory() {
+        RequestHistory history = historyIndex.get(RequestHistory.RequestKey.of(selectedTestCase));
+        history.addResult(result);
+        return history;
+    }
+
+    @Benchmark
+    public String averageTime() {
+        return HistoryMetrics.describeTime(HistoryMetrics.AVERAGE_TIME, selected, histories);
+    }
+
+    @Benchmark
+    public String timeTrend() {
+        return HistoryMetrics.describeTime(HistoryMetrics.TIME_TREND, selected, histories);
+    }
+
+    @Benchmark
+    public String timePercentiles() {
+        return HistoryMetrics.describeTime(HistoryMetrics.TIME_PERCENTILES, selected, histories);
+    }
+
+    // Перцентилі за всіма запитами: об'єднання гістограм усіх записів
+    @Benchmark
+    public String allTimePercentiles() {
+        return HistoryMetrics.describeTime(HistoryMetrics.ALL_TIME_PERCENTILES, selected, histories);
+    }
+
+    @Benchmark
+    public String averagePhases() {
+        return HistoryMetrics.describeTime(HistoryMetrics.AVERAGE_PHASES, selected, histories);
+    }
+
+    @Benchmark
+    public String minMaxSize() {
+        return HistoryMetrics.describeSize(HistoryMetrics.MIN_MAX_SIZE, selected);
+    }
+
+    @Benchmark
+    public String throughput() {
+        return HistoryMetrics.describeSize(HistoryMetrics.THROUGHPUT, selected);
+    }
+}
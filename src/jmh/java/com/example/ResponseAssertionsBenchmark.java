@@ -0,0 +1,75 @@
+package com.example;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Перевірки JSONPath для відповіді заданого розміру: потоковий розбір порціями по 8 КБ (як від транспорту)
+// порівняно з побудовою дерева з усього тіла
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseAssertionsBenchmark {
+    // Розмір порції тіла
+    private static final int CHUNK_SIZE = 8192;
+
+    @Param({"10", "10000"})
+    private int itemCount; // Кількість елементів масиву items у відповіді
+
+    private byte[] body;
+    private ResponseAssertions assertions;
+    private final TransportResponse response = new TransportResponse(200, 0, RequestTiming.NONE);
+
+    @Setup
+    public void setUp() {
+        StringBuilder json = new StringBuilder("{\"total\":").append(itemCount).append(",\"items\":[");
+        for (int i = 0; i < itemCount; i++) {
+            json.append(i > 0 ? "," : "").append("{\"id\":").append(i)
+                    .append(",\"name\":\"item-").append(i).append("\",\"status\":\"ok\",\"tags\":[\"a\",\"b\"]}");
+        }
+        body = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+        // Остання перевірка вимагає перегляду всього документа
+        assertions = ResponseAssertions.compile(List.of(
+                Assertion.json("$.total", String.valueOf(itemCount)),
+                Assertion.json("$.items[0].status", "ok"),
+                Assertion.json("$.items[*].id", String.valueOf(itemCount - 1))));
+    }
+
+    @Benchmark
+    public List<String> streaming() {
+        ResponseBodyConsumer consumer = new ResponseBodyConsumer(RunOptions.DEFAULT_BODY_PREFIX_LIMIT, false, assertions);
+        for (int offset = 0; offset < body.length; offset += CHUNK_SIZE) {
+            consumer.accept(body, offset, Math.min(CHUNK_SIZE, body.length - offset));
+        }
+        return assertions.evaluate(response, consumer, 0, null);
+    }
+
+    // Те саме через дерево документа (для порівняння)
+    @Benchmark
+    public boolean tree() throws IOException {
+        JsonNode root = TestSuiteLoader.getMapper().readTree(body);
+        boolean found = false;
+        for (JsonNode item : root.path("items")) {
+            found |= item.path("id").asInt() == itemCount - 1;
+        }
+        return root.path("total").asInt() == itemCount && root.path("items").path(0).path("status").asText().equals("ok")
+                && found;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+// Власні витрати клієнта на один запит: TestRunner.runTest проти "голого" HttpClient на тому ж сервері
+// в цьому ж процесі (loopback, без мережі). Різниця між ними — накладні витрати тестувальника,
+// які додаються до кожної виміряної затримки. Частоту виділення пам'яті показує профайлер -prof gc.
+// Без TCP_NODELAY на сервері відповіді затримуються алгоритмом Нейгла (~40 мс) і вимірювання втрачає сенс.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class TestRunnerBenchmark {
+    @Param({"HTTP_CLIENT_1_1", "REST_ASSURED"})
+    private TransportType transport; // Транспорт для runTest
+
+    @Param({"128", "65536"})
+    private int responseSize; // Розмір тіла відповіді сервера (байти)
+
+    private HttpServer server; // Локальний сервер
+    private TestCase testCase; // Тест-кейс для runTest
+    private RunOptions options; // Налаштування запуску
+    private HttpClient client; // Клієнт для базового вимірювання
+    private HttpRequest request; // Запит для базового вимірювання
+
+    @Setup(Level.Trial)
+    public void startServer() throws IOException {
+        byte[] body = new byte[responseSize];
+        Arrays.fill(body, (byte) 'x');
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            try (InputStream input = exchange.getRequestBody(); OutputStream output = exchange.getResponseBody()) {
+                input.readAllBytes();
+                exchange.getResponseHeaders().add("Content-Type", "text/plain");
+                exchange.sendResponseHeaders(200, body.length);
+                output.write(body);
+            }
+        });
+        server.start();
+
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/bench";
+        testCase = TestCase.of(url, "GET", "Accept:text/plain;X-Bench:1", "page=1&size=20", "", "200");
+        options = RunOptions.of("", transport.getTransport());
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create(url + "?page=1&size=20"))
+                .header("Accept", "text/plain").header("X-Bench", "1").GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        server.stop(0);
+        client.close();
+    }
+
+    // Повний шлях тестувальника: підготовлений запит, транспорт, фази, споживач тіла, формування результату
+    @Benchmark
+    public TestResult runTest() {
+        return TestRunner.runTest(testCase, options);
+    }
+
+    // Базове вимірювання: той самий запит без тестувальника
+    @Benchmark
+    public int rawHttpClient() throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+    }
+}
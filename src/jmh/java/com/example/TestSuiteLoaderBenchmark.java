@@ -0,0 +1,70 @@
+package com.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Завантаження папки з тестами (TestGenerator.loadTestCases) на згенерованих наборах із 10, 1000 і 10000 файлів:
+// перше завантаження (розбір усіх файлів) і повторне (файли не змінювалися, тест-кейси беруться з кешу)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TestSuiteLoaderBenchmark {
+    @Param({"10", "1000", "10000"})
+    private int fileCount; // Кількість файлів у папці
+
+    private Path directory; // Тимчасова папка з тестами
+
+    @Setup(Level.Trial)
+    public void createSuite() throws IOException {
+        directory = Files.createTempDirectory("rest-tester-bench");
+        for (int i = 0; i < fileCount; i++) {
+            TestGenerator.saveTestCase(TestCase.of("https://api.example.com/items/" + i, "GET",
+                    "Accept:application/json", "page=" + i, "", "200"), directory.toString());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSuite() throws IOException {
+        TestSuiteLoader.clearCache();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    // Перше завантаження: кеш очищується перед кожним викликом
+    @Benchmark
+    public List<TestCase> cold() {
+        TestSuiteLoader.clearCache();
+        return TestGenerator.loadTestCases(directory.toString());
+    }
+
+    // Повторне завантаження незмінених файлів
+    @Benchmark
+    public List<TestCase> cached() {
+        return TestGenerator.loadTestCases(directory.toString());
+    }
+}
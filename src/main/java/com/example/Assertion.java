@@ -0,0 +1,57 @@
+package com.example;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Клас-модель для декларативної перевірки відповіді у тест-кейсі. Приклади:
+// {"type":"json","path":"$.data.items[0].id","equals":"42"} — значення за JSONPath
+// {"type":"json","path":"$.items[*].status","matches":"ok|done"} — хоча б одне значення відповідає виразу
+// {"type":"json","path":"$.error","exists":false} — шляху немає у відповіді
+// {"type":"body","matches":"\"token\":\"\\w+\""} — регулярний вираз для тіла відповіді
+// {"type":"header","name":"Content-Type","matches":"application/json.*"} — значення заголовка
+// {"type":"size","min":1,"max":1048576} — межі розміру тіла (байти)
+// {"type":"latency","max":500} — найбільший час виконання запиту (мс)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record Assertion(
+        String type, // Вид перевірки: json, body, header, size, latency
+        String path, // JSONPath для json ($, .назва, ['назва'], [індекс], [*], .*)
+        String name, // Назва заголовка для header
+        String equals, // Очікуване значення (точний збіг)
+        String matches, // Регулярний вираз (збіг з усім значенням; для body — пошук у тілі)
+        Boolean exists, // Чи має існувати значення (за замовчуванням — так)
+        Long min, // Нижня межа для size і latency
+        Long max // Верхня межа для size і latency
+) {
+    // Види перевірок
+    public static final String JSON = "json";
+    public static final String BODY = "body";
+    public static final String HEADER = "header";
+    public static final String SIZE = "size";
+    public static final String LATENCY = "latency";
+
+    // Перевірка значення за JSONPath
+    public static Assertion json(String path, String equals) {
+        return new Assertion(JSON, path, null, equals, null, null, null, null);
+    }
+
+    // Короткий опис для повідомлень про результат
+    public String describe() {
+        String condition = equals != null ? " = " + equals
+                : matches != null ? " ~ /" + matches + "/"
+                : Boolean.FALSE.equals(exists) ? " відсутній" : "";
+        return switch (type == null ? "" : type) {
+            case JSON -> "JSON " + path + condition;
+            case BODY -> "тіло" + condition;
+            case HEADER -> "заголовок " + name + (condition.isEmpty() ? " присутній" : condition);
+            case SIZE -> "розмір " + describeBounds(" байт");
+            case LATENCY -> "час " + describeBounds(" мс");
+            default -> String.valueOf(type);
+        };
+    }
+
+    private String describeBounds(String unit) {
+        if (min != null && max != null) {
+            return "від " + min + " до " + max + unit;
+        }
+        return min != null ? "≥ " + min + unit : "≤ " + max + unit;
+    }
+}
@@ -0,0 +1,599 @@
+package com.example;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Консольний запуск тестів без графічного інтерфейсу (для серверів і CI).
+// Клас не звертається до JavaFX, тому інструментарій JavaFX не ініціалізується.
+public class CliRunner {
+    // Коди завершення процесу
+    static final int EXIT_OK = 0; // Усі тести пройшли
+    static final int EXIT_FAILURES = 1; // Є провалені тести
+    static final int EXIT_USAGE = 2; // Неправильні аргументи або немає тестів
+
+    // Налаштування запуску з аргументів командного рядка
+    private String testsDirectory = "tests"; // Папка з тест-кейсами
+    private String suiteFile; // Файл-набір JSON Lines (замість папки)
+    private String packFile; // Файл-набір, у який потрібно запакувати папку з тест-кейсами
+    private int virtualUsers = 1; // Кількість віртуальних користувачів
+    private int iterations = 1; // Кількість запусків кожного тест-кейсу
+    private long durationMillis = 0; // Тривалість (0 — виконати задану кількість запусків)
+    private double rate = 0; // Швидкість надходження запитів (0 — закрита модель)
+    private TransportType transportType = TransportType.HTTP_CLIENT_1_1; // Транспорт
+    private String apiKey = ""; // API Key
+    private int bodyPrefixLimit = RunOptions.DEFAULT_BODY_PREFIX_LIMIT; // Кількість байтів тіла для збереження
+    private boolean hashBody = false; // Чи рахувати хеш тіла
+    private long requestTimeoutMillis = RunOptions.DEFAULT_REQUEST_TIMEOUT_MILLIS; // Тайм-аут очікування відповіді
+    private long progressIntervalMillis = 1000; // Інтервал виведення прогресу
+    private boolean watch = false; // Чи підхоплювати зміни тест-кейсів у папці під час виконання
+    private int logEvery = ResultEventLog.DEFAULT_SAMPLE_EVERY; // Кожен N-й запит у журнал результатів
+    private int logSlowest = ResultEventLog.DEFAULT_SLOWEST; // Кількість найповільніших запитів у журналі
+    private boolean logBodies = false; // Чи записувати тіла відповідей
+    private int stubPort = -1; // Порт сервера-заглушки (-1 — не запускати, 0 — будь-який вільний)
+    private String stubRoutesFile; // Файл маршрутів сервера-заглушки
+    private boolean stubOnly = false; // Лише запустити сервер-заглушку без виконання тестів
+    private boolean calibrate = false; // Виконати тест-кейс проти сервера-заглушки замість папки з тестами
+    private LoadProfile profile; // Профіль навантаження (null — без профілю)
+    private InetSocketAddress workerAddress; // Адреса, на якій працювати виконавцем (null — звичайний запуск)
+    private List<InetSocketAddress> workerAddresses; // Виконавці розподіленого навантаження (null — локальний запуск)
+    private String scenarioFile; // Файл сценарію (null — виконувати тест-кейси)
+
+    // Статистика виконання
+    private final AtomicLong completed = new AtomicLong(); // Виконано запитів
+    private final AtomicLong failed = new AtomicLong(); // Провалено запитів
+    private final Recorder intervalRecorder = new Recorder(LatencyPercentiles.HIGHEST_TRACKABLE_MICROS,
+            LatencyPercentiles.SIGNIFICANT_DIGITS); // Гістограма за інтервал прогресу
+    private final ConcurrentHistogram totalHistogram = new ConcurrentHistogram(LatencyPercentiles.HIGHEST_TRACKABLE_MICROS,
+            LatencyPercentiles.SIGNIFICANT_DIGITS); // Гістограма за весь запуск
+    private final Map<TestCase, RequestHistory> histories = new ConcurrentHashMap<>(); // Історія за тест-кейсами
+    private final ConcurrencyStatistics concurrencyStatistics = new ConcurrencyStatistics(); // Показники за етапами профілю
+    private volatile int activeUsers; // Поточна кількість користувачів профілю навантаження
+    private volatile LoadCoordinator coordinator; // Координатор розподіленого навантаження (null — локальний запуск)
+    private ScenarioStatistics scenarioStatistics; // Показники кроків сценарію (null — без сценарію)
+    // Підсумок за окремими тест-кейсами ведеться лише для перших тест-кейсів, бо гістограма займає сотні КБ
+    private static final int MAX_CASE_SUMMARIES = 100;
+
+    // Точка входу консольного запуску
+    public static void main(String[] args) {
+        System.exit(new CliRunner().run(args));
+    }
+
+    // Виконання запуску; повертає код завершення
+    int run(String[] args) {
+        try {
+            if (!parseArguments(args)) {
+                printUsage();
+                return EXIT_OK;
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Помилка: " + e.getMessage());
+            printUsage();
+            return EXIT_USAGE;
+        }
+
+        if (packFile != null) {
+            return pack();
+        }
+        if (workerAddress != null) {
+            try {
+                LoadWorker.serve(workerAddress);
+                return EXIT_OK;
+            } catch (IOException e) {
+                System.err.println("Помилка при запуску виконавця: " + e.getMessage());
+                return EXIT_USAGE;
+            }
+        }
+        if (stubPort < 0) {
+            return runTests();
+        }
+
+        // Сервер-заглушка працює до завершення запуску
+        try (StubServer stub = StubServer.start(stubPort,
+                stubRoutesFile != null ? StubServer.loadRoutes(Path.of(stubRoutesFile)) : null)) {
+            System.out.printf("Сервер-заглушка: %s, маршрутів: %d%n", stub.getBaseUrl(), stub.getRoutes().size());
+            if (stubOnly) {
+                System.out.println("Сервер працює до завершення процесу (Ctrl+C)");
+                Thread.currentThread().join();
+                return EXIT_OK;
+            }
+            int exitCode = calibrate
+                    ? run(List.of(TestCase.of(stub.getBaseUrl() + "/calibrate", "GET", "", "", "", "200")))
+                    : runTests();
+            System.out.printf("Сервер-заглушка оброблено запитів: %d, надіслано байтів тіла: %d%n",
+                    stub.getRequestCount(), stub.getBytesSent());
+            return exitCode;
+        } catch (IOException e) {
+            System.err.println("Помилка при запуску сервера-заглушки: " + e.getMessage());
+            return EXIT_USAGE;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return EXIT_OK;
+        }
+    }
+
+    // Виконання тест-кейсів з набору або папки
+    private int runTests() {
+        if (scenarioFile != null) {
+            return runScenario();
+        }
+        if (suiteFile != null) {
+            // Тест-кейси набору читаються з диска під час виконання
+            try (SuiteBundle bundle = SuiteBundle.open(Path.of(suiteFile))) {
+                if (bundle.isEmpty()) {
+                    System.err.println("Помилка: набір " + suiteFile + " не містить тест-кейсів");
+                    return EXIT_USAGE;
+                }
+                return run(bundle);
+            } catch (IOException e) {
+                System.err.println("Помилка при відкритті набору " + suiteFile + ": " + e.getMessage());
+                return EXIT_USAGE;
+            }
+        }
+
+        if (watch) {
+            // Зміни файлів у папці застосовуються до наступних запитів
+            try (TestSuiteWatcher watcher = TestSuiteWatcher.start(testsDirectory, null)) {
+                if (watcher.getTestCases().isEmpty()) {
+                    System.err.println("Помилка: у папці " + testsDirectory + " немає тест-кейсів");
+                    return EXIT_USAGE;
+                }
+                return run(watcher::getTestCases);
+            } catch (IOException e) {
+                System.err.println("Помилка при спостереженні за папкою " + testsDirectory + ": " + e.getMessage());
+                return EXIT_USAGE;
+            }
+        }
+
+        List<TestCase> testCases = TestGenerator.loadTestCases(testsDirectory);
+        if (testCases.isEmpty()) {
+            System.err.println("Помилка: у папці " + testsDirectory + " немає тест-кейсів");
+            return EXIT_USAGE;
+        }
+        return run(testCases);
+    }
+
+    // Виконання сценарію віртуальними користувачами і виведення підсумку за кроками
+    private int runScenario() {
+        Scenario scenario;
+        try {
+            scenario = Scenario.load(Path.of(scenarioFile));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Помилка при читанні сценарію " + scenarioFile + ": " + e.getMessage());
+            return EXIT_USAGE;
+        }
+        scenarioStatistics = new ScenarioStatistics(scenario);
+        RunOptions options = RunOptions.forRun(apiKey, transportType.getTransport(), bodyPrefixLimit, hashBody,
+                new ResultEventLog(logEvery, true, logSlowest, logBodies), requestTimeoutMillis);
+        System.out.printf("Сценарій '%s': кроків: %d, віртуальних користувачів: %d, рушій: %s%n",
+                scenario.displayName(), scenario.steps().size(), virtualUsers, transportType);
+
+        long startTime = System.nanoTime();
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cli-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        progress.scheduleAtFixedRate(() -> printProgress(startTime), progressIntervalMillis, progressIntervalMillis,
+                TimeUnit.MILLISECONDS);
+
+        ScenarioEngine.ScenarioListener listener = new ScenarioEngine.ScenarioListener() {
+            @Override
+            public void onStep(int step, TestCase testCase, TestResult result) {
+                scenarioStatistics.addStep(step, result);
+                recordResult(result);
+            }
+
+            @Override
+            public void onScenario(boolean passed, long durationMicros) {
+                scenarioStatistics.addScenario(passed, durationMicros);
+            }
+        };
+        try {
+            if (durationMillis > 0) {
+                System.out.printf("Закрита модель протягом %d с%n", durationMillis / 1000);
+                ScenarioEngine.runClosedForDuration(scenario, options, virtualUsers, durationMillis, listener,
+                        new AtomicBoolean());
+            } else {
+                System.out.printf("Закрита модель: %d виконань сценарію%n", iterations);
+                ScenarioEngine.runClosed(scenario, options, virtualUsers, iterations, listener, new AtomicBoolean());
+            }
+        } finally {
+            progress.shutdownNow();
+        }
+
+        printSummary(startTime);
+        return failed.get() > 0 ? EXIT_FAILURES : EXIT_OK;
+    }
+
+    // Пакування папки з тест-кейсами в один файл-набір
+    private int pack() {
+        try {
+            int count = SuiteBundle.pack(testsDirectory, Path.of(packFile));
+            System.out.printf("Запаковано %d тест-кейсів з папки %s у набір %s%n", count, testsDirectory, packFile);
+            return count > 0 ? EXIT_OK : EXIT_USAGE;
+        } catch (IOException e) {
+            System.err.println("Помилка при створенні набору " + packFile + ": " + e.getMessage());
+            return EXIT_USAGE;
+        }
+    }
+
+    // Виконання тест-кейсів і виведення підсумку
+    private int run(List<TestCase> testCases) {
+        return run(() -> testCases);
+    }
+
+    // Те саме для набору, що може змінюватися під час виконання
+    private int run(Supplier<List<TestCase>> testCases) {
+
+        RunOptions options = RunOptions.forRun(apiKey, transportType.getTransport(), bodyPrefixLimit, hashBody,
+                new ResultEventLog(logEvery, true, logSlowest, logBodies), requestTimeoutMillis);
+        System.out.printf("Тест-кейсів: %d, віртуальних користувачів: %d, рушій: %s%n",
+                testCases.get().size(), virtualUsers, transportType);
+
+        // Прогрес виводиться окремим потоком через рівні інтервали
+        long startTime = System.nanoTime();
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cli-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        progress.scheduleAtFixedRate(() -> printProgress(startTime), progressIntervalMillis, progressIntervalMillis,
+                TimeUnit.MILLISECONDS);
+
+        try {
+            if (workerAddresses != null) {
+                if (!runDistributed(testCases.get())) {
+                    return EXIT_USAGE;
+                }
+            } else {
+                runLoad(testCases, options);
+            }
+        } finally {
+            progress.shutdownNow();
+        }
+
+        printSummary(startTime);
+        return failed.get() > 0 || (coordinator != null && coordinator.hasErrors()) ? EXIT_FAILURES : EXIT_OK;
+    }
+
+    // Розподілене навантаження: частки завдання виконуються процесами-виконавцями, а координатор
+    // об'єднує їхні гістограми і лічильники; повертає false, якщо не вдалося підключитися до виконавців
+    private boolean runDistributed(List<TestCase> testCases) {
+        // Для відкритої моделі без тривалості кількість запитів задається через тривалість, як і в локальному запуску
+        long duration = rate > 0 && durationMillis <= 0
+                ? (long) Math.ceil(testCases.size() * iterations / rate * 1000) : durationMillis;
+        DistributedJob job = new DistributedJob(testCases, transportType, apiKey, bodyPrefixLimit, hashBody,
+                virtualUsers, iterations, duration, rate, profile != null ? profile.getStages() : List.of(),
+                progressIntervalMillis, requestTimeoutMillis);
+        System.out.printf("Розподілене навантаження: %d виконавців, %s%n", workerAddresses.size(), job.describeLoad());
+        try (LoadCoordinator started = LoadCoordinator.start(workerAddresses, job)) {
+            coordinator = started;
+            started.awaitFinished();
+        } catch (IOException e) {
+            System.err.println("Помилка: " + e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            // Закриття з'єднань зупиняє навантаження на виконавцях
+            Thread.currentThread().interrupt();
+        }
+        completed.set(coordinator.getCompleted());
+        failed.set(coordinator.getFailed());
+        totalHistogram.add(coordinator.getTotalHistogram());
+        return true;
+    }
+
+    // Запуск навантаження відповідно до вибраної моделі
+    private void runLoad(Supplier<List<TestCase>> testCases, RunOptions options) {
+        LoadEngine.ResultListener listener = this::onResult;
+        if (profile != null) {
+            System.out.printf("Профіль навантаження: %s%n", profile);
+            LoadEngine.runStaged(testCases, options, profile, listener, new AtomicBoolean(), users -> activeUsers = users);
+        } else if (rate > 0) {
+            long duration = durationMillis > 0 ? durationMillis
+                    : (long) Math.ceil(testCases.get().size() * iterations / rate * 1000);
+            System.out.printf(Locale.ROOT, "Відкрита модель: %.3f запитів/с протягом %d с%n", rate, duration / 1000);
+            LoadEngine.OpenRun run = LoadEngine.runOpen(testCases, options, rate, duration, listener, null);
+            while (!run.isDone()) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    run.cancel();
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            System.out.printf(Locale.ROOT, "Відставання планувальника: середнє %.1f мс, максимальне %d мс%n",
+                    run.getAverageLagMillis(), run.getMaxLagMillis());
+        } else if (durationMillis > 0) {
+            System.out.printf("Закрита модель протягом %d с%n", durationMillis / 1000);
+            LoadEngine.runClosedForDuration(testCases, options, virtualUsers, durationMillis, listener);
+        } else {
+            System.out.printf("Закрита модель: %d запусків кожного тест-кейсу%n", iterations);
+            // Кількість запусків рахується для набору на момент старту
+            LoadEngine.runClosed(testCases.get(), options, virtualUsers, iterations, listener);
+        }
+    }
+
+    // Обробка результату (викликається з потоків віртуальних користувачів)
+    private void onResult(TestCase testCase, TestResult result) {
+        recordResult(result);
+        concurrencyStatistics.add(result);
+        RequestHistory history = histories.get(testCase);
+        if (history == null && histories.size() < MAX_CASE_SUMMARIES) {
+            history = histories.computeIfAbsent(testCase, tc -> new RequestHistory(tc, iterations));
+        }
+        if (history != null) {
+            history.addResult(result);
+        }
+    }
+
+    // Облік результату в лічильниках і гістограмах запуску
+    private void recordResult(TestResult result) {
+        completed.incrementAndGet();
+        if (!result.passed()) {
+            failed.incrementAndGet();
+        }
+        long micros = Math.max(1, Math.min(result.latencyMicros(), LatencyPercentiles.HIGHEST_TRACKABLE_MICROS));
+        intervalRecorder.recordValue(micros);
+        totalHistogram.recordValue(micros);
+    }
+
+    // Виведення прогресу за останній інтервал
+    private void printProgress(long startTime) {
+        // У розподіленому запуску показники надходять від виконавців
+        LoadCoordinator remote = coordinator;
+        Histogram interval = remote != null ? remote.takeInterval() : intervalRecorder.getIntervalHistogram();
+        long done = remote != null ? remote.getCompleted() : completed.get();
+        long errors = remote != null ? remote.getFailed() : failed.get();
+        int users = remote != null ? remote.getActiveUsers() : activeUsers;
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        System.out.printf(Locale.ROOT, "[%6.1f с] виконано: %d, помилок: %d, RPS: %.1f, p50: %.1f мс, p95: %.1f мс, p99: %.1f мс%s%n",
+                seconds, done, errors, interval.getTotalCount() * 1000.0 / progressIntervalMillis,
+                LatencyPercentiles.toMillis(interval.getValueAtPercentile(50)),
+                LatencyPercentiles.toMillis(interval.getValueAtPercentile(95)),
+                LatencyPercentiles.toMillis(interval.getValueAtPercentile(99)),
+                profile != null ? ", користувачів: " + users : "");
+    }
+
+    // Підсумок запуску за кожним тест-кейсом і загалом
+    private void printSummary(long startTime) {
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        System.out.println();
+        System.out.println("Підсумок:");
+        for (RequestHistory history : histories.values()) {
+            System.out.println("  " + history + ": " + LatencyPercentiles.format(history.getLatencyHistogram()));
+        }
+        if (histories.size() >= MAX_CASE_SUMMARIES) {
+            System.out.println("  (показано перші " + MAX_CASE_SUMMARIES + " тест-кейсів)");
+        }
+        if (scenarioStatistics != null) {
+            for (int step = 0; step < scenarioStatistics.getStepCount(); step++) {
+                System.out.println("  " + scenarioStatistics.describeStep(step));
+            }
+        }
+        if (coordinator != null) {
+            for (LoadCoordinator.WorkerStatus worker : coordinator.getWorkers()) {
+                System.out.printf("  Виконавець %s (%s): виконано %d, помилок %d, %s%n", worker.address(), worker.load(),
+                        worker.completed(), worker.failed(), worker.error() != null ? "ПОМИЛКА: " + worker.error()
+                                : LatencyPercentiles.format(worker.histogram()));
+            }
+        }
+        Histogram total = totalHistogram.copy();
+        System.out.printf(Locale.ROOT, "Усього запитів: %d, провалено: %d, середній RPS: %.1f, тривалість: %.1f с%n",
+                completed.get(), failed.get(), seconds > 0 ? completed.get() / seconds : 0, seconds);
+        System.out.println("Час виконання: " + LatencyPercentiles.format(total));
+        if (scenarioStatistics != null) {
+            System.out.println(scenarioStatistics.describeScenario());
+        }
+        if (profile != null && coordinator == null) {
+            System.out.println(concurrencyStatistics.describe());
+        }
+        if (coordinator != null && coordinator.hasErrors()) {
+            System.out.println("РЕЗУЛЬТАТ: не всі виконавці завершили завдання");
+        } else {
+            System.out.println(failed.get() > 0 ? "РЕЗУЛЬТАТ: є провалені тести" : "РЕЗУЛЬТАТ: усі тести пройшли");
+        }
+    }
+
+    // Розбір аргументів; повертає false, якщо потрібно лише вивести довідку
+    private boolean parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "-h", "--help" -> {
+                    return false;
+                }
+                case "--hash" -> hashBody = true;
+                case "--watch" -> watch = true;
+                case "--log-bodies" -> logBodies = true;
+                case "--stub-only" -> stubOnly = true;
+                case "--calibrate" -> calibrate = true;
+                default -> {
+                    if (i + 1 >= args.length) {
+                        throw new IllegalArgumentException("для параметра " + arg + " не вказано значення");
+                    }
+                    String value = args[++i];
+                    switch (arg) {
+                        case "--tests" -> testsDirectory = value;
+                        case "--suite" -> suiteFile = value;
+                        case "--pack" -> packFile = value;
+                        case "--users" -> virtualUsers = parsePositiveInt(arg, value);
+                        case "--iterations" -> iterations = parsePositiveInt(arg, value);
+                        case "--duration" -> durationMillis = parseDurationMillis(value);
+                        case "--rate" -> rate = parsePositiveDouble(arg, value);
+                        case "--transport" -> transportType = parseTransport(value);
+                        case "--api-key" -> apiKey = value;
+                        case "--body-prefix" -> bodyPrefixLimit = parseNonNegativeInt(arg, value);
+                        case "--timeout" -> requestTimeoutMillis = parseDurationMillis(value);
+                        case "--progress" -> progressIntervalMillis = parseDurationMillis(value);
+                        case "--log-every" -> logEvery = parseNonNegativeInt(arg, value);
+                        case "--log-slowest" -> logSlowest = parseNonNegativeInt(arg, value);
+                        case "--stub" -> stubPort = parsePort(value);
+                        case "--stub-routes" -> stubRoutesFile = value;
+                        case "--profile" -> profile = LoadProfile.parse(value);
+                        case "--worker" -> workerAddress = LoadCoordinator.parseAddress(value, "127.0.0.1");
+                        case "--coordinator" -> workerAddresses = LoadCoordinator.parseAddresses(value);
+                        case "--scenario" -> scenarioFile = value;
+                        default -> throw new IllegalArgumentException("невідомий параметр: " + arg);
+                    }
+                }
+            }
+        }
+        if (progressIntervalMillis <= 0) {
+            throw new IllegalArgumentException("інтервал прогресу має бути більшим за 0");
+        }
+        if (requestTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("тайм-аут відповіді має бути більшим за 0");
+        }
+        if (watch && suiteFile != null) {
+            throw new IllegalArgumentException("--watch працює лише з папкою --tests");
+        }
+        if (profile != null && (rate > 0 || durationMillis > 0)) {
+            throw new IllegalArgumentException("--profile задає тривалість і кількість користувачів сам і не поєднується з --rate та --duration");
+        }
+        if (workerAddresses != null && watch) {
+            throw new IllegalArgumentException("--watch не підтримується для розподіленого навантаження");
+        }
+        if (workerAddress != null && workerAddresses != null) {
+            throw new IllegalArgumentException("--worker і --coordinator не поєднуються");
+        }
+        if (scenarioFile != null && (suiteFile != null || watch || rate > 0 || profile != null
+                || workerAddresses != null || workerAddress != null)) {
+            throw new IllegalArgumentException("--scenario підтримує лише закриту модель (--users, --iterations, --duration)"
+                    + " і не поєднується з --suite, --watch, --rate, --profile, --worker та --coordinator");
+        }
+        if ((stubOnly || calibrate || stubRoutesFile != null) && stubPort < 0) {
+            // Без явного порту сервер-заглушка запускається на порту за замовчуванням
+            stubPort = calibrate && !stubOnly ? 0 : StubServer.DEFAULT_PORT;
+        }
+        return true;
+    }
+
+    // Довідка з використання
+    private static void printUsage() {
+        System.out.println("""
+                Використання: CliRunner [параметри]
+                  --tests <папка>        папка з тест-кейсами (за замовчуванням tests)
+                  --suite <файл.jsonl>   набір тест-кейсів в одному файлі (читається з диска під час виконання)
+                  --pack <файл.jsonl>    запакувати папку --tests у набір і завершити роботу
+                  --users <N>            кількість віртуальних користувачів (1)
+                  --iterations <N>       кількість запусків кожного тест-кейсу (1)
+                  --duration <час>       тривалість навантаження, наприклад 30s, 5m, 1h
+                  --rate <запитів/с>     відкрита модель з постійною швидкістю (дробові значення дозволені)
+                  --transport <рушій>    rest-assured, http1 або http2 (http1)
+                  --api-key <ключ>       API Key (параметр appid)
+                  --body-prefix <байти>  скільки байтів тіла відповіді зберігати (4096)
+                  --hash                 рахувати хеш (CRC32C) тіла відповіді
+                  --timeout <час>        скільки чекати на відповідь сервера, після чого запит провалюється (30s)
+                  --progress <час>       інтервал виведення прогресу (1s)
+                  --watch                підхоплювати створені, змінені та видалені файли --tests
+                                         під час виконання (для --duration і --rate)
+                  --profile <етапи>      закрита модель за профілем: етапи тривалість:користувачі через кому,
+                                         наприклад "2m:200,10m:200,1m:0" (наростання, утримання, спадання)
+                  --log-every <N>        записувати в results.log кожен N-й запит, 0 — лише провалені (100)
+                  --log-slowest <K>      записати в results.log K найповільніших запитів після завершення (10)
+                  --log-bodies           записувати тіла відповідей вибраних запитів у results-bodies.log
+                  --stub <порт>          запустити локальний сервер-заглушку на 127.0.0.1 на час виконання
+                                         (0 — будь-який вільний порт)
+                  --stub-routes <файл>   маршрути сервера-заглушки (JSON: path, method, status, minDelayMs,
+                                         maxDelayMs, size, chunked, chunkSize, chunkDelayMs, contentType);
+                                         у запиті їх можна перевизначити: ?status=500&delay=10-50&size=1024
+                  --stub-only            лише запустити сервер-заглушку (%d) і працювати до Ctrl+C
+                  --calibrate            виконувати запит до сервера-заглушки замість тест-кейсів: найбільший
+                                         досяжний RPS і точність вимірювання на loopback
+                  --worker [хост:]порт   працювати виконавцем розподіленого навантаження і чекати координатора
+                                         (без хоста — лише 127.0.0.1; 0.0.0.0 — усі інтерфейси) до Ctrl+C
+                  --coordinator <адреси> розподілити навантаження між виконавцями host:port через кому:
+                                         користувачі, запуски, швидкість і профіль діляться порівну, а перцентилі
+                                         рахуються за об'єднаними гістограмами виконавців
+                  --scenario <файл.json> виконувати сценарій: кроки по черзі, значення з відповідей (extract)
+                                         підставляються в наступні кроки як ${назва}; вбудовані ${vu} і
+                                         ${iteration}; --iterations задає кількість виконань сценарію
+                Код завершення: 0 — усі тести пройшли, 1 — є провалені тести, 2 — помилка параметрів.""".formatted(
+                StubServer.DEFAULT_PORT));
+    }
+
+    // Розбір тривалості: число секунд або число з суфіксом ms, s, m, h
+    static long parseDurationMillis(String value) {
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        try {
+            if (text.endsWith("ms")) {
+                return Long.parseLong(text.substring(0, text.length() - 2));
+            } else if (text.endsWith("s")) {
+                return Math.round(Double.parseDouble(text.substring(0, text.length() - 1)) * 1000);
+            } else if (text.endsWith("m")) {
+                return Math.round(Double.parseDouble(text.substring(0, text.length() - 1)) * 60_000);
+            } else if (text.endsWith("h")) {
+                return Math.round(Double.parseDouble(text.substring(0, text.length() - 1)) * 3_600_000);
+            }
+            return Math.round(Double.parseDouble(text) * 1000);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("некоректна тривалість: " + value);
+        }
+    }
+
+    // Розбір назви транспорту
+    private static TransportType parseTransport(String value) {
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "rest-assured", "restassured" -> TransportType.REST_ASSURED;
+            case "http1", "http1.1" -> TransportType.HTTP_CLIENT_1_1;
+            case "http2" -> TransportType.HTTP_CLIENT_2;
+            default -> throw new IllegalArgumentException("невідомий рушій: " + value);
+        };
+    }
+
+    private static int parsePort(String value) {
+        int port = parseNonNegativeInt("--stub", value);
+        if (port > 65535) {
+            throw new IllegalArgumentException("некоректний порт: " + value);
+        }
+        return port;
+    }
+
+    private static int parsePositiveInt(String name, String value) {
+        int number = parseNonNegativeInt(name, value);
+        if (number == 0) {
+            throw new IllegalArgumentException("значення " + name + " має бути більшим за 0");
+        }
+        return number;
+    }
+
+    private static int parseNonNegativeInt(String name, String value) {
+        try {
+            int number = Integer.parseInt(value.trim());
+            if (number < 0) {
+                throw new IllegalArgumentException("значення " + name + " не може бути від'ємним");
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("некоректне число для " + name + ": " + value);
+        }
+    }
+
+    private static double parsePositiveDouble(String name, String value) {
+        try {
+            double number = Double.parseDouble(value.trim());
+            if (number <= 0) {
+                throw new IllegalArgumentException("значення " + name + " має бути більшим за 0");
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("некоректне число для " + name + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Статистика запусків за профілем навантаження: для кожної кількості віртуальних користувачів — кількість запитів,
+// помилок і середній час, для кожного етапу — гістограма часу. Дозволяє побачити залежність часу відповіді
+// та частки помилок від навантаження і знайти точку насичення сервісу. Пам'ять не залежить від кількості запитів.
+public class ConcurrencyStatistics {
+    // Найменша кількість запитів на рівні, щоб враховувати його під час пошуку точки насичення
+    private static final int MIN_LEVEL_SAMPLES = 5;
+    // Кількість перших рівнів, за якими визначається базовий час відповіді
+    private static final int BASELINE_LEVELS = 5;
+    // Насичення: середній час зріс у стільки разів від базового або частка помилок перевищила поріг
+    private static final double SATURATION_FACTOR = 2.0;
+    private static final double SATURATION_ERROR_PERCENT = 5.0;
+
+    // Показники для однієї кількості користувачів
+    public record Level(int users, long count, long failed, double averageMillis) {
+        // Частка провалених запитів (%)
+        public double errorPercent() {
+            return count == 0 ? 0 : failed * 100.0 / count;
+        }
+
+        // Очікувана пропускна здатність за законом Літтла: користувачі / середній час (запитів/с)
+        public double requestsPerSecond() {
+            return averageMillis > 0 ? users * 1000.0 / averageMillis : 0;
+        }
+    }
+
+    // Підсумок етапу профілю
+    public record StageSummary(int stage, int minUsers, int maxUsers, long count, long failed, Histogram histogram) {
+        public double errorPercent() {
+            return count == 0 ? 0 : failed * 100.0 / count;
+        }
+    }
+
+    private long[] counts = new long[0]; // Кількість запитів за кількістю користувачів (індекс — користувачі)
+    private long[] failures = new long[0]; // Кількість провалених запитів
+    private long[] totalMicros = new long[0]; // Сумарний час виконання (мкс)
+    private final Map<Integer, StageAccumulator> stages = new TreeMap<>(); // Накопичення за етапами
+
+    private static class StageAccumulator {
+        private int minUsers = Integer.MAX_VALUE;
+        private int maxUsers;
+        private long count;
+        private long failed;
+        private final Histogram histogram = LatencyPercentiles.newHistogram();
+    }
+
+    // Облік результату; результати запусків без профілю ігноруються
+    public synchronized void add(TestResult result) {
+        int users = result.activeUsers();
+        if (users <= 0) {
+            return;
+        }
+        if (users >= counts.length) {
+            int length = Math.max(users + 1, counts.length * 2);
+            counts = Arrays.copyOf(counts, length);
+            failures = Arrays.copyOf(failures, length);
+            totalMicros = Arrays.copyOf(totalMicros, length);
+        }
+        counts[users]++;
+        totalMicros[users] += result.latencyMicros();
+        if (!result.passed()) {
+            failures[users]++;
+        }
+
+        StageAccumulator stage = stages.computeIfAbsent(result.loadStage(), s -> new StageAccumulator());
+        stage.minUsers = Math.min(stage.minUsers, users);
+        stage.maxUsers = Math.max(stage.maxUsers, users);
+        stage.count++;
+        if (!result.passed()) {
+            stage.failed++;
+        }
+        LatencyPercentiles.recordMicros(stage.histogram, result.latencyMicros());
+    }
+
+    public synchronized boolean isEmpty() {
+        return stages.isEmpty();
+    }
+
+    // Показники за кількістю користувачів (за зростанням кількості)
+    public synchronized List<Level> getLevels() {
+        List<Level> levels = new ArrayList<>();
+        for (int users = 1; users < counts.length; users++) {
+            if (counts[users] > 0) {
+                levels.add(new Level(users, counts[users], failures[users], totalMicros[users] / 1000.0 / counts[users]));
+            }
+        }
+        return levels;
+    }
+
+    // Підсумки етапів (гістограми копіюються)
+    public synchronized List<StageSummary> getStages() {
+        List<StageSummary> summaries = new ArrayList<>();
+        for (Map.Entry<Integer, StageAccumulator> entry : stages.entrySet()) {
+            StageAccumulator stage = entry.getValue();
+            summaries.add(new StageSummary(entry.getKey(), stage.minUsers, stage.maxUsers, stage.count, stage.failed,
+                    stage.histogram.copy()));
+        }
+        return summaries;
+    }
+
+    // Точка насичення: найменша кількість користувачів, за якої середній час перевищив базовий у SATURATION_FACTOR
+    // разів або частка помилок перевищила поріг; null — насичення не виявлено
+    public static Level findSaturation(List<Level> levels) {
+        List<Level> reliable = levels.stream().filter(level -> level.count() >= MIN_LEVEL_SAMPLES).toList();
+        if (reliable.size() <= BASELINE_LEVELS) {
+            return null;
+        }
+        // Базовий час — медіана перших рівнів (за малого навантаження)
+        double[] first = reliable.stream().limit(BASELINE_LEVELS).mapToDouble(Level::averageMillis).sorted().toArray();
+        double baseline = first[first.length / 2];
+        for (Level level : reliable.subList(BASELINE_LEVELS, reliable.size())) {
+            if (level.averageMillis() > baseline * SATURATION_FACTOR
+                    || level.errorPercent() > SATURATION_ERROR_PERCENT) {
+                return level;
+            }
+        }
+        return null;
+    }
+
+    // Текстовий опис: підсумки етапів і точка насичення
+    public String describe() {
+        List<StageSummary> summaries = getStages();
+        if (summaries.isEmpty()) {
+            return "Немає запусків за профілем навантаження";
+        }
+        StringBuilder text = new StringBuilder();
+        for (StageSummary stage : summaries) {
+            text.append(String.format("Етап %d (%d–%d корист.): %d запитів, помилок %.1f%%, p50: %.1f мс, p95: %.1f мс%n",
+                    stage.stage(), stage.minUsers(), stage.maxUsers(), stage.count(), stage.errorPercent(),
+                    LatencyPercentiles.toMillis(stage.histogram().getValueAtPercentile(50)),
+                    LatencyPercentiles.toMillis(stage.histogram().getValueAtPercentile(95))));
+        }
+        Level saturation = findSaturation(getLevels());
+        if (saturation == null) {
+            text.append("Точку насичення не виявлено");
+        } else {
+            text.append(String.format("Точка насичення: ~%d корист. (середній час %.1f мс, помилок %.1f%%, ~%.0f запитів/с)",
+                    saturation.users(), saturation.averageMillis(), saturation.errorPercent(),
+                    saturation.requestsPerSecond()));
+        }
+        return text.toString();
+    }
+}
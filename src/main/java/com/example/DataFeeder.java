@@ -0,0 +1,296 @@
+package com.example;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Джерело даних для запитів: файл CSV або JSON Lines, відображений у пам'ять. Рядок читається з файлу
+// під час кожного звернення, тому файли на кілька ГБ не займають місця в купі.
+//
+// Файл індексу (<файл>.rows): розмір і час зміни файлу даних (long, long), далі зміщення початку кожного
+// непорожнього рядка (long). Індекс також відображається в пам'ять і будується заново, якщо файл даних змінився.
+// Наступний рядок вибирається атомарним лічильником, тому один об'єкт без блокувань спільний для всіх потоків.
+// Джерела живуть один запуск (DataFeeder.Registry у RunOptions): кожен запуск відкриває файл заново,
+// тому бачить його актуальний вміст, а sequential і circular починають з першого рядка.
+public class DataFeeder {
+    // Логгер для інформації та помилок
+    private static final Logger logger = LoggerFactory.getLogger(DataFeeder.class);
+
+    private static final String INDEX_EXTENSION = ".rows"; // Розширення файлу індексу
+    private static final int INDEX_HEADER_SIZE = 16; // Розмір і час зміни файлу даних
+    private static final long CHUNK_SIZE = 1L << 30; // Частина файлу, що відображається одним буфером
+    private static final int MAX_LINE_LENGTH = 1 << 20; // Найбільша довжина рядка (перекриття частин)
+
+    private final Path path; // Файл даних
+    private final String strategy; // Порядок рядків
+    private final boolean csv; // CSV (інакше JSON Lines)
+    private final MappedByteBuffer[] chunks; // Частини файлу даних; кожна перекриває наступну на MAX_LINE_LENGTH
+    private final MappedByteBuffer[] indexChunks; // Частини файлу індексу
+    private final long firstRow; // Номер першого рядка даних (у CSV перший рядок — назви колонок)
+    private final long rowCount; // Кількість рядків даних
+    private final String[] columns; // Назви колонок CSV
+    private final AtomicLong cursor = new AtomicLong(); // Номер наступного рядка для sequential і circular
+
+    private DataFeeder(Path path, String strategy, MappedByteBuffer[] chunks, MappedByteBuffer[] indexChunks,
+                       long lineCount) {
+        this.path = path;
+        this.strategy = strategy;
+        this.csv = !path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".jsonl");
+        this.chunks = chunks;
+        this.indexChunks = indexChunks;
+        this.firstRow = csv ? 1 : 0;
+        this.rowCount = Math.max(0, lineCount - firstRow);
+        this.columns = csv && lineCount > 0
+                ? parseCsvLine(readLine(0)).stream().map(String::trim).toArray(String[]::new) : new String[0];
+    }
+
+    // Нове джерело для файлу і стратегії: файл відображається в пам'ять, індекс перевіряється або будується
+    public static DataFeeder of(DataSource source) {
+        if (source.file() == null || source.file().isBlank()) {
+            throw new IllegalArgumentException("Не вказано файл даних (data.file)");
+        }
+        String strategy = source.strategyOrDefault();
+        if (!strategy.equals(DataSource.SEQUENTIAL) && !strategy.equals(DataSource.RANDOM)
+                && !strategy.equals(DataSource.CIRCULAR)) {
+            throw new IllegalArgumentException("Невідома стратегія даних: " + source.strategy()
+                    + " (очікується sequential, random або circular)");
+        }
+        try {
+            return open(Path.of(source.file()).toAbsolutePath().normalize(), strategy);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Помилка читання файлу даних " + source.file() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static DataFeeder open(Path path, String strategy) throws IOException {
+        long size = Files.size(path);
+        long modified = Files.getLastModifiedTime(path).toMillis();
+        MappedByteBuffer[] chunks;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            chunks = map(channel, size, MAX_LINE_LENGTH);
+        }
+
+        Path indexFile = path.resolveSibling(path.getFileName() + INDEX_EXTENSION);
+        if (!isIndexValid(indexFile, size, modified)) {
+            try {
+                writeIndex(indexFile, chunks, size, modified);
+            } catch (IOException e) {
+                // Папка з даними може бути доступна лише для читання
+                indexFile = Files.createTempFile("rest-tester-data", INDEX_EXTENSION);
+                indexFile.toFile().deleteOnExit();
+                writeIndex(indexFile, chunks, size, modified);
+            }
+        }
+        MappedByteBuffer[] indexChunks;
+        long lineCount;
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            indexChunks = map(channel, channel.size(), 0);
+            lineCount = (channel.size() - INDEX_HEADER_SIZE) / Long.BYTES;
+        }
+
+        DataFeeder feeder = new DataFeeder(path, strategy, chunks, indexChunks, lineCount);
+        if (feeder.rowCount == 0) {
+            throw new IllegalArgumentException("Файл даних " + path + " не містить рядків даних");
+        }
+        logger.info("Файл даних {}: {} рядків, стратегія {}", path, feeder.rowCount, strategy);
+        return feeder;
+    }
+
+    // Значення наступного рядка за назвами колонок або null, якщо рядки sequential закінчилися
+    public Map<String, String> next() {
+        long row = switch (strategy) {
+            case DataSource.RANDOM -> ThreadLocalRandom.current().nextLong(rowCount);
+            case DataSource.SEQUENTIAL -> cursor.getAndIncrement();
+            default -> Math.floorMod(cursor.getAndIncrement(), rowCount);
+        };
+        return row < rowCount ? row(row) : null;
+    }
+
+    // Значення рядка даних за номером (з 0)
+    public Map<String, String> row(long row) {
+        String line = readLine(firstRow + row);
+        Map<String, String> values = new HashMap<>();
+        if (csv) {
+            List<String> fields = parseCsvLine(line);
+            for (int i = 0; i < columns.length && i < fields.size(); i++) {
+                values.put(columns[i], fields.get(i));
+            }
+            return values;
+        }
+        try {
+            JsonNode node = TestSuiteLoader.getMapper().readTree(line);
+            if (!node.isObject()) {
+                throw new IllegalArgumentException("Рядок " + (row + 1) + " файлу " + path + " не є JSON-об'єктом");
+            }
+            // Вкладені об'єкти й масиви підставляються як JSON
+            node.fields().forEachRemaining(field -> values.put(field.getKey(),
+                    field.getValue().isValueNode() ? field.getValue().asText() : field.getValue().toString()));
+            return values;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Некоректний JSON у рядку " + (row + 1) + " файлу " + path, e);
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    // Рядок файлу за номером у індексі (без переносу рядка)
+    private String readLine(long line) {
+        try {
+            return readMappedLine(line);
+        } catch (InternalError e) {
+            // Звернення до відображеної частини файлу, який обрізали після відкриття
+            throw new IllegalStateException("Файл даних " + path + " змінено під час запуску", e);
+        }
+    }
+
+    private String readMappedLine(long line) {
+        long indexPosition = INDEX_HEADER_SIZE + line * Long.BYTES;
+        long start = indexChunks[(int) (indexPosition / CHUNK_SIZE)].getLong((int) (indexPosition % CHUNK_SIZE));
+        // Частина містить увесь рядок, що в ній починається, завдяки перекриттю
+        ByteBuffer chunk = chunks[(int) (start / CHUNK_SIZE)];
+        int from = (int) (start % CHUNK_SIZE);
+        int end = from;
+        while (end < chunk.limit() && chunk.get(end) != '\n') {
+            end++;
+        }
+        if (end - from > MAX_LINE_LENGTH) {
+            throw new IllegalArgumentException("Рядок " + (line + 1) + " файлу " + path + " довший за "
+                    + MAX_LINE_LENGTH + " байтів");
+        }
+        while (end > from && chunk.get(end - 1) == '\r') {
+            end--;
+        }
+        byte[] bytes = new byte[end - from];
+        chunk.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Розбір рядка CSV: поля через кому, поля в лапках можуть містити коми, а "" означає лапку
+    // (перенос рядка всередині поля не підтримується, бо індекс ділить файл за рядками)
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = line.startsWith("\uFEFF") ? 1 : 0; // Позначка порядку байтів на початку файлу
+        for (; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Відображення файлу частинами по CHUNK_SIZE; кожна частина захоплює ще overlap байтів наступної
+    private static MappedByteBuffer[] map(FileChannel channel, long size, int overlap) throws IOException {
+        int count = (int) ((size + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        MappedByteBuffer[] chunks = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long position = i * CHUNK_SIZE;
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(size - position, CHUNK_SIZE + overlap));
+        }
+        return chunks;
+    }
+
+    private static boolean isIndexValid(Path indexFile, long size, long modified) throws IOException {
+        if (!Files.exists(indexFile) || Files.size(indexFile) < INDEX_HEADER_SIZE) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Читання заголовка повністю
+            }
+            return !header.hasRemaining() && header.getLong(0) == size && header.getLong(Long.BYTES) == modified;
+        }
+    }
+
+    // Запис зміщень непорожніх рядків; файл даних читається з відображених частин, без копіювання в купу
+    private static void writeIndex(Path indexFile, MappedByteBuffer[] chunks, long size, long modified)
+            throws IOException {
+        long lines = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile), 1 << 16))) {
+            out.writeLong(size);
+            out.writeLong(modified);
+            long lineStart = 0;
+            boolean hasContent = false;
+            for (int c = 0; c < chunks.length; c++) {
+                MappedByteBuffer chunk = chunks[c];
+                int length = (int) Math.min(CHUNK_SIZE, size - c * CHUNK_SIZE); // Без перекриття
+                for (int i = 0; i < length; i++) {
+                    byte b = chunk.get(i);
+                    if (b == '\n') {
+                        if (hasContent) {
+                            out.writeLong(lineStart);
+                            lines++;
+                        }
+                        lineStart = c * CHUNK_SIZE + i + 1;
+                        hasContent = false;
+                    } else if (b != '\r' && b != ' ' && b != '\t') {
+                        hasContent = true;
+                    }
+                }
+            }
+            // Останній рядок може не закінчуватися переносом
+            if (hasContent) {
+                out.writeLong(lineStart);
+                lines++;
+            }
+        }
+        logger.info("Побудовано індекс {}: {} рядків", indexFile, lines);
+    }
+
+    // Джерела даних одного запуску за файлом і стратегією: тест-кейси з тим самим файлом і стратегією
+    // ділять один курсор, а файл відкривається під час першого звернення
+    public static final class Registry {
+        private final Map<DataSource, DataFeeder> feeders = new ConcurrentHashMap<>(); // Відкриті джерела
+
+        public DataFeeder get(DataSource source) {
+            DataSource key = new DataSource(source.file() == null ? null
+                    : Path.of(source.file()).toAbsolutePath().normalize().toString(), source.strategyOrDefault());
+            DataFeeder feeder = feeders.get(key);
+            return feeder != null ? feeder : feeders.computeIfAbsent(key, DataFeeder::of);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Locale;
+
+// Клас-модель для файлу даних тест-кейсу: кожен запит отримує рядок файлу, значення якого підставляються
+// у плейсхолдери ${колонка} в URL, заголовках, параметрах і тілі. Приклад:
+// {"file":"data/users.csv","strategy":"circular"}
+// CSV — перший рядок містить назви колонок; JSONL — кожен рядок є JSON-об'єктом, ключі якого є назвами.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DataSource(
+        String file, // Шлях до файлу .csv або .jsonl (відносно робочої папки)
+        String strategy // Порядок рядків: sequential, random або circular (за замовчуванням circular)
+) {
+    public static final String SEQUENTIAL = "sequential"; // Кожен рядок один раз; після останнього запити провалюються
+    public static final String RANDOM = "random"; // Випадковий рядок для кожного запиту
+    public static final String CIRCULAR = "circular"; // По черзі, після останнього — знову з першого
+
+    // Стратегія з урахуванням значення за замовчуванням
+    public String strategyOrDefault() {
+        return strategy == null || strategy.isBlank() ? CIRCULAR : strategy.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example;
+
+import java.util.List;
+import java.util.Locale;
+
+// Завдання для процесу-виконавця розподіленого навантаження: тест-кейси, налаштування запитів і частка
+// навантаження. Передається координатором одним рядком JSON.
+public record DistributedJob(
+        List<TestCase> testCases, // Тест-кейси
+        TransportType transport, // Транспорт
+        String apiKey, // API Key
+        int bodyPrefixLimit, // Скільки байтів тіла відповіді зберігати
+        boolean hashBody, // Чи рахувати хеш тіла
+        int virtualUsers, // Кількість віртуальних користувачів (закрита модель)
+        int iterations, // Кількість запусків кожного тест-кейсу (закрита модель без тривалості)
+        long durationMillis, // Тривалість (0 — задана кількість запусків)
+        double rate, // Швидкість надходження запитів (0 — закрита модель)
+        List<LoadProfile.Stage> profile, // Етапи профілю навантаження (порожній — без профілю)
+        long reportIntervalMillis, // Інтервал надсилання проміжних гістограм координатору
+        long requestTimeoutMillis // Тайм-аут очікування відповіді (0 — за замовчуванням)
+) {
+    // Частка завдання для виконавця index з count: користувачі, запуски, швидкість і профіль діляться порівну.
+    // null — виконавцю не дісталося навантаження (наприклад, користувачів менше, ніж виконавців)
+    public DistributedJob share(int index, int count) {
+        List<LoadProfile.Stage> sharedProfile = List.of();
+        if (!profile.isEmpty()) {
+            LoadProfile shared = new LoadProfile(profile).share(index, count);
+            if (shared == null) {
+                return null;
+            }
+            sharedProfile = shared.getStages();
+        } else if (rate <= 0) {
+            if (LoadProfile.share(virtualUsers, index, count) == 0) {
+                return null;
+            }
+            if (durationMillis <= 0 && LoadProfile.share(iterations, index, count) == 0) {
+                return null;
+            }
+        }
+        return new DistributedJob(testCases, transport, apiKey, bodyPrefixLimit, hashBody,
+                Math.max(1, LoadProfile.share(virtualUsers, index, count)),
+                // Без тривалості запуски діляться між виконавцями, інакше кожен працює весь час
+                durationMillis > 0 ? iterations : LoadProfile.share(iterations, index, count),
+                durationMillis, rate / count, sharedProfile, reportIntervalMillis, requestTimeoutMillis);
+    }
+
+    // Опис навантаження для відображення
+    public String describeLoad() {
+        if (!profile.isEmpty()) {
+            return "профіль " + new LoadProfile(profile);
+        } else if (rate > 0) {
+            return String.format(Locale.ROOT, "%.3f запитів/с", rate);
+        } else if (durationMillis > 0) {
+            return String.format("%d корист. протягом %d с", virtualUsers, durationMillis / 1000);
+        }
+        return String.format("%d корист., %d запусків кожного тест-кейсу", virtualUsers, iterations);
+    }
+}
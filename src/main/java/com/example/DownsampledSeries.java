@@ -0,0 +1,217 @@
+package com.example;
+
+import javafx.collections.ObservableList;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.Tooltip;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Ряд графіка, який оновлюється лише новими точками. Коли точок більше, ніж пікселів, нові точки
+// зменшуються кошиками по step точок (LTTB відносно останньої показаної точки) і дописуються в кінець,
+// тому оновлення не перебудовує весь ряд. Неповні останні кошики показуються тимчасово і замінюються,
+// коли заповняться. Ряд перебудовується лише тоді, коли step подвоюється.
+public class DownsampledSeries {
+    private final XYChart.Series<Number, Number> series; // Ряд, що відображається на графіку
+    private long lastX = Long.MIN_VALUE; // Номер останньої отриманої точки
+    private int step = 1; // Скільки точок ряду припадає на одну показану точку
+    private int committed; // Кількість остаточних точок на початку ряду (далі — тимчасові)
+    private long[] pendingX = new long[16]; // Точки, ще не зменшені кошиками
+    private double[] pendingY = new double[16];
+    private int pendingCount;
+    private Tooltip tooltip; // Спільна підказка, створюється при першому наведенні миші
+
+    // Конструктор
+    public DownsampledSeries(String name) {
+        this.series = new XYChart.Series<>();
+        this.series.setName(name);
+    }
+
+    public XYChart.Series<Number, Number> getSeries() {
+        return series;
+    }
+
+    // Додавання нових точок (x зростають і більші за x попередніх); точки з x < windowStart видаляються
+    // з початку ряду; budget — найбільша кількість точок на графіку
+    public void update(long[] x, double[] y, int count, long windowStart, int budget) {
+        ObservableList<XYChart.Data<Number, Number>> data = series.getData();
+        if (count > 0 && x[0] <= lastX) {
+            // Історію очищено — починаємо заново
+            clear();
+        }
+        for (int i = 0; i < count; i++) {
+            addPending(x[i], y[i]);
+        }
+        if (count > 0) {
+            lastX = x[count - 1];
+        }
+        if (committed == 0 && pendingCount > budget) {
+            // Перше заповнення: крок одразу такий, щоб точки вмістилися
+            step = Integer.highestOneBit(Math.max(1, (pendingCount - 1) / budget)) * 2;
+        }
+
+        // Тимчасові точки неповного кошика прибираються і додаються знову разом з новими
+        if (data.size() > committed) {
+            data.remove(committed, data.size());
+        }
+        List<XYChart.Data<Number, Number>> added = commitPending();
+        if (committed + added.size() > budget) {
+            coarsen(added, budget);
+            added.clear();
+        }
+
+        // Видалення точок, які вийшли за межі вікна
+        int removed = 0;
+        while (removed < committed && data.get(removed).getXValue().longValue() < windowStart) {
+            removed++;
+        }
+        if (removed > 0) {
+            data.remove(0, removed);
+            committed -= removed;
+        }
+
+        // Неповні кошики показуються тимчасово, зменшені тим самим кроком (інакше при великому step
+        // хвіст з до 2 * step сирих точок перевищив би budget)
+        committed += added.size();
+        int[] shown = Downsampler.lttb(pendingX, pendingY, pendingCount, Math.max(3, pendingCount / step + 2));
+        for (int index : shown) {
+            added.add(new XYChart.Data<>(pendingX[index], pendingY[index]));
+        }
+        if (!added.isEmpty()) {
+            data.addAll(added);
+        }
+    }
+
+    // Очищення ряду
+    public void clear() {
+        series.getData().clear();
+        lastX = Long.MIN_VALUE;
+        step = 1;
+        committed = 0;
+        pendingCount = 0;
+    }
+
+    private void addPending(long x, double y) {
+        if (pendingCount == pendingX.length) {
+            pendingX = Arrays.copyOf(pendingX, pendingCount * 2);
+            pendingY = Arrays.copyOf(pendingY, pendingCount * 2);
+        }
+        pendingX[pendingCount] = x;
+        pendingY[pendingCount] = y;
+        pendingCount++;
+    }
+
+    // Зменшення повних кошиків очікуючих точок; повертає точки, що стають остаточними
+    private List<XYChart.Data<Number, Number>> commitPending() {
+        List<XYChart.Data<Number, Number>> points = new ArrayList<>();
+        ObservableList<XYChart.Data<Number, Number>> data = series.getData();
+        int used = 0;
+        if (committed == 0 && pendingCount > 0) {
+            // Перша точка ряду показується завжди і стає опорною для наступних кошиків
+            points.add(new XYChart.Data<>(pendingX[0], pendingY[0]));
+            used = 1;
+        }
+        int buckets = (pendingCount - used) / step;
+        if (step == 1) {
+            for (int i = used; i < pendingCount; i++) {
+                points.add(new XYChart.Data<>(pendingX[i], pendingY[i]));
+            }
+            used = pendingCount;
+        } else if (buckets >= 2) {
+            // Опорна точка (остання остаточна) і повні кошики: LTTB обирає по точці з кожного кошика
+            int count = 1 + buckets * step;
+            long[] x = new long[count];
+            double[] y = new double[count];
+            if (points.isEmpty()) {
+                XYChart.Data<Number, Number> anchor = data.get(committed - 1);
+                x[0] = anchor.getXValue().longValue();
+                y[0] = anchor.getYValue().doubleValue();
+            } else {
+                x[0] = pendingX[0];
+                y[0] = pendingY[0];
+            }
+            System.arraycopy(pendingX, used, x, 1, count - 1);
+            System.arraycopy(pendingY, used, y, 1, count - 1);
+            int[] indexes = Downsampler.lttb(x, y, count, buckets + 1);
+            for (int i = 1; i < indexes.length; i++) {
+                points.add(new XYChart.Data<>(x[indexes[i]], y[indexes[i]]));
+            }
+            used += count - 1;
+        }
+        if (used > 0) {
+            System.arraycopy(pendingX, used, pendingX, 0, pendingCount - used);
+            System.arraycopy(pendingY, used, pendingY, 0, pendingCount - used);
+            pendingCount -= used;
+        }
+        return points;
+    }
+
+    // Остаточних точок більше за budget: крок подвоюється, а ряд зменшується вдвічі (рідкісна перебудова)
+    private void coarsen(List<XYChart.Data<Number, Number>> added, int budget) {
+        List<XYChart.Data<Number, Number>> points = new ArrayList<>(series.getData().subList(0, committed));
+        points.addAll(added);
+        while (points.size() > budget && points.size() >= 3) {
+            step *= 2;
+            int count = points.size();
+            long[] x = new long[count];
+            double[] y = new double[count];
+            for (int i = 0; i < count; i++) {
+                x[i] = points.get(i).getXValue().longValue();
+                y[i] = points.get(i).getYValue().doubleValue();
+            }
+            int[] indexes = Downsampler.lttb(x, y, count, Math.max(3, count / 2));
+            List<XYChart.Data<Number, Number>> reduced = new ArrayList<>(indexes.length);
+            for (int index : indexes) {
+                reduced.add(points.get(index));
+            }
+            points = reduced;
+        }
+        series.getData().setAll(points);
+        committed = points.size();
+    }
+
+    // Підказка зі значенням найближчої до курсора точки (одна на графік замість підказки на кожну точку)
+    public void installTooltip(LineChart<Number, Number> chart, String unit) {
+        chart.setOnMouseMoved(e -> {
+            NumberAxis xAxis = (NumberAxis) chart.getXAxis();
+            double x = xAxis.getValueForDisplay(xAxis.sceneToLocal(e.getSceneX(), e.getSceneY()).getX()).doubleValue();
+            XYChart.Data<Number, Number> point = nearest(x);
+            if (point == null) {
+                return;
+            }
+            if (tooltip == null) {
+                tooltip = new Tooltip();
+                Tooltip.install(chart, tooltip);
+            }
+            double value = point.getYValue().doubleValue();
+            tooltip.setText("Виконання " + point.getXValue() + ": "
+                    + (value == Math.rint(value) ? String.valueOf((long) value) : String.format("%.2f", value)) + " " + unit);
+        });
+    }
+
+    // Пошук найближчої точки за x (точки впорядковані за x)
+    private XYChart.Data<Number, Number> nearest(double x) {
+        List<XYChart.Data<Number, Number>> data = series.getData();
+        if (data.isEmpty()) {
+            return null;
+        }
+        int low = 0;
+        int high = data.size() - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (data.get(middle).getXValue().doubleValue() < x) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (low > 0 && Math.abs(data.get(low - 1).getXValue().doubleValue() - x)
+                < Math.abs(data.get(low).getXValue().doubleValue() - x)) {
+            return data.get(low - 1);
+        }
+        return data.get(low);
+    }
+}
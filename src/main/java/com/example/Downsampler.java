@@ -0,0 +1,64 @@
+package com.example;
+
+// Зменшення кількості точок графіка зі збереженням форми (алгоритм Largest-Triangle-Three-Buckets)
+public class Downsampler {
+
+    // Індекси точок для відображення; перша й остання точки зберігаються завжди.
+    // Якщо точок не більше за threshold, повертаються всі індекси.
+    public static int[] lttb(long[] x, double[] y, int count, int threshold) {
+        if (count <= threshold || threshold < 3) {
+            int[] all = new int[count];
+            for (int i = 0; i < count; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] selected = new int[threshold];
+        int selectedCount = 0;
+        selected[selectedCount++] = 0;
+
+        // Точки між першою та останньою ділимо на threshold - 2 кошики
+        double bucketSize = (double) (count - 2) / (threshold - 2);
+        int previous = 0;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int bucketStart = (int) (bucket * bucketSize) + 1;
+            int bucketEnd = (int) ((bucket + 1) * bucketSize) + 1;
+
+            // Середня точка наступного кошика (для останнього — остання точка ряду)
+            int nextStart = bucketEnd;
+            int nextEnd = Math.min(count, (int) ((bucket + 2) * bucketSize) + 1);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += x[i];
+                averageY += y[i];
+            }
+            int nextCount = nextEnd - nextStart;
+            if (nextCount > 0) {
+                averageX /= nextCount;
+                averageY /= nextCount;
+            } else {
+                averageX = x[count - 1];
+                averageY = y[count - 1];
+            }
+
+            // У кошику обираємо точку, що утворює найбільший трикутник з попередньою обраною та середньою
+            double maxArea = -1;
+            int chosen = bucketStart;
+            for (int i = bucketStart; i < bucketEnd; i++) {
+                double area = Math.abs((x[previous] - averageX) * (y[i] - y[previous])
+                        - (x[previous] - x[i]) * (averageY - y[previous]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+            selected[selectedCount++] = chosen;
+            previous = chosen;
+        }
+
+        selected[selectedCount] = count - 1;
+        return selected;
+    }
+}
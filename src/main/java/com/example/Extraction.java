@@ -0,0 +1,27 @@
+package com.example;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Клас-модель для отримання значення з відповіді кроку сценарію у змінну віртуального користувача. Приклади:
+// {"variable":"token","type":"json","path":"$.auth.token"} — перше скалярне значення за JSONPath
+// {"variable":"location","type":"header","name":"Location"} — значення заголовка
+// {"variable":"id","type":"body","regex":"\"id\":(\\d+)"} — перша група (або весь збіг) регулярного виразу в тілі
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record Extraction(
+        String variable, // Назва змінної (використовується як ${назва} у наступних кроках)
+        String type, // Джерело: json, header або body
+        String path, // JSONPath для json
+        String name, // Назва заголовка для header
+        String regex // Регулярний вираз для body
+) {
+    // Короткий опис для повідомлень про результат
+    public String describe() {
+        String source = switch (type == null ? "" : type) {
+            case Assertion.JSON -> "JSON " + path;
+            case Assertion.HEADER -> "заголовок " + name;
+            case Assertion.BODY -> "тіло /" + regex + "/";
+            default -> String.valueOf(type);
+        };
+        return "змінна " + variable + " ← " + source;
+    }
+}
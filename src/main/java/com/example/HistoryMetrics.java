@@ -0,0 +1,112 @@
+package com.example;
+
+import java.util.Collection;
+import java.util.List;
+
+// Розрахунок метрик для вкладок "Час виконання" та "Розмір відповіді" (текст для підпису під графіком)
+public class HistoryMetrics {
+    // Метрики часу виконання
+    public static final String AVERAGE_TIME = "Середній час виконання";
+    public static final String MIN_MAX_TIME = "Максимальний і мінімальний час виконання";
+    public static final String TIME_TREND = "Тренд часу виконання";
+    public static final String TIME_PERCENTILES = "Перцентилі часу виконання";
+    public static final String ALL_TIME_PERCENTILES = "Перцентилі часу виконання (усі запити)";
+    public static final String AVERAGE_PHASES = "Фази запиту (середні)";
+    public static final String LOAD_STAGES = "Етапи профілю навантаження";
+    public static final List<String> TIME_METRICS = List.of(
+            AVERAGE_TIME, MIN_MAX_TIME, TIME_TREND, TIME_PERCENTILES, ALL_TIME_PERCENTILES, AVERAGE_PHASES, LOAD_STAGES);
+
+    // Метрики розміру відповіді
+    public static final String AVERAGE_SIZE = "Середній розмір відповіді";
+    public static final String MIN_MAX_SIZE = "Максимальний і мінімальний розмір відповіді";
+    public static final String THROUGHPUT = "Пропускна здатність";
+    public static final String SIZE_CHANGE = "Відсоток змін розміру відповіді";
+    public static final List<String> SIZE_METRICS = List.of(AVERAGE_SIZE, MIN_MAX_SIZE, THROUGHPUT, SIZE_CHANGE);
+
+    // Текст метрики часу виконання для запиту (allHistories — для перцентилів за всіма запитами)
+    public static String describeTime(String metric, RequestHistory history, Collection<RequestHistory> allHistories) {
+        if (history == null || history.isEmpty()) {
+            return "Немає даних для обраного запиту";
+        }
+        switch (metric) {
+            case TIME_PERCENTILES:
+                return LatencyPercentiles.format(history.getLatencyHistogram());
+            case ALL_TIME_PERCENTILES:
+                return LatencyPercentiles.format(RequestHistory.mergeHistograms(allHistories));
+            case LOAD_STAGES:
+                return history.getConcurrencyStatistics().describe();
+            default:
+                // Метрики за вікном графіка рахуються без копіювання результатів
+                return history.readDisplayResults(results -> describeWindowTime(metric, results));
+        }
+    }
+
+    private static String describeWindowTime(String metric, ResultColumns results) {
+        switch (metric) {
+            case AVERAGE_TIME:
+                double avgTime = results.timeTakenValues().average().orElse(0);
+                return String.format("Середній час: %.1f мс (Загальна швидкість API)", avgTime);
+            case MIN_MAX_TIME:
+                long maxTime = results.timeTakenValues().max().orElse(0);
+                long minTime = results.timeTakenValues().min().orElse(0);
+                return String.format("Макс: %d мс, Мін: %d мс (Діапазон швидкості)", maxTime, minTime);
+            case TIME_TREND:
+                if (results.size() < 2) {
+                    return "Тренд: Недостатньо даних (Потрібно ≥2 запусків)";
+                }
+                long firstTime = results.timeTaken(0);
+                long lastTime = results.timeTaken(results.size() - 1);
+                String trend = lastTime > firstTime ? "Зростає (Можливе перевантаження)" :
+                        lastTime < firstTime ? "Зменшується (Оптимізація)" : "Стабільний";
+                return String.format("Тренд: %s", trend);
+            case AVERAGE_PHASES:
+                return describeAveragePhases(results);
+            default:
+                return "";
+        }
+    }
+
+    // Текст метрики розміру відповіді для запиту
+    public static String describeSize(String metric, RequestHistory history) {
+        if (history == null || history.isEmpty()) {
+            return "Немає даних для обраного запиту";
+        }
+        return history.readDisplayResults(results -> describeWindowSize(metric, results));
+    }
+
+    private static String describeWindowSize(String metric, ResultColumns results) {
+        switch (metric) {
+            case AVERAGE_SIZE:
+                double avgSize = results.responseSizeValues().average().orElse(0);
+                return String.format("Середній розмір: %.1f байт (Типовий обсяг даних)", avgSize);
+            case MIN_MAX_SIZE:
+                long maxSize = results.responseSizeValues().max().orElse(0);
+                long minSize = results.responseSizeValues().min().orElse(0);
+                return String.format("Макс: %d байт, Мін: %d байт (Діапазон обсягу)", maxSize, minSize);
+            case THROUGHPUT:
+                double avgsize = results.responseSizeValues().average().orElse(0);
+                double avgTime = results.timeTakenValues().average().orElse(0);
+                double throughput = avgTime > 0 ? (avgsize / (avgTime / 1000.0)) : 0;
+                return String.format("Пропускна здатність: %.1f байт/с (Ефективність передачі)", throughput);
+            case SIZE_CHANGE:
+                if (results.size() < 2) {
+                    return "Відсоток змін: Недостатньо даних (Потрібно ≥2 запусків)";
+                }
+                long firstSize = results.responseSize(0);
+                long lastSize = results.responseSize(results.size() - 1);
+                double changePercent = firstSize != 0 ? ((double) (lastSize - firstSize) / firstSize) * 100 : 0;
+                return String.format("Відсоток змін: %.1f%% (Варіація даних)", changePercent);
+            default:
+                return "";
+        }
+    }
+
+    // Середня тривалість фаз запиту: дозволяє відрізнити повільний сервер від повільної мережі
+    public static String describeAveragePhases(ResultColumns results) {
+        RequestTiming.Averages averages = new RequestTiming.Averages();
+        for (int i = 0; i < results.size(); i++) {
+            averages.add(results.timing(i));
+        }
+        return averages.describe();
+    }
+}
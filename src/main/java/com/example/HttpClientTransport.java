@@ -0,0 +1,132 @@
+package com.example;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Легкий транспорт на основі спільного java.net.http.HttpClient з пулом з'єднань (HTTP/1.1 або HTTP/2)
+public class HttpClientTransport implements HttpTransport {
+    // Тайм-аут встановлення з'єднання
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    // Спільний клієнт: з'єднання зберігаються в пулі та використовуються повторно (keep-alive)
+    private final HttpClient client;
+
+    public HttpClientTransport(HttpClient.Version version) {
+        this.client = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(CONNECT_TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build(); // Власний виконавець не задається: з віртуальними потоками клієнт зависає на великих тілах
+    }
+
+    @Override
+    public TransportResponse execute(PreparedRequest request, ResponseBodyConsumer bodyConsumer, long timeoutMillis)
+            throws Exception {
+        RequestTiming.Recorder recorder = new RequestTiming.Recorder();
+        HttpRequest.BodyPublisher publisher = request.method().hasBody() && request.bodyBytes().length > 0
+                ? HttpRequest.BodyPublishers.ofByteArray(request.bodyBytes())
+                : HttpRequest.BodyPublishers.noBody();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request.uri())
+                .method(request.method().name(), publisher)
+                .timeout(Duration.ofMillis(timeoutMillis)); // Тайм-аут HttpClient діє до отримання заголовків
+        request.headers().forEach(builder::header);
+
+        // Обробник тіла викликається одразу після отримання заголовків — це момент першого байта;
+        // далі порції тіла передаються споживачу без накопичення в пам'яті
+        ConsumerSubscriber subscriber = new ConsumerSubscriber(bodyConsumer);
+        HttpResponse.BodyHandler<Void> handler = responseInfo -> {
+            recorder.markHeadersReceived();
+            subscriber.touch();
+            return HttpResponse.BodySubscribers.fromSubscriber(subscriber);
+        };
+
+        HttpResponse<Void> response = await(client.sendAsync(builder.build(), handler), subscriber, timeoutMillis);
+        recorder.markEnd();
+        RequestTiming measured = recorder.toTiming();
+        // HttpClient не повідомляє про DNS, з'єднання та TLS, тому ці фази не вимірюються
+        RequestTiming timing = new RequestTiming(-1, -1, -1, measured.ttfbNanos(), measured.downloadNanos(),
+                measured.totalNanos(), false);
+        return new TransportResponse(response.statusCode(), response.headers().map().size(), timing,
+                name -> response.headers().firstValue(name).orElse(null));
+    }
+
+    // Очікування відповіді. Тайм-аут запиту HttpClient не діє після отримання заголовків, тому тіло, порції якого
+    // перестали надходити довше за timeoutMillis, також перериває запит (як тайм-аут читання сокета)
+    private static HttpResponse<Void> await(CompletableFuture<HttpResponse<Void>> future, ConsumerSubscriber subscriber,
+                                            long timeoutMillis) throws Exception {
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (true) {
+            long remaining = subscriber.lastActivity + timeoutNanos - System.nanoTime();
+            if (remaining <= 0) {
+                future.cancel(true);
+                subscriber.cancel();
+                throw new HttpTimeoutException("немає даних від сервера протягом " + timeoutMillis + " мс");
+            }
+            try {
+                return future.get(remaining, TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            } catch (TimeoutException e) {
+                // Перевірка, чи надходили дані за цей час
+            }
+        }
+    }
+
+    // Підписник, який передає кожну порцію тіла споживачу та запитує наступну лише після обробки попередньої
+    private static class ConsumerSubscriber implements Flow.Subscriber<List<ByteBuffer>> {
+        private final ResponseBodyConsumer bodyConsumer;
+        private volatile Flow.Subscription subscription;
+        private volatile long lastActivity = System.nanoTime(); // Момент останніх даних від сервера
+
+        ConsumerSubscriber(ResponseBodyConsumer bodyConsumer) {
+            this.bodyConsumer = bodyConsumer;
+        }
+
+        void touch() {
+            lastActivity = System.nanoTime();
+        }
+
+        // Припинення отримання тіла після тайм-ауту
+        void cancel() {
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            touch();
+            for (ByteBuffer buffer : buffers) {
+                bodyConsumer.accept(buffer);
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            // Помилку отримає CompletableFuture відповіді
+        }
+
+        @Override
+        public void onComplete() {
+            // Завершення обробляє CompletableFuture відповіді
+        }
+    }
+}
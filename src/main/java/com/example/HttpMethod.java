@@ -0,0 +1,32 @@
+package com.example;
+
+// Підтримувані HTTP-методи
+public enum HttpMethod {
+    GET(false),
+    POST(true),
+    PUT(true),
+    DELETE(false);
+
+    private final boolean hasBody; // Чи надсилається тіло запиту
+
+    HttpMethod(boolean hasBody) {
+        this.hasBody = hasBody;
+    }
+
+    public boolean hasBody() {
+        return hasBody;
+    }
+
+    // Пошук методу за назвою без урахування регістру; null, якщо метод не підтримується
+    public static HttpMethod parse(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (HttpMethod method : values()) {
+            if (method.name().equalsIgnoreCase(name.trim())) {
+                return method;
+            }
+        }
+        return null;
+    }
+}
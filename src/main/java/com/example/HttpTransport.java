@@ -0,0 +1,11 @@
+package com.example;
+
+// Інтерфейс транспорту, який виконує HTTP-запит і вимірює його фази
+public interface HttpTransport {
+    // Виконання підготовленого запиту.
+    // Тіло відповіді передається споживачу порціями під час надходження і не буферизується повністю.
+    // timeoutMillis — скільки чекати на дані від сервера (заголовки або чергову порцію тіла); якщо сервер
+    // мовчить довше, запит переривається з SocketTimeoutException або HttpTimeoutException
+    TransportResponse execute(PreparedRequest request, ResponseBodyConsumer bodyConsumer, long timeoutMillis)
+            throws Exception;
+}
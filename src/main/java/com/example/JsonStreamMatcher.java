@@ -0,0 +1,214 @@
+package com.example;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+// Перевірка JSONPath-виразів під час надходження тіла відповіді: неблокуючий парсер Jackson отримує порції байтів
+// одразу з транспорту, а поточний шлях у документі зберігається як стек назв полів та індексів. Дерево документа
+// і рядок з тілом не створюються; текст значення читається лише для вузлів, що збігаються з виразом.
+// Коли всі перевірки вирішено, розбір решти тіла припиняється. Об'єкт використовується для одного запиту.
+public class JsonStreamMatcher {
+    private final List<ResponseAssertions.JsonPathCheck> checks; // Скомпільовані перевірки
+    private final boolean[] found; // Чи знайдено вузол за шляхом
+    private final boolean[] matched; // Чи знайдено вузол з очікуваним значенням (для змінних — скалярне значення)
+    private final String[] values; // Отримані значення змінних
+    private final int maxPathLength; // Найбільша довжина шляху (глибші вузли не перевіряються)
+    private final JsonParser parser; // Неблокуючий парсер
+    private final ByteBufferFeeder feeder; // Вхід парсера
+
+    private final String[] names; // Назва поля на кожному рівні (для об'єктів)
+    private final int[] indices; // Індекс елемента на кожному рівні (для масивів)
+    private final boolean[] arrays; // Чи є рівень масивом
+    private int depth; // Поточна глибина (0 — корінь документа)
+    private int undecided; // Кількість перевірок, результат яких ще може змінитися
+    private boolean stopped; // Розбір завершено або припинено
+    private String error; // Помилка розбору (null — документ коректний)
+
+    JsonStreamMatcher(List<ResponseAssertions.JsonPathCheck> checks) {
+        this.checks = checks;
+        this.found = new boolean[checks.size()];
+        this.matched = new boolean[checks.size()];
+        this.values = new String[checks.size()];
+        this.maxPathLength = checks.stream().mapToInt(check -> check.path().size()).max().orElse(0);
+        this.names = new String[maxPathLength + 1];
+        this.indices = new int[maxPathLength + 1];
+        this.arrays = new boolean[maxPathLength + 1];
+        this.undecided = checks.size();
+        try {
+            this.parser = TestSuiteLoader.getMapper().getFactory().createNonBlockingByteBufferParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Не вдалося створити парсер JSON", e);
+        }
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    // Обробка чергової порції тіла; позиція буфера не змінюється
+    public void accept(ByteBuffer buffer) {
+        if (stopped || !buffer.hasRemaining()) {
+            return;
+        }
+        try {
+            feeder.feedInput(buffer.duplicate());
+            drain();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    // Обробка чергової порції тіла з масиву
+    public void accept(byte[] bytes, int offset, int length) {
+        accept(ByteBuffer.wrap(bytes, offset, length));
+    }
+
+    // Завершення тіла: розбір залишку і закриття парсера
+    public void finish() {
+        if (!stopped) {
+            feeder.endOfInput();
+            try {
+                drain();
+                if (depth > 0) {
+                    error = "JSON обірвано";
+                }
+            } catch (IOException e) {
+                fail(e);
+            }
+            stopped = true;
+        }
+        try {
+            parser.close();
+        } catch (IOException e) {
+            // Парсер не тримає зовнішніх ресурсів
+        }
+    }
+
+    // Чи знайдено вузол за шляхом перевірки index
+    public boolean isFound(int index) {
+        return found[index];
+    }
+
+    // Чи знайдено вузол з очікуваним значенням
+    public boolean isMatched(int index) {
+        return matched[index];
+    }
+
+    // Перше скалярне значення за шляхом перевірки-змінної index (null — не знайдено)
+    public String getValue(int index) {
+        return values[index];
+    }
+
+    // Помилка розбору (null — документ коректний)
+    public String getError() {
+        return error;
+    }
+
+    private void fail(IOException e) {
+        error = "некоректний JSON: " + e.getMessage().lines().findFirst().orElse("");
+        stopped = true;
+    }
+
+    // Обробка всіх лексем, які можна отримати з уже переданих байтів
+    private void drain() throws IOException {
+        JsonToken token;
+        while (!stopped && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case FIELD_NAME -> {
+                    if (depth <= maxPathLength) {
+                        names[depth] = parser.currentName();
+                    }
+                }
+                case END_OBJECT, END_ARRAY -> depth--;
+                default -> {
+                    if (depth <= maxPathLength) {
+                        if (depth > 0 && arrays[depth]) {
+                            indices[depth]++;
+                        }
+                        onValue(token);
+                    }
+                    if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                        depth++;
+                        if (depth <= maxPathLength) {
+                            arrays[depth] = token == JsonToken.START_ARRAY;
+                            indices[depth] = -1;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Перевірка вузла на поточному шляху
+    private void onValue(JsonToken token) throws IOException {
+        String text = null; // Текст значення читається лише для вузлів, що збігаються
+        for (int i = 0; i < checks.size(); i++) {
+            ResponseAssertions.JsonPathCheck check = checks.get(i);
+            if (matched[i] || check.path().size() != depth || !matchesPath(check.path())) {
+                continue;
+            }
+            if (check.variable() != null) {
+                // Змінна отримує перше скалярне значення за шляхом
+                found[i] = true;
+                if (token.isScalarValue()) {
+                    if (text == null) {
+                        text = parser.getText();
+                    }
+                    values[i] = text;
+                    matched[i] = true;
+                    undecided--;
+                }
+                continue;
+            }
+            if (!found[i] && !check.hasExpectedValue()) {
+                // Перевірка наявності (або відсутності) вирішується першим знайденим вузлом
+                undecided--;
+            }
+            found[i] = true;
+            if (check.hasExpectedValue() && token.isScalarValue()) {
+                boolean valueMatches;
+                if (check.isNumeric() && token.isNumeric()) {
+                    valueMatches = matchesNumber(check, token);
+                } else {
+                    if (text == null) {
+                        text = parser.getText();
+                    }
+                    valueMatches = check.matchesText(text);
+                }
+                if (valueMatches) {
+                    matched[i] = true;
+                    undecided--;
+                }
+            }
+        }
+        if (undecided == 0) {
+            // Усі перевірки вирішено — решта тіла лише рахується споживачем
+            stopped = true;
+        }
+    }
+
+    // Порівняння числа за значенням; цілі числа порівнюються без створення об'єктів
+    private boolean matchesNumber(ResponseAssertions.JsonPathCheck check, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT && check.integer() != null
+                && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+            return parser.getLongValue() == check.integer();
+        }
+        return parser.getDecimalValue().compareTo(check.number()) == 0;
+    }
+
+    // Чи збігається поточний шлях з виразом
+    private boolean matchesPath(List<ResponseAssertions.PathSegment> path) {
+        for (int level = 1; level <= depth; level++) {
+            ResponseAssertions.PathSegment segment = path.get(level - 1);
+            if (segment.isWildcard()) {
+                continue;
+            }
+            if (arrays[level] ? segment.index() != indices[level] : !names[level].equals(segment.name())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example;
+
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+
+// Клас для роботи з гістограмами часу виконання (HdrHistogram, мікросекундна точність)
+public class LatencyPercentiles {
+    // Перцентилі, які показуються у метриках і звітах
+    public static final double[] PERCENTILES = {50.0, 90.0, 95.0, 99.0, 99.9};
+    // Найбільше значення, яке відстежує гістограма (1 година в мікросекундах); більші значення обрізаються
+    public static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    // Кількість значущих цифр (похибка ≤ 0.1%) — визначає фіксований обсяг пам'яті гістограми
+    public static final int SIGNIFICANT_DIGITS = 3;
+
+    // Створення порожньої гістограми фіксованого розміру
+    public static Histogram newHistogram() {
+        return new Histogram(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    // Запис значення у мікросекундах з обрізанням до допустимого діапазону
+    public static void recordMicros(Histogram histogram, long micros) {
+        histogram.recordValue(Math.max(1, Math.min(micros, HIGHEST_TRACKABLE_MICROS)));
+    }
+
+    // Текстовий опис перцентилів у мілісекундах
+    public static String format(Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return "Немає даних";
+        }
+        StringBuilder text = new StringBuilder();
+        for (double percentile : PERCENTILES) {
+            text.append(String.format("p%s: %.1f мс, ", formatPercentile(percentile),
+                    toMillis(histogram.getValueAtPercentile(percentile))));
+        }
+        text.append(String.format("макс: %.1f мс", toMillis(histogram.getMaxValue())));
+        return text.toString();
+    }
+
+    // Стиснутий запис гістограми в Base64 (для передачі між процесами; займає сотні байтів замість сотень КБ)
+    public static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    // Відновлення гістограми зі стиснутого запису
+    public static Histogram decode(String encoded) {
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Base64.getDecoder().decode(encoded)), 0);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Некоректний запис гістограми: " + e.getMessage(), e);
+        }
+    }
+
+    // Назва перцентиля без зайвих нулів (50, 99.9)
+    public static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    // Переведення мікросекунд у мілісекунди
+    public static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,266 @@
+package com.example;
+
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// Координатор розподіленого навантаження: ділить завдання між процесами-виконавцями (LoadWorker),
+// надсилає кожному його частку і об'єднує гістограми та лічильники, які виконавці надсилають через рівні інтервали.
+// Гістограми HdrHistogram додаються без втрати точності, тому перцентилі сукупного навантаження точні,
+// а обсяг переданих даних не залежить від кількості запитів.
+public class LoadCoordinator implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(LoadCoordinator.class);
+    // Тайм-аут підключення до виконавця
+    private static final int CONNECT_TIMEOUT_MILLIS = 5000;
+    // Виконавець вважається втраченим, якщо не надсилав звітів стільки інтервалів (але не менше 30 с)
+    private static final int MISSED_REPORTS = 10;
+    private static final int MIN_READ_TIMEOUT_MILLIS = 30_000;
+
+    // Стан виконавця для відображення
+    public record WorkerStatus(
+            String address, // Адреса виконавця
+            String load, // Частка навантаження
+            long completed, // Виконано запитів
+            long failed, // Провалено запитів
+            int activeUsers, // Поточна кількість користувачів
+            Histogram histogram, // Гістограма часу виконання (копія)
+            boolean finished, // Виконавець завершив завдання
+            String error // Помилка (null — без помилок)
+    ) {
+    }
+
+    // З'єднання з виконавцем
+    private static final class Worker {
+        private final InetSocketAddress address;
+        private final DistributedJob job;
+        private final Socket socket;
+        private final Writer writer;
+        private final Histogram histogram = LatencyPercentiles.newHistogram(); // Гістограма цього виконавця
+        private volatile long completed;
+        private volatile long failed;
+        private volatile int activeUsers;
+        private volatile boolean finished;
+        private volatile String error;
+
+        private Worker(InetSocketAddress address, DistributedJob job, Socket socket) throws IOException {
+            this.address = address;
+            this.job = job;
+            this.socket = socket;
+            this.writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private final List<Worker> workers = new ArrayList<>(); // Підключені виконавці
+    private final Histogram totalHistogram = LatencyPercentiles.newHistogram(); // Гістограма за весь запуск
+    private Histogram intervalHistogram = LatencyPercentiles.newHistogram(); // Гістограма з останнього takeInterval
+    private CountDownLatch finishedLatch; // Відлік виконавців, що ще не завершили
+
+    private LoadCoordinator() {
+    }
+
+    // Підключення до виконавців і надсилання кожному його частки завдання. Виконавці, яким не дісталося
+    // навантаження, не використовуються. Якщо хоча б до одного виконавця не вдалося підключитися, запуск скасовується.
+    public static LoadCoordinator start(List<InetSocketAddress> addresses, DistributedJob job) throws IOException {
+        if (addresses.isEmpty()) {
+            throw new IllegalArgumentException("Не вказано жодного виконавця");
+        }
+        LoadCoordinator coordinator = new LoadCoordinator();
+        int readTimeout = (int) Math.max(MIN_READ_TIMEOUT_MILLIS, job.reportIntervalMillis() * MISSED_REPORTS);
+        try {
+            for (int i = 0; i < addresses.size(); i++) {
+                DistributedJob share = job.share(i, addresses.size());
+                if (share == null) {
+                    logger.info("Виконавцю {} не дісталося навантаження", addresses.get(i));
+                    continue;
+                }
+                Socket socket = new Socket();
+                try {
+                    socket.connect(addresses.get(i), CONNECT_TIMEOUT_MILLIS);
+                    socket.setTcpNoDelay(true);
+                    socket.setSoTimeout(readTimeout);
+                    coordinator.workers.add(new Worker(addresses.get(i), share, socket));
+                } catch (IOException e) {
+                    socket.close();
+                    throw new IOException("не вдалося підключитися до виконавця " + addresses.get(i) + ": " + e.getMessage(), e);
+                }
+            }
+            // Завдання надсилаються лише після підключення до всіх виконавців, щоб навантаження почалося одночасно
+            for (Worker worker : coordinator.workers) {
+                worker.writer.write(TestSuiteLoader.getMapper().writeValueAsString(worker.job));
+                worker.writer.write('\n');
+                worker.writer.flush();
+            }
+        } catch (IOException | RuntimeException e) {
+            coordinator.close();
+            throw e;
+        }
+
+        coordinator.finishedLatch = new CountDownLatch(coordinator.workers.size());
+        for (Worker worker : coordinator.workers) {
+            Thread.ofVirtual().name("coordinator-" + worker.address).start(() -> coordinator.readReports(worker));
+        }
+        logger.info("Розподілене навантаження запущено на {} виконавцях", coordinator.workers.size());
+        return coordinator;
+    }
+
+    // Розбір списку адрес "host:port,host:port"
+    public static List<InetSocketAddress> parseAddresses(String text) {
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        for (String part : text.split(",")) {
+            if (!part.isBlank()) {
+                addresses.add(parseAddress(part.trim(), null));
+            }
+        }
+        if (addresses.isEmpty()) {
+            throw new IllegalArgumentException("Не вказано жодного виконавця");
+        }
+        return addresses;
+    }
+
+    // Розбір адреси "host:port" або "port" (тоді використовується defaultHost)
+    public static InetSocketAddress parseAddress(String text, String defaultHost) {
+        int separator = text.lastIndexOf(':');
+        String host = separator >= 0 ? text.substring(0, separator) : defaultHost;
+        if (host == null || host.isEmpty()) {
+            throw new IllegalArgumentException("Не вказано хост виконавця: " + text);
+        }
+        try {
+            int port = Integer.parseInt(text.substring(separator + 1).trim());
+            if (port <= 0 || port > 65535) {
+                throw new IllegalArgumentException("Некоректний порт: " + text);
+            }
+            return new InetSocketAddress(host, port);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Некоректна адреса (очікується host:port): " + text);
+        }
+    }
+
+    // Читання звітів виконавця до завершення завдання або обриву з'єднання
+    private void readReports(Worker worker) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(worker.socket.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                LoadWorker.Message message = LoadWorker.readMessage(line);
+                switch (message.type()) {
+                    case "progress" -> {
+                        if (message.histogram() != null) {
+                            Histogram interval = LatencyPercentiles.decode(message.histogram());
+                            synchronized (this) {
+                                totalHistogram.add(interval);
+                                intervalHistogram.add(interval);
+                                worker.histogram.add(interval);
+                            }
+                        }
+                        worker.completed = message.completed();
+                        worker.failed = message.failed();
+                        worker.activeUsers = message.activeUsers();
+                    }
+                    case "done" -> {
+                        worker.activeUsers = 0;
+                        worker.finished = true;
+                        return;
+                    }
+                    case "error" -> {
+                        worker.error = message.message();
+                        return;
+                    }
+                    default -> logger.warn("Невідоме повідомлення від виконавця {}: {}", worker.address, message.type());
+                }
+            }
+            worker.error = "з'єднання закрито до завершення завдання";
+        } catch (IOException | IllegalArgumentException e) {
+            worker.error = "з'єднання втрачено: " + e.getMessage();
+        } finally {
+            if (worker.error != null) {
+                logger.error("Виконавець {}: {}", worker.address, worker.error);
+            }
+            finishedLatch.countDown();
+        }
+    }
+
+    // Гістограма, накопичена з попереднього виклику (для проміжного прогресу)
+    public synchronized Histogram takeInterval() {
+        Histogram interval = intervalHistogram;
+        intervalHistogram = LatencyPercentiles.newHistogram();
+        return interval;
+    }
+
+    // Гістограма за весь запуск (копія)
+    public synchronized Histogram getTotalHistogram() {
+        return totalHistogram.copy();
+    }
+
+    public long getCompleted() {
+        return workers.stream().mapToLong(worker -> worker.completed).sum();
+    }
+
+    public long getFailed() {
+        return workers.stream().mapToLong(worker -> worker.failed).sum();
+    }
+
+    public int getActiveUsers() {
+        return workers.stream().mapToInt(worker -> worker.activeUsers).sum();
+    }
+
+    // Чи є виконавці, що завершилися з помилкою або втратили з'єднання
+    public boolean hasErrors() {
+        return workers.stream().anyMatch(worker -> worker.error != null);
+    }
+
+    // Стан кожного виконавця
+    public synchronized List<WorkerStatus> getWorkers() {
+        return workers.stream().map(worker -> new WorkerStatus(worker.address.getHostString() + ":" + worker.address.getPort(),
+                worker.job.describeLoad(), worker.completed, worker.failed, worker.activeUsers, worker.histogram.copy(),
+                worker.finished, worker.error)).toList();
+    }
+
+    // Очікування завершення всіх виконавців
+    public void awaitFinished() throws InterruptedException {
+        finishedLatch.await();
+    }
+
+    // Те саме з обмеженням часу; повертає false, якщо час минув
+    public boolean awaitFinished(long timeoutMillis) throws InterruptedException {
+        return finishedLatch.await(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Зупинка навантаження на всіх виконавцях (вже надіслані запити завершуються і потрапляють у звіт)
+    public void cancel() {
+        for (Worker worker : workers) {
+            try {
+                synchronized (worker.writer) {
+                    LoadWorker.writeMessage(worker.writer, LoadWorker.Message.cancel());
+                }
+            } catch (IOException e) {
+                logger.warn("Не вдалося зупинити виконавця {}: {}", worker.address, e.getMessage());
+            }
+        }
+    }
+
+    // Закриття з'єднань; виконавці, що ще працюють, зупиняють навантаження
+    @Override
+    public void close() {
+        for (Worker worker : workers) {
+            try {
+                worker.socket.close();
+            } catch (IOException e) {
+                logger.warn("Помилка при закритті з'єднання з {}: {}", worker.address, e.getMessage());
+            }
+        }
+    }
+}
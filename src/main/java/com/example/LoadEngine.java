@@ -0,0 +1,322 @@
+package com.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+// Клас для виконання тест-кейсів під навантаженням (кілька віртуальних користувачів одночасно)
+public class LoadEngine {
+    // Логгер для інформації та помилок
+    private static final Logger logger = LoggerFactory.getLogger(LoadEngine.class);
+    // Пауза, якщо набір, що змінюється під час виконання, став порожнім
+    private static final long EMPTY_SUITE_WAIT_NANOS = 100_000_000L;
+    // Інтервал перерахунку кількості користувачів для профілю навантаження
+    private static final long PROFILE_TICK_NANOS = 50_000_000L;
+
+    // Слухач результатів; викликається з потоків віртуальних користувачів, тому має бути потокобезпечним
+    public interface ResultListener {
+        void onResult(TestCase testCase, TestResult result);
+    }
+
+    // Тест-кейс для запиту або помилка його читання: тест-кейси набору (SuiteBundle) читаються з диска
+    // під час першого звернення, і набір могли змінити чи видалити під час навантаження
+    private record Selected(TestCase testCase, String error) {
+        TestResult run(RunOptions options) {
+            return error == null ? TestRunner.runTest(testCase, options) : TestResult.failure(error, 0);
+        }
+    }
+
+    // Тест-кейс за номером запиту (по колу). Помилка читання стає проваленим результатом замінника з
+    // назвою набору, інакше виняток непомітно завершив би віртуального користувача або планувальник
+    private static Selected select(List<TestCase> current, long position) {
+        int index = (int) (position % current.size());
+        try {
+            return new Selected(current.get(index), null);
+        } catch (UncheckedIOException e) {
+            String error = e.getMessage() + " (" + e.getCause().getMessage() + ")";
+            logger.error(error);
+            String source = current instanceof SuiteBundle bundle ? bundle.getPath().toString() : "";
+            return new Selected(TestCase.of(source, "GET", "", "", "", "200"), error);
+        }
+    }
+
+    // Закрита модель навантаження: virtualUsers віртуальних потоків спільно виконують
+    // кожен тест-кейс runCount разів. Метод блокується до завершення всіх запитів.
+    public static void runClosed(List<TestCase> testCases, RunOptions options, int virtualUsers, int runCount,
+                                 ResultListener listener) {
+        runClosed(testCases, options, virtualUsers, runCount, listener, new AtomicBoolean());
+    }
+
+    // Те саме з можливістю зупинки: після встановлення cancelled нові запити не надсилаються,
+    // а вже надіслані завершуються (не довше за тайм-аути транспорту)
+    public static void runClosed(List<TestCase> testCases, RunOptions options, int virtualUsers, int runCount,
+                                 ResultListener listener, AtomicBoolean cancelled) {
+        if (testCases.isEmpty() || runCount <= 0) {
+            return;
+        }
+        long totalRequests = (long) testCases.size() * runCount; // Загальна кількість запитів
+        runUsers(() -> testCases, options, virtualUsers, totalRequests, runCount, Long.MAX_VALUE, listener, cancelled);
+    }
+
+    // Закрита модель навантаження з обмеженням за часом: віртуальні користувачі по колу виконують
+    // тест-кейси, доки не мине durationMillis. Метод блокується до завершення.
+    public static void runClosedForDuration(List<TestCase> testCases, RunOptions options, int virtualUsers,
+                                            long durationMillis, ResultListener listener) {
+        if (testCases.isEmpty()) {
+            return;
+        }
+        runClosedForDuration(() -> testCases, options, virtualUsers, durationMillis, listener);
+    }
+
+    // Те саме для набору, що може змінюватися під час виконання (наприклад, TestSuiteWatcher::getTestCases):
+    // кожен запит бере тест-кейс з поточної версії набору
+    public static void runClosedForDuration(Supplier<List<TestCase>> testCases, RunOptions options, int virtualUsers,
+                                            long durationMillis, ResultListener listener) {
+        runClosedForDuration(testCases, options, virtualUsers, durationMillis, listener, new AtomicBoolean());
+    }
+
+    // Те саме з можливістю зупинки до завершення тривалості
+    public static void runClosedForDuration(Supplier<List<TestCase>> testCases, RunOptions options, int virtualUsers,
+                                            long durationMillis, ResultListener listener, AtomicBoolean cancelled) {
+        if (durationMillis <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + durationMillis * 1_000_000L;
+        runUsers(testCases, options, virtualUsers, Long.MAX_VALUE, 1, deadline, listener, cancelled);
+    }
+
+    // Запуск віртуальних користувачів, які беруть наступний запит зі спільного лічильника,
+    // поки запити не закінчаться, не настане кінцевий момент (deadline за System.nanoTime) або не буде зупинки
+    private static void runUsers(Supplier<List<TestCase>> testCases, RunOptions options, int virtualUsers, long totalRequests,
+                                 int runCount, long deadline, ResultListener listener, AtomicBoolean cancelled) {
+        int users = (int) Math.max(1, Math.min(virtualUsers, totalRequests)); // Зайві користувачі не потрібні
+        AtomicLong nextRequest = new AtomicLong(); // Номер наступного запиту для виконання
+        AtomicLong completed = new AtomicLong(); // Кількість виконаних запитів
+
+        logger.info("Запуск навантаження: {} віртуальних користувачів, {} тест-кейсів", users, testCases.get().size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < users; user++) {
+                executor.submit(() -> {
+                    long index;
+                    while (!cancelled.get() && (index = nextRequest.getAndIncrement()) < totalRequests
+                            && (deadline == Long.MAX_VALUE || System.nanoTime() - deadline < 0)) {
+                        // Запити одного тест-кейсу йдуть поспіль; при обмеженні за часом тест-кейси чергуються
+                        List<TestCase> current = testCases.get();
+                        if (current.isEmpty()) {
+                            // Набір тимчасово порожній (усі файли видалено) — чекаємо на нові тест-кейси
+                            LockSupport.parkNanos(EMPTY_SUITE_WAIT_NANOS);
+                            continue;
+                        }
+                        Selected selected = select(current, index / runCount);
+                        TestResult result = selected.run(options);
+                        completed.incrementAndGet();
+                        options.eventLog().record(selected.testCase(), result);
+                        listener.onResult(selected.testCase(), result);
+                    }
+                });
+            }
+        } // close() чекає завершення всіх віртуальних користувачів
+        options.eventLog().finish();
+
+        if (cancelled.get()) {
+            logger.info("Навантаження зупинено: виконано {} запитів", completed.get());
+        } else {
+            logger.info("Навантаження завершено: виконано {} запитів", completed.get());
+        }
+    }
+
+    // Закрита модель за профілем навантаження: кількість віртуальних користувачів змінюється за етапами профілю
+    // (наростання, утримання, спадання). Користувачі створюються під час наростання, а під час спадання зайві
+    // завершують поточний запит і чекають. Кожен результат позначається етапом і кількістю користувачів у момент
+    // відправлення. onUsersChanged (може бути null) викликається при зміні кількості користувачів.
+    // Метод блокується до завершення профілю або зупинки.
+    public static void runStaged(Supplier<List<TestCase>> testCases, RunOptions options, LoadProfile profile,
+                                 ResultListener listener, AtomicBoolean cancelled, IntConsumer onUsersChanged) {
+        AtomicInteger targetUsers = new AtomicInteger(); // Поточна кількість активних користувачів
+        AtomicInteger currentStage = new AtomicInteger(1); // Поточний етап профілю
+        AtomicBoolean finished = new AtomicBoolean(); // Профіль завершено
+        AtomicLong nextRequest = new AtomicLong(); // Номер наступного запиту (для чергування тест-кейсів)
+        AtomicLong completed = new AtomicLong(); // Кількість виконаних запитів
+
+        logger.info("Запуск профілю навантаження: {}", profile);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int startedUsers = 0;
+            int lastTarget = -1;
+            while (!cancelled.get()) {
+                long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+                if (elapsedMillis >= profile.getTotalDurationMillis()) {
+                    break;
+                }
+                int target = profile.usersAt(elapsedMillis);
+                currentStage.set(profile.stageAt(elapsedMillis));
+                targetUsers.set(target);
+
+                // Користувачі з номером, меншим за поточну кількість, надсилають запити; решта чекає
+                while (startedUsers < target) {
+                    int user = startedUsers++;
+                    executor.submit(() -> {
+                        while (!finished.get() && !cancelled.get()) {
+                            int users = targetUsers.get();
+                            List<TestCase> current = testCases.get();
+                            if (user >= users || current.isEmpty()) {
+                                LockSupport.parkNanos(PROFILE_TICK_NANOS);
+                                continue;
+                            }
+                            Selected selected = select(current, nextRequest.getAndIncrement());
+                            int stage = currentStage.get();
+                            TestResult result = selected.run(options).withLoadStage(stage, users);
+                            completed.incrementAndGet();
+                            options.eventLog().record(selected.testCase(), result);
+                            listener.onResult(selected.testCase(), result);
+                        }
+                    });
+                }
+                if (target != lastTarget) {
+                    lastTarget = target;
+                    if (onUsersChanged != null) {
+                        onUsersChanged.accept(target);
+                    }
+                }
+                LockSupport.parkNanos(PROFILE_TICK_NANOS);
+            }
+            finished.set(true);
+        } // close() чекає завершення запитів, що виконуються
+        options.eventLog().finish();
+
+        logger.info("Профіль навантаження {}: виконано {} запитів", cancelled.get() ? "зупинено" : "завершено",
+                completed.get());
+    }
+
+    // Відкрита модель навантаження: запити надсилаються з постійною швидкістю requestsPerSecond
+    // протягом durationMillis незалежно від того, як швидко відповідає сервер; тест-кейси чергуються по колу.
+    // Метод не блокується; onFinish викликається після завершення останнього запиту.
+    public static OpenRun runOpen(List<TestCase> testCases, RunOptions options, double requestsPerSecond, long durationMillis,
+                                  ResultListener listener, Consumer<OpenRun> onFinish) {
+        if (testCases.isEmpty()) {
+            throw new IllegalArgumentException("Немає тест-кейсів для виконання");
+        }
+        return runOpen(() -> testCases, options, requestsPerSecond, durationMillis, listener, onFinish);
+    }
+
+    // Те саме для набору, що може змінюватися під час виконання: тест-кейс обирається з поточної
+    // версії набору в момент відправлення; якщо набір порожній, запит пропускається
+    public static OpenRun runOpen(Supplier<List<TestCase>> testCases, RunOptions options, double requestsPerSecond,
+                                  long durationMillis, ResultListener listener, Consumer<OpenRun> onFinish) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("Швидкість надходження запитів має бути більшою за 0");
+        }
+        OpenRun run = new OpenRun();
+        Thread scheduler = new Thread(() -> {
+            try {
+                run.schedule(testCases, options, requestsPerSecond, durationMillis, listener);
+            } finally {
+                run.done = true;
+                logger.info("Відкрита модель завершена: надіслано {} запитів, макс. відставання {} мс",
+                        run.getSentCount(), run.getMaxLagMillis());
+                if (onFinish != null) {
+                    onFinish.accept(run);
+                }
+            }
+        }, "arrival-scheduler");
+        scheduler.setDaemon(true);
+        run.schedulerThread = scheduler;
+        logger.info("Запуск відкритої моделі: {} запитів/с протягом {} мс", requestsPerSecond, durationMillis);
+        scheduler.start();
+        return run;
+    }
+
+    // Запущене навантаження відкритої моделі: дозволяє зупинити його та дізнатися відставання планувальника
+    public static class OpenRun {
+        private volatile boolean cancelled; // Прапорець зупинки
+        private volatile boolean done; // Прапорець завершення
+        private volatile Thread schedulerThread; // Потік планувальника
+        private final AtomicLong sentCount = new AtomicLong(); // Кількість надісланих запитів
+        private final AtomicLong totalLagNanos = new AtomicLong(); // Сумарне відставання від розкладу
+        private final AtomicLong maxLagNanos = new AtomicLong(); // Максимальне відставання від розкладу
+
+        // Основний цикл планувальника: момент i-го запиту = старт + i * інтервал, без накопичення похибки
+        private void schedule(Supplier<List<TestCase>> testCases, RunOptions options, double requestsPerSecond,
+                              long durationMillis, ResultListener listener) {
+            double intervalNanos = 1_000_000_000.0 / requestsPerSecond;
+            long durationNanos = durationMillis * 1_000_000L;
+            long start = System.nanoTime();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (long i = 0; !cancelled; i++) {
+                    long offset = (long) (i * intervalNanos);
+                    if (offset >= durationNanos) {
+                        break;
+                    }
+                    long intendedTime = start + offset;
+
+                    // Очікування запланованого моменту відправлення
+                    long wait;
+                    while (!cancelled && (wait = intendedTime - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(this, wait);
+                    }
+                    if (cancelled) {
+                        break;
+                    }
+                    List<TestCase> current = testCases.get();
+                    if (current.isEmpty()) {
+                        continue;
+                    }
+                    Selected selected = select(current, i);
+
+                    // Кожен запит виконується у власному віртуальному потоці, тому повільні відповіді не затримують розклад
+                    executor.submit(() -> {
+                        long lagNanos = Math.max(0, System.nanoTime() - intendedTime);
+                        totalLagNanos.addAndGet(lagNanos);
+                        maxLagNanos.accumulateAndGet(lagNanos, Math::max);
+                        sentCount.incrementAndGet();
+                        TestResult result = selected.run(options).withScheduleDelay(lagNanos / 1000);
+                        options.eventLog().record(selected.testCase(), result);
+                        listener.onResult(selected.testCase(), result);
+                    });
+                }
+            } // close() чекає відповіді на вже надіслані запити
+            options.eventLog().finish();
+        }
+
+        // Зупинка відправлення нових запитів
+        public void cancel() {
+            cancelled = true;
+            Thread thread = schedulerThread;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+
+        public long getSentCount() {
+            return sentCount.get();
+        }
+
+        // Максимальне відставання відправлення від розкладу (мс)
+        public long getMaxLagMillis() {
+            return maxLagNanos.get() / 1_000_000;
+        }
+
+        // Середнє відставання відправлення від розкладу (мс)
+        public double getAverageLagMillis() {
+            long sent = sentCount.get();
+            return sent == 0 ? 0 : totalLagNanos.get() / 1_000_000.0 / sent;
+        }
+    }
+}
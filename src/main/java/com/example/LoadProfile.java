@@ -0,0 +1,158 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Профіль навантаження закритої моделі з етапів: на кожному етапі кількість віртуальних користувачів
+// рівномірно змінюється від кінцевої кількості попереднього етапу (на початку — 0) до цільової.
+// Утримання навантаження — етап з тією ж цільовою кількістю. Запис: "2m:200, 10m:200, 1m:0"
+// (наростання до 200 користувачів за 2 хв, утримання 10 хв, спадання до 0 за 1 хв).
+public class LoadProfile {
+    // Етап профілю
+    public record Stage(
+            long durationMillis, // Тривалість етапу (мс)
+            int targetUsers // Кількість користувачів наприкінці етапу
+    ) {
+    }
+
+    private final List<Stage> stages; // Етапи у порядку виконання
+    private final long totalDurationMillis; // Загальна тривалість
+    private final int maxUsers; // Найбільша кількість користувачів
+
+    // Конструктор
+    public LoadProfile(List<Stage> stages) {
+        if (stages.isEmpty()) {
+            throw new IllegalArgumentException("Профіль навантаження не містить етапів");
+        }
+        long total = 0;
+        int max = 0;
+        for (Stage stage : stages) {
+            if (stage.durationMillis() <= 0) {
+                throw new IllegalArgumentException("Тривалість етапу має бути більшою за 0");
+            }
+            if (stage.targetUsers() < 0) {
+                throw new IllegalArgumentException("Кількість користувачів не може бути від'ємною");
+            }
+            total += stage.durationMillis();
+            max = Math.max(max, stage.targetUsers());
+        }
+        if (max == 0) {
+            throw new IllegalArgumentException("Профіль навантаження не містить жодного користувача");
+        }
+        this.stages = List.copyOf(stages);
+        this.totalDurationMillis = total;
+        this.maxUsers = max;
+    }
+
+    // Розбір профілю: етапи "тривалість:користувачі" через кому або крапку з комою (тривалість як у --duration)
+    public static LoadProfile parse(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Профіль навантаження порожній");
+        }
+        List<Stage> stages = new ArrayList<>();
+        for (String part : text.split("[,;]")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            int separator = part.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Некоректний етап (очікується тривалість:користувачі): " + part.trim());
+            }
+            long duration = CliRunner.parseDurationMillis(part.substring(0, separator));
+            int users;
+            try {
+                users = Integer.parseInt(part.substring(separator + 1).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Некоректна кількість користувачів: " + part.trim());
+            }
+            stages.add(new Stage(duration, users));
+        }
+        return new LoadProfile(stages);
+    }
+
+    public List<Stage> getStages() {
+        return stages;
+    }
+
+    public long getTotalDurationMillis() {
+        return totalDurationMillis;
+    }
+
+    public int getMaxUsers() {
+        return maxUsers;
+    }
+
+    // Частина профілю для одного з count процесів (index з 0): цільова кількість користувачів кожного етапу
+    // ділиться порівну, залишок дістається першим процесам; null — частка не містить жодного користувача
+    public LoadProfile share(int index, int count) {
+        List<Stage> shared = new ArrayList<>();
+        for (Stage stage : stages) {
+            shared.add(new Stage(stage.durationMillis(), share(stage.targetUsers(), index, count)));
+        }
+        return shared.stream().anyMatch(stage -> stage.targetUsers() > 0) ? new LoadProfile(shared) : null;
+    }
+
+    // Частка значення total для процесу index з count
+    static int share(int total, int index, int count) {
+        return total / count + (index < total % count ? 1 : 0);
+    }
+
+    // Номер етапу (з 1) у момент elapsedMillis від початку; після завершення — номер останнього етапу
+    public int stageAt(long elapsedMillis) {
+        long stageStart = 0;
+        for (int i = 0; i < stages.size(); i++) {
+            stageStart += stages.get(i).durationMillis();
+            if (elapsedMillis < stageStart) {
+                return i + 1;
+            }
+        }
+        return stages.size();
+    }
+
+    // Кількість користувачів у момент elapsedMillis від початку (лінійна зміна в межах етапу)
+    public int usersAt(long elapsedMillis) {
+        long stageStart = 0;
+        int fromUsers = 0;
+        for (Stage stage : stages) {
+            if (elapsedMillis < stageStart + stage.durationMillis()) {
+                double fraction = (double) (elapsedMillis - stageStart) / stage.durationMillis();
+                return (int) Math.round(fromUsers + (stage.targetUsers() - fromUsers) * Math.max(0, fraction));
+            }
+            stageStart += stage.durationMillis();
+            fromUsers = stage.targetUsers();
+        }
+        return fromUsers;
+    }
+
+    // Кількість користувачів на початку етапу (номер з 1)
+    public int startUsers(int stage) {
+        return stage <= 1 ? 0 : stages.get(stage - 2).targetUsers();
+    }
+
+    // Опис етапу для відображення, наприклад "етап 1: 0→200 корист. за 120 с"
+    public String describeStage(int stage) {
+        Stage s = stages.get(stage - 1);
+        return String.format(Locale.ROOT, "етап %d: %d→%d корист. за %s", stage, startUsers(stage), s.targetUsers(),
+                formatDuration(s.durationMillis()));
+    }
+
+    private static String formatDuration(long millis) {
+        if (millis % 60_000 == 0) {
+            return (millis / 60_000) + " хв";
+        }
+        return String.format(Locale.ROOT, "%.1f с", millis / 1000.0).replace(".0 ", " ");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= stages.size(); i++) {
+            if (i > 1) {
+                text.append("; ");
+            }
+            text.append(describeStage(i));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,215 @@
+package com.example;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Процес-виконавець розподіленого навантаження: приймає з'єднання координатора (TCP, рядки JSON),
+// отримує завдання, виконує його через LoadEngine і через рівні інтервали надсилає назад не окремі результати,
+// а стиснуту гістограму часу виконання за інтервал і лічильники. Завдання виконуються по одному.
+public class LoadWorker {
+    private static final Logger logger = LoggerFactory.getLogger(LoadWorker.class);
+    // Порт виконавця за замовчуванням
+    public static final int DEFAULT_PORT = 19090;
+
+    private static final ObjectReader JOB_READER = TestSuiteLoader.getMapper().readerFor(DistributedJob.class);
+    private static final ObjectReader MESSAGE_READER = TestSuiteLoader.getMapper().readerFor(Message.class);
+    private static final ObjectWriter MESSAGE_WRITER = TestSuiteLoader.getMapper().writerFor(Message.class);
+
+    // Повідомлення між виконавцем і координатором (один рядок JSON)
+    public record Message(
+            String type, // progress — проміжний звіт, done — завершено, error — помилка, cancel — зупинка (від координатора)
+            long completed, // Виконано запитів з початку завдання
+            long failed, // Провалено запитів з початку завдання
+            int activeUsers, // Поточна кількість віртуальних користувачів (для профілю навантаження)
+            String histogram, // Гістограма часу виконання (мкс) за інтервал, стиснута, у Base64
+            String message // Текст помилки
+    ) {
+        static Message cancel() {
+            return new Message("cancel", 0, 0, 0, null, null);
+        }
+
+        static Message error(String text) {
+            return new Message("error", 0, 0, 0, null, text);
+        }
+    }
+
+    // Читання повідомлення з рядка
+    static Message readMessage(String line) throws IOException {
+        return MESSAGE_READER.readValue(line);
+    }
+
+    // Запис повідомлення одним рядком
+    static void writeMessage(Writer writer, Message message) throws IOException {
+        writer.write(MESSAGE_WRITER.writeValueAsString(message));
+        writer.write('\n');
+        writer.flush();
+    }
+
+    // Очікування завдань на адресі; блокується до завершення процесу
+    public static void serve(InetSocketAddress address) throws IOException {
+        try (ServerSocket server = new ServerSocket()) {
+            server.bind(address);
+            logger.info("Виконавець очікує координатора на {}", server.getLocalSocketAddress());
+            System.out.printf("Виконавець очікує координатора на %s (Ctrl+C — завершення)%n", server.getLocalSocketAddress());
+            serve(server);
+        }
+    }
+
+    // Виконання завдань з'єднань, прийнятих сокетом, доки його не закрито
+    static void serve(ServerSocket server) {
+        while (!server.isClosed()) {
+            try (Socket socket = server.accept()) {
+                socket.setTcpNoDelay(true);
+                System.out.println("Підключено координатора " + socket.getRemoteSocketAddress());
+                runJob(socket);
+            } catch (IOException e) {
+                if (server.isClosed()) {
+                    return;
+                }
+                // Обрив з'єднання з координатором не зупиняє виконавця
+                logger.error("Помилка з'єднання з координатором: {}", e.getMessage());
+                System.err.println("Помилка з'єднання з координатором: " + e.getMessage());
+            }
+        }
+    }
+
+    // Виконання одного завдання з з'єднання координатора
+    private static void runJob(Socket socket) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        String line = reader.readLine();
+        if (line == null) {
+            return;
+        }
+        DistributedJob job;
+        try {
+            job = JOB_READER.readValue(line);
+        } catch (IOException e) {
+            writeMessage(writer, Message.error("Некоректне завдання: " + e.getMessage()));
+            return;
+        }
+        System.out.printf("Завдання: %d тест-кейсів, %s%n", job.testCases().size(), job.describeLoad());
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicLong completed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        AtomicLong activeUsers = new AtomicLong();
+        Recorder recorder = new Recorder(LatencyPercentiles.HIGHEST_TRACKABLE_MICROS, LatencyPercentiles.SIGNIFICANT_DIGITS);
+
+        // Команда зупинки або обрив з'єднання з боку координатора зупиняє навантаження
+        Thread listener = Thread.ofVirtual().start(() -> {
+            try {
+                String command;
+                while ((command = reader.readLine()) != null) {
+                    if ("cancel".equals(readMessage(command).type())) {
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                // З'єднання закрито
+            }
+            cancelled.set(true);
+        });
+
+        // Проміжні звіти через рівні інтервали
+        Supplier<Message> progress = () -> new Message("progress", completed.get(), failed.get(), (int) activeUsers.get(),
+                LatencyPercentiles.encode(recorder.getIntervalHistogram()), null);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "worker-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> {
+            try {
+                synchronized (writer) {
+                    writeMessage(writer, progress.get());
+                }
+            } catch (IOException e) {
+                cancelled.set(true);
+            }
+        }, job.reportIntervalMillis(), job.reportIntervalMillis(), TimeUnit.MILLISECONDS);
+
+        LoadEngine.ResultListener resultListener = (testCase, result) -> {
+            completed.incrementAndGet();
+            if (!result.passed()) {
+                failed.incrementAndGet();
+            }
+            recorder.recordValue(Math.max(1, Math.min(result.latencyMicros(), LatencyPercentiles.HIGHEST_TRACKABLE_MICROS)));
+        };
+        Message last;
+        try {
+            execute(job, resultListener, cancelled, activeUsers);
+            last = null;
+        } catch (RuntimeException e) {
+            logger.error("Помилка під час виконання завдання: {}", e.getMessage());
+            last = Message.error(e.getMessage());
+        } finally {
+            reporter.shutdownNow();
+        }
+
+        // Останній проміжний звіт і повідомлення про завершення
+        synchronized (writer) {
+            writeMessage(writer, progress.get());
+            writeMessage(writer, last != null ? last
+                    : new Message("done", completed.get(), failed.get(), 0, null, null));
+        }
+        System.out.printf("Завдання %s: виконано %d запитів, помилок %d%n",
+                cancelled.get() ? "зупинено" : "завершено", completed.get(), failed.get());
+        listener.interrupt();
+    }
+
+    // Виконання завдання відповідною моделлю навантаження
+    private static void execute(DistributedJob job, LoadEngine.ResultListener listener, AtomicBoolean cancelled,
+                                AtomicLong activeUsers) {
+        List<TestCase> testCases = job.testCases();
+        RunOptions options = RunOptions.forRun(job.apiKey(), job.transport().getTransport(), job.bodyPrefixLimit(),
+                job.hashBody(), ResultEventLog.defaults(), job.requestTimeoutMillis() > 0
+                ? job.requestTimeoutMillis() : RunOptions.DEFAULT_REQUEST_TIMEOUT_MILLIS);
+        if (!job.profile().isEmpty()) {
+            LoadEngine.runStaged(() -> testCases, options, new LoadProfile(job.profile()), listener, cancelled,
+                    activeUsers::set);
+        } else if (job.rate() > 0) {
+            LoadEngine.OpenRun run = LoadEngine.runOpen(testCases, options, job.rate(), job.durationMillis(), listener, null);
+            while (!run.isDone()) {
+                if (cancelled.get()) {
+                    run.cancel();
+                }
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    run.cancel();
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        } else if (job.durationMillis() > 0) {
+            activeUsers.set(job.virtualUsers());
+            LoadEngine.runClosedForDuration(() -> testCases, options, job.virtualUsers(), job.durationMillis(), listener,
+                    cancelled);
+        } else {
+            activeUsers.set(job.virtualUsers());
+            LoadEngine.runClosed(testCases, options, job.virtualUsers(), job.iterations(), listener, cancelled);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
@@ -16,6 +17,7 @@ import javafx.scene.layout.VBox;
 import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import org.HdrHistogram.Histogram;
 
 import javax.swing.*;
 import java.io.*;
@@ -31,6 +33,11 @@ import java.util.Date;
 import java.util.List;
 import java.util.Timer;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 // Основний клас програми, який запускає JavaFX додаток для тестування REST API
 public class Main extends Application {
@@ -43,22 +50,68 @@ public class Main extends Application {
     private TextArea bodyField; // Текстове поле для введення тіла запиту
     private TextArea resultArea; // Текстове поле для відображення результатів тестування
     private Spinner<Integer> runCountSpinner; // Лічильник для кількості запусків тесту
+    private Spinner<Integer> virtualUsersSpinner; // Лічильник для кількості віртуальних користувачів
+    private ComboBox<TransportType> transportCombo; // Випадаючий список для вибору транспорту (рушія запитів)
+    private Spinner<Integer> bodyPrefixSpinner; // Лічильник для кількості байтів тіла відповіді, що зберігаються
+    private Spinner<Integer> requestTimeoutSpinner; // Лічильник для тайм-ауту очікування відповіді (с)
+    private CheckBox hashBodyCheckBox; // Прапорець для обчислення хешу тіла відповіді
+    private Spinner<Integer> eventLogEverySpinner; // Лічильник: кожен N-й запит записується в журнал результатів
+    private Spinner<Integer> eventLogSlowestSpinner; // Лічильник: скільки найповільніших запитів записати в журнал
+    private CheckBox captureBodiesCheckBox; // Прапорець для запису тіл відповідей в окремий файл
+    private Spinner<Integer> stubPortSpinner; // Лічильник для порту сервера-заглушки
+    private Button stubButton; // Кнопка для запуску та зупинки сервера-заглушки
+    private Label stubStatusLabel; // Мітка зі станом сервера-заглушки
+    private StubServer stubServer; // Локальний сервер-заглушка (null — не запущено)
+    private File stubRoutesFile; // Файл маршрутів сервера-заглушки (null — маршрут за замовчуванням)
     private Spinner<Integer> periodicIntervalSpinner; // Лічильник для інтервалу періодичних тестів
     private Spinner<Integer> periodicDurationSpinner; // Лічильник для тривалості періодичних тестів
+    private Spinner<Double> periodicRateSpinner; // Лічильник для швидкості надходження запитів (запитів/с)
+    private Spinner<Integer> historyCapacitySpinner; // Лічильник для кількості результатів у пам'яті на один запит
     private TextField scheduleStartTimeField; // Поле для введення часу запланованого тесту
+    private CheckBox saveToBundleCheckBox; // Прапорець для збереження тесту в один файл-набір замість окремого файлу
     private final List<TestCase> testCases = new ArrayList<>(); // Список збережених тест-кейсів
     private final List<RequestHistory> requestHistory = new ArrayList<>(); // Історія виконаних запитів
+    // Записи історії за запитом: пошук без блокування з потоків віртуальних користувачів
+    private final Map<RequestHistory.RequestKey, RequestHistory> historyIndex = new ConcurrentHashMap<>();
+    private volatile RequestHistory selectedHistory; // Обраний для графіків запит (копія значення requestSelector)
     private ComboBox<RequestHistory> requestSelector; // Випадаючий список для вибору історії запитів
+    private ComboBox<ReportFormat> reportFormatCombo; // Випадаючий список для вибору формату звіту
     private LineChart<Number, Number> timeChart; // Графік для відображення часу виконання запитів
     private LineChart<Number, Number> sizeChart; // Графік для відображення розміру відповідей
-    private int periodicRunCount = 0; // Лічильник кількості періодичних запусків
-    private Timer periodicTimer; // Таймер для періодичних тестів
+    private LineChart<Number, Number> loadChart; // Графік залежності часу виконання та помилок від кількості користувачів
+    private final XYChart.Series<Number, Number> loadTimeSeries = new XYChart.Series<>(); // Середній час за кількістю користувачів
+    private final XYChart.Series<Number, Number> loadErrorSeries = new XYChart.Series<>(); // Частка помилок за кількістю користувачів
+    private TextField loadProfileField; // Поле для введення профілю навантаження
+    private final DownsampledSeries timeSeries = new DownsampledSeries("Час виконання"); // Ряд часу виконання
+    private final DownsampledSeries networkSeries = new DownsampledSeries("Мережа (DNS + з'єднання + TLS)"); // Ряд мережевих фаз
+    private final DownsampledSeries ttfbSeries = new DownsampledSeries("Очікування першого байта"); // Ряд очікування відповіді
+    private final DownsampledSeries sizeSeries = new DownsampledSeries("Розмір відповіді"); // Ряд розміру відповіді
+    private RequestHistory chartedRequest; // Запит, показаний на графіках
+    private long chartedRunNumber; // Номер останнього результату, показаного на графіках
+    private final AtomicBoolean chartUpdatePending = new AtomicBoolean(); // Чи заплановано оновлення графіків
+    private LoadEngine.OpenRun periodicRun; // Поточне періодичне виконання (відкрита модель)
+    private Timeline periodicTimeline; // Періодичне оновлення підсумку відкритої моделі
+    private TestSuiteWatcher testsWatcher; // Спостереження за папкою з тест-кейсами
+    private java.nio.file.Path selectedTestFile; // Файл тест-кейсу, завантажений у поля введення
+    private ResultStore resultStore; // Сховище результатів усіх сеансів на диску
+    private final Set<RequestHistory> loadingHistories = new HashSet<>(); // Історії, що завантажуються зі сховища
+    private final ExecutorService testExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "test-runner");
+        thread.setDaemon(true);
+        return thread;
+    }); // Фоновий потік для виконання тестів, щоб не блокувати інтерфейс
+    private RunProgress activeRun; // Поточне виконання у фоновому потоці
+    private Timeline progressTimeline; // Періодичне оновлення прогресу виконання
+    private ProgressBar runProgressBar; // Індикатор прогресу виконання
+    private Label runProgressLabel; // Мітка з кількістю виконаних запитів, швидкістю та помилками
+    private Button stopRunButton; // Кнопка для зупинки виконання
     private Timer scheduleTimer; // Таймер для запланованих тестів
-    private static final String LOG_FILE_PATH = "rest-tester.log"; // Шлях до файлу логів
+    private volatile boolean scheduledRunActive; // Чи виконується запланований запуск
     private static final String DEFAULT_API_KEY_PATH = "api-key.txt"; // Шлях до файлу з API ключем за замовчуванням
+    private static final String DEFAULT_BUNDLE_NAME = "suite" + SuiteBundle.EXTENSION; // Ім'я файлу-набору в папці для тестів
     private String reportDirectory = "reports"; // Папка для зберігання звітів
     private String testsDirectory = "tests"; // Папка для зберігання тест-кейсів
-    private static final int MAX_LOG_LINES = 2000; // Максимальна кількість рядків у файлі логів
+    private String resultsDirectory = "results"; // Папка сховища результатів
     // Нові елементи для метрик
     private ComboBox<String> timeMetricsCombo; // Випадаючий список для вибору метрик часу виконання
     private Label timeMetricLabel; // Мітка для відображення обраної метрики часу
@@ -82,8 +135,8 @@ public class Main extends Application {
             return;
         }
 
-        // Завантаження збережених тест-кейсів із папки
-        testCases.addAll(TestGenerator.loadTestCases(testsDirectory));
+        // Завантаження збережених тест-кейсів із папки та спостереження за її змінами
+        watchTestsDirectory();
 
         // Перевірка та створення папки для звітів
         File reportsFolder = new File(reportDirectory);
@@ -126,6 +179,9 @@ public class Main extends Application {
 
         tabPane.getTabs().addAll(testTab, chartTab, helpTab);
 
+        // Відкриття сховища результатів: історія попередніх сеансів завантажується при виборі запиту
+        openResultStore();
+
         // Налаштування сцени та відображення вікна
         Scene scene = new Scene(tabPane, 600, 700);
         primaryStage.setTitle("REST Tester");
@@ -133,44 +189,6 @@ public class Main extends Application {
         primaryStage.show();
     }
 
-    // Перевірка файлу логів і очищення, якщо кількість рядків перевищує максимум
-    private void checkAndClearLogFile() {
-        File logFile = new File(LOG_FILE_PATH);
-        if (!logFile.exists()) {
-            return;
-        }
-
-        if (!logFile.canRead()) {
-            System.err.println("Помилка: немає прав на читання файлу логів: " + LOG_FILE_PATH);
-            return;
-        }
-
-        if (!logFile.canWrite()) {
-            System.err.println("Помилка: немає прав на запис у файл логів: " + LOG_FILE_PATH);
-            return;
-        }
-
-        try {
-            // Підрахунок кількості рядків у файлі логів
-            long lineCount = 0;
-            try (BufferedReader reader = new BufferedReader(new FileReader(logFile))) {
-                while (reader.readLine() != null) {
-                    lineCount++;
-                }
-            }
-
-            // Якщо кількість рядків перевищує максимум, очищаємо файл
-            if (lineCount >= MAX_LOG_LINES) {
-                try (FileWriter writer = new FileWriter(logFile, false)) {
-                    writer.write("");
-                    System.out.println("Файл логів очищено, оскільки кількість рядків досягла " + MAX_LOG_LINES);
-                }
-            }
-        } catch (IOException e) {
-            System.err.println("Помилка при перевірці або очищенні файлу логів: " + e.getMessage());
-        }
-    }
-
     // Створення панелі з довідковою інформацією
     private VBox createHelpPane() {
         VBox root = new VBox(10);
@@ -246,18 +264,64 @@ public class Main extends Application {
                         "   - Виберіть метод (GET, POST тощо).\n" +
                         "   - За потреби введіть заголовки, параметри, тіло запиту та API Key.\n" +
                         "   - Вкажіть кількість запусків у лічильнику.\n" +
-                        "   - Натисніть 'Виконати тест'.\n\n" +
+                        "   - Для перевірки під навантаженням вкажіть кількість віртуальних користувачів: запити виконуватимуться одночасно.\n" +
+                        "   - Оберіть рушій: RestAssured (вимірює DNS, з'єднання та TLS) або легкий HttpClient (HTTP/1.1 чи HTTP/2) з мінімальними накладними витратами.\n" +
+                        "   - Тіло відповіді читається потоком: зберігається лише вказана кількість перших байтів, а розмір і хеш рахуються для всього тіла.\n" +
+                        "   - Натисніть 'Виконати тест'. Тести виконуються у фоні: під кнопками показується прогрес (виконано/усього, RPS, помилки).\n" +
+                        "   - Журнал результатів (results.log) містить короткий рядок для кожного N-го запиту, усіх провалених і найповільніших;\n" +
+                        "     тіла відповідей записуються у results-bodies.log, лише якщо позначено 'Тіла відповідей у файл'.\n" +
+                        "   - Кнопка 'Зупинити виконання' припиняє надсилання нових запитів; вже надіслані запити завершуються.\n\n" +
                         "2. Як зберегти тест:\n" +
                         "   - Введіть дані для тесту.\n" +
                         "   - Натисніть 'Зберегти тест'. Тест збережеться у папці, яку ви обрали (за замовчуванням 'tests').\n\n" +
                         "3. Як запустити всі тести:\n" +
-                        "   - Натисніть 'Запустити всі тести'. Програма виконає всі збережені тести.\n\n" +
+                        "   - Натисніть 'Запустити всі тести'. Програма виконає всі збережені тести.\n" +
+                        "   - Програма стежить за папкою з тестами: створені, змінені та видалені файли враховуються без перезапуску.\n" +
+                        "   - Якщо тест завантажено з файлу, періодичне виконання підхоплює зміни цього файлу на ходу.\n\n" +
                         "4. Як згенерувати звіт:\n" +
                         "   - Перейдіть на вкладку 'Графіки'.\n" +
                         "   - Виберіть запит зі списку.\n" +
-                        "   - Натисніть 'Згенерувати звіт'. Звіт збережеться у папці 'reports'.\n\n" +
-                        "5. Як вибрати папку для тестів:\n" +
-                        "   - Натисніть 'Вибрати папку для тестів' і оберіть потрібну папку."
+                        "   - Оберіть формат: текст, CSV (рядок на кожен запуск), JSON або HTML (сторінка з таблицями та гістограмою).\n" +
+                        "   - Натисніть 'Згенерувати звіт'. Звіт збережеться у папці 'reports'.\n" +
+                        "   - Звіт охоплює всі збережені результати запиту, зокрема з попередніх сеансів.\n" +
+                        "   - Звіт і метрики містять перцентилі часу виконання (p50/p90/p95/p99/p99.9) за всі запуски.\n\n" +
+                        "5. Періодичне виконання:\n" +
+                        "   - Запити надсилаються з постійною швидкістю (запитів/с) протягом заданої тривалості, навіть якщо сервер сповільнюється.\n" +
+                        "   - Якщо швидкість 0, вона розраховується як кількість запусків за інтервал.\n" +
+                        "   - Час відповіді рахується від запланованого моменту відправлення, а відставання планувальника виводиться наприкінці.\n\n" +
+                        "6. Збереження результатів:\n" +
+                        "   - Усі результати зберігаються на диску у папці 'results' і не втрачаються після закриття програми.\n" +
+                        "   - Запити попередніх сеансів з'являються у списку на вкладці 'Графіки'; їхні результати завантажуються при виборі запиту.\n" +
+                        "   - 'Очистити історію' очищає лише відображення; щоб видалити збережені результати, видаліть папку 'results'.\n\n" +
+                        "7. Як вибрати папку для тестів:\n" +
+                        "   - Натисніть 'Вибрати папку для тестів' і оберіть потрібну папку.\n\n" +
+                        "8. Профіль навантаження:\n" +
+                        "   - Введіть етапи у форматі тривалість:користувачі через кому, наприклад 2m:200, 10m:200, 1m:0 —\n" +
+                        "     наростання до 200 віртуальних користувачів за 2 хв, утримання 10 хв і спадання до 0 за 1 хв.\n" +
+                        "   - Натисніть 'Запустити за профілем': виконується запит з полів введення.\n" +
+                        "   - Кожен результат позначається етапом і кількістю користувачів. На вкладці 'Графіки' з'являється графік\n" +
+                        "     часу виконання та помилок залежно від кількості користувачів, а метрика 'Етапи профілю навантаження'\n" +
+                        "     показує підсумок етапів і точку насичення (де час відповіді зріс удвічі або з'явилися помилки).\n\n" +
+                        "9. Сервер-заглушка (перевірка без інтернету):\n" +
+                        "   - Вкажіть порт і натисніть 'Запустити сервер-заглушку'. Сервер працює на 127.0.0.1 і за замовчуванням\n" +
+                        "     відповідає на будь-який запит статусом 200 і 128 байтами JSON без затримки.\n" +
+                        "   - Кнопка 'Маршрути...' задає файл JSON з маршрутами: path, method, status, minDelayMs, maxDelayMs,\n" +
+                        "     size, chunked, chunkSize, chunkDelayMs, contentType.\n" +
+                        "   - Параметри запиту перевизначають маршрут: status=500&delay=10-50&size=1048576&chunked=true.\n" +
+                        "   - Запуск тестів проти заглушки показує найбільший досяжний RPS і точність вимірювань на цьому комп'ютері.\n\n" +
+                        "10. Перевірки відповіді:\n" +
+                        "   - У файлі тест-кейсу можна додати поле assertions зі списком перевірок, крім статус-коду:\n" +
+                        "     {\"type\":\"json\",\"path\":\"$.items[0].id\",\"equals\":\"42\"} — значення за JSONPath ($, .поле, [N], [*]);\n" +
+                        "     {\"type\":\"body\",\"matches\":\"регулярний вираз\"}, {\"type\":\"header\",\"name\":\"Content-Type\",\"matches\":\"application/json.*\"},\n" +
+                        "     {\"type\":\"size\",\"max\":1048576} (байти), {\"type\":\"latency\",\"max\":500} (мс).\n" +
+                        "   - JSON перевіряється під час отримання відповіді, без збереження тіла, тому великі відповіді не сповільнюють запуск.\n" +
+                        "   - Тест провалюється, якщо не пройшла хоча б одна перевірка; у результаті перелічено, які саме.\n\n" +
+                        "11. Дані для запитів:\n" +
+                        "   - Поле data у файлі тест-кейсу підключає файл CSV (перший рядок — назви колонок) або JSONL:\n" +
+                        "     {\"file\":\"data/users.csv\",\"strategy\":\"circular\"}; значення колонок підставляються замість ${колонка}\n" +
+                        "     в URL, заголовках, параметрах і тілі.\n" +
+                        "   - Стратегії: sequential — кожен рядок один раз за запуск, random — випадковий рядок, circular — по черзі по колу.\n" +
+                        "   - Файл відображається в пам'ять і читається по рядку, тому підходять і файли на кілька ГБ."
         );
         TitledPane instructionsPane = new TitledPane("Інструкція з використання", instructionsText);
 
@@ -295,12 +359,26 @@ public class Main extends Application {
     // Зупинка таймерів при закритті програми
     @Override
     public void stop() {
-        if (periodicTimer != null) {
-            periodicTimer.cancel();
+        if (activeRun != null) {
+            activeRun.cancel();
+        }
+        if (periodicRun != null) {
+            periodicRun.cancel();
         }
         if (scheduleTimer != null) {
             scheduleTimer.cancel();
         }
+        closeTestsWatcher();
+        if (stubServer != null) {
+            stubServer.close();
+        }
+        if (resultStore != null) {
+            try {
+                resultStore.close();
+            } catch (IOException e) {
+                System.err.println("Помилка при закритті сховища результатів: " + e.getMessage());
+            }
+        }
     }
 
     // Створення панелі для вкладки "Тестування"
@@ -351,7 +429,7 @@ public class Main extends Application {
         VBox.setVgrow(bodyField, Priority.ALWAYS);
 
         // Лічильник кількості запусків
-        runCountSpinner = new Spinner<>(1, 100, 1);
+        runCountSpinner = new Spinner<>(1, 100000, 1);
         runCountSpinner.setEditable(true);
         runCountSpinner.setPrefWidth(100);
         runCountSpinner.getEditor().focusedProperty().addListener((obs, wasFocused, isFocused) -> {
@@ -364,6 +442,88 @@ public class Main extends Application {
             }
         });
 
+        // Лічильник кількості віртуальних користувачів (одночасних запитів)
+        virtualUsersSpinner = new Spinner<>(1, 1000, 1);
+        virtualUsersSpinner.setEditable(true);
+        virtualUsersSpinner.setPrefWidth(100);
+        virtualUsersSpinner.getEditor().focusedProperty().addListener((obs, wasFocused, isFocused) -> {
+            if (!isFocused) {
+                String text = virtualUsersSpinner.getEditor().getText();
+                if (text == null || text.trim().isEmpty()) {
+                    virtualUsersSpinner.getEditor().setText("1");
+                    virtualUsersSpinner.getValueFactory().setValue(1);
+                }
+            }
+        });
+
+        // Вибір транспорту для виконання запитів
+        transportCombo = new ComboBox<>();
+        transportCombo.getItems().addAll(TransportType.values());
+        transportCombo.setValue(TransportType.REST_ASSURED);
+
+        // Лічильник розміру префікса тіла відповіді, який зберігається для відображення та звітів
+        bodyPrefixSpinner = new Spinner<>(0, 10 * 1024 * 1024, RunOptions.DEFAULT_BODY_PREFIX_LIMIT, 1024);
+        bodyPrefixSpinner.setEditable(true);
+        bodyPrefixSpinner.setPrefWidth(110);
+        bodyPrefixSpinner.getEditor().focusedProperty().addListener((obs, wasFocused, isFocused) -> {
+            if (!isFocused) {
+                String text = bodyPrefixSpinner.getEditor().getText();
+                if (text == null || text.trim().isEmpty()) {
+                    bodyPrefixSpinner.getEditor().setText(String.valueOf(RunOptions.DEFAULT_BODY_PREFIX_LIMIT));
+                    bodyPrefixSpinner.getValueFactory().setValue(RunOptions.DEFAULT_BODY_PREFIX_LIMIT);
+                }
+            }
+        });
+
+        // Тайм-аут очікування відповіді сервера (с): запит, на який сервер не відповів, провалюється
+        requestTimeoutSpinner = new Spinner<>(1, 3600, (int) (RunOptions.DEFAULT_REQUEST_TIMEOUT_MILLIS / 1000), 1);
+        requestTimeoutSpinner.setEditable(true);
+        requestTimeoutSpinner.setPrefWidth(80);
+
+        // Прапорець для обчислення хешу тіла відповіді
+        hashBodyCheckBox = new CheckBox("Хеш тіла (CRC32C)");
+
+        // Налаштування вибірки для журналу результатів (провалені запити записуються завжди)
+        eventLogEverySpinner = new Spinner<>(0, 1_000_000, ResultEventLog.DEFAULT_SAMPLE_EVERY, 10);
+        eventLogEverySpinner.setEditable(true);
+        eventLogEverySpinner.setPrefWidth(100);
+        eventLogEverySpinner.getEditor().focusedProperty().addListener((obs, wasFocused, isFocused) -> {
+            if (!isFocused) {
+                String text = eventLogEverySpinner.getEditor().getText();
+                if (text == null || text.trim().isEmpty()) {
+                    eventLogEverySpinner.getEditor().setText("0");
+                    eventLogEverySpinner.getValueFactory().setValue(0);
+                }
+            }
+        });
+        eventLogSlowestSpinner = new Spinner<>(0, 1000, ResultEventLog.DEFAULT_SLOWEST);
+        eventLogSlowestSpinner.setEditable(true);
+        eventLogSlowestSpinner.setPrefWidth(80);
+        eventLogSlowestSpinner.getEditor().focusedProperty().addListener((obs, wasFocused, isFocused) -> {
+            if (!isFocused) {
+                String text = eventLogSlowestSpinner.getEditor().getText();
+                if (text == null || text.trim().isEmpty()) {
+                    eventLogSlowestSpinner.getEditor().setText("0");
+                    eventLogSlowestSpinner.getValueFactory().setValue(0);
+                }
+            }
+        });
+        captureBodiesCheckBox = new CheckBox("Тіла відповідей у файл");
+
+        // Лічильник порту сервера-заглушки
+        stubPortSpinner = new Spinner<>(1024, 65535, StubServer.DEFAULT_PORT);
+        stubPortSpinner.setEditable(true);
+        stubPortSpinner.setPrefWidth(100);
+        stubPortSpinner.getEditor().focusedProperty().addListener((obs, wasFocused, isFocused) -> {
+            if (!isFocused) {
+                String text = stubPortSpinner.getEditor().getText();
+                if (text == null || text.trim().isEmpty()) {
+                    stubPortSpinner.getEditor().setText(String.valueOf(StubServer.DEFAULT_PORT));
+                    stubPortSpinner.getValueFactory().setValue(StubServer.DEFAULT_PORT);
+                }
+            }
+        });
+
         // Лічильник інтервалу для періодичних тестів
         periodicIntervalSpinner = new Spinner<>(1, 60, 5);
         periodicIntervalSpinner.setEditable(true);
@@ -392,6 +552,20 @@ public class Main extends Application {
             }
         });
 
+        // Лічильник швидкості надходження запитів (0 — розрахувати з інтервалу та кількості запусків)
+        periodicRateSpinner = new Spinner<>(0.0, 10000.0, 0.0, 0.5);
+        periodicRateSpinner.setEditable(true);
+        periodicRateSpinner.setPrefWidth(100);
+        periodicRateSpinner.getEditor().focusedProperty().addListener((obs, wasFocused, isFocused) -> {
+            if (!isFocused) {
+                String text = periodicRateSpinner.getEditor().getText();
+                if (text == null || text.trim().isEmpty()) {
+                    periodicRateSpinner.getEditor().setText("0");
+                    periodicRateSpinner.getValueFactory().setValue(0.0);
+                }
+            }
+        });
+
         // Поле для введення часу запланованого тесту
         scheduleStartTimeField = new TextField();
         scheduleStartTimeField.setPromptText("Час початку (HH:mm)");
@@ -401,10 +575,20 @@ public class Main extends Application {
         Button runButton = new Button("Виконати тест");
         runButton.setOnAction(e -> runSingleTest());
 
+        // Поле та кнопка для виконання тесту за профілем навантаження
+        loadProfileField = new TextField();
+        loadProfileField.setPromptText("2m:200, 10m:200, 1m:0");
+        loadProfileField.setPrefWidth(250);
+        Button runProfileButton = new Button("Запустити за профілем");
+        runProfileButton.setOnAction(e -> runProfileTest());
+
         // Кнопка для збереження тесту
         Button saveButton = new Button("Зберегти тест");
         saveButton.setOnAction(e -> saveTestCase());
 
+        // Прапорець для збереження в набір: тести з однаковим URL не перезаписують один одного
+        saveToBundleCheckBox = new CheckBox("У набір " + DEFAULT_BUNDLE_NAME);
+
         // Кнопка для запуску всіх тестів
         Button runAllButton = new Button("Запустити всі тести");
         runAllButton.setOnAction(e -> runAllTests());
@@ -413,6 +597,18 @@ public class Main extends Application {
         Button selectAndRunButton = new Button("Вибрати та запустити тест");
         selectAndRunButton.setOnAction(e -> runSelectedTest());
 
+        // Кнопка для зупинки виконання тестів
+        stopRunButton = new Button("Зупинити виконання");
+        stopRunButton.setDisable(true);
+        stopRunButton.setOnAction(e -> stopBackgroundRun());
+
+        // Прогрес виконання, який оновлюється чотири рази на секунду
+        runProgressBar = new ProgressBar(0);
+        runProgressBar.setPrefWidth(200);
+        runProgressLabel = new Label("Виконання не запущено");
+        progressTimeline = new Timeline(new KeyFrame(javafx.util.Duration.millis(250), e -> updateRunProgress()));
+        progressTimeline.setCycleCount(Timeline.INDEFINITE);
+
         // Кнопка для очищення всіх полів
         Button clearButton = new Button("Очистити поля");
         clearButton.setOnAction(e -> clearFields());
@@ -437,13 +633,50 @@ public class Main extends Application {
         HBox firstButtonRow = new HBox(10);
         firstButtonRow.getChildren().addAll(
                 new Label("Кількість запусків:"), runCountSpinner,
-                runButton, saveButton, clearButton
+                runButton, saveButton, saveToBundleCheckBox, clearButton
         );
 
         // Другий рядок кнопок
         HBox secondButtonRow = new HBox(10);
         secondButtonRow.getChildren().addAll(chooseTestsDirButton, runAllButton, selectAndRunButton);
 
+        // Рядок для налаштування навантаження
+        HBox loadRow = new HBox(10);
+        loadRow.getChildren().addAll(
+                new Label("Віртуальні користувачі:"), virtualUsersSpinner,
+                new Label("Рушій:"), transportCombo,
+                new Label("Зберігати байтів тіла:"), bodyPrefixSpinner, hashBodyCheckBox,
+                new Label("Тайм-аут відповіді (с):"), requestTimeoutSpinner
+        );
+
+        // Рядок для профілю навантаження
+        HBox profileRow = new HBox(10);
+        profileRow.getChildren().addAll(
+                new Label("Профіль навантаження (тривалість:користувачі):"), loadProfileField, runProfileButton
+        );
+
+        // Рядок для налаштування журналу результатів
+        HBox eventLogRow = new HBox(10);
+        eventLogRow.getChildren().addAll(
+                new Label("Журнал результатів: кожен N-й (0 — ні):"), eventLogEverySpinner,
+                new Label("найповільніших:"), eventLogSlowestSpinner, captureBodiesCheckBox
+        );
+
+        // Рядок для локального сервера-заглушки
+        Button stubRoutesButton = new Button("Маршрути...");
+        stubRoutesButton.setOnAction(e -> chooseStubRoutesFile());
+        stubButton = new Button("Запустити сервер-заглушку");
+        stubButton.setOnAction(e -> toggleStubServer());
+        stubStatusLabel = new Label("Не запущено");
+        HBox stubRow = new HBox(10);
+        stubRow.getChildren().addAll(
+                new Label("Сервер-заглушка, порт:"), stubPortSpinner, stubRoutesButton, stubButton, stubStatusLabel
+        );
+
+        // Рядок прогресу виконання
+        HBox progressRow = new HBox(10);
+        progressRow.getChildren().addAll(stopRunButton, runProgressBar, runProgressLabel);
+
         // Рядок для налаштування періодичних тестів
         HBox periodicRow = new HBox(10);
         periodicRow.getChildren().addAll(
@@ -452,6 +685,12 @@ public class Main extends Application {
                 periodicRunButton, stopPeriodicButton
         );
 
+        // Рядок для налаштування швидкості надходження запитів
+        HBox rateRow = new HBox(10);
+        rateRow.getChildren().addAll(
+                new Label("Швидкість (запитів/с, 0 = кількість запусків за інтервал):"), periodicRateSpinner
+        );
+
         // Рядок для запланованого виконання
         HBox scheduleRow = new HBox(10);
         scheduleRow.getChildren().addAll(
@@ -474,8 +713,8 @@ public class Main extends Application {
                 new Label("Заголовки:"), headersField,
                 new Label("Параметри:"), paramsField,
                 new Label("Тіло:"), bodyField,
-                firstButtonRow, secondButtonRow,
-                new Label("Періодичне виконання:"), periodicRow,
+                firstButtonRow, secondButtonRow, loadRow, profileRow, eventLogRow, stubRow, progressRow,
+                new Label("Періодичне виконання:"), periodicRow, rateRow,
                 new Label("Заплановане виконання:"), scheduleRow,
                 new Label("Результат:"), resultArea
         );
@@ -483,6 +722,53 @@ public class Main extends Application {
         return root;
     }
 
+    // Вибір файлу маршрутів сервера-заглушки (застосовується під час наступного запуску сервера)
+    private void chooseStubRoutesFile() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Виберіть файл маршрутів сервера-заглушки");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("JSON Files", "*.json"));
+        File file = fileChooser.showOpenDialog(null);
+        if (file != null) {
+            stubRoutesFile = file;
+            resultArea.setText("Маршрути сервера-заглушки: " + file.getAbsolutePath() + "\n");
+        }
+    }
+
+    // Запуск або зупинка сервера-заглушки
+    private void toggleStubServer() {
+        if (stubServer != null) {
+            resultArea.setText(String.format("Сервер-заглушку зупинено. Оброблено запитів: %d, надіслано байтів тіла: %d%n",
+                    stubServer.getRequestCount(), stubServer.getBytesSent()));
+            stubServer.close();
+            stubServer = null;
+            stubButton.setText("Запустити сервер-заглушку");
+            stubStatusLabel.setText("Не запущено");
+            stubPortSpinner.setDisable(false);
+            return;
+        }
+        try {
+            List<StubServer.Route> routes = stubRoutesFile != null ? StubServer.loadRoutes(stubRoutesFile.toPath()) : null;
+            stubServer = StubServer.start(stubPortSpinner.getValue(), routes);
+        } catch (IOException e) {
+            resultArea.setText("Помилка при запуску сервера-заглушки: " + e.getMessage() + "\n");
+            return;
+        }
+        stubButton.setText("Зупинити сервер-заглушку");
+        stubStatusLabel.setText("Працює: " + stubServer.getBaseUrl());
+        stubPortSpinner.setDisable(true);
+        if (urlField.getText() == null || urlField.getText().isBlank()) {
+            urlField.setText(stubServer.getBaseUrl() + "/");
+        }
+        StringBuilder text = new StringBuilder("Сервер-заглушку запущено: " + stubServer.getBaseUrl() + "\nМаршрути:\n");
+        for (StubServer.Route route : stubServer.getRoutes()) {
+            text.append(String.format("  %s %s -> %d, затримка %d-%d мс, %d байтів%s%n", route.method(), route.path(),
+                    route.status(), route.minDelayMs(), route.maxDelayMs(), route.size(),
+                    route.chunked() ? ", частинами" : ""));
+        }
+        text.append("Параметри можна перевизначити в запиті: status=500&delay=10-50&size=1024&chunked=true\n");
+        resultArea.setText(text.toString());
+    }
+
     // Вибір папки для збереження тестів
     private void chooseTestsDirectory() {
         // Налаштування вигляду вибору папки відповідно до системного стилю
@@ -507,6 +793,7 @@ public class Main extends Application {
             if (hasFullAccess(selectedFolder)) {
                 testsDirectory = selectedFolder.getAbsolutePath();
                 resultArea.setText("Обрано папку для тестів: " + testsDirectory);
+                watchTestsDirectory();
             } else {
                 // Повідомлення про помилку, якщо немає прав доступу
                 JOptionPane.showMessageDialog(null,
@@ -520,6 +807,46 @@ public class Main extends Application {
         }
     }
 
+    // Завантаження тест-кейсів з поточної папки та запуск спостереження за нею:
+    // створені, змінені та видалені файли підхоплюються без повторного завантаження папки
+    private void watchTestsDirectory() {
+        closeTestsWatcher();
+        selectedTestFile = null;
+        try {
+            testsWatcher = TestSuiteWatcher.start(testsDirectory, this::refreshTestCases);
+            testCases.clear();
+            testCases.addAll(testsWatcher.getTestCases());
+        } catch (IOException e) {
+            System.err.println("Не вдалося запустити спостереження за папкою " + testsDirectory + ": " + e.getMessage());
+            testCases.clear();
+            testCases.addAll(TestGenerator.loadTestCases(testsDirectory));
+        }
+    }
+
+    // Оновлення списку тест-кейсів після змін у папці (викликається потоком спостереження)
+    private void refreshTestCases() {
+        TestSuiteWatcher watcher = testsWatcher;
+        if (watcher == null) {
+            return;
+        }
+        List<TestCase> current = watcher.getTestCases();
+        Platform.runLater(() -> {
+            testCases.clear();
+            testCases.addAll(current);
+        });
+    }
+
+    private void closeTestsWatcher() {
+        if (testsWatcher != null) {
+            try {
+                testsWatcher.close();
+            } catch (IOException e) {
+                System.err.println("Помилка при зупинці спостереження за папкою: " + e.getMessage());
+            }
+            testsWatcher = null;
+        }
+    }
+
     // Перевірка прав доступу до папки (читання та запис)
     private boolean hasFullAccess(File folder) {
         if (!folder.canRead() || !folder.canWrite()) {
@@ -630,10 +957,12 @@ public class Main extends Application {
         requestSelector = new ComboBox<>();
         requestSelector.setPromptText("Виберіть запит для графіків");
         requestSelector.setPrefWidth(400);
+        requestSelector.valueProperty().addListener((obs, oldValue, newValue) -> selectedHistory = newValue);
         requestSelector.setOnAction(e -> {
             updateCharts();
             updateTimeMetrics();
             updateSizeMetrics();
+            loadStoredHistory(requestSelector.getValue());
         });
 
         // Налаштування відображення елементів у списку історії
@@ -673,19 +1002,39 @@ public class Main extends Application {
         Button chooseReportDirButton = new Button("Вибрати папку для звітів");
         chooseReportDirButton.setOnAction(e -> chooseReportDirectory());
 
+        // Вибір формату звіту
+        reportFormatCombo = new ComboBox<>();
+        reportFormatCombo.getItems().addAll(ReportFormat.values());
+        reportFormatCombo.setValue(ReportFormat.HTML);
+
         // Кнопка для генерації звіту
         Button generateReportButton = new Button("Згенерувати звіт");
         generateReportButton.setOnAction(e -> generateReport());
 
+        // Розмір історії в пам'яті (застосовується до нових запитів)
+        historyCapacitySpinner = new Spinner<>(100, 10_000_000, RequestHistory.DEFAULT_CAPACITY, 1000);
+        historyCapacitySpinner.setEditable(true);
+        historyCapacitySpinner.setPrefWidth(110);
+        historyCapacitySpinner.getEditor().focusedProperty().addListener((obs, wasFocused, isFocused) -> {
+            if (!isFocused) {
+                String text = historyCapacitySpinner.getEditor().getText();
+                if (text == null || text.trim().isEmpty()) {
+                    historyCapacitySpinner.getEditor().setText(String.valueOf(RequestHistory.DEFAULT_CAPACITY));
+                    historyCapacitySpinner.getValueFactory().setValue(RequestHistory.DEFAULT_CAPACITY);
+                }
+            }
+        });
+
         // Рядок для вибору запиту та очищення історії
         HBox selectorBox = new HBox(10);
         selectorBox.getChildren().addAll(
-                new Label("Виберіть запит:"), requestSelector, clearHistoryButton
+                new Label("Виберіть запит:"), requestSelector, clearHistoryButton,
+                new Label("Результатів у пам'яті:"), historyCapacitySpinner
         );
 
         // Рядок для вибору папки звітів та генерації звіту
         HBox reportBox = new HBox(10);
-        reportBox.getChildren().addAll(chooseReportDirButton, generateReportButton);
+        reportBox.getChildren().addAll(chooseReportDirButton, new Label("Формат:"), reportFormatCombo, generateReportButton);
 
         // Графік для часу виконання
         NumberAxis timeXAxis = new NumberAxis();
@@ -695,15 +1044,16 @@ public class Main extends Application {
         timeChart = new LineChart<>(timeXAxis, timeYAxis);
         timeChart.setTitle("Час виконання запиту");
         timeChart.setPrefHeight(300);
+        // Без маркерів точок і анімації графік не створює вузол на кожну точку
+        timeChart.setCreateSymbols(false);
+        timeChart.setAnimated(false);
+        timeChart.getData().add(timeSeries.getSeries());
+        timeSeries.installTooltip(timeChart, "мс");
 
         // Елементи для вибору метрик часу виконання
         timeMetricsCombo = new ComboBox<>();
-        timeMetricsCombo.getItems().addAll(
-                "Середній час виконання",
-                "Максимальний і мінімальний час виконання",
-                "Тренд часу виконання"
-        );
-        timeMetricsCombo.setValue("Середній час виконання");
+        timeMetricsCombo.getItems().addAll(HistoryMetrics.TIME_METRICS);
+        timeMetricsCombo.setValue(HistoryMetrics.AVERAGE_TIME);
         timeMetricsCombo.setOnAction(e -> updateTimeMetrics());
 
         timeMetricLabel = new Label("Виберіть метрику для відображення");
@@ -713,6 +1063,22 @@ public class Main extends Application {
                 new Label("Показати: "), timeMetricsCombo, timeMetricLabel
         );
 
+        // Графік залежності від кількості користувачів (показується після запусків за профілем навантаження)
+        NumberAxis loadXAxis = new NumberAxis();
+        loadXAxis.setLabel("Віртуальні користувачі");
+        NumberAxis loadYAxis = new NumberAxis();
+        loadYAxis.setLabel("Час (мс) / помилки (%)");
+        loadChart = new LineChart<>(loadXAxis, loadYAxis);
+        loadChart.setTitle("Час виконання і помилки залежно від кількості користувачів");
+        loadChart.setPrefHeight(300);
+        loadChart.setCreateSymbols(false);
+        loadChart.setAnimated(false);
+        loadTimeSeries.setName("Середній час (мс)");
+        loadErrorSeries.setName("Помилки (%)");
+        loadChart.getData().addAll(List.of(loadTimeSeries, loadErrorSeries));
+        loadChart.setVisible(false);
+        loadChart.setManaged(false);
+
         // Графік для розміру відповіді
         NumberAxis sizeXAxis = new NumberAxis();
         sizeXAxis.setLabel("Номер виконання");
@@ -721,16 +1087,15 @@ public class Main extends Application {
         sizeChart = new LineChart<>(sizeXAxis, sizeYAxis);
         sizeChart.setTitle("Розмір відповіді");
         sizeChart.setPrefHeight(300);
+        sizeChart.setCreateSymbols(false);
+        sizeChart.setAnimated(false);
+        sizeChart.getData().add(sizeSeries.getSeries());
+        sizeSeries.installTooltip(sizeChart, "байт");
 
         // Елементи для вибору метрик розміру відповіді
         sizeMetricsCombo = new ComboBox<>();
-        sizeMetricsCombo.getItems().addAll(
-                "Середній розмір відповіді",
-                "Максимальний і мінімальний розмір відповіді",
-                "Пропускна здатність",
-                "Відсоток змін розміру відповіді"
-        );
-        sizeMetricsCombo.setValue("Середній розмір відповіді");
+        sizeMetricsCombo.getItems().addAll(HistoryMetrics.SIZE_METRICS);
+        sizeMetricsCombo.setValue(HistoryMetrics.AVERAGE_SIZE);
         sizeMetricsCombo.setOnAction(e -> updateSizeMetrics());
 
         sizeMetricLabel = new Label("Виберіть метрику для відображення");
@@ -743,7 +1108,7 @@ public class Main extends Application {
         // Додавання всіх елементів на панель графіків
         chartPane.getChildren().addAll(
                 selectorBox, reportBox,
-                timeChart, timeMetricsBox,
+                timeChart, timeMetricsBox, loadChart,
                 sizeChart, sizeMetricsBox
         );
 
@@ -797,8 +1162,8 @@ public class Main extends Application {
             return;
         }
 
-        List<TestResult> results = selectedRequest.getResults();
-        if (results.isEmpty()) {
+        ResultColumns results = selectedRequest.getResults();
+        if (results.isEmpty() && (resultStore == null || !selectedRequest.isStoredPending())) {
             resultArea.setText("Помилка: немає результатів для цього запиту.\n");
             return;
         }
@@ -827,11 +1192,12 @@ public class Main extends Application {
         }
 
         // Формування імені файлу звіту з унікальним часовим маркером
+        ReportFormat format = reportFormatCombo.getValue();
         SimpleDateFormat sdf = new SimpleDateFormat("yyyyMMdd_HHmmss");
         String timestamp = sdf.format(new Date());
         String testName = selectedRequest.getTestCase().method() + "_" +
                 selectedRequest.getTestCase().url().replaceAll("[^a-zA-Z0-9]", "_");
-        String reportFileName = "TestReport_" + testName + "_" + timestamp + ".txt";
+        String reportFileName = "TestReport_" + testName + "_" + timestamp + "." + format.getExtension();
         String reportFilePath = reportDirectory + File.separator + reportFileName;
 
         File reportFile = new File(reportFilePath);
@@ -840,232 +1206,214 @@ public class Main extends Application {
             return;
         }
 
-        checkAndClearLogFile();
-
-        // Запис звіту у файл
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(reportFilePath))) {
-            writer.write("Звіт про тестування\n");
-            writer.write("-------------------\n");
-            writer.write("Дата: " + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()) + "\n");
-            writer.write("Тест: " + selectedRequest.toString() + "\n");
-            writer.write("Кількість запусків: " + results.size() + "\n\n");
-
-            TestCase testCase = selectedRequest.getTestCase();
-            writer.write("Параметри тесту:\n");
-            writer.write("Метод: " + testCase.method() + "\n");
-            writer.write("URL: " + testCase.url() + "\n");
-            writer.write("Параметри: " + (testCase.params().isEmpty() ? "Немає" : testCase.params()) + "\n");
-            writer.write("Заголовки: " + (testCase.headers().isEmpty() ? "Немає" : testCase.headers()) + "\n");
-            writer.write("Тіло: " + (testCase.body().isEmpty() ? "Немає" : testCase.body()) + "\n\n");
-
-            int successfulTests = 0;
-            long totalTime = 0;
-            for (int i = 0; i < results.size(); i++) {
-                TestResult result = results.get(i);
-                writer.write("Запуск " + (i + 1) + ":\n");
-                writer.write("Час виконання: " + result.timeTaken() + " мс\n");
-                writer.write("Статус-код: " + result.statusCode() + "\n");
-                writer.write("Розмір відповіді: " + result.responseSize() + " байт\n");
-                String responseBody = result.result();
-                if (responseBody.contains("Тіло відповіді: ")) {
-                    responseBody = responseBody.split("Тіло відповіді: ")[1].split("\n")[0];
-                    if (responseBody.length() > 100) {
-                        responseBody = responseBody.substring(0, 100) + " [Скорочено]";
-                    }
-                    writer.write("Тіло відповіді: " + responseBody + "\n");
-                } else {
-                    writer.write("Тіло відповіді: [Немає]\n");
+        // Джерело результатів: усі результати зі сховища або, якщо сховища немає, результати в пам'яті
+        TestCase testCase = selectedRequest.getTestCase();
+        ResultStore store = resultStore;
+        ReportWriter.ResultSource source;
+        long firstRunNumber;
+        String sourceDescription;
+        if (store != null) {
+            source = visitor -> {
+                try {
+                    store.flush();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
                 }
-                writer.write("Результат: " + (result.result().contains("Тест пройшов успішно") ? "Тест пройшов успішно" : result.result()) + "\n\n");
+                store.forEach(tc -> RequestHistory.isSameRequest(tc, testCase), visitor);
+            };
+            firstRunNumber = 1;
+            sourceDescription = "усі збережені результати (" + store.getDirectory().toAbsolutePath() + ")";
+        } else {
+            source = ReportWriter.fromColumns(results);
+            firstRunNumber = results.runNumber(0);
+            sourceDescription = "останні " + results.size() + " з " + selectedRequest.getTotalCount() + " результатів (у пам'яті)";
+        }
+        ReportWriter.ReportInfo info = new ReportWriter.ReportInfo(selectedRequest.toString(), testCase,
+                selectedRequest.getLastBodyPrefix(), sourceDescription);
 
-                if (result.result().contains("Тест пройшов успішно")) {
-                    successfulTests++;
-                }
-                totalTime += result.timeTaken();
+        // Запис звіту у файл у фоновому потоці: результати читаються та записуються потоком
+        resultArea.setText("Генерація звіту: " + reportFilePath + "\n");
+        Thread reportThread = new Thread(() -> {
+            try {
+                ReportStatistics statistics = ReportWriter.write(format, info, source, firstRunNumber,
+                        java.nio.file.Path.of(reportFilePath));
+                Platform.runLater(() -> resultArea.setText(String.format("Звіт згенеровано: %s (результатів: %d, провалено: %d)\n",
+                        reportFilePath, statistics.getCount(), statistics.getFailed())));
+            } catch (IOException e) {
+                Platform.runLater(() -> resultArea.setText("Помилка при генерації звіту: " + e.getMessage() + "\n"));
             }
-
-            writer.write("Статистика:\n");
-            writer.write("Середній час виконання: " + (results.isEmpty() ? 0 : totalTime / results.size()) + " мс\n");
-            writer.write("Успішних тестів: " + successfulTests + "\n");
-            writer.write("Провальних тестів: " + (results.size() - successfulTests) + "\n");
-
-            resultArea.setText("Звіт згенеровано: " + reportFilePath + "\n");
-        } catch (IOException e) {
-            resultArea.setText("Помилка при генерації звіту: " + e.getMessage() + "\n");
-        }
+        }, "report-writer");
+        reportThread.setDaemon(true);
+        reportThread.start();
     }
 
-    // Очищення історії запитів та графіків
+    // Очищення історії запитів та графіків. Під час виконання очищення недоступне: запуски вже отримали свої
+    // записи історії і дописували б результати в записи, яких більше немає у списку запитів
     private void clearHistory() {
-        requestHistory.clear();
+        if (isRunActive()) {
+            resultArea.appendText("Історію не можна очистити під час виконання. Зупиніть виконання або дочекайтеся завершення.\n");
+            return;
+        }
+        synchronized (this) {
+            requestHistory.clear();
+            historyIndex.clear();
+        }
         requestSelector.getItems().clear();
-        timeChart.getData().clear();
-        sizeChart.getData().clear();
+        clearCharts();
         timeMetricLabel.setText("Виберіть метрику для відображення");
         sizeMetricLabel.setText("Виберіть метрику для відображення");
-        periodicRunCount = 0;
-        if (periodicTimer != null) {
-            periodicTimer.cancel();
-            periodicTimer = null;
-        }
+        // Заплановане, але ще не розпочате виконання скасовується разом з історією
         if (scheduleTimer != null) {
             scheduleTimer.cancel();
             scheduleTimer = null;
         }
     }
 
-    // Оновлення графіків на основі обраного запиту
+    // Чи триває фонове, періодичне або заплановане виконання
+    private boolean isRunActive() {
+        return (activeRun != null && !activeRun.isFinished()) || (periodicRun != null && !periodicRun.isDone())
+                || scheduledRunActive;
+    }
+
+    // Оновлення графіків на основі обраного запиту: з історії беруться лише результати після вже показаних,
+    // вони додаються до наявних точок, а великі вибірки зменшуються до ширини графіка в пікселях
     private void updateCharts() {
         RequestHistory selectedRequest = requestSelector.getValue();
+        if (selectedRequest != chartedRequest) {
+            clearCharts();
+            chartedRequest = selectedRequest;
+        }
         if (selectedRequest == null) return;
 
-        List<TestResult> results = selectedRequest.getResults();
-        if (results.isEmpty()) return;
+        // Нові результати у вікні графіка
+        ResultColumns displayResults = selectedRequest.getDisplayResultsAfter(chartedRunNumber);
+        if (displayResults.isEmpty()) return;
+
+        int count = displayResults.size();
+        long[] runNumbers = new long[count];
+        double[] times = new double[count];
+        double[] sizes = new double[count];
+        // Фази запиту: мережа (DNS + з'єднання + TLS) та очікування першого байта від сервера
+        long[] measuredRunNumbers = new long[count];
+        double[] network = new double[count];
+        double[] ttfb = new double[count];
+        int measured = 0;
+        for (int i = 0; i < count; i++) {
+            runNumbers[i] = displayResults.runNumber(i);
+            times[i] = displayResults.timeTaken(i);
+            sizes[i] = displayResults.responseSize(i);
+            RequestTiming timing = displayResults.timing(i);
+            if (timing.isMeasured()) {
+                measuredRunNumbers[measured] = runNumbers[i];
+                network[measured] = RequestTiming.toMillis(timing.networkNanos());
+                ttfb[measured] = RequestTiming.toMillis(timing.ttfbNanos());
+                measured++;
+            }
+        }
 
-        // Вибір останніх результатів для відображення
-        int displayCount = selectedRequest.getDisplayRunCount();
-        int startIndex = Math.max(0, results.size() - displayCount);
-        List<TestResult> displayResults = results.subList(startIndex, results.size());
+        // Початок вікна графіка: точки з меншим номером видаляються
+        chartedRunNumber = runNumbers[count - 1];
+        long windowStart = chartedRunNumber - selectedRequest.getDisplayRunCount() + 1;
 
         // Оновлення графіка часу виконання
-        timeChart.getData().clear();
-        XYChart.Series<Number, Number> timeSeries = new XYChart.Series<>();
-        timeSeries.setName("Час виконання");
-        for (int i = 0; i < displayResults.size(); i++) {
-            timeSeries.getData().add(new XYChart.Data<>(startIndex + i + 1, displayResults.get(i).timeTaken()));
-        }
-        timeChart.getData().add(timeSeries);
-
-        // Додавання підказок до точок на графіку
-        for (XYChart.Data<Number, Number> data : timeSeries.getData()) {
-            Tooltip tooltip = new Tooltip(data.getYValue().toString() + " мс");
-            if (data.getNode() != null) {
-                Tooltip.install(data.getNode(), tooltip);
-            }
+        int timeBudget = pixelBudget(timeChart);
+        timeSeries.update(runNumbers, times, count, windowStart, timeBudget);
+        networkSeries.update(measuredRunNumbers, network, measured, windowStart, timeBudget);
+        ttfbSeries.update(measuredRunNumbers, ttfb, measured, windowStart, timeBudget);
+        boolean hasPhases = !networkSeries.getSeries().getData().isEmpty();
+        if (hasPhases && !timeChart.getData().contains(networkSeries.getSeries())) {
+            timeChart.getData().add(networkSeries.getSeries());
+            timeChart.getData().add(ttfbSeries.getSeries());
+        } else if (!hasPhases && timeChart.getData().contains(networkSeries.getSeries())) {
+            timeChart.getData().removeAll(List.of(networkSeries.getSeries(), ttfbSeries.getSeries()));
         }
 
         // Оновлення графіка розміру відповіді
-        sizeChart.getData().clear();
-        XYChart.Series<Number, Number> sizeSeries = new XYChart.Series<>();
-        sizeSeries.setName("Розмір відповіді");
-        for (int i = 0; i < displayResults.size(); i++) {
-            sizeSeries.getData().add(new XYChart.Data<>(startIndex + i + 1, displayResults.get(i).responseSize()));
-        }
-        sizeChart.getData().add(sizeSeries);
-
-        // Додавання підказок до точок на графіку
-        for (XYChart.Data<Number, Number> data : sizeSeries.getData()) {
-            Tooltip tooltip = new Tooltip(data.getYValue().toString() + " байт");
-            if (data.getNode() != null) {
-                Tooltip.install(data.getNode(), tooltip);
-            }
-        }
+        sizeSeries.update(runNumbers, sizes, count, windowStart, pixelBudget(sizeChart));
+
+        updateLoadChart(selectedRequest);
     }
 
-    // Оновлення метрик для графіка "Час виконання"
-    private void updateTimeMetrics() {
-        RequestHistory selectedRequest = requestSelector.getValue();
-        if (selectedRequest == null || selectedRequest.getResults().isEmpty()) {
-            timeMetricLabel.setText("Немає даних для обраного запиту");
-            return;
+    // Оновлення графіка залежності від кількості користувачів (точка на кожну кількість користувачів)
+    private void updateLoadChart(RequestHistory selectedRequest) {
+        List<ConcurrencyStatistics.Level> levels = selectedRequest.getConcurrencyStatistics().getLevels();
+        boolean visible = !levels.isEmpty();
+        loadChart.setVisible(visible);
+        loadChart.setManaged(visible);
+        List<XYChart.Data<Number, Number>> times = new ArrayList<>(levels.size());
+        List<XYChart.Data<Number, Number>> errors = new ArrayList<>(levels.size());
+        for (ConcurrencyStatistics.Level level : levels) {
+            times.add(new XYChart.Data<>(level.users(), level.averageMillis()));
+            errors.add(new XYChart.Data<>(level.users(), level.errorPercent()));
         }
+        loadTimeSeries.getData().setAll(times);
+        loadErrorSeries.getData().setAll(errors);
+    }
 
-        List<TestResult> results = selectedRequest.getResults();
-        int displayCount = selectedRequest.getDisplayRunCount();
-        int startIndex = Math.max(0, results.size() - displayCount);
-        List<TestResult> displayResults = results.subList(startIndex, results.size());
+    // Найбільша кількість точок, яку має сенс показувати: одна на піксель ширини графіка
+    private static int pixelBudget(LineChart<Number, Number> chart) {
+        return Math.max(200, (int) chart.getWidth());
+    }
+
+    // Очищення рядів графіків
+    private void clearCharts() {
+        timeSeries.clear();
+        networkSeries.clear();
+        ttfbSeries.clear();
+        sizeSeries.clear();
+        loadTimeSeries.getData().clear();
+        loadErrorSeries.getData().clear();
+        loadChart.setVisible(false);
+        loadChart.setManaged(false);
+        timeChart.getData().removeAll(List.of(networkSeries.getSeries(), ttfbSeries.getSeries()));
+        chartedRequest = null;
+        chartedRunNumber = 0;
+    }
 
+    // Оновлення метрик для графіка "Час виконання"
+    private void updateTimeMetrics() {
         String selectedMetric = timeMetricsCombo.getValue();
-        switch (selectedMetric) {
-            case "Середній час виконання":
-                double avgTime = displayResults.stream().mapToLong(TestResult::timeTaken).average().orElse(0);
-                timeMetricLabel.setText(String.format("Середній час: %.1f мс (Загальна швидкість API)", avgTime));
-                break;
-            case "Максимальний і мінімальний час виконання":
-                long maxTime = displayResults.stream().mapToLong(TestResult::timeTaken).max().orElse(0);
-                long minTime = displayResults.stream().mapToLong(TestResult::timeTaken).min().orElse(0);
-                timeMetricLabel.setText(String.format("Макс: %d мс, Мін: %d мс (Діапазон швидкості)", maxTime, minTime));
-                break;
-            case "Тренд часу виконання":
-                if (displayResults.size() < 2) {
-                    timeMetricLabel.setText("Тренд: Недостатньо даних (Потрібно ≥2 запусків)");
-                } else {
-                    long firstTime = displayResults.get(0).timeTaken();
-                    long lastTime = displayResults.get(displayResults.size() - 1).timeTaken();
-                    String trend = lastTime > firstTime ? "Зростає (Можливе перевантаження)" :
-                            lastTime < firstTime ? "Зменшується (Оптимізація)" : "Стабільний";
-                    timeMetricLabel.setText(String.format("Тренд: %s", trend));
-                }
-                break;
+        List<RequestHistory> allHistories = List.of();
+        if (HistoryMetrics.ALL_TIME_PERCENTILES.equals(selectedMetric)) {
+            synchronized (this) {
+                allHistories = new ArrayList<>(requestHistory);
+            }
         }
+        timeMetricLabel.setText(HistoryMetrics.describeTime(selectedMetric, requestSelector.getValue(), allHistories));
     }
 
     // Оновлення метрик для графіка "Розмір відповіді"
     private void updateSizeMetrics() {
-        RequestHistory selectedRequest = requestSelector.getValue();
-        if (selectedRequest == null || selectedRequest.getResults().isEmpty()) {
-            sizeMetricLabel.setText("Немає даних для обраного запиту");
-            return;
-        }
+        sizeMetricLabel.setText(HistoryMetrics.describeSize(sizeMetricsCombo.getValue(), requestSelector.getValue()));
+    }
 
-        List<TestResult> results = selectedRequest.getResults();
-        int displayCount = selectedRequest.getDisplayRunCount();
-        int startIndex = Math.max(0, results.size() - displayCount);
-        List<TestResult> displayResults = results.subList(startIndex, results.size());
-
-        String selectedMetric = sizeMetricsCombo.getValue();
-        switch (selectedMetric) {
-            case "Середній розмір відповіді":
-                double avgSize = displayResults.stream().mapToLong(TestResult::responseSize).average().orElse(0);
-                sizeMetricLabel.setText(String.format("Середній розмір: %.1f байт (Типовий обсяг даних)", avgSize));
-                break;
-            case "Максимальний і мінімальний розмір відповіді":
-                long maxSize = displayResults.stream().mapToLong(TestResult::responseSize).max().orElse(0);
-                long minSize = displayResults.stream().mapToLong(TestResult::responseSize).min().orElse(0);
-                sizeMetricLabel.setText(String.format("Макс: %d байт, Мін: %d байт (Діапазон обсягу)", maxSize, minSize));
-                break;
-            case "Пропускна здатність":
-                double avgsize = displayResults.stream().mapToLong(TestResult::responseSize).average().orElse(0);
-                double avgTime = displayResults.stream().mapToLong(TestResult::timeTaken).average().orElse(0);
-                double throughput = avgTime > 0 ? (avgsize / (avgTime / 1000.0)) : 0;
-                sizeMetricLabel.setText(String.format("Пропускна здатність: %.1f байт/с (Ефективність передачі)", throughput));
-                break;
-            case "Відсоток змін розміру відповіді":
-                if (displayResults.size() < 2) {
-                    sizeMetricLabel.setText("Відсоток змін: Недостатньо даних (Потрібно ≥2 запусків)");
-                } else {
-                    long firstSize = displayResults.get(0).responseSize();
-                    long lastSize = displayResults.get(displayResults.size() - 1).responseSize();
-                    double changePercent = firstSize != 0 ? ((double) (lastSize - firstSize) / firstSize) * 100 : 0;
-                    sizeMetricLabel.setText(String.format("Відсоток змін: %.1f%% (Варіація даних)", changePercent));
-                }
-                break;
-        }
+    // Налаштування історії з полів інтерфейсу; знімок робиться в потоці JavaFX до початку запуску
+    private record HistorySettings(int displayRunCount, int capacity) {
     }
 
-    // Додавання результату тесту до історії запитів
-    private void addToHistory(TestCase testCase, TestResult testResult, int displayRunCount) {
-        // Пошук існуючого запису в історії за параметрами запиту
-        RequestHistory history = requestHistory.stream()
-                .filter(h -> h.getTestCase().url().equals(testCase.url()) &&
-                        h.getTestCase().method().equals(testCase.method()) &&
-                        h.getTestCase().params().equals(testCase.params()))
-                .findFirst()
-                .orElse(null);
-
-        // Якщо запису немає, створюємо новий
-        if (history == null) {
-            history = new RequestHistory(testCase, displayRunCount);
-            requestHistory.add(history);
-            requestSelector.getItems().add(history);
+    private HistorySettings historySettings(int displayRunCount) {
+        return new HistorySettings(displayRunCount, historyCapacitySpinner.getValue());
+    }
+
+    // Додавання результату тесту до історії запитів, коли тест-кейс змінюється від запиту до запиту
+    private void addToHistory(TestCase testCase, TestResult testResult, HistorySettings settings) {
+        addToHistory(historyFor(testCase, settings), testCase, testResult);
+    }
+
+    // Додавання результату до відомого запису історії (викликається з потоків віртуальних користувачів без блокувань)
+    private void addToHistory(RequestHistory history, TestCase testCase, TestResult testResult) {
+        // Збереження результату на диск (записується пачками окремим потоком)
+        if (resultStore != null) {
+            resultStore.append(testCase, System.currentTimeMillis(), testResult);
         }
 
         // Додавання результату до історії
         history.addResult(testResult);
 
-        // Оновлення графіків, якщо цей запит обраний
-        if (requestSelector.getValue() == history) {
+        // Оновлення графіків, якщо цей запит обраний; результати, що надійшли до оновлення, показуються разом
+        if (selectedHistory == history && chartUpdatePending.compareAndSet(false, true)) {
             Platform.runLater(() -> {
+                chartUpdatePending.set(false);
                 updateCharts();
                 updateTimeMetrics();
                 updateSizeMetrics();
@@ -1073,105 +1421,316 @@ public class Main extends Application {
         }
     }
 
+    // Запис історії для тест-кейсу; створюється, якщо його ще немає
+    private RequestHistory historyFor(TestCase testCase, HistorySettings settings) {
+        RequestHistory history = historyIndex.get(RequestHistory.RequestKey.of(testCase));
+        return history != null ? history : createHistory(testCase, settings);
+    }
+
+    // Створення запису історії (рідкісна операція, тому синхронізована)
+    private synchronized RequestHistory createHistory(TestCase testCase, HistorySettings settings) {
+        RequestHistory.RequestKey key = RequestHistory.RequestKey.of(testCase);
+        RequestHistory history = historyIndex.get(key);
+        if (history == null) {
+            history = new RequestHistory(testCase, settings.displayRunCount(), settings.capacity());
+            requestHistory.add(history);
+            historyIndex.put(key, history);
+            RequestHistory newHistory = history;
+            Platform.runLater(() -> requestSelector.getItems().add(newHistory));
+        }
+        return history;
+    }
+
+    // Відкриття сховища результатів і створення записів історії для запитів попередніх сеансів (без читання результатів)
+    private void openResultStore() {
+        try {
+            resultStore = ResultStore.open(java.nio.file.Path.of(resultsDirectory));
+        } catch (IOException e) {
+            System.err.println("Не вдалося відкрити сховище результатів " + resultsDirectory + ": " + e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            for (TestCase testCase : resultStore.getStoredTestCases()) {
+                RequestHistory.RequestKey key = RequestHistory.RequestKey.of(testCase);
+                if (!historyIndex.containsKey(key)) {
+                    RequestHistory history = new RequestHistory(testCase, runCountSpinner.getValue(),
+                            historyCapacitySpinner.getValue());
+                    history.markStoredPending();
+                    requestHistory.add(history);
+                    historyIndex.put(key, history);
+                    requestSelector.getItems().add(history);
+                }
+            }
+        }
+    }
+
+    // Завантаження результатів попередніх сеансів для обраного запиту у фоновому потоці
+    private void loadStoredHistory(RequestHistory history) {
+        if (history == null || resultStore == null || !history.isStoredPending() || !loadingHistories.add(history)) {
+            return;
+        }
+        ResultStore store = resultStore;
+        timeMetricLabel.setText("Завантаження історії попередніх сеансів...");
+        Thread loader = new Thread(() -> {
+            try {
+                history.addStoredResults(store.loadPrevious(tc -> RequestHistory.isSameRequest(tc, history.getTestCase()),
+                        history.getCapacity()));
+            } catch (IOException e) {
+                System.err.println("Помилка при завантаженні історії зі сховища: " + e.getMessage());
+            }
+            Platform.runLater(() -> {
+                loadingHistories.remove(history);
+                if (requestSelector.getValue() == history) {
+                    // Номери результатів зсунулися на кількість завантажених — графіки будуються заново
+                    clearCharts();
+                    updateCharts();
+                    updateTimeMetrics();
+                    updateSizeMetrics();
+                }
+            });
+        }, "history-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    // Тест-кейс з полів введення (очікується статус 200)
+    private TestCase testCaseFromFields() {
+        return TestCase.of(urlField.getText(), methodCombo.getValue(), headersField.getText(), paramsField.getText(),
+                bodyField.getText(), "200");
+    }
+
+    // Налаштування виконання запитів з полів інтерфейсу
+    private RunOptions createRunOptions() {
+        return RunOptions.forRun(
+                apiKeyField.getText(),
+                transportCombo.getValue().getTransport(),
+                bodyPrefixSpinner.getValue(),
+                hashBodyCheckBox.isSelected(),
+                new ResultEventLog(eventLogEverySpinner.getValue(), true, eventLogSlowestSpinner.getValue(),
+                        captureBodiesCheckBox.isSelected()),
+                requestTimeoutSpinner.getValue() * 1000L
+        );
+    }
+
     // Виконання одного тесту
     private void runSingleTest() {
         // Створення тест-кейсу з введених даних
-        TestCase testCase = new TestCase(
-                urlField.getText(),
-                methodCombo.getValue(),
-                headersField.getText(),
-                paramsField.getText(),
-                bodyField.getText(),
-                "200"
-        );
+        TestCase testCase = testCaseFromFields();
 
-        String apiKey = apiKeyField.getText();
         int runCount = runCountSpinner.getValue();
+        int virtualUsers = virtualUsersSpinner.getValue();
+        RunOptions options = createRunOptions();
+
+        // Виконання тесту задану кількість разів віртуальними користувачами у фоновому потоці
+        HistorySettings settings = historySettings(runCount);
+        RunProgress progress = new RunProgress();
+        progress.setTotal(runCount);
+        startBackgroundRun(progress, () -> {
+            // Запис історії шукається один раз, а не для кожного результату
+            RequestHistory history = historyFor(testCase, settings);
+            RunResultLog log = new RunResultLog();
+            AtomicInteger runNumber = new AtomicInteger();
+            LoadEngine.runClosed(List.of(testCase), options, virtualUsers, runCount, (tc, testResult) -> {
+                progress.recordResult(testResult);
+                log.add("Запуск " + runNumber.incrementAndGet(), testResult);
+                addToHistory(history, tc, testResult);
+            }, progress.getCancelFlag());
+            showRunResults(log.describe(), progress);
+        });
+    }
+
+    // Виконання тесту з полів введення за профілем навантаження (наростання, утримання, спадання)
+    private void runProfileTest() {
+        LoadProfile profile;
+        try {
+            profile = LoadProfile.parse(loadProfileField.getText());
+        } catch (IllegalArgumentException e) {
+            resultArea.setText("Помилка в профілі навантаження: " + e.getMessage() + "\n" +
+                    "Приклад: 2m:200, 10m:200, 1m:0 (наростання до 200 користувачів за 2 хв, утримання 10 хв, спадання за 1 хв)\n");
+            return;
+        }
+        TestCase testCase = testCaseFromFields();
+        // На графіку показуються всі результати в пам'яті, бо кількість запитів заздалегідь невідома
+        HistorySettings settings = historySettings(historyCapacitySpinner.getValue());
+        RunOptions options = createRunOptions();
+
+        RunProgress progress = new RunProgress();
+        startBackgroundRun(progress, () -> {
+            RequestHistory history = historyFor(testCase, settings);
+            LoadEngine.runStaged(() -> List.of(testCase), options, profile, (tc, testResult) -> {
+                progress.recordResult(testResult);
+                addToHistory(history, tc, testResult);
+            }, progress.getCancelFlag(), progress::setActiveUsers);
+
+            // Замість тексту кожного запиту — підсумок за етапами
+            showRunResults("Профіль навантаження: " + profile + "\n\n"
+                    + history.getConcurrencyStatistics().describe() + "\n", progress);
+        });
+    }
 
-        checkAndClearLogFile();
+    // Запуск тестів у фоновому потоці; одночасно виконується лише один запуск
+    private void startBackgroundRun(RunProgress progress, Runnable work) {
+        if (activeRun != null && !activeRun.isFinished()) {
+            resultArea.setText("Помилка: попереднє виконання ще триває. Зупиніть його або дочекайтеся завершення.\n");
+            return;
+        }
+        activeRun = progress;
+        stopRunButton.setDisable(false);
+        runProgressBar.setProgress(ProgressBar.INDETERMINATE_PROGRESS);
+        runProgressLabel.setText("Виконання розпочато...");
+        resultArea.setText("Виконання розпочато. Результати з'являться після завершення.\n");
+        progressTimeline.play();
+
+        long droppedBefore = storeDroppedCount();
+        testExecutor.submit(() -> {
+            try {
+                work.run();
+                String dropped = describeStoreDrops(droppedBefore);
+                if (!dropped.isEmpty()) {
+                    Platform.runLater(() -> resultArea.appendText(dropped));
+                }
+            } catch (RuntimeException e) {
+                Platform.runLater(() -> resultArea.appendText("Помилка під час виконання: " + e.getMessage() + "\n"));
+            } finally {
+                progress.finish();
+                Platform.runLater(this::updateRunProgress);
+            }
+        });
+    }
+
+    // Кількість результатів, не збережених у сховище через переповнену чергу запису
+    private long storeDroppedCount() {
+        ResultStore store = resultStore;
+        return store != null ? store.getDroppedCount() : 0;
+    }
 
-        // Виконання тесту задану кількість разів
-        StringBuilder results = new StringBuilder();
-        for (int i = 0; i < runCount; i++) {
-            TestResult testResult = TestRunner.runTest(testCase, apiKey);
-            results.append(String.format("Запуск %d:\n%s\n\n", i + 1, testResult.result()));
-            addToHistory(testCase, testResult, runCount);
+    // Попередження про результати, що не потрапили у сховище з моменту droppedBefore ("" — усі збережено)
+    private String describeStoreDrops(long droppedBefore) {
+        long dropped = storeDroppedCount() - droppedBefore;
+        return dropped > 0 ? String.format("Увага: %d результатів не збережено у сховище на диску (запис не встигав); " +
+                "в історії поточного сеансу вони є.\n", dropped) : "";
+    }
+
+    // Виведення результатів після завершення фонового виконання
+    private void showRunResults(String results, RunProgress progress) {
+        String text = (progress.isCancelled() ? "Виконання зупинено користувачем.\n\n" : "") + results;
+        Platform.runLater(() -> resultArea.setText(text));
+    }
+
+    // Оновлення прогресу виконання (викликається таймлайном у потоці JavaFX)
+    private void updateRunProgress() {
+        RunProgress progress = activeRun;
+        if (progress == null) {
+            return;
         }
+        long total = progress.getTotal();
+        long completed = progress.getCompleted();
+        double elapsed = progress.getElapsedSeconds();
+        runProgressBar.setProgress(total > 0 ? (double) completed / total : ProgressBar.INDETERMINATE_PROGRESS);
+
+        if (progress.isFinished()) {
+            progressTimeline.stop();
+            stopRunButton.setDisable(true);
+            runProgressBar.setProgress(1);
+            runProgressLabel.setText(String.format("%s Виконано: %d, помилок: %d, середній RPS: %.1f, час: %.1f с",
+                    progress.isCancelled() ? "Зупинено." : "Завершено.", completed, progress.getFailed(),
+                    elapsed > 0 ? completed / elapsed : 0, elapsed));
+        } else {
+            runProgressLabel.setText(String.format("Виконано: %d/%s, RPS: %.1f, помилок: %d, час: %.1f с%s%s",
+                    completed, total > 0 ? String.valueOf(total) : "?", progress.sampleRequestsPerSecond(),
+                    progress.getFailed(), elapsed,
+                    progress.getActiveUsers() > 0 ? ", користувачів: " + progress.getActiveUsers() : "",
+                    progress.isCancelled() ? " (зупинка...)" : ""));
+        }
+    }
 
-        resultArea.setText(results.toString());
+    // Зупинка фонового виконання: нові запити не надсилаються, очікуються відповіді на вже надіслані
+    private void stopBackgroundRun() {
+        if (activeRun != null && !activeRun.isFinished()) {
+            activeRun.cancel();
+            stopRunButton.setDisable(true);
+        }
     }
 
-    // Виконання періодичних тестів
+    // Виконання періодичних тестів (відкрита модель: запити надсилаються за розкладом незалежно від часу відповіді)
     private void runPeriodicTest() {
         // Створення тест-кейсу з введених даних
-        TestCase testCase = new TestCase(
-                urlField.getText(),
-                methodCombo.getValue(),
-                headersField.getText(),
-                paramsField.getText(),
-                bodyField.getText(),
-                "200"
-        );
+        TestCase testCase = testCaseFromFields();
 
-        String apiKey = apiKeyField.getText();
         int intervalMinutes = periodicIntervalSpinner.getValue();
         int durationMinutes = periodicDurationSpinner.getValue();
-        int runCount = runCountSpinner.getValue(); // Кількість запитів за один цикл
-        int expectedRunCount = (durationMinutes / intervalMinutes) * runCount; // Загальна кількість запитів
-        periodicRunCount = 0;
-
-        long intervalMillis = intervalMinutes * 60 * 1000L;
+        int runCount = runCountSpinner.getValue(); // Кількість запитів за один інтервал
+        RunOptions options = createRunOptions();
+        double requestsPerSecond = periodicRateSpinner.getValue();
+        if (requestsPerSecond <= 0) {
+            // Швидкість за замовчуванням: runCount запитів, рівномірно розподілених на кожен інтервал
+            requestsPerSecond = runCount / (intervalMinutes * 60.0);
+        }
         long durationMillis = durationMinutes * 60 * 1000L;
+        int expectedRunCount = (int) Math.ceil(requestsPerSecond * durationMinutes * 60); // Загальна кількість запитів
+        HistorySettings settings = historySettings(expectedRunCount);
 
-        // Зупинка попереднього таймера, якщо він існує
-        if (periodicTimer != null) {
-            periodicTimer.cancel();
+        // Зупинка попереднього виконання, якщо воно існує
+        if (periodicRun != null) {
+            periodicRun.cancel();
         }
-        periodicTimer = new Timer();
-
-        checkAndClearLogFile();
 
-        // Завдання для періодичного виконання
-        TimerTask task = new TimerTask() {
-            @Override
-            public void run() {
-                periodicRunCount++;
-                checkAndClearLogFile();
-                StringBuilder cycleResults = new StringBuilder();
-                // Виконання кількох запитів за один цикл
-                for (int i = 0; i < runCount; i++) {
-                    TestResult testResult = TestRunner.runTest(testCase, apiKey);
-                    cycleResults.append(String.format("Запуск %d (цикл %d):\n%s\n\n", i + 1, periodicRunCount, testResult.result()));
-                    addToHistory(testCase, testResult, expectedRunCount);
-                }
-                // Оновлення результатів у GUI
-                Platform.runLater(() -> {
-                    resultArea.appendText(String.format("Періодичний цикл %d (на %d хвилині):\n%s\n", periodicRunCount, periodicRunCount * intervalMinutes, cycleResults.toString()));
-                });
-            }
+        // Якщо поля заповнено з файлу тест-кейсу, за яким ведеться спостереження, зміни файлу
+        // застосовуються до наступних запитів без перезапуску
+        TestSuiteWatcher watcher = testsWatcher;
+        java.nio.file.Path testFile = selectedTestFile;
+        boolean live = watcher != null && testFile != null && testCase.equals(watcher.getTestCase(testFile));
+        java.util.function.Supplier<List<TestCase>> testCaseSource = () -> {
+            TestCase current = live ? watcher.getTestCase(testFile) : null;
+            return List.of(current != null ? current : testCase);
         };
 
-        // Запуск періодичних тестів
-        periodicTimer.scheduleAtFixedRate(task, intervalMillis, intervalMillis);
-
-        // Завдання для зупинки періодичних тестів після закінчення тривалості
-        new Timer().schedule(new TimerTask() {
-            @Override
-            public void run() {
-                periodicTimer.cancel();
-                periodicTimer = null;
-                Platform.runLater(() -> resultArea.appendText("Періодичне виконання завершено.\n"));
+        String header = String.format("Періодичне виконання розпочато: %.3f запитів/с (інтервал між запитами %.1f мс) протягом %d хвилин. " +
+                        "Очікувана загальна кількість запитів: %d. Час відповіді рахується від запланованого моменту відправлення.\n",
+                requestsPerSecond, 1000.0 / requestsPerSecond, durationMinutes, expectedRunCount)
+                + (live ? "Зміни у файлі " + testFile.getFileName() + " застосовуватимуться до наступних запитів.\n" : "")
+                + "\n";
+
+        // Запуск відкритої моделі навантаження. Потоки запитів лише оновлюють лічильники та кільцеві буфери,
+        // а текстове поле перемальовується таймлайном: при тисячах запитів за секунду черга JavaFX не переповнюється
+        RunResultLog log = new RunResultLog();
+        AtomicInteger runNumber = new AtomicInteger();
+        long droppedBefore = storeDroppedCount();
+        periodicRun = LoadEngine.runOpen(testCaseSource, options, requestsPerSecond, durationMillis, (tc, testResult) -> {
+            addToHistory(tc, testResult, settings);
+            log.add(String.format("Запуск %d (відставання від розкладу %.2f мс)", runNumber.incrementAndGet(),
+                    testResult.scheduleDelayMicros() / 1000.0), testResult);
+        }, run -> Platform.runLater(() -> {
+            if (periodicRun != run) {
+                return; // Виконання замінене новим або скасоване очищенням історії
             }
-        }, durationMillis);
+            periodicRun = null;
+            stopPeriodicTimeline();
+            // Звіт про те, наскільки планувальник відставав від заданої швидкості
+            resultArea.setText(header + log.describe() + String.format("Періодичне виконання завершено. Надіслано запитів: %d. " +
+                            "Відставання планувальника: середнє %.1f мс, максимальне %d мс.\n",
+                    run.getSentCount(), run.getAverageLagMillis(), run.getMaxLagMillis()) + describeStoreDrops(droppedBefore));
+        }));
+
+        resultArea.setText(header);
+        stopPeriodicTimeline();
+        periodicTimeline = new Timeline(new KeyFrame(javafx.util.Duration.millis(500),
+                e -> resultArea.setText(header + log.describe())));
+        periodicTimeline.setCycleCount(Timeline.INDEFINITE);
+        periodicTimeline.play();
+    }
 
-        resultArea.setText("Періодичне виконання розпочато: кожні " + intervalMinutes + " хвилин протягом " + durationMinutes + " хвилин. Кількість запитів за цикл: " + runCount + ". Очікувана загальна кількість запитів: " + expectedRunCount + ". Перший запуск через " + intervalMinutes + " хвилин.\n");
+    private void stopPeriodicTimeline() {
+        if (periodicTimeline != null) {
+            periodicTimeline.stop();
+            periodicTimeline = null;
+        }
     }
 
     // Зупинка періодичних тестів
     private void stopPeriodicTest() {
-        if (periodicTimer != null) {
-            periodicTimer.cancel();
-            periodicTimer = null;
+        if (periodicRun != null && !periodicRun.isDone()) {
+            periodicRun.cancel();
             resultArea.appendText("Періодичні запити зупинено.\n");
         } else {
             resultArea.appendText("Періодичні запити не запущені.\n");
@@ -1181,18 +1740,12 @@ public class Main extends Application {
     // Заплановане виконання тесту
     private void scheduleTest() {
         // Створення тест-кейсу з введених даних
-        TestCase testCase = new TestCase(
-                urlField.getText(),
-                methodCombo.getValue(),
-                headersField.getText(),
-                paramsField.getText(),
-                bodyField.getText(),
-                "200"
-        );
+        TestCase testCase = testCaseFromFields();
 
-        String apiKey = apiKeyField.getText();
+        RunOptions options = createRunOptions();
         String startTimeStr = scheduleStartTimeField.getText();
         int runCount = runCountSpinner.getValue(); // Кількість запитів за один цикл
+        HistorySettings settings = historySettings(runCount);
         LocalTime startTime;
 
         // Перевірка введення часу
@@ -1240,22 +1793,29 @@ public class Main extends Application {
         }
         scheduleTimer = new Timer();
 
-        checkAndClearLogFile();
-
         // Завдання для запланованого виконання
         TimerTask task = new TimerTask() {
             @Override
             public void run() {
-                StringBuilder cycleResults = new StringBuilder();
-                // Виконання кількох запитів за один цикл
-                for (int i = 0; i < runCount; i++) {
-                    TestResult testResult = TestRunner.runTest(testCase, apiKey);
-                    cycleResults.append(String.format("Запуск %d:\n%s\n\n", i + 1, testResult.result()));
-                    addToHistory(testCase, testResult, runCount);
+                scheduledRunActive = true;
+                RunResultLog log = new RunResultLog();
+                try {
+                    RequestHistory history = historyFor(testCase, settings);
+                    // Виконання кількох запитів за один цикл
+                    for (int i = 0; i < runCount; i++) {
+                        TestResult testResult = TestRunner.runTest(testCase, options);
+                        options.eventLog().record(testCase, testResult);
+                        log.add("Запуск " + (i + 1), testResult);
+                        addToHistory(history, testCase, testResult);
+                    }
+                    options.eventLog().finish();
+                } finally {
+                    scheduledRunActive = false;
                 }
                 // Оновлення результатів у GUI
+                String cycleResults = log.describe();
                 Platform.runLater(() -> {
-                    resultArea.appendText(String.format("Запланований запуск:\n%s\n", cycleResults.toString()));
+                    resultArea.appendText(String.format("Запланований запуск:\n%s\n", cycleResults));
                 });
                 scheduleTimer.cancel();
                 scheduleTimer = null;
@@ -1293,15 +1853,18 @@ public class Main extends Application {
         }
 
         // Створення тест-кейсу
-        TestCase testCase = new TestCase(
-                urlField.getText(),
-                methodCombo.getValue(),
-                headersField.getText(),
-                paramsField.getText(),
-                bodyField.getText(),
-                "200"
-        );
+        TestCase testCase = testCaseFromFields();
         testCases.add(testCase);
+        if (saveToBundleCheckBox.isSelected()) {
+            java.nio.file.Path bundle = java.nio.file.Path.of(testsDirectory, DEFAULT_BUNDLE_NAME);
+            try {
+                SuiteBundle.append(bundle, testCase);
+                resultArea.setText("Тест додано до набору: " + bundle + "\n");
+            } catch (IOException e) {
+                resultArea.setText("Помилка при збереженні тесту: " + e.getMessage() + "\n");
+            }
+            return;
+        }
         try {
             TestGenerator.saveTestCase(testCase, testsDirectory);
             resultArea.setText("Тест збережено у папку: " + testsDirectory + "\n");
@@ -1321,25 +1884,38 @@ public class Main extends Application {
             return;
         }
 
-        // Завантаження всіх тест-кейсів
-        testCases.clear();
-        testCases.addAll(TestGenerator.loadTestCases(testsDirectory));
-
-        String apiKey = apiKeyField.getText();
+        String directory = testsDirectory;
+        TestSuiteWatcher watcher = testsWatcher;
         int runCount = runCountSpinner.getValue();
-
-        checkAndClearLogFile();
-
-        // Виконання всіх тестів
-        StringBuilder results = new StringBuilder();
-        for (TestCase testCase : testCases) {
-            for (int i = 0; i < runCount; i++) {
-                TestResult testResult = TestRunner.runTest(testCase, apiKey);
-                results.append(String.format("Запуск %d для %s %s:\n%s\n\n", i + 1, testCase.method(), testCase.url(), testResult.result()));
-                addToHistory(testCase, testResult, runCount);
+        int virtualUsers = virtualUsersSpinner.getValue();
+        RunOptions options = createRunOptions();
+        HistorySettings settings = historySettings(runCount);
+
+        // Завантаження та виконання всіх тестів віртуальними користувачами у фоновому потоці
+        RunProgress progress = new RunProgress();
+        startBackgroundRun(progress, () -> {
+            // Якщо за папкою ведеться спостереження, набір уже актуальний і повторно не читається
+            List<TestCase> loaded;
+            if (watcher != null) {
+                loaded = watcher.getTestCases();
+            } else {
+                loaded = TestGenerator.loadTestCases(directory);
+                Platform.runLater(() -> {
+                    testCases.clear();
+                    testCases.addAll(loaded);
+                });
             }
-        }
-        resultArea.setText(results.toString());
+            progress.setTotal((long) loaded.size() * runCount);
+
+            RunResultLog log = new RunResultLog();
+            AtomicInteger runNumber = new AtomicInteger();
+            LoadEngine.runClosed(loaded, options, virtualUsers, runCount, (testCase, testResult) -> {
+                progress.recordResult(testResult);
+                log.add(String.format("Запуск %d для %s %s", runNumber.incrementAndGet(), testCase.method(), testCase.url()), testResult);
+                addToHistory(testCase, testResult, settings);
+            }, progress.getCancelFlag());
+            showRunResults(log.describe(), progress);
+        });
     }
 
     // Виконання вибраного тесту з файлу
@@ -1356,7 +1932,9 @@ public class Main extends Application {
         // Створення діалогу для вибору тестового файлу
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Вибрати тестовий файл");
-        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("JSON Files", "*.json"));
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("JSON Files", "*.json"),
+                new FileChooser.ExtensionFilter("Набори тестів (JSON Lines)", "*" + SuiteBundle.EXTENSION));
         File testsFolder = new File(testsDirectory);
         if (testsFolder.exists() && testsFolder.isDirectory()) {
             fileChooser.setInitialDirectory(testsFolder);
@@ -1369,10 +1947,16 @@ public class Main extends Application {
                 return;
             }
 
+            // Набір виконується повністю без завантаження в пам'ять
+            if (SuiteBundle.isBundle(selectedFile.toPath())) {
+                runBundle(selectedFile.toPath());
+                return;
+            }
+
             // Завантаження тесту з файлу
             try {
-                ObjectMapper mapper = new ObjectMapper();
-                TestCase testCase = mapper.readValue(selectedFile, TestCase.class);
+                TestCase testCase = TestSuiteLoader.loadFile(selectedFile.toPath());
+                selectedTestFile = selectedFile.toPath();
 
                 // Заповнення полів введення даними з тесту
                 urlField.setText(testCase.url());
@@ -1381,19 +1965,25 @@ public class Main extends Application {
                 paramsField.setText(testCase.params());
                 bodyField.setText(testCase.body());
 
-                String apiKey = apiKeyField.getText();
                 int runCount = runCountSpinner.getValue();
-
-                checkAndClearLogFile();
-
-                // Виконання тесту
-                StringBuilder results = new StringBuilder();
-                for (int i = 0; i < runCount; i++) {
-                    TestResult testResult = TestRunner.runTest(testCase, apiKey);
-                    results.append(String.format("Запуск %d:\n%s\n\n", i + 1, testResult.result()));
-                    addToHistory(testCase, testResult, runCount);
-                }
-                resultArea.setText(results.toString());
+                int virtualUsers = virtualUsersSpinner.getValue();
+                RunOptions options = createRunOptions();
+                HistorySettings settings = historySettings(runCount);
+
+                // Виконання тесту віртуальними користувачами у фоновому потоці
+                RunProgress progress = new RunProgress();
+                progress.setTotal(runCount);
+                startBackgroundRun(progress, () -> {
+                    RequestHistory history = historyFor(testCase, settings);
+                    RunResultLog log = new RunResultLog();
+                    AtomicInteger runNumber = new AtomicInteger();
+                    LoadEngine.runClosed(List.of(testCase), options, virtualUsers, runCount, (tc, testResult) -> {
+                        progress.recordResult(testResult);
+                        log.add("Запуск " + runNumber.incrementAndGet(), testResult);
+                        addToHistory(history, tc, testResult);
+                    }, progress.getCancelFlag());
+                    showRunResults(log.describe(), progress);
+                });
             } catch (IOException e) {
                 resultArea.setText("Помилка при завантаженні тесту: " + e.getMessage());
                 e.printStackTrace();
@@ -1403,6 +1993,32 @@ public class Main extends Application {
         }
     }
 
+    // Виконання всіх тестів з набору: тест-кейси читаються з диска за номером під час виконання
+    private void runBundle(java.nio.file.Path bundlePath) {
+        int runCount = runCountSpinner.getValue();
+        int virtualUsers = virtualUsersSpinner.getValue();
+        RunOptions options = createRunOptions();
+        HistorySettings settings = historySettings(runCount);
+
+        RunProgress progress = new RunProgress();
+        startBackgroundRun(progress, () -> {
+            try (SuiteBundle bundle = SuiteBundle.open(bundlePath)) {
+                progress.setTotal((long) bundle.size() * runCount);
+                // Набори можуть бути великими, тому виводяться лише останні провалені запуски
+                RunResultLog log = new RunResultLog(0, RunResultLog.DEFAULT_FAILURES);
+                LoadEngine.runClosed(bundle, options, virtualUsers, runCount, (testCase, testResult) -> {
+                    progress.recordResult(testResult);
+                    log.add(String.format("Провалено %s %s", testCase.method(), testCase.url()), testResult);
+                    addToHistory(testCase, testResult, settings);
+                }, progress.getCancelFlag());
+                showRunResults(String.format("Набір %s: %d тест-кейсів\n", bundlePath.getFileName(), bundle.size())
+                        + log.describe(), progress);
+            } catch (IOException e) {
+                Platform.runLater(() -> resultArea.setText("Помилка при відкритті набору: " + e.getMessage() + "\n"));
+            }
+        });
+    }
+
     // Точка входу програми
     public static void main(String[] args) {
         launch(args);
@@ -0,0 +1,150 @@
+package com.example;
+
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.HttpHost;
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.UnknownHostException;
+
+// Фабрика HTTP-клієнтів для RestAssured, яка вимірює фази запиту (DNS, з'єднання, TLS, перший байт)
+@SuppressWarnings("deprecation") // RestAssured працює лише з класичним API Apache HttpClient 4
+public class PhaseTimingHttpClientFactory implements HttpClientConfig.HttpClientFactory {
+    // Вимір поточного запиту; RestAssured виконує запит у потоці, що його викликав
+    private static final ThreadLocal<RequestTiming.Recorder> CURRENT = new ThreadLocal<>();
+    // Максимальна кількість з'єднань у пулі (має бути не меншою за кількість віртуальних користувачів)
+    private static final int MAX_CONNECTIONS = 1000;
+
+    // Спільний пул з'єднань для всіх клієнтів, щоб з'єднання могли використовуватись повторно
+    private final PoolingClientConnectionManager connectionManager;
+
+    public PhaseTimingHttpClientFactory() {
+        SchemeRegistry registry = new SchemeRegistry();
+        registry.register(new Scheme("http", 80, new TimedPlainSocketFactory()));
+        registry.register(new Scheme("https", 443, new TimedSslSocketFactory()));
+        connectionManager = new PoolingClientConnectionManager(registry, new TimedDnsResolver());
+        connectionManager.setMaxTotal(MAX_CONNECTIONS);
+        connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS);
+    }
+
+    // Початок виміру для запиту в поточному потоці
+    public static RequestTiming.Recorder begin() {
+        RequestTiming.Recorder recorder = new RequestTiming.Recorder();
+        CURRENT.set(recorder);
+        return recorder;
+    }
+
+    // Завершення виміру для запиту в поточному потоці
+    public static RequestTiming finish(RequestTiming.Recorder recorder) {
+        CURRENT.remove();
+        recorder.markEnd();
+        return recorder.toTiming();
+    }
+
+    @Override
+    public HttpClient createHttpClient() {
+        DefaultHttpClient client = new DefaultHttpClient(connectionManager);
+        // Запит іде в мережу після виконання перехоплювачів запиту
+        client.addRequestInterceptor((request, context) -> {
+            RequestTiming.Recorder recorder = CURRENT.get();
+            if (recorder != null) {
+                recorder.markRequestSent();
+            }
+        });
+        // Перехоплювачі відповіді викликаються одразу після отримання заголовків, до читання тіла
+        client.addResponseInterceptor((response, context) -> {
+            RequestTiming.Recorder recorder = CURRENT.get();
+            if (recorder != null) {
+                recorder.markHeadersReceived();
+            }
+        });
+        return client;
+    }
+
+    // Визначення адреси з вимірюванням часу DNS
+    private static class TimedDnsResolver implements DnsResolver {
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+            long start = System.nanoTime();
+            try {
+                return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+            } finally {
+                RequestTiming.Recorder recorder = CURRENT.get();
+                if (recorder != null) {
+                    recorder.addDns(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    // Сокет, який вимірює час встановлення TCP-з'єднання
+    private static class TimedSocket extends Socket {
+        @Override
+        public void connect(SocketAddress endpoint, int timeout) throws IOException {
+            long start = System.nanoTime();
+            try {
+                super.connect(endpoint, timeout);
+            } finally {
+                RequestTiming.Recorder recorder = CURRENT.get();
+                if (recorder != null) {
+                    recorder.addConnect(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    // Фабрика звичайних сокетів для http
+    private static class TimedPlainSocketFactory extends PlainSocketFactory {
+        @Override
+        public Socket createSocket(HttpParams params) {
+            return new TimedSocket();
+        }
+    }
+
+    // Фабрика TLS-сокетів для https: TCP-з'єднання вимірює TimedSocket, решта часу — TLS-рукостискання
+    private static class TimedSslSocketFactory extends SSLSocketFactory {
+        TimedSslSocketFactory() {
+            super(org.apache.http.ssl.SSLContexts.createDefault(), BROWSER_COMPATIBLE_HOSTNAME_VERIFIER);
+        }
+
+        @Override
+        public Socket createSocket(HttpParams params) {
+            return new TimedSocket();
+        }
+
+        @Override
+        public Socket createSocket(HttpContext context) {
+            return new TimedSocket();
+        }
+
+        @Override
+        public Socket connectSocket(int connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress,
+                                    InetSocketAddress localAddress, HttpContext context)
+                throws IOException, ConnectTimeoutException {
+            RequestTiming.Recorder recorder = CURRENT.get();
+            long connectBefore = recorder != null ? recorder.connectNanosSoFar() : 0;
+            long start = System.nanoTime();
+            Socket connected = super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+            if (recorder != null) {
+                long tcpNanos = recorder.connectNanosSoFar() - connectBefore;
+                recorder.addTls(Math.max(0, System.nanoTime() - start - tcpNanos));
+            }
+            return connected;
+        }
+    }
+}
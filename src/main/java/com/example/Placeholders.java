@@ -0,0 +1,33 @@
+package com.example;
+
+import java.util.function.Function;
+
+// Підстановка значень у плейсхолдери ${назва} у рядках тест-кейсу (URL, заголовки, параметри, тіло)
+public class Placeholders {
+    private static final String START = "${";
+
+    // Чи містить рядок плейсхолдери
+    public static boolean contains(String text) {
+        return text != null && text.contains(START);
+    }
+
+    // Заміна плейсхолдерів значеннями з lookup; плейсхолдер без значення (lookup повернув null) залишається як є
+    public static String substitute(String text, Function<String, String> lookup) {
+        if (!contains(text)) {
+            return text;
+        }
+        StringBuilder result = new StringBuilder(text.length() + 16);
+        int from = 0;
+        int start;
+        while ((start = text.indexOf(START, from)) >= 0) {
+            int end = text.indexOf('}', start + START.length());
+            if (end < 0) {
+                break;
+            }
+            String value = lookup.apply(text.substring(start + START.length(), end));
+            result.append(text, from, start).append(value != null ? value : text.substring(start, end + 1));
+            from = end + 1;
+        }
+        return result.append(text, from, text.length()).toString();
+    }
+}
@@ -0,0 +1,182 @@
+package com.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Клас-модель для підготовленого (скомпільованого) запиту: усі рядки тест-кейсу розібрані один раз,
+// тому під час виконання запиту не потрібен жоден розбір рядків. Об'єкт незмінний і спільний для всіх потоків.
+public record PreparedRequest(
+        HttpMethod method, // HTTP-метод
+        String url, // URL без параметрів
+        URI uri, // URI з закодованими параметрами запиту
+        Map<String, String> headers, // Заголовки (незмінна мапа)
+        Map<String, String> params, // Параметри разом з API Key (незмінна мапа)
+        String body, // Тіло запиту
+        byte[] bodyBytes, // Тіло запиту в UTF-8 (не змінювати)
+        ResponseAssertions assertions, // Скомпільовані перевірки відповіді
+        boolean templated // Чи містять рядки тест-кейсу плейсхолдери ${назва}
+) {
+    // Логгер для інформації та помилок
+    private static final Logger logger = LoggerFactory.getLogger(PreparedRequest.class);
+    // Максимальна кількість підготовлених запитів у кеші
+    private static final int MAX_CACHE_SIZE = 10_000;
+    // Кеш підготовлених запитів за тест-кейсом і API Key
+    private static final Map<CacheKey, PreparedRequest> CACHE = new ConcurrentHashMap<>();
+
+    // Ключ кешу (тест-кейс є record, тому порівнюється за значенням)
+    private record CacheKey(TestCase testCase, String apiKey) {
+    }
+
+    // Підготовлений запит із кешу; компілюється лише під час першого звернення
+    public static PreparedRequest of(TestCase testCase, String apiKey) {
+        CacheKey key = new CacheKey(testCase, apiKey == null ? "" : apiKey.trim());
+        PreparedRequest cached = CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (CACHE.size() >= MAX_CACHE_SIZE) {
+            CACHE.clear();
+        }
+        return CACHE.computeIfAbsent(key, k -> compile(k.testCase(), k.apiKey()));
+    }
+
+    // Кількість підготовлених запитів у кеші (для тестів)
+    static int cacheSize() {
+        return CACHE.size();
+    }
+
+    // Розбір тест-кейсу у підготовлений запит
+    public static PreparedRequest compile(TestCase testCase, String apiKey) {
+        HttpMethod method = HttpMethod.parse(testCase.method());
+        if (method == null) {
+            throw new IllegalArgumentException("Невідомий метод: " + testCase.method());
+        }
+
+        Map<String, String> headers = parseHeaders(testCase.headers());
+        Map<String, String> params = parseParams(testCase.params());
+
+        // Додаємо API Key до параметрів, якщо він введений
+        if (apiKey != null && !apiKey.trim().isEmpty()) {
+            params.put("appid", apiKey.trim()); // Для OpenWeatherMap використовується параметр "appid"
+            logger.info("Додано API Key до запиту: appid={}", maskApiKey(apiKey.trim()));
+        }
+
+        String body = testCase.body() == null ? "" : testCase.body();
+        boolean templated = Placeholders.contains(testCase.url()) || Placeholders.contains(testCase.headers())
+                || Placeholders.contains(testCase.params()) || Placeholders.contains(body);
+        return new PreparedRequest(
+                method,
+                testCase.url(),
+                // URL з плейсхолдерами може бути некоректним до підстановки, тому URI будується під час resolve
+                templated ? null : buildUri(testCase.url(), params),
+                Collections.unmodifiableMap(headers),
+                Collections.unmodifiableMap(params),
+                body,
+                body.getBytes(StandardCharsets.UTF_8),
+                ResponseAssertions.compile(testCase.assertions()),
+                templated
+        );
+    }
+
+    // Запит з підставленими значеннями плейсхолдерів ${назва}; заголовки й параметри вже розібрані,
+    // тому замінюються лише значення. Запит без плейсхолдерів повертається без змін
+    public PreparedRequest resolve(Function<String, String> lookup) {
+        if (!templated) {
+            return this;
+        }
+        String resolvedUrl = Placeholders.substitute(url, lookup);
+        Map<String, String> resolvedHeaders = new LinkedHashMap<>();
+        headers.forEach((name, value) -> resolvedHeaders.put(name, Placeholders.substitute(value, lookup)));
+        Map<String, String> resolvedParams = new LinkedHashMap<>();
+        params.forEach((name, value) -> resolvedParams.put(Placeholders.substitute(name, lookup),
+                Placeholders.substitute(value, lookup)));
+        String resolvedBody = Placeholders.substitute(body, lookup);
+        return new PreparedRequest(
+                method,
+                resolvedUrl,
+                buildUri(resolvedUrl, resolvedParams),
+                Collections.unmodifiableMap(resolvedHeaders),
+                Collections.unmodifiableMap(resolvedParams),
+                resolvedBody,
+                Placeholders.contains(body) ? resolvedBody.getBytes(StandardCharsets.UTF_8) : bodyBytes,
+                assertions,
+                false
+        );
+    }
+
+    // Розбір заголовків формату "Назва:значення;Назва:значення" (значення може містити ':')
+    static Map<String, String> parseHeaders(String text) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (text == null || text.isBlank()) {
+            return headers;
+        }
+        for (String header : text.split(";")) {
+            if (header.isBlank()) {
+                continue;
+            }
+            int separator = header.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Некоректний заголовок (очікується Назва:значення): " + header.trim());
+            }
+            headers.put(header.substring(0, separator).trim(), header.substring(separator + 1).trim());
+        }
+        return headers;
+    }
+
+    // Розбір параметрів формату "назва=значення&назва=значення" (значення може містити '=')
+    static Map<String, String> parseParams(String text) {
+        Map<String, String> params = new LinkedHashMap<>();
+        if (text == null || text.isBlank()) {
+            return params;
+        }
+        for (String param : text.split("&")) {
+            if (param.isBlank()) {
+                continue;
+            }
+            int separator = param.indexOf('=');
+            if (separator < 0) {
+                params.put(param.trim(), "");
+            } else {
+                params.put(param.substring(0, separator).trim(), param.substring(separator + 1).trim());
+            }
+        }
+        return params;
+    }
+
+    // Формування URI з закодованими параметрами запиту
+    private static URI buildUri(String url, Map<String, String> params) {
+        if (params.isEmpty()) {
+            return URI.create(url);
+        }
+        StringBuilder query = new StringBuilder(url);
+        query.append(url.contains("?") ? '&' : '?');
+        boolean first = true;
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            if (!first) {
+                query.append('&');
+            }
+            query.append(URLEncoder.encode(param.getKey(), StandardCharsets.UTF_8))
+                    .append('=')
+                    .append(URLEncoder.encode(param.getValue(), StandardCharsets.UTF_8));
+            first = false;
+        }
+        return URI.create(query.toString());
+    }
+
+    // Метод для маскування API Key у логах
+    private static String maskApiKey(String apiKey) {
+        if (apiKey == null || apiKey.length() < 8) {
+            return "****";
+        }
+        return apiKey.substring(0, 4) + "****" + apiKey.substring(apiKey.length() - 4);
+    }
+}
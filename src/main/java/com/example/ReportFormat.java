@@ -0,0 +1,26 @@
+package com.example;
+
+// Формати звітів
+public enum ReportFormat {
+    TEXT("Текст", "txt"),
+    CSV("CSV", "csv"),
+    JSON("JSON", "json"),
+    HTML("HTML", "html");
+
+    private final String displayName; // Назва для відображення у списку
+    private final String extension; // Розширення файлу звіту
+
+    ReportFormat(String displayName, String extension) {
+        this.displayName = displayName;
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// Статистика для звіту, що накопичується за один прохід по результатах (пам'ять не залежить від їх кількості)
+public class ReportStatistics {
+    // Кількість останніх запусків, що зберігаються для таблиці у звіті HTML
+    public static final int RECENT_RUNS = 100;
+
+    private long count; // Кількість результатів
+    private long passed; // Кількість успішних
+    private long totalTimeTaken; // Сумарний час виконання (мс)
+    private long minTimeTaken = Long.MAX_VALUE; // Найменший час виконання (мс)
+    private long maxTimeTaken; // Найбільший час виконання (мс)
+    private long totalResponseSize; // Сумарний розмір відповідей (байти)
+    private long minResponseSize = Long.MAX_VALUE; // Найменший розмір відповіді
+    private long maxResponseSize; // Найбільший розмір відповіді
+    private long firstTimestamp; // Момент першого результату (мс від епохи)
+    private long lastTimestamp; // Момент останнього результату
+    private final Map<Integer, Long> statusCodes = new TreeMap<>(); // Кількість відповідей за статус-кодами
+    private final Histogram latencyHistogram = LatencyPercentiles.newHistogram(); // Гістограма часу виконання (мкс)
+    private final RequestTiming.Averages phases = new RequestTiming.Averages(); // Середні фази запитів
+    private final ResultColumns recentRuns = new ResultColumns(RECENT_RUNS); // Останні запуски
+
+    // Облік результату
+    public void add(long time, TestResult result) {
+        if (count == 0) {
+            firstTimestamp = time;
+        }
+        lastTimestamp = time;
+        count++;
+        if (result.passed()) {
+            passed++;
+        }
+        totalTimeTaken += result.timeTaken();
+        minTimeTaken = Math.min(minTimeTaken, result.timeTaken());
+        maxTimeTaken = Math.max(maxTimeTaken, result.timeTaken());
+        totalResponseSize += result.responseSize();
+        minResponseSize = Math.min(minResponseSize, result.responseSize());
+        maxResponseSize = Math.max(maxResponseSize, result.responseSize());
+        statusCodes.merge(result.statusCode(), 1L, Long::sum);
+        LatencyPercentiles.recordMicros(latencyHistogram, result.latencyMicros());
+
+        phases.add(result.timing());
+        recentRuns.add(time, result);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getPassed() {
+        return passed;
+    }
+
+    public long getFailed() {
+        return count - passed;
+    }
+
+    public double getAverageTimeTaken() {
+        return count == 0 ? 0 : (double) totalTimeTaken / count;
+    }
+
+    public long getMinTimeTaken() {
+        return count == 0 ? 0 : minTimeTaken;
+    }
+
+    public long getMaxTimeTaken() {
+        return maxTimeTaken;
+    }
+
+    public double getAverageResponseSize() {
+        return count == 0 ? 0 : (double) totalResponseSize / count;
+    }
+
+    public long getMinResponseSize() {
+        return count == 0 ? 0 : minResponseSize;
+    }
+
+    public long getMaxResponseSize() {
+        return maxResponseSize;
+    }
+
+    public long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    public long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    public Map<Integer, Long> getStatusCodes() {
+        return statusCodes;
+    }
+
+    public Histogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    public ResultColumns getRecentRuns() {
+        return recentRuns;
+    }
+
+    // Чи є дані про фази запиту
+    public boolean hasPhases() {
+        return !phases.isEmpty();
+    }
+
+    // Середні фази (невиміряні транспортом фази не усереднюються)
+    public RequestTiming.Averages getPhases() {
+        return phases;
+    }
+
+    // Середні фази одним рядком
+    public String describePhases() {
+        return phases.describe();
+    }
+}
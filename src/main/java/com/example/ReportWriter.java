@@ -0,0 +1,387 @@
+package com.example;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+// Клас для генерації звітів: результати читаються з джерела один раз і одразу записуються у файл,
+// тому розмір звіту не обмежений пам'яттю. Статистика рахується з полів результатів за той самий прохід.
+public class ReportWriter {
+    // Формат дати та часу у звітах
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    // Найбільша довжина тіла відповіді у звіті
+    private static final int MAX_BODY_LENGTH = 100;
+    // Перша межа та множник інтервалів гістограми часу виконання у звіті HTML (мкс)
+    private static final long HISTOGRAM_FIRST_BUCKET_MICROS = 100;
+    private static final double HISTOGRAM_BUCKET_FACTOR = 2;
+
+    // Запит, для якого складається звіт
+    public record ReportInfo(
+            String title, // Назва запиту
+            TestCase testCase, // Параметри запиту
+            String lastBodyPrefix, // Початок тіла останньої відповіді
+            String source // Звідки взято результати (для заголовка звіту)
+    ) {
+    }
+
+    // Джерело результатів у порядку виконання
+    @FunctionalInterface
+    public interface ResultSource {
+        void forEach(ResultStore.ResultVisitor visitor) throws IOException;
+    }
+
+    // Джерело з буфера в пам'яті
+    public static ResultSource fromColumns(ResultColumns results) {
+        return visitor -> {
+            for (int i = 0; i < results.size(); i++) {
+                visitor.accept(results.timestamp(i), results.result(i));
+            }
+        };
+    }
+
+    // Генерація звіту у файл; firstRunNumber — номер першого результату джерела
+    public static ReportStatistics write(ReportFormat format, ReportInfo info, ResultSource source, long firstRunNumber,
+                                         Path file) throws IOException {
+        return switch (format) {
+            case TEXT -> writeText(info, source, firstRunNumber, file);
+            case CSV -> writeCsv(source, firstRunNumber, file);
+            case JSON -> writeJson(info, source, firstRunNumber, file);
+            case HTML -> writeHtml(info, source, firstRunNumber, file);
+        };
+    }
+
+    // Текстовий звіт: кожен запуск окремо, статистика в кінці
+    private static ReportStatistics writeText(ReportInfo info, ResultSource source, long firstRunNumber, Path file)
+            throws IOException {
+        ReportStatistics statistics = new ReportStatistics();
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            TestCase testCase = info.testCase();
+            writer.write("Звіт про тестування\n");
+            writer.write("-------------------\n");
+            writer.write("Дата: " + LocalDateTime.now().format(DATE_TIME) + "\n");
+            writer.write("Тест: " + info.title() + "\n");
+            writer.write("Результати: " + info.source() + "\n\n");
+            writer.write("Параметри тесту:\n");
+            writer.write("Метод: " + testCase.method() + "\n");
+            writer.write("URL: " + testCase.url() + "\n");
+            writer.write("Параметри: " + orNone(testCase.params()) + "\n");
+            writer.write("Заголовки: " + orNone(testCase.headers()) + "\n");
+            writer.write("Тіло: " + orNone(testCase.body()) + "\n\n");
+
+            long[] runNumber = {firstRunNumber};
+            source.forEach((time, result) -> {
+                statistics.add(time, result);
+                writer.write("Запуск " + runNumber[0]++ + " (" + formatTime(time) + "):\n");
+                writer.write("Час виконання: " + result.timeTaken() + " мс\n");
+                writer.write("Статус-код: " + result.statusCode() + "\n");
+                writer.write("Розмір відповіді: " + result.responseSize() + " байт\n");
+                writer.write(result.timing().describe() + "\n");
+                writer.write("Результат: " + (result.passed() ? "Тест пройшов успішно" : "Тест провалено") + "\n\n");
+            });
+
+            writer.write("Тіло останньої відповіді: " + describeBody(info.lastBodyPrefix()) + "\n\n");
+            writer.write("Статистика:\n");
+            writer.write("Кількість запусків: " + statistics.getCount() + "\n");
+            writer.write(String.format("Середній час виконання: %.1f мс (мін: %d мс, макс: %d мс)\n",
+                    statistics.getAverageTimeTaken(), statistics.getMinTimeTaken(), statistics.getMaxTimeTaken()));
+            writer.write("Успішних тестів: " + statistics.getPassed() + "\n");
+            writer.write("Провальних тестів: " + statistics.getFailed() + "\n");
+            writer.write("Статус-коди: " + statistics.getStatusCodes() + "\n");
+            writer.write("Середні фази запиту: " + statistics.describePhases() + "\n\n");
+
+            Histogram histogram = statistics.getLatencyHistogram();
+            writer.write("Перцентилі часу виконання (" + histogram.getTotalCount() + " вимірювань):\n");
+            for (double percentile : LatencyPercentiles.PERCENTILES) {
+                writer.write(String.format("p%s: %.1f мс\n", LatencyPercentiles.formatPercentile(percentile),
+                        LatencyPercentiles.toMillis(histogram.getValueAtPercentile(percentile))));
+            }
+            writer.write(String.format("Максимум: %.1f мс\n", LatencyPercentiles.toMillis(histogram.getMaxValue())));
+        }
+        return statistics;
+    }
+
+    // CSV: один рядок на запуск, поля без форматування (для таблиць і скриптів)
+    private static ReportStatistics writeCsv(ResultSource source, long firstRunNumber, Path file) throws IOException {
+        ReportStatistics statistics = new ReportStatistics();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("run,timestamp_ms,time_taken_ms,status_code,response_size,header_count,schedule_delay_us,passed," +
+                    "dns_ns,connect_ns,tls_ns,ttfb_ns,download_ns,total_ns,connection_reused\n");
+            long[] runNumber = {firstRunNumber};
+            StringBuilder line = new StringBuilder(160);
+            source.forEach((time, result) -> {
+                statistics.add(time, result);
+                RequestTiming timing = result.timing();
+                line.setLength(0);
+                line.append(runNumber[0]++).append(',')
+                        .append(time).append(',')
+                        .append(result.timeTaken()).append(',')
+                        .append(result.statusCode()).append(',')
+                        .append(result.responseSize()).append(',')
+                        .append(result.headerCount()).append(',')
+                        .append(result.scheduleDelayMicros()).append(',')
+                        .append(result.passed()).append(',')
+                        .append(timing.dnsNanos()).append(',')
+                        .append(timing.connectNanos()).append(',')
+                        .append(timing.tlsNanos()).append(',')
+                        .append(timing.ttfbNanos()).append(',')
+                        .append(timing.downloadNanos()).append(',')
+                        .append(timing.totalNanos()).append(',')
+                        .append(timing.connectionReused()).append('\n');
+                writer.append(line);
+            });
+        }
+        return statistics;
+    }
+
+    // JSON: параметри запиту, масив результатів (записується потоком) і підсумок
+    private static ReportStatistics writeJson(ReportInfo info, ResultSource source, long firstRunNumber, Path file)
+            throws IOException {
+        ReportStatistics statistics = new ReportStatistics();
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file));
+             JsonGenerator json = TestSuiteLoader.getMapper().getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeStringField("title", info.title());
+            json.writeStringField("generated", Instant.now().toString());
+            json.writeStringField("source", info.source());
+            json.writeFieldName("testCase");
+            TestSuiteLoader.getMapper().writeValue(json, info.testCase());
+
+            json.writeArrayFieldStart("results");
+            long[] runNumber = {firstRunNumber};
+            source.forEach((time, result) -> {
+                statistics.add(time, result);
+                RequestTiming timing = result.timing();
+                json.writeStartObject();
+                json.writeNumberField("run", runNumber[0]++);
+                json.writeNumberField("timestamp", time);
+                json.writeNumberField("timeTakenMs", result.timeTaken());
+                json.writeNumberField("statusCode", result.statusCode());
+                json.writeNumberField("responseSize", result.responseSize());
+                json.writeNumberField("headerCount", result.headerCount());
+                json.writeNumberField("scheduleDelayUs", result.scheduleDelayMicros());
+                json.writeBooleanField("passed", result.passed());
+                if (timing.isMeasured()) {
+                    json.writeObjectFieldStart("phasesNanos");
+                    json.writeNumberField("dns", timing.dnsNanos());
+                    json.writeNumberField("connect", timing.connectNanos());
+                    json.writeNumberField("tls", timing.tlsNanos());
+                    json.writeNumberField("ttfb", timing.ttfbNanos());
+                    json.writeNumberField("download", timing.downloadNanos());
+                    json.writeNumberField("total", timing.totalNanos());
+                    json.writeBooleanField("connectionReused", timing.connectionReused());
+                    json.writeEndObject();
+                }
+                json.writeEndObject();
+            });
+            json.writeEndArray();
+
+            json.writeObjectFieldStart("summary");
+            json.writeNumberField("count", statistics.getCount());
+            json.writeNumberField("passed", statistics.getPassed());
+            json.writeNumberField("failed", statistics.getFailed());
+            json.writeNumberField("averageTimeTakenMs", statistics.getAverageTimeTaken());
+            json.writeNumberField("minTimeTakenMs", statistics.getMinTimeTaken());
+            json.writeNumberField("maxTimeTakenMs", statistics.getMaxTimeTaken());
+            json.writeNumberField("averageResponseSize", statistics.getAverageResponseSize());
+            json.writeObjectFieldStart("statusCodes");
+            for (Map.Entry<Integer, Long> entry : statistics.getStatusCodes().entrySet()) {
+                json.writeNumberField(String.valueOf(entry.getKey()), entry.getValue());
+            }
+            json.writeEndObject();
+            Histogram histogram = statistics.getLatencyHistogram();
+            json.writeObjectFieldStart("latencyPercentilesMs");
+            for (double percentile : LatencyPercentiles.PERCENTILES) {
+                json.writeNumberField("p" + LatencyPercentiles.formatPercentile(percentile),
+                        LatencyPercentiles.toMillis(histogram.getValueAtPercentile(percentile)));
+            }
+            json.writeNumberField("max", LatencyPercentiles.toMillis(histogram.getMaxValue()));
+            json.writeEndObject();
+            if (statistics.hasPhases()) {
+                // Фази, які транспорт не вимірює, і невідома частка повторного використання з'єднань пропускаються
+                RequestTiming.Averages phases = statistics.getPhases();
+                json.writeObjectFieldStart("averagePhasesMs");
+                writePhase(json, "dns", phases.averageMillis(RequestTiming.Averages.DNS));
+                writePhase(json, "connect", phases.averageMillis(RequestTiming.Averages.CONNECT));
+                writePhase(json, "tls", phases.averageMillis(RequestTiming.Averages.TLS));
+                writePhase(json, "ttfb", phases.averageMillis(RequestTiming.Averages.TTFB));
+                writePhase(json, "download", phases.averageMillis(RequestTiming.Averages.DOWNLOAD));
+                if (phases.hasReuse()) {
+                    json.writeNumberField("connectionReusedPercent", phases.reusedPercent());
+                }
+                json.writeEndObject();
+            }
+            json.writeStringField("lastResponseBody", info.lastBodyPrefix());
+            json.writeEndObject();
+            json.writeEndObject();
+        }
+        return statistics;
+    }
+
+    // HTML: самодостатня сторінка з підсумком, таблицею перцентилів, гістограмою та останніми запусками.
+    // Окремі запуски повністю не виводяться (для них є CSV і JSON), тому сторінка лишається невеликою
+    private static ReportStatistics writeHtml(ReportInfo info, ResultSource source, long firstRunNumber, Path file)
+            throws IOException {
+        ReportStatistics statistics = new ReportStatistics();
+        source.forEach(statistics::add);
+        TestCase testCase = info.testCase();
+        Histogram histogram = statistics.getLatencyHistogram();
+
+        try (Writer html = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            html.write("<!DOCTYPE html>\n<html lang=\"uk\">\n<head>\n<meta charset=\"UTF-8\">\n");
+            html.write("<title>Звіт: " + escape(info.title()) + "</title>\n");
+            html.write("<style>\n" +
+                    "body{font-family:sans-serif;margin:24px;color:#222}\n" +
+                    "table{border-collapse:collapse;margin:8px 0 24px}\n" +
+                    "th,td{border:1px solid #ccc;padding:4px 8px;text-align:right}\n" +
+                    "th{background:#f0f0f0}\n" +
+                    "td.text{text-align:left}\n" +
+                    ".bar{background:#4a90d9;height:12px}\n" +
+                    ".failed{color:#c0392b}\n" +
+                    "</style>\n</head>\n<body>\n");
+
+            html.write("<h1>Звіт про тестування</h1>\n");
+            html.write("<p>Дата: " + LocalDateTime.now().format(DATE_TIME) + "<br>Результати: " + escape(info.source()) + "</p>\n");
+            html.write("<h2>Запит</h2>\n<table>\n");
+            writeRow(html, "Метод", testCase.method());
+            writeRow(html, "URL", testCase.url());
+            writeRow(html, "Параметри", orNone(testCase.params()));
+            writeRow(html, "Заголовки", orNone(testCase.headers()));
+            writeRow(html, "Тіло", orNone(testCase.body()));
+            writeRow(html, "Очікуваний статус", testCase.expectedStatus());
+            html.write("</table>\n");
+
+            html.write("<h2>Підсумок</h2>\n<table>\n");
+            writeRow(html, "Кількість запусків", String.valueOf(statistics.getCount()));
+            writeRow(html, "Успішних", String.valueOf(statistics.getPassed()));
+            writeRow(html, "Провальних", String.valueOf(statistics.getFailed()));
+            if (statistics.getCount() > 0) {
+                writeRow(html, "Період", formatTime(statistics.getFirstTimestamp()) + " — "
+                        + formatTime(statistics.getLastTimestamp()));
+            }
+            writeRow(html, "Час виконання", String.format("середній %.1f мс, мін %d мс, макс %d мс",
+                    statistics.getAverageTimeTaken(), statistics.getMinTimeTaken(), statistics.getMaxTimeTaken()));
+            writeRow(html, "Розмір відповіді", String.format("середній %.1f байт, мін %d байт, макс %d байт",
+                    statistics.getAverageResponseSize(), statistics.getMinResponseSize(), statistics.getMaxResponseSize()));
+            writeRow(html, "Середні фази запиту", statistics.describePhases());
+            writeRow(html, "Тіло останньої відповіді", describeBody(info.lastBodyPrefix()));
+            html.write("</table>\n");
+
+            html.write("<h2>Статус-коди</h2>\n<table>\n<tr><th>Статус-код</th><th>Кількість</th><th>%</th></tr>\n");
+            for (Map.Entry<Integer, Long> entry : statistics.getStatusCodes().entrySet()) {
+                html.write(String.format("<tr><td>%d</td><td>%d</td><td>%.1f</td></tr>\n", entry.getKey(), entry.getValue(),
+                        entry.getValue() * 100.0 / statistics.getCount()));
+            }
+            html.write("</table>\n");
+
+            html.write("<h2>Перцентилі часу виконання</h2>\n<table>\n<tr><th>Перцентиль</th><th>Час (мс)</th></tr>\n");
+            if (histogram.getTotalCount() > 0) {
+                for (double percentile : LatencyPercentiles.PERCENTILES) {
+                    html.write(String.format("<tr><td>p%s</td><td>%.1f</td></tr>\n", LatencyPercentiles.formatPercentile(percentile),
+                            LatencyPercentiles.toMillis(histogram.getValueAtPercentile(percentile))));
+                }
+                html.write(String.format("<tr><td>Максимум</td><td>%.1f</td></tr>\n",
+                        LatencyPercentiles.toMillis(histogram.getMaxValue())));
+            }
+            html.write("</table>\n");
+
+            writeHistogram(html, histogram);
+            writeRecentRuns(html, statistics.getRecentRuns(), firstRunNumber + statistics.getCount()
+                    - statistics.getRecentRuns().size());
+            html.write("</body>\n</html>\n");
+        }
+        return statistics;
+    }
+
+    // Гістограма часу виконання: інтервали, що подвоюються, зі смугами пропорційно кількості
+    private static void writeHistogram(Writer html, Histogram histogram) throws IOException {
+        html.write("<h2>Розподіл часу виконання</h2>\n<table>\n<tr><th>До (мс)</th><th>Кількість</th><th>%</th><th></th></tr>\n");
+        if (histogram.getTotalCount() > 0) {
+            long maxCount = 0;
+            for (HistogramIterationValue value : histogram.logarithmicBucketValues(HISTOGRAM_FIRST_BUCKET_MICROS,
+                    HISTOGRAM_BUCKET_FACTOR)) {
+                maxCount = Math.max(maxCount, value.getCountAddedInThisIterationStep());
+            }
+            for (HistogramIterationValue value : histogram.logarithmicBucketValues(HISTOGRAM_FIRST_BUCKET_MICROS,
+                    HISTOGRAM_BUCKET_FACTOR)) {
+                long bucketCount = value.getCountAddedInThisIterationStep();
+                html.write(String.format("<tr><td>%.1f</td><td>%d</td><td>%.1f</td>" +
+                                "<td class=\"text\"><div class=\"bar\" style=\"width:%dpx\"></div></td></tr>\n",
+                        LatencyPercentiles.toMillis(value.getValueIteratedTo()), bucketCount,
+                        bucketCount * 100.0 / histogram.getTotalCount(), Math.round(bucketCount * 300.0 / maxCount)));
+            }
+        }
+        html.write("</table>\n");
+    }
+
+    // Таблиця останніх запусків
+    private static void writeRecentRuns(Writer html, ResultColumns runs, long firstRunNumber) throws IOException {
+        html.write("<h2>Останні запуски</h2>\n<table>\n<tr><th>Запуск</th><th>Час</th><th>Статус-код</th>" +
+                "<th>Час виконання (мс)</th><th>Розмір (байт)</th><th>Результат</th></tr>\n");
+        for (int i = 0; i < runs.size(); i++) {
+            boolean passed = runs.passed(i);
+            html.write(String.format("<tr><td>%d</td><td>%s</td><td>%d</td><td>%d</td><td>%d</td><td class=\"text%s\">%s</td></tr>\n",
+                    firstRunNumber + i, formatTime(runs.timestamp(i)), runs.statusCode(i), runs.timeTaken(i),
+                    runs.responseSize(i), passed ? "" : " failed", passed ? "Успішно" : "Провалено"));
+        }
+        html.write("</table>\n");
+    }
+
+    // Середня тривалість фази в JSON; фаза, яку транспорт не вимірює (-1), пропускається
+    private static void writePhase(JsonGenerator json, String name, double millis) throws IOException {
+        if (millis >= 0) {
+            json.writeNumberField(name, millis);
+        }
+    }
+
+    private static void writeRow(Writer html, String name, String value) throws IOException {
+        html.write("<tr><th>" + escape(name) + "</th><td class=\"text\">" + escape(value) + "</td></tr>\n");
+    }
+
+    // Екранування тексту для HTML
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                case '&' -> escaped.append("&amp;");
+                case '"' -> escaped.append("&quot;");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static String orNone(String value) {
+        return value == null || value.isEmpty() ? "Немає" : value;
+    }
+
+    // Тіло відповіді, скорочене для звіту
+    private static String describeBody(String body) {
+        if (body == null || body.isEmpty()) {
+            return "[Немає]";
+        }
+        String line = body.lines().findFirst().orElse("");
+        return line.length() > MAX_BODY_LENGTH ? line.substring(0, MAX_BODY_LENGTH) + " [Скорочено]" : line;
+    }
+
+    private static String formatTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault()).format(DATE_TIME);
+    }
+}
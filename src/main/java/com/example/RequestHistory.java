@@ -1,24 +1,66 @@
 package com.example;
 
-import java.util.ArrayList;
-import java.util.List;
+import org.HdrHistogram.Histogram;
+
+import java.util.Collection;
+import java.util.function.Function;
 
 // Клас для збереження історії запитів
 public class RequestHistory {
+    // Кількість результатів, що зберігаються в пам'яті за замовчуванням
+    public static final int DEFAULT_CAPACITY = 10_000;
+
     private final TestCase testCase; // Тест-кейс
-    private final List<TestResult> results; // Список результатів виконання
+    private ResultColumns results; // Останні результати у стовпцевому кільцевому буфері
     private final int displayRunCount; // Кількість результатів для відображення на графіку
+    private final Histogram latencyHistogram; // Гістограма часу виконання за весь час (мкс, фіксований обсяг пам'яті)
+    private long totalCount; // Кількість результатів за весь час
+    private String lastResultText = ""; // Текст останнього результату (для відображення)
+    private String lastBodyPrefix = ""; // Початок тіла останньої відповіді (для звіту)
+    private boolean storedPending; // Чи є в сховищі результати попередніх сеансів, які ще не завантажено
+    private final ConcurrencyStatistics concurrencyStatistics = new ConcurrencyStatistics(); // Показники за кількістю користувачів
 
     // Конструктор
     public RequestHistory(TestCase testCase, int displayRunCount) {
+        this(testCase, displayRunCount, DEFAULT_CAPACITY);
+    }
+
+    // Конструктор з розміром буфера (старіші результати зберігає ResultStore, якщо сховище відкрито)
+    public RequestHistory(TestCase testCase, int displayRunCount, int capacity) {
         this.testCase = testCase;
-        this.results = new ArrayList<>();
+        this.results = new ResultColumns(capacity);
         this.displayRunCount = displayRunCount;
+        this.latencyHistogram = LatencyPercentiles.newHistogram();
     }
 
-    // Додавання результату
-    public void addResult(TestResult result) {
-        this.results.add(result);
+    // Додавання результату (може викликатися одночасно з кількох віртуальних користувачів)
+    public synchronized void addResult(TestResult result) {
+        results.add(System.currentTimeMillis(), result);
+        totalCount++;
+        lastResultText = result.result();
+        lastBodyPrefix = result.bodyPrefix();
+        LatencyPercentiles.recordMicros(latencyHistogram, result.latencyMicros());
+        concurrencyStatistics.add(result);
+    }
+
+    // Позначка, що результати попередніх сеансів є у сховищі та завантажуються на запит
+    public synchronized void markStoredPending() {
+        storedPending = true;
+    }
+
+    public synchronized boolean isStoredPending() {
+        return storedPending;
+    }
+
+    // Додавання результатів попередніх сеансів перед результатами поточного сеансу
+    public synchronized void addStoredResults(ResultStore.StoredResults stored) {
+        if (!storedPending) {
+            return;
+        }
+        results = ResultColumns.concat(stored.results(), results, results.getCapacity());
+        latencyHistogram.add(stored.latencyHistogram());
+        totalCount += stored.count();
+        storedPending = false;
     }
 
     // Геттери
@@ -26,17 +68,82 @@ public class RequestHistory {
         return testCase;
     }
 
-    public List<TestResult> getResults() {
-        return results;
+    // Знімок результатів вікна графіка з номером, більшим за runNumber (лише нові точки)
+    public synchronized ResultColumns getDisplayResultsAfter(long runNumber) {
+        return results.copyAfter(runNumber, displayRunCount);
+    }
+
+    // Обчислення над останніми результатами вікна графіка без копіювання: reader виконується під
+    // блокуванням історії, тому має бути коротким і не звертатися до інших історій
+    public synchronized <T> T readDisplayResults(Function<ResultColumns, T> reader) {
+        return reader.apply(results.viewLast(displayRunCount));
+    }
+
+    // Знімок усіх результатів, що зберігаються в пам'яті
+    public synchronized ResultColumns getResults() {
+        return results.copyLast(results.size());
+    }
+
+    // Показники запусків за профілем навантаження (за етапами та кількістю користувачів)
+    public ConcurrencyStatistics getConcurrencyStatistics() {
+        return concurrencyStatistics;
+    }
+
+    public synchronized boolean isEmpty() {
+        return results.isEmpty();
+    }
+
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    public synchronized String getLastResultText() {
+        return lastResultText;
+    }
+
+    public synchronized String getLastBodyPrefix() {
+        return lastBodyPrefix;
+    }
+
+    public int getCapacity() {
+        return results.getCapacity();
     }
 
     public int getDisplayRunCount() {
         return displayRunCount;
     }
 
+    // Повертає копію гістограми часу виконання
+    public synchronized Histogram getLatencyHistogram() {
+        return latencyHistogram.copy();
+    }
+
+    // Ключ запису історії: тест-кейси з однаковим ключем належать до одного запису (див. isSameRequest)
+    public record RequestKey(String url, String method, String params) {
+        public static RequestKey of(TestCase testCase) {
+            return new RequestKey(testCase.url(), testCase.method(), testCase.params());
+        }
+    }
+
+    // Чи належать тест-кейси до одного запису історії (URL, метод і параметри)
+    public static boolean isSameRequest(TestCase a, TestCase b) {
+        return a.url().equals(b.url()) && a.method().equals(b.method()) && a.params().equals(b.params());
+    }
+
+    // Об'єднання гістограм кількох запитів в одну
+    public static Histogram mergeHistograms(Collection<RequestHistory> histories) {
+        Histogram merged = LatencyPercentiles.newHistogram();
+        for (RequestHistory history : histories) {
+            synchronized (history) {
+                merged.add(history.latencyHistogram);
+            }
+        }
+        return merged;
+    }
+
     // Відображення у списку
     @Override
     public String toString() {
         return testCase.method() + " " + testCase.url() + (testCase.params().isEmpty() ? "" : "?" + testCase.params());
     }
-}
\ No newline at end of file
+}
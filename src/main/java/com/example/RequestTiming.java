@@ -0,0 +1,186 @@
+package com.example;
+
+// Клас-модель для тривалості окремих фаз HTTP-запиту (наносекунди, -1 — фаза не вимірювалась)
+public record RequestTiming(
+        long dnsNanos, // Визначення IP-адреси за іменем хоста
+        long connectNanos, // Встановлення TCP-з'єднання
+        long tlsNanos, // TLS-рукостискання
+        long ttfbNanos, // Очікування першого байта відповіді після відправлення запиту
+        long downloadNanos, // Отримання тіла відповіді
+        long totalNanos, // Загальний час запиту
+        boolean connectionReused // Чи було використано вже відкрите з'єднання
+) {
+    // Порожній вимір для результатів без даних про фази
+    public static final RequestTiming NONE = new RequestTiming(-1, -1, -1, -1, -1, -1, false);
+
+    // Чи є дані про фази
+    public boolean isMeasured() {
+        return totalNanos >= 0;
+    }
+
+    // Сумарний час мережевих фаз (DNS + з'єднання + TLS)
+    public long networkNanos() {
+        return Math.max(0, dnsNanos) + Math.max(0, connectNanos) + Math.max(0, tlsNanos);
+    }
+
+    // Переведення наносекунд у мілісекунди для відображення
+    public static double toMillis(long nanos) {
+        return nanos < 0 ? 0 : nanos / 1_000_000.0;
+    }
+
+    // Короткий текстовий опис фаз
+    public String describe() {
+        if (!isMeasured()) {
+            return "Фази запиту: немає даних";
+        }
+        return String.format("DNS: %s, з'єднання: %s, TLS: %s, очікування першого байта: %s, " +
+                        "завантаження: %s, з'єднання повторно використано: %s",
+                formatPhase(dnsNanos), formatPhase(connectNanos), formatPhase(tlsNanos), formatPhase(ttfbNanos),
+                formatPhase(downloadNanos), connectNanos < 0 ? "н/д" : connectionReused ? "так" : "ні");
+    }
+
+    // Тривалість фази в мілісекундах або "н/д", якщо транспорт її не вимірює
+    private static String formatPhase(long nanos) {
+        return nanos < 0 ? "н/д" : String.format("%.2f мс", toMillis(nanos));
+    }
+
+    // Середні фази кількох запитів. Кожна фаза усереднюється лише за запитами, де транспорт її виміряв
+    // (HttpClient не вимірює DNS, з'єднання та TLS), а частка повторного використання з'єднань — лише за
+    // запитами, де транспорт бачить з'єднання
+    public static class Averages {
+        public static final int DNS = 0; // Номери фаз у averageMillis
+        public static final int CONNECT = 1;
+        public static final int TLS = 2;
+        public static final int TTFB = 3;
+        public static final int DOWNLOAD = 4;
+
+        private final long[] totals = new long[5]; // Сумарна тривалість кожної фази (наносекунди)
+        private final long[] counts = new long[5]; // Кількість запитів, де фазу виміряно
+        private long measured; // Кількість запитів із даними про фази
+        private long reuseObserved; // Кількість запитів, де відомо, чи з'єднання було відкрите
+        private long reused; // Кількість запитів через вже відкрите з'єднання
+
+        public void add(RequestTiming timing) {
+            if (!timing.isMeasured()) {
+                return;
+            }
+            measured++;
+            addPhase(DNS, timing.dnsNanos());
+            addPhase(CONNECT, timing.connectNanos());
+            addPhase(TLS, timing.tlsNanos());
+            addPhase(TTFB, timing.ttfbNanos());
+            addPhase(DOWNLOAD, timing.downloadNanos());
+            if (timing.connectNanos() >= 0) {
+                reuseObserved++;
+                if (timing.connectionReused()) {
+                    reused++;
+                }
+            }
+        }
+
+        private void addPhase(int phase, long nanos) {
+            if (nanos >= 0) {
+                totals[phase] += nanos;
+                counts[phase]++;
+            }
+        }
+
+        // Чи є дані про фази хоча б одного запиту
+        public boolean isEmpty() {
+            return measured == 0;
+        }
+
+        // Середня тривалість фази (мс) або -1, якщо фазу не виміряно жодного разу
+        public double averageMillis(int phase) {
+            return counts[phase] == 0 ? -1 : totals[phase] / 1_000_000.0 / counts[phase];
+        }
+
+        // Чи бачив транспорт, яке з'єднання використано
+        public boolean hasReuse() {
+            return reuseObserved > 0;
+        }
+
+        // Частка запитів через вже відкрите з'єднання (%)
+        public double reusedPercent() {
+            return reuseObserved == 0 ? 0 : reused * 100.0 / reuseObserved;
+        }
+
+        // Середні фази одним рядком; невиміряні фази позначаються "н/д", а частка повторного
+        // використання з'єднань не виводиться, якщо транспорт її не бачить
+        public String describe() {
+            if (isEmpty()) {
+                return "Фази запиту: немає даних";
+            }
+            String text = String.format("DNS: %s, з'єднання: %s, TLS: %s, перший байт: %s, завантаження: %s",
+                    formatAverage(DNS), formatAverage(CONNECT), formatAverage(TLS), formatAverage(TTFB),
+                    formatAverage(DOWNLOAD));
+            return hasReuse() ? text + String.format(", повторне використання з'єднань: %.0f%%", reusedPercent()) : text;
+        }
+
+        private String formatAverage(int phase) {
+            double millis = averageMillis(phase);
+            return millis < 0 ? "н/д" : String.format("%.2f мс", millis);
+        }
+    }
+
+    // Накопичувач моментів часу для одного запиту; заповнюється транспортом у потоці, що виконує запит
+    public static class Recorder {
+        private final long startTime; // Початок запиту
+        private long dnsNanos; // Сумарний час DNS
+        private long connectNanos; // Сумарний час TCP-з'єднання
+        private long tlsNanos; // Сумарний час TLS
+        private boolean connected; // Чи відкривалось нове з'єднання
+        private long requestSentTime; // Момент, коли запит готовий до відправлення
+        private long headersReceivedTime; // Момент отримання заголовків відповіді
+        private boolean headersReceived; // Чи отримано заголовки
+        private long endTime; // Момент отримання всього тіла
+        private boolean ended; // Чи завершено запит
+
+        public Recorder() {
+            this.startTime = System.nanoTime();
+            this.requestSentTime = startTime;
+        }
+
+        public void addDns(long nanos) {
+            dnsNanos += nanos;
+        }
+
+        public void addConnect(long nanos) {
+            connectNanos += nanos;
+            connected = true;
+        }
+
+        public void addTls(long nanos) {
+            tlsNanos += nanos;
+        }
+
+        public void markRequestSent() {
+            requestSentTime = System.nanoTime();
+        }
+
+        public void markHeadersReceived() {
+            headersReceivedTime = System.nanoTime();
+            headersReceived = true;
+        }
+
+        public void markEnd() {
+            endTime = System.nanoTime();
+            ended = true;
+        }
+
+        // Час TCP-з'єднання, накопичений на поточний момент
+        public long connectNanosSoFar() {
+            return connectNanos;
+        }
+
+        // Формування підсумкового виміру
+        public RequestTiming toTiming() {
+            long end = ended ? endTime : System.nanoTime();
+            long headers = headersReceived ? headersReceivedTime : end;
+            // Очікування відповіді рахується від моменту, коли з'єднання готове і запит надіслано
+            long sent = Math.max(requestSentTime, startTime + dnsNanos + connectNanos + tlsNanos);
+            return new RequestTiming(dnsNanos, connectNanos, tlsNanos, Math.max(0, headers - sent),
+                    Math.max(0, end - headers), end - startTime, !connected);
+        }
+    }
+}
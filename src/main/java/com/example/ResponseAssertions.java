@@ -0,0 +1,344 @@
+package com.example;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+// Скомпільовані перевірки відповіді тест-кейсу: JSONPath і регулярні вирази розбираються один раз
+// (разом з підготовленим запитом), а під час виконання лише застосовуються. Об'єкт незмінний і спільний для потоків.
+public class ResponseAssertions {
+    // Перевірки відсутні
+    public static final ResponseAssertions NONE = new ResponseAssertions(List.of(), List.of(), List.of());
+    // Скільки байтів тіла зберігається для регулярних виразів (перевірки body); JSON перевіряється без обмеження
+    public static final int BODY_TEXT_LIMIT = 1 << 20;
+
+    // Сегмент JSONPath: назва поля, індекс елемента масиву або будь-який вузол (name == null, index < 0)
+    public record PathSegment(String name, int index) {
+        static final PathSegment WILDCARD = new PathSegment(null, -1);
+
+        public boolean isWildcard() {
+            return name == null && index < 0;
+        }
+    }
+
+    // Скомпільована перевірка JSONPath
+    public record JsonPathCheck(
+            Assertion assertion, // Вихідна перевірка
+            List<PathSegment> path, // Сегменти шляху без кореня $
+            Pattern pattern, // Регулярний вираз (null — не задано)
+            BigDecimal number, // Очікуване значення як число (null — не число)
+            Long integer, // Очікуване значення як ціле число long (null — не ціле)
+            String variable // Змінна, у яку записується значення (null — звичайна перевірка)
+    ) {
+        // Чи перевіряється значення (інакше лише наявність)
+        public boolean hasExpectedValue() {
+            return assertion.equals() != null || pattern != null;
+        }
+
+        // Чи порівнюється значення як число (1.50 = 1.5), без створення рядка
+        public boolean isNumeric() {
+            return number != null && assertion.equals() != null;
+        }
+
+        // Чи відповідає текст скалярного значення очікуваному
+        public boolean matchesText(String text) {
+            return assertion.equals() != null ? assertion.equals().equals(text) : pattern.matcher(text).matches();
+        }
+    }
+
+    // Скомпільована перевірка тіла, заголовка, розміру або часу
+    private record Check(Assertion assertion, Pattern pattern) {
+    }
+
+    // Скомпільоване отримання змінної (jsonIndex — номер у jsonChecks для json)
+    private record Extract(Extraction extraction, int jsonIndex, Pattern pattern) {
+    }
+
+    private final List<JsonPathCheck> jsonChecks; // Перевірки JSONPath (виконуються під час надходження тіла)
+    private final List<Check> checks; // Інші перевірки (виконуються після отримання відповіді)
+    private final List<Extract> extracts; // Отримання змінних з відповіді
+    private final boolean needsBodyText; // Чи потрібен текст тіла для регулярних виразів
+
+    private ResponseAssertions(List<JsonPathCheck> jsonChecks, List<Check> checks, List<Extract> extracts) {
+        this.jsonChecks = jsonChecks;
+        this.checks = checks;
+        this.extracts = extracts;
+        this.needsBodyText = checks.stream().anyMatch(check -> Assertion.BODY.equals(check.assertion().type()))
+                || extracts.stream().anyMatch(extract -> Assertion.BODY.equals(extract.extraction().type()));
+    }
+
+    // Компіляція перевірок тест-кейсу; некоректна перевірка — IllegalArgumentException
+    public static ResponseAssertions compile(List<Assertion> assertions) {
+        return compile(assertions, List.of());
+    }
+
+    // Компіляція перевірок і отримання змінних (для кроку сценарію)
+    public static ResponseAssertions compile(List<Assertion> assertions, List<Extraction> extractions) {
+        if ((assertions == null || assertions.isEmpty()) && (extractions == null || extractions.isEmpty())) {
+            return NONE;
+        }
+        List<JsonPathCheck> jsonChecks = new ArrayList<>();
+        List<Check> checks = new ArrayList<>();
+        List<Extract> extracts = new ArrayList<>();
+        for (Assertion assertion : assertions == null ? List.<Assertion>of() : assertions) {
+            Pattern pattern = compilePattern(assertion.matches());
+            switch (assertion.type() == null ? "" : assertion.type()) {
+                case Assertion.JSON -> {
+                    if (assertion.path() == null) {
+                        throw new IllegalArgumentException("Для перевірки json не вказано path");
+                    }
+                    BigDecimal number = parseNumber(assertion.equals());
+                    jsonChecks.add(new JsonPathCheck(assertion, parsePath(assertion.path()), pattern, number,
+                            toLong(number), null));
+                }
+                case Assertion.HEADER -> {
+                    if (assertion.name() == null || assertion.name().isBlank()) {
+                        throw new IllegalArgumentException("Для перевірки header не вказано name");
+                    }
+                    checks.add(new Check(assertion, pattern));
+                }
+                case Assertion.BODY -> {
+                    if (assertion.equals() == null && pattern == null) {
+                        throw new IllegalArgumentException("Для перевірки body потрібне equals або matches");
+                    }
+                    checks.add(new Check(assertion, pattern));
+                }
+                case Assertion.SIZE, Assertion.LATENCY -> {
+                    if (assertion.min() == null && assertion.max() == null) {
+                        throw new IllegalArgumentException("Для перевірки " + assertion.type() + " потрібне min або max");
+                    }
+                    checks.add(new Check(assertion, null));
+                }
+                default -> throw new IllegalArgumentException("Невідомий вид перевірки: " + assertion.type()
+                        + " (очікується json, body, header, size або latency)");
+            }
+        }
+        for (Extraction extraction : extractions == null ? List.<Extraction>of() : extractions) {
+            if (extraction.variable() == null || extraction.variable().isBlank()) {
+                throw new IllegalArgumentException("Для отримання значення не вказано variable");
+            }
+            switch (extraction.type() == null ? "" : extraction.type()) {
+                case Assertion.JSON -> {
+                    if (extraction.path() == null) {
+                        throw new IllegalArgumentException("Для змінної " + extraction.variable() + " не вказано path");
+                    }
+                    extracts.add(new Extract(extraction, jsonChecks.size(), null));
+                    jsonChecks.add(new JsonPathCheck(new Assertion(Assertion.JSON, extraction.path(), null, null, null,
+                            null, null, null), parsePath(extraction.path()), null, null, null, extraction.variable()));
+                }
+                case Assertion.HEADER -> {
+                    if (extraction.name() == null || extraction.name().isBlank()) {
+                        throw new IllegalArgumentException("Для змінної " + extraction.variable() + " не вказано name");
+                    }
+                    extracts.add(new Extract(extraction, -1, null));
+                }
+                case Assertion.BODY -> {
+                    Pattern pattern = compilePattern(extraction.regex());
+                    if (pattern == null) {
+                        throw new IllegalArgumentException("Для змінної " + extraction.variable() + " не вказано regex");
+                    }
+                    extracts.add(new Extract(extraction, -1, pattern));
+                }
+                default -> throw new IllegalArgumentException("Невідоме джерело змінної: " + extraction.type()
+                        + " (очікується json, header або body)");
+            }
+        }
+        return new ResponseAssertions(List.copyOf(jsonChecks), List.copyOf(checks), List.copyOf(extracts));
+    }
+
+    public boolean isEmpty() {
+        return jsonChecks.isEmpty() && checks.isEmpty() && extracts.isEmpty();
+    }
+
+    // Скільки байтів тіла потрібно зберегти для перевірок (0 — текст тіла не потрібен)
+    public int getBodyTextLimit() {
+        return needsBodyText ? BODY_TEXT_LIMIT : 0;
+    }
+
+    // Новий потоковий розбір JSON для одного запиту (null — перевірок JSONPath немає)
+    public JsonStreamMatcher newJsonMatcher() {
+        return jsonChecks.isEmpty() ? null : new JsonStreamMatcher(jsonChecks);
+    }
+
+    // Перевірка отриманої відповіді; повертає описи перевірок, які не пройшли.
+    // Отримані значення змінних записуються у variables (null — змінні не потрібні)
+    public List<String> evaluate(TransportResponse response, ResponseBodyConsumer body, long timeTakenMillis,
+                                 Map<String, String> variables) {
+        if (isEmpty()) {
+            return List.of();
+        }
+        List<String> failures = new ArrayList<>();
+        JsonStreamMatcher matcher = body.getJsonMatcher();
+        if (matcher != null) {
+            matcher.finish();
+            for (int i = 0; i < jsonChecks.size(); i++) {
+                if (jsonChecks.get(i).variable() != null) {
+                    continue;
+                }
+                Assertion assertion = jsonChecks.get(i).assertion();
+                boolean passed = Boolean.FALSE.equals(assertion.exists()) ? !matcher.isFound(i)
+                        : jsonChecks.get(i).hasExpectedValue() ? matcher.isMatched(i) : matcher.isFound(i);
+                if (!passed) {
+                    String reason = matcher.getError() != null ? matcher.getError()
+                            : Boolean.FALSE.equals(assertion.exists()) ? "вузол знайдено"
+                            : matcher.isFound(i) ? "значення інше" : "шлях не знайдено";
+                    failures.add(assertion.describe() + " (" + reason + ")");
+                }
+            }
+        }
+        for (Check check : checks) {
+            Assertion assertion = check.assertion();
+            String actual = switch (assertion.type()) {
+                case Assertion.HEADER -> checkHeader(check, response.headers().get(assertion.name()));
+                case Assertion.BODY -> checkBody(check, body);
+                case Assertion.SIZE -> checkBounds(assertion, body.getSize(), " байт");
+                case Assertion.LATENCY -> checkBounds(assertion, timeTakenMillis, " мс");
+                default -> null;
+            };
+            if (actual != null) {
+                failures.add(assertion.describe() + " (" + actual + ")");
+            }
+        }
+        for (Extract extract : extracts) {
+            String value = switch (extract.extraction().type()) {
+                case Assertion.JSON -> matcher.getValue(extract.jsonIndex());
+                case Assertion.HEADER -> response.headers().get(extract.extraction().name());
+                case Assertion.BODY -> {
+                    Matcher found = extract.pattern().matcher(body.getBodyText());
+                    yield !found.find() ? null : found.groupCount() > 0 ? found.group(1) : found.group();
+                }
+                default -> null;
+            };
+            if (value == null) {
+                boolean invalidJson = extract.jsonIndex() >= 0 && matcher.getError() != null;
+                failures.add(extract.extraction().describe() + " (" + (invalidJson ? matcher.getError()
+                        : "значення не знайдено") + ")");
+            } else if (variables != null) {
+                variables.put(extract.extraction().variable(), value);
+            }
+        }
+        return failures;
+    }
+
+    // Перевірка заголовка; повертає фактичне значення, якщо перевірка не пройшла, інакше null
+    private static String checkHeader(Check check, String value) {
+        Assertion assertion = check.assertion();
+        if (Boolean.FALSE.equals(assertion.exists())) {
+            return value == null ? null : "є: " + value;
+        }
+        if (value == null) {
+            return "заголовка немає";
+        }
+        boolean passed = assertion.equals() != null ? assertion.equals().equals(value)
+                : check.pattern() == null || check.pattern().matcher(value).matches();
+        return passed ? null : "фактично: " + value;
+    }
+
+    // Перевірка тексту тіла (перші BODY_TEXT_LIMIT байтів)
+    private static String checkBody(Check check, ResponseBodyConsumer body) {
+        String text = body.getBodyText();
+        Assertion assertion = check.assertion();
+        boolean passed = assertion.equals() != null ? assertion.equals().equals(text)
+                : check.pattern().matcher(text).find();
+        if (passed) {
+            return null;
+        }
+        return body.getSize() > BODY_TEXT_LIMIT ? "не знайдено у перших " + BODY_TEXT_LIMIT + " байтах" : "не знайдено";
+    }
+
+    // Перевірка меж значення
+    private static String checkBounds(Assertion assertion, long value, String unit) {
+        boolean passed = (assertion.min() == null || value >= assertion.min())
+                && (assertion.max() == null || value <= assertion.max());
+        return passed ? null : "фактично: " + value + unit;
+    }
+
+    private static Pattern compilePattern(String regex) {
+        if (regex == null) {
+            return null;
+        }
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Некоректний регулярний вираз: " + regex);
+        }
+    }
+
+    private static BigDecimal parseNumber(String text) {
+        if (text == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(text.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Long toLong(BigDecimal number) {
+        try {
+            return number == null ? null : number.longValueExact();
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    // Розбір JSONPath: $ — корінь, .назва або ['назва'] — поле, [N] — елемент масиву, [*] або .* — будь-який вузол.
+    // Рекурсивний спуск (..) і фільтри не підтримуються, бо потребують перегляду всього документа для кожного вузла
+    static List<PathSegment> parsePath(String path) {
+        String text = path.trim();
+        if (!text.startsWith("$")) {
+            throw new IllegalArgumentException("JSONPath має починатися з $: " + path);
+        }
+        List<PathSegment> segments = new ArrayList<>();
+        int i = 1;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '.') {
+                if (text.startsWith("..", i)) {
+                    throw new IllegalArgumentException("Рекурсивний спуск (..) не підтримується: " + path);
+                }
+                int end = i + 1;
+                while (end < text.length() && text.charAt(end) != '.' && text.charAt(end) != '[') {
+                    end++;
+                }
+                String name = text.substring(i + 1, end);
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("Порожня назва поля у JSONPath: " + path);
+                }
+                segments.add(name.equals("*") ? PathSegment.WILDCARD : new PathSegment(name, -1));
+                i = end;
+            } else if (c == '[') {
+                int end = text.indexOf(']', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Незакрита дужка у JSONPath: " + path);
+                }
+                String inner = text.substring(i + 1, end).trim();
+                if (inner.equals("*")) {
+                    segments.add(PathSegment.WILDCARD);
+                } else if (inner.length() >= 2 && (inner.charAt(0) == '\'' || inner.charAt(0) == '"')
+                        && inner.charAt(inner.length() - 1) == inner.charAt(0)) {
+                    segments.add(new PathSegment(inner.substring(1, inner.length() - 1), -1));
+                } else {
+                    try {
+                        int index = Integer.parseInt(inner);
+                        if (index < 0) {
+                            throw new IllegalArgumentException("Від'ємні індекси не підтримуються: " + path);
+                        }
+                        segments.add(new PathSegment(null, index));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Некоректний сегмент [" + inner + "] у JSONPath: " + path);
+                    }
+                }
+                i = end + 1;
+            } else {
+                throw new IllegalArgumentException("Некоректний JSONPath: " + path);
+            }
+        }
+        return List.copyOf(segments);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+// Споживач тіла відповіді: рахує байти під час надходження, за потреби обчислює хеш, виконує потокові
+// перевірки JSON і зберігає лише обмежений префікс, тому пам'ять на запит не залежить від розміру відповіді
+public class ResponseBodyConsumer {
+    // Розмір буфера для читання потоку
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final int prefixLimit; // Скільки байтів показувати у префіксі
+    private final int captureLimit; // Скільки байтів зберігати (більше за префікс, якщо потрібно для перевірок тіла)
+    private byte[] prefix; // Перші байти тіла для відображення, звітів і перевірок
+    private int prefixLength; // Кількість збережених байтів префікса
+    private long size; // Загальна кількість отриманих байтів
+    private final CRC32C checksum; // Хеш тіла (null, якщо хешування вимкнене)
+    private final JsonStreamMatcher jsonMatcher; // Потокові перевірки JSONPath (null — немає)
+
+    public ResponseBodyConsumer(int prefixLimit, boolean hashBody) {
+        this(prefixLimit, hashBody, ResponseAssertions.NONE);
+    }
+
+    public ResponseBodyConsumer(int prefixLimit, boolean hashBody, ResponseAssertions assertions) {
+        this.prefixLimit = Math.max(0, prefixLimit);
+        this.captureLimit = Math.max(this.prefixLimit, assertions.getBodyTextLimit());
+        this.prefix = new byte[this.prefixLimit];
+        this.checksum = hashBody ? new CRC32C() : null;
+        this.jsonMatcher = assertions.newJsonMatcher();
+    }
+
+    // Обробка чергової порції байтів
+    public void accept(byte[] bytes, int offset, int length) {
+        size += length;
+        if (checksum != null) {
+            checksum.update(bytes, offset, length);
+        }
+        if (jsonMatcher != null) {
+            jsonMatcher.accept(bytes, offset, length);
+        }
+        int toCopy = reserve(length);
+        if (toCopy > 0) {
+            System.arraycopy(bytes, offset, prefix, prefixLength, toCopy);
+            prefixLength += toCopy;
+        }
+    }
+
+    // Обробка чергової порції байтів із буфера; буфер вважається повністю прочитаним
+    public void accept(ByteBuffer buffer) {
+        int length = buffer.remaining();
+        size += length;
+        if (jsonMatcher != null) {
+            jsonMatcher.accept(buffer);
+        }
+        int toCopy = reserve(length);
+        if (toCopy > 0) {
+            buffer.duplicate().get(prefix, prefixLength, toCopy);
+            prefixLength += toCopy;
+        }
+        if (checksum != null) {
+            checksum.update(buffer); // Переміщує позицію в кінець буфера
+        } else {
+            buffer.position(buffer.limit());
+        }
+    }
+
+    // Кількість байтів порції, які потрібно зберегти; буфер понад префікс збільшується лише за потреби
+    private int reserve(int length) {
+        int toCopy = Math.min(length, captureLimit - prefixLength);
+        if (prefixLength + toCopy > prefix.length) {
+            prefix = Arrays.copyOf(prefix, Math.min(captureLimit, Math.max(prefixLength + toCopy, prefix.length * 2)));
+        }
+        return toCopy;
+    }
+
+    // Читання всього потоку порціями фіксованого розміру
+    public void consume(InputStream input) throws IOException {
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            accept(buffer, 0, read);
+        }
+    }
+
+    // Загальний розмір тіла в байтах
+    public long getSize() {
+        return size;
+    }
+
+    // Чи було тіло обрізане до префікса
+    public boolean isTruncated() {
+        return size > Math.min(prefixLength, prefixLimit);
+    }
+
+    // Префікс тіла у вигляді тексту (UTF-8)
+    public String getPrefixText() {
+        return new String(prefix, 0, Math.min(prefixLength, prefixLimit), StandardCharsets.UTF_8);
+    }
+
+    // Збережена частина тіла для перевірок (не більше ResponseAssertions.BODY_TEXT_LIMIT байтів)
+    public String getBodyText() {
+        return new String(prefix, 0, prefixLength, StandardCharsets.UTF_8);
+    }
+
+    // Потокові перевірки JSONPath (null — немає)
+    public JsonStreamMatcher getJsonMatcher() {
+        return jsonMatcher;
+    }
+
+    // Хеш тіла у шістнадцятковому вигляді або null, якщо хешування вимкнене
+    public String getHash() {
+        return checksum == null ? null : String.format("%08x", checksum.getValue());
+    }
+}
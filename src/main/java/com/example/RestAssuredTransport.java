@@ -0,0 +1,56 @@
+package com.example;
+
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import org.apache.http.params.CoreConnectionPNames;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Транспорт на основі RestAssured (Apache HttpClient 4) з вимірюванням фаз запиту
+public class RestAssuredTransport implements HttpTransport {
+    // Фабрика клієнтів із вимірюванням фаз запиту та спільним пулом з'єднань
+    private final PhaseTimingHttpClientFactory clientFactory = new PhaseTimingHttpClientFactory();
+    // Конфігурації RestAssured за тайм-аутом відповіді (зазвичай один на запуск)
+    private final Map<Long, RestAssuredConfig> configs = new ConcurrentHashMap<>();
+
+    @Override
+    public TransportResponse execute(PreparedRequest prepared, ResponseBodyConsumer bodyConsumer, long timeoutMillis)
+            throws Exception {
+        RequestTiming.Recorder recorder = PhaseTimingHttpClientFactory.begin();
+        RequestSpecification request = RestAssured.given()
+                .config(configs.computeIfAbsent(timeoutMillis, this::createConfig))
+                .headers(prepared.headers())
+                .params(prepared.params());
+
+        String url = prepared.url();
+        Response response = switch (prepared.method()) {
+            case GET -> request.get(url);
+            case POST -> request.body(prepared.body()).post(url);
+            case PUT -> request.body(prepared.body()).put(url);
+            case DELETE -> request.delete(url);
+        };
+
+        // Тіло читається з потоку до того, як RestAssured встигне його буферизувати
+        try (InputStream input = response.asInputStream()) {
+            bodyConsumer.consume(input);
+        }
+        RequestTiming timing = PhaseTimingHttpClientFactory.finish(recorder);
+        return new TransportResponse(response.getStatusCode(), response.getHeaders().size(), timing, response::getHeader);
+    }
+
+    // Конфігурація з тайм-аутом читання сокета (SO_TIMEOUT): Apache HttpClient задає його з'єднанню
+    // з пулу перед кожним запитом, тому повторно використані з'єднання теж отримують актуальне значення
+    @SuppressWarnings("deprecation") // RestAssured працює лише з класичним API Apache HttpClient 4
+    private RestAssuredConfig createConfig(long timeoutMillis) {
+        int soTimeout = (int) Math.min(Integer.MAX_VALUE, Math.max(0, timeoutMillis));
+        return RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+                .httpClientFactory(clientFactory)
+                .setParam(CoreConnectionPNames.SO_TIMEOUT, soTimeout));
+    }
+}
@@ -0,0 +1,291 @@
+package com.example;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+// Стовпцевий кільцевий буфер результатів: кожне поле зберігається в окремому примітивному масиві,
+// тому пам'ять не залежить від тексту відповіді, а після заповнення найстаріші записи перезаписуються
+public class ResultColumns {
+    private static final int INITIAL_CAPACITY = 16; // Початковий розмір масивів (зростають до capacity)
+
+    private final int capacity; // Максимальна кількість записів
+    private long[] timestamp; // Момент отримання результату (мс від епохи)
+    private long[] timeTaken; // Час виконання (мс)
+    private long[] responseSize; // Розмір відповіді (байти)
+    private int[] statusCode; // Статус-код відповіді
+    private int[] headerCount; // Кількість заголовків
+    private long[] scheduleDelayMicros; // Запізнення відправлення (мкс)
+    private boolean[] passed; // Чи пройшов тест
+    private long[] dnsNanos; // Фази запиту (наносекунди, -1 — не вимірювалась)
+    private long[] connectNanos;
+    private long[] tlsNanos;
+    private long[] ttfbNanos;
+    private long[] downloadNanos;
+    private long[] totalNanos;
+    private boolean[] connectionReused;
+    private int[] loadStage; // Етап профілю навантаження (0 — без профілю)
+    private int[] activeUsers; // Кількість віртуальних користувачів у момент відправлення
+
+    private int start; // Позиція найстарішого запису в масивах
+    private int size; // Кількість збережених записів
+    private long firstRunNumber = 1; // Порядковий номер найстарішого запису (з 1)
+
+    // Конструктор
+    public ResultColumns(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Розмір буфера має бути більшим за 0");
+        }
+        this.capacity = capacity;
+        allocate(Math.min(capacity, INITIAL_CAPACITY));
+    }
+
+    // Додавання результату; якщо буфер заповнений, перезаписується найстаріший запис
+    public void add(long time, TestResult result) {
+        int index;
+        if (size < capacity) {
+            if (size == timeTaken.length) {
+                grow();
+            }
+            index = size++;
+        } else {
+            index = start;
+            start = (start + 1) % capacity;
+            firstRunNumber++;
+        }
+        RequestTiming timing = result.timing();
+        timestamp[index] = time;
+        timeTaken[index] = result.timeTaken();
+        responseSize[index] = result.responseSize();
+        statusCode[index] = result.statusCode();
+        headerCount[index] = result.headerCount();
+        scheduleDelayMicros[index] = result.scheduleDelayMicros();
+        passed[index] = result.passed();
+        dnsNanos[index] = timing.dnsNanos();
+        connectNanos[index] = timing.connectNanos();
+        tlsNanos[index] = timing.tlsNanos();
+        ttfbNanos[index] = timing.ttfbNanos();
+        downloadNanos[index] = timing.downloadNanos();
+        totalNanos[index] = timing.totalNanos();
+        connectionReused[index] = timing.connectionReused();
+        loadStage[index] = result.loadStage();
+        activeUsers[index] = result.activeUsers();
+    }
+
+    // Компактна копія останніх count записів (для графіків і метрик, які читаються в іншому потоці)
+    public ResultColumns copyLast(int count) {
+        int copied = Math.max(0, Math.min(count, size));
+        ResultColumns copy = new ResultColumns(Math.max(1, copied));
+        copy.allocate(Math.max(1, copied));
+        int from = size - copied;
+        for (int i = 0; i < copied; i++) {
+            copy.copyRow(i, this, position(from + i));
+        }
+        copy.size = copied;
+        copy.firstRunNumber = firstRunNumber + from;
+        return copy;
+    }
+
+    // Копія записів з номером, більшим за runNumber, але не більше count останніх (нові точки для графіків)
+    public ResultColumns copyAfter(long runNumber, int count) {
+        long newer = firstRunNumber + size - 1 - runNumber;
+        return copyLast((int) Math.max(0, Math.min(count, newer)));
+    }
+
+    // Останні count записів без копіювання: масиви спільні з буфером, тому вікно можна читати лише
+    // доти, доки в буфер нічого не додається (під тим самим блокуванням, що й додавання)
+    public ResultColumns viewLast(int count) {
+        int shown = Math.max(0, Math.min(count, size));
+        ResultColumns view = new ResultColumns(capacity);
+        view.timestamp = timestamp;
+        view.timeTaken = timeTaken;
+        view.responseSize = responseSize;
+        view.statusCode = statusCode;
+        view.headerCount = headerCount;
+        view.scheduleDelayMicros = scheduleDelayMicros;
+        view.passed = passed;
+        view.dnsNanos = dnsNanos;
+        view.connectNanos = connectNanos;
+        view.tlsNanos = tlsNanos;
+        view.ttfbNanos = ttfbNanos;
+        view.downloadNanos = downloadNanos;
+        view.totalNanos = totalNanos;
+        view.connectionReused = connectionReused;
+        view.loadStage = loadStage;
+        view.activeUsers = activeUsers;
+        view.start = shown == 0 ? 0 : position(size - shown);
+        view.size = shown;
+        view.firstRunNumber = firstRunNumber + size - shown;
+        return view;
+    }
+
+    // Об'єднання двох буферів (older — раніші записи) з урахуванням розміру: зберігаються останні capacity записів
+    public static ResultColumns concat(ResultColumns older, ResultColumns newer, int capacity) {
+        int total = older.size + newer.size;
+        int kept = Math.min(capacity, total);
+        ResultColumns merged = new ResultColumns(capacity);
+        merged.allocate(Math.max(1, kept));
+        for (int i = 0; i < kept; i++) {
+            int index = total - kept + i;
+            if (index < older.size) {
+                merged.copyRow(i, older, older.position(index));
+            } else {
+                merged.copyRow(i, newer, newer.position(index - older.size));
+            }
+        }
+        merged.size = kept;
+        merged.firstRunNumber = older.firstRunNumber + (total - kept);
+        return merged;
+    }
+
+    // Кількість збережених записів
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Чи буде наступний запис перезаписувати найстаріший
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Порядковий номер запису i за весь час (для осі X графіків)
+    public long runNumber(int i) {
+        return firstRunNumber + i;
+    }
+
+    // Доступ до полів запису i (0 — найстаріший)
+    public long timestamp(int i) {
+        return timestamp[position(i)];
+    }
+
+    public long timeTaken(int i) {
+        return timeTaken[position(i)];
+    }
+
+    public long responseSize(int i) {
+        return responseSize[position(i)];
+    }
+
+    public int statusCode(int i) {
+        return statusCode[position(i)];
+    }
+
+    public int headerCount(int i) {
+        return headerCount[position(i)];
+    }
+
+    public long scheduleDelayMicros(int i) {
+        return scheduleDelayMicros[position(i)];
+    }
+
+    public boolean passed(int i) {
+        return passed[position(i)];
+    }
+
+    public int loadStage(int i) {
+        return loadStage[position(i)];
+    }
+
+    public int activeUsers(int i) {
+        return activeUsers[position(i)];
+    }
+
+    // Значення стовпців у порядку від найстарішого запису (для обчислення метрик)
+    public LongStream timeTakenValues() {
+        return IntStream.range(0, size).mapToLong(this::timeTaken);
+    }
+
+    public LongStream responseSizeValues() {
+        return IntStream.range(0, size).mapToLong(this::responseSize);
+    }
+
+    // Фази запиту i; об'єкт створюється лише на запит
+    public RequestTiming timing(int i) {
+        int p = position(i);
+        return new RequestTiming(dnsNanos[p], connectNanos[p], tlsNanos[p], ttfbNanos[p], downloadNanos[p],
+                totalNanos[p], connectionReused[p]);
+    }
+
+    // Запис i у вигляді результату (без тексту та тіла відповіді)
+    public TestResult result(int i) {
+        int p = position(i);
+        return new TestResult("", timeTaken[p], responseSize[p], statusCode[p], headerCount[p], scheduleDelayMicros[p],
+                timing(i), passed[p], "", loadStage[p], activeUsers[p]);
+    }
+
+    // Позиція запису i в масивах з урахуванням кільця
+    private int position(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Індекс " + i + ", записів " + size);
+        }
+        int p = start + i;
+        return p < capacity ? p : p - capacity;
+    }
+
+    // Збільшення масивів удвічі (до заповнення кільце не зміщується, тому start = 0)
+    private void grow() {
+        int length = (int) Math.min(capacity, timeTaken.length * 2L);
+        timestamp = Arrays.copyOf(timestamp, length);
+        timeTaken = Arrays.copyOf(timeTaken, length);
+        responseSize = Arrays.copyOf(responseSize, length);
+        statusCode = Arrays.copyOf(statusCode, length);
+        headerCount = Arrays.copyOf(headerCount, length);
+        scheduleDelayMicros = Arrays.copyOf(scheduleDelayMicros, length);
+        passed = Arrays.copyOf(passed, length);
+        dnsNanos = Arrays.copyOf(dnsNanos, length);
+        connectNanos = Arrays.copyOf(connectNanos, length);
+        tlsNanos = Arrays.copyOf(tlsNanos, length);
+        ttfbNanos = Arrays.copyOf(ttfbNanos, length);
+        downloadNanos = Arrays.copyOf(downloadNanos, length);
+        totalNanos = Arrays.copyOf(totalNanos, length);
+        connectionReused = Arrays.copyOf(connectionReused, length);
+        loadStage = Arrays.copyOf(loadStage, length);
+        activeUsers = Arrays.copyOf(activeUsers, length);
+    }
+
+    private void allocate(int length) {
+        timestamp = new long[length];
+        timeTaken = new long[length];
+        responseSize = new long[length];
+        statusCode = new int[length];
+        headerCount = new int[length];
+        scheduleDelayMicros = new long[length];
+        passed = new boolean[length];
+        dnsNanos = new long[length];
+        connectNanos = new long[length];
+        tlsNanos = new long[length];
+        ttfbNanos = new long[length];
+        downloadNanos = new long[length];
+        totalNanos = new long[length];
+        connectionReused = new boolean[length];
+        loadStage = new int[length];
+        activeUsers = new int[length];
+    }
+
+    private void copyRow(int to, ResultColumns source, int p) {
+        timestamp[to] = source.timestamp[p];
+        timeTaken[to] = source.timeTaken[p];
+        responseSize[to] = source.responseSize[p];
+        statusCode[to] = source.statusCode[p];
+        headerCount[to] = source.headerCount[p];
+        scheduleDelayMicros[to] = source.scheduleDelayMicros[p];
+        passed[to] = source.passed[p];
+        dnsNanos[to] = source.dnsNanos[p];
+        connectNanos[to] = source.connectNanos[p];
+        tlsNanos[to] = source.tlsNanos[p];
+        ttfbNanos[to] = source.ttfbNanos[p];
+        downloadNanos[to] = source.downloadNanos[p];
+        totalNanos[to] = source.totalNanos[p];
+        connectionReused[to] = source.connectionReused[p];
+        loadStage[to] = source.loadStage[p];
+        activeUsers[to] = source.activeUsers[p];
+    }
+}
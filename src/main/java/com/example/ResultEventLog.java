@@ -0,0 +1,120 @@
+package com.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Журнал результатів запитів: один короткий рядок з фіксованими полями на подію (results.log).
+// Записуються не всі запити, а вибірка: кожен N-й, усі провалені та K найповільніших за запуск
+// (останні — після завершення запуску). Тіла відповідей пишуться в окремий файл лише за запитом.
+// Один екземпляр відповідає одному запуску.
+public class ResultEventLog {
+    // Логгери журналу результатів (окремі файли налаштовані в logback.xml)
+    private static final Logger events = LoggerFactory.getLogger("results");
+    private static final Logger bodies = LoggerFactory.getLogger("results.bodies");
+    // Налаштування за замовчуванням
+    public static final int DEFAULT_SAMPLE_EVERY = 100;
+    public static final int DEFAULT_SLOWEST = 10;
+
+    private final int sampleEvery; // Записувати кожен N-й запит (0 — не записувати)
+    private final boolean logErrors; // Записувати всі провалені запити
+    private final int slowest; // Скільки найповільніших запитів записати після завершення (0 — не записувати)
+    private final boolean captureBodies; // Чи записувати тіла відповідей
+    private final AtomicLong sequence = new AtomicLong(); // Номер наступної події
+    private final PriorityQueue<Event> slowestEvents; // Найповільніші запити (на вершині — найшвидший з них)
+    private volatile long slowestThreshold = Long.MIN_VALUE; // Час, який треба перевищити, щоб потрапити до найповільніших
+
+    private record Event(long id, long time, TestCase testCase, TestResult result) {
+    }
+
+    // Конструктор
+    public ResultEventLog(int sampleEvery, boolean logErrors, int slowest, boolean captureBodies) {
+        this.sampleEvery = Math.max(0, sampleEvery);
+        this.logErrors = logErrors;
+        this.slowest = Math.max(0, slowest);
+        this.captureBodies = captureBodies;
+        this.slowestEvents = new PriorityQueue<>(Math.max(1, this.slowest),
+                Comparator.comparingLong(event -> event.result().latencyMicros()));
+    }
+
+    // Журнал з налаштуваннями за замовчуванням
+    public static ResultEventLog defaults() {
+        return new ResultEventLog(DEFAULT_SAMPLE_EVERY, true, DEFAULT_SLOWEST, false);
+    }
+
+    // Облік результату (викликається з потоків віртуальних користувачів)
+    public void record(TestCase testCase, TestResult result) {
+        if (!events.isInfoEnabled()) {
+            return;
+        }
+        long id = sequence.incrementAndGet();
+        if (logErrors && !result.passed()) {
+            write("error", new Event(id, System.currentTimeMillis(), testCase, result));
+        } else if (sampleEvery > 0 && id % sampleEvery == 0) {
+            write("every", new Event(id, System.currentTimeMillis(), testCase, result));
+        }
+        if (slowest > 0 && result.latencyMicros() > slowestThreshold) {
+            rememberSlow(new Event(id, System.currentTimeMillis(), testCase, result));
+        }
+    }
+
+    // Завершення запуску: запис найповільніших запитів від найповільнішого
+    public void finish() {
+        List<Event> slow;
+        synchronized (slowestEvents) {
+            slow = new ArrayList<>(slowestEvents);
+            slowestEvents.clear();
+            slowestThreshold = Long.MIN_VALUE;
+        }
+        slow.sort(Comparator.comparingLong((Event event) -> event.result().latencyMicros()).reversed());
+        for (Event event : slow) {
+            write("slowest", event);
+        }
+    }
+
+    private void rememberSlow(Event event) {
+        synchronized (slowestEvents) {
+            slowestEvents.add(event);
+            if (slowestEvents.size() > slowest) {
+                slowestEvents.poll();
+            }
+            if (slowestEvents.size() == slowest) {
+                slowestThreshold = slowestEvents.peek().result().latencyMicros();
+            }
+        }
+    }
+
+    // Рядок події: поля ключ=значення; пробіли є лише в тексті помилки, який береться в лапки
+    private void write(String sample, Event event) {
+        TestResult result = event.result();
+        RequestTiming timing = result.timing();
+        StringBuilder line = new StringBuilder(192)
+                .append("id=").append(event.id())
+                .append(" sample=").append(sample)
+                .append(" ts=").append(event.time())
+                .append(" method=").append(event.testCase().method())
+                .append(" url=").append(event.testCase().url().replace(" ", "%20"))
+                .append(" status=").append(result.statusCode())
+                .append(" passed=").append(result.passed())
+                .append(" latency_us=").append(result.latencyMicros())
+                .append(" delay_us=").append(result.scheduleDelayMicros())
+                .append(" size=").append(result.responseSize());
+        if (result.statusCode() == 0) {
+            // Запит не виконано (помилка з'єднання тощо) — додаємо текст помилки
+            line.append(" error=\"").append(result.result().replace("\"", "'").replace('\n', ' ')).append('"');
+        }
+        if (timing.isMeasured()) {
+            line.append(" ttfb_us=").append(timing.ttfbNanos() / 1000)
+                    .append(" reused=").append(timing.connectionReused());
+        }
+        events.info(line.toString());
+        if (captureBodies) {
+            bodies.info("id={} body={}", event.id(), result.bodyPrefix().replace("\r", "\\r").replace("\n", "\\n"));
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package com.example;
+
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+// Сховище результатів на диску лише з дописуванням: результати всіх запусків зберігаються між сеансами.
+//
+// Результати пишуться записами фіксованого розміру у сегменти (segment-<номер>.dat), відображені в пам'ять.
+// Окремий потік записує результати пачками і після кожної пачки оновлює лічильник записів у заголовку сегмента,
+// тому після аварійного завершення частково записана пачка відкидається. Тест-кейси зберігаються один раз
+// у словнику (testcases.jsonl, формат SuiteBundle), а записи посилаються на них за номером.
+public class ResultStore implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(ResultStore.class);
+
+    private static final String DICTIONARY_FILE = "testcases" + SuiteBundle.EXTENSION; // Словник тест-кейсів
+    private static final String SEGMENT_PREFIX = "segment-"; // Префікс файлів сегментів
+    private static final String SEGMENT_EXTENSION = ".dat"; // Розширення файлів сегментів
+    private static final int MAGIC = 0x52535432; // Позначка формату сегмента ("RST2": записи з етапом профілю)
+    private static final int HEADER_SIZE = 16; // Позначка (int), резерв (int), кількість записів (long)
+    private static final int COUNT_OFFSET = 8; // Зміщення кількості записів у заголовку
+    private static final int RECORD_SIZE = 104; // Розмір запису (з вирівнюванням)
+    static final int SEGMENT_RECORDS = 1 << 18; // Записів у сегменті (~26 МБ)
+    private static final int QUEUE_CAPACITY = 65_536; // Розмір черги на запис
+    private static final int MAX_BATCH = 4096; // Найбільша пачка, що записується за раз
+
+    private final Path directory; // Папка сховища
+    private final Path dictionaryFile; // Файл словника тест-кейсів
+    private final Map<TestCase, Integer> ids = new ConcurrentHashMap<>(); // Номери тест-кейсів у словнику
+    private final List<TestCase> storedTestCases; // Тест-кейси попередніх сеансів (у порядку номерів)
+    private int nextId; // Номер наступного тест-кейсу у словнику (рядок файлу словника)
+    private final long storedCount; // Кількість записів попередніх сеансів
+    private final BlockingQueue<PendingResult> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY); // Черга на запис
+    private final AtomicLong appendedCount = new AtomicLong(); // Кількість результатів, поставлених у чергу в цьому сеансі
+    private final AtomicLong droppedCount = new AtomicLong(); // Кількість результатів, не збережених через переповнену чергу
+    private volatile long committedCount; // Кількість записів, доступних для читання (усі сеанси)
+    private final Thread writer; // Потік запису
+    private volatile boolean closed; // Чи закрито сховище
+
+    // Стан поточного сегмента (використовується лише потоком запису)
+    private int segmentNumber; // Номер поточного сегмента
+    private FileChannel segmentChannel; // Канал поточного сегмента
+    private MappedByteBuffer segment; // Поточний сегмент у пам'яті
+    private long segmentCount; // Кількість записів у поточному сегменті
+
+    private record PendingResult(int testCaseId, long time, TestResult result) {
+    }
+
+    // Обробник результатів при послідовному читанні сховища
+    @FunctionalInterface
+    public interface ResultVisitor {
+        void accept(long time, TestResult result) throws IOException;
+    }
+
+    // Результати тест-кейсу з попередніх сеансів: останні записи та гістограма за весь час
+    public record StoredResults(ResultColumns results, Histogram latencyHistogram, long count) {
+    }
+
+    private ResultStore(Path directory, List<TestCase> storedTestCases) throws IOException {
+        this.directory = directory;
+        this.dictionaryFile = directory.resolve(DICTIONARY_FILE);
+        this.storedTestCases = storedTestCases;
+        this.nextId = storedTestCases.size();
+        for (int i = 0; i < storedTestCases.size(); i++) {
+            ids.putIfAbsent(storedTestCases.get(i), i);
+        }
+
+        // Продовження запису в останньому сегменті (попередні сегменти завжди заповнені)
+        List<Path> segments = listSegments();
+        checkFormat(segments);
+        segmentNumber = segments.size() - 1;
+        if (segmentNumber < 0) {
+            segmentNumber = 0;
+            openSegment(0);
+        } else {
+            openSegment(segmentNumber);
+        }
+        storedCount = (long) segmentNumber * SEGMENT_RECORDS + segmentCount;
+        committedCount = storedCount;
+
+        writer = new Thread(this::writeLoop, "result-store");
+        writer.setDaemon(true);
+    }
+
+    // Відкриття (або створення) сховища; результати попередніх сеансів не читаються, доки їх не запитано
+    public static ResultStore open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path dictionary = directory.resolve(DICTIONARY_FILE);
+        List<TestCase> storedTestCases = new ArrayList<>();
+        if (Files.exists(dictionary)) {
+            try (SuiteBundle bundle = SuiteBundle.open(dictionary)) {
+                storedTestCases.addAll(bundle);
+            }
+        }
+        ResultStore store = new ResultStore(directory, storedTestCases);
+        store.writer.start();
+        logger.info("Сховище результатів {}: {} результатів, {} тест-кейсів", directory, store.storedCount,
+                storedTestCases.size());
+        return store;
+    }
+
+    // Додавання результату (з кількох потоків віртуальних користувачів) без очікування: якщо потік запису
+    // не встигає і черга заповнена, результат не зберігається на диск (в історії в пам'яті він лишається),
+    // щоб запис не сповільнював відправлення запитів і не спотворював виміри
+    public void append(TestCase testCase, long time, TestResult result) {
+        if (closed) {
+            return;
+        }
+        try {
+            if (queue.offer(new PendingResult(idOf(testCase), time, result))) {
+                appendedCount.incrementAndGet();
+            } else if (droppedCount.getAndIncrement() == 0) {
+                logger.warn("Потік запису у сховище {} не встигає: частина результатів не зберігається на диск", directory);
+            }
+        } catch (UncheckedIOException e) {
+            logger.error("Не вдалося зберегти тест-кейс у словник {}: {}", dictionaryFile, e.getMessage());
+        }
+    }
+
+    // Тест-кейси, для яких є результати попередніх сеансів
+    public List<TestCase> getStoredTestCases() {
+        return storedTestCases;
+    }
+
+    // Кількість результатів попередніх сеансів
+    public long getStoredCount() {
+        return storedCount;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // Кількість результатів цього сеансу, не збережених через переповнену чергу запису
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    // Читання результатів попередніх сеансів для тест-кейсів, що відповідають умові.
+    // У пам'яті лишаються останні capacity записів і гістограма за весь час; сегменти читаються по черзі
+    public StoredResults loadPrevious(Predicate<TestCase> filter, int capacity) throws IOException {
+        ResultColumns results = new ResultColumns(capacity);
+        Histogram histogram = LatencyPercentiles.newHistogram();
+        AtomicLong count = new AtomicLong();
+        scan(wantedIds(filter), storedCount, (time, result) -> {
+            results.add(time, result);
+            LatencyPercentiles.recordMicros(histogram, result.latencyMicros());
+            count.incrementAndGet();
+        });
+        return new StoredResults(results, histogram, count.get());
+    }
+
+    // Послідовне читання всіх записаних результатів (усіх сеансів) для тест-кейсів, що відповідають умові.
+    // Результати не накопичуються в пам'яті, тому кількість записів не обмежена
+    public void forEach(Predicate<TestCase> filter, ResultVisitor visitor) throws IOException {
+        scan(wantedIds(filter), committedCount, visitor);
+    }
+
+    // Очікування, поки результати, додані до цього моменту, будуть записані
+    public void flush() throws InterruptedException {
+        long target = storedCount + appendedCount.get();
+        while (committedCount < target && !closed) {
+            Thread.sleep(1);
+        }
+    }
+
+    // Зупинка запису: результати, що вже є в черзі, дописуються
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        writer.interrupt();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (droppedCount.get() > 0) {
+            logger.warn("Сховище результатів {}: {} результатів не збережено через переповнену чергу запису", directory,
+                    droppedCount.get());
+        }
+    }
+
+    // Номери тест-кейсів словника, що відповідають умові
+    private BitSet wantedIds(Predicate<TestCase> filter) {
+        BitSet wanted = new BitSet();
+        ids.forEach((testCase, id) -> {
+            if (filter.test(testCase)) {
+                wanted.set(id);
+            }
+        });
+        return wanted;
+    }
+
+    // Читання перших count записів сховища; сегменти відображаються в пам'ять по одному
+    private void scan(BitSet wanted, long count, ResultVisitor visitor) throws IOException {
+        if (wanted.isEmpty()) {
+            return;
+        }
+        long remaining = count;
+        for (int number = 0; remaining > 0; number++) {
+            long records = Math.min(remaining, SEGMENT_RECORDS);
+            try (FileChannel channel = FileChannel.open(segmentPath(number), StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE + records * RECORD_SIZE);
+                for (int i = 0; i < records; i++) {
+                    int position = HEADER_SIZE + i * RECORD_SIZE;
+                    if (wanted.get(buffer.getInt(position))) {
+                        visitor.accept(buffer.getLong(position + 4), readResult(buffer, position));
+                    }
+                }
+            }
+            remaining -= records;
+        }
+    }
+
+    // Номер тест-кейсу у словнику; новий тест-кейс дописується у словник один раз
+    private int idOf(TestCase testCase) {
+        Integer id = ids.get(testCase);
+        if (id != null) {
+            return id;
+        }
+        // Номер має збігатися з рядком словника, тому дописування і видача номера виконуються разом
+        synchronized (ids) {
+            id = ids.get(testCase);
+            if (id == null) {
+                try {
+                    SuiteBundle.append(dictionaryFile, testCase);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                id = nextId++;
+                ids.put(testCase, id);
+            }
+            return id;
+        }
+    }
+
+    // Цикл потоку запису: пачки з черги записуються в сегмент, потім оновлюється лічильник записів
+    private void writeLoop() {
+        List<PendingResult> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                if (queue.drainTo(batch, MAX_BATCH) == 0) {
+                    try {
+                        batch.add(queue.take());
+                    } catch (InterruptedException e) {
+                        continue; // Сховище закривається: дописуємо залишок черги
+                    }
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                }
+                writeBatch(batch);
+                batch.clear();
+            }
+        } catch (IOException e) {
+            logger.error("Помилка запису у сховище результатів {}: {}", directory, e.getMessage());
+            closed = true;
+            queue.clear();
+        } finally {
+            closeSegment();
+        }
+    }
+
+    private void writeBatch(List<PendingResult> batch) throws IOException {
+        for (PendingResult pending : batch) {
+            if (segmentCount == SEGMENT_RECORDS) {
+                closeSegment();
+                openSegment(++segmentNumber);
+            }
+            writeResult(segment, HEADER_SIZE + (int) segmentCount * RECORD_SIZE, pending);
+            segmentCount++;
+        }
+        // Лічильник оновлюється після запису всієї пачки: пачка стає видимою для читання цілком
+        segment.putLong(COUNT_OFFSET, segmentCount);
+        committedCount = (long) segmentNumber * SEGMENT_RECORDS + segmentCount;
+    }
+
+    private void writeResult(ByteBuffer buffer, int position, PendingResult pending) {
+        TestResult result = pending.result();
+        RequestTiming timing = result.timing();
+        buffer.putInt(position, pending.testCaseId());
+        buffer.putLong(position + 4, pending.time());
+        buffer.putLong(position + 12, result.timeTaken());
+        buffer.putLong(position + 20, result.responseSize());
+        buffer.putInt(position + 28, result.statusCode());
+        buffer.putInt(position + 32, result.headerCount());
+        buffer.putLong(position + 36, result.scheduleDelayMicros());
+        buffer.putLong(position + 44, timing.dnsNanos());
+        buffer.putLong(position + 52, timing.connectNanos());
+        buffer.putLong(position + 60, timing.tlsNanos());
+        buffer.putLong(position + 68, timing.ttfbNanos());
+        buffer.putLong(position + 76, timing.downloadNanos());
+        buffer.putLong(position + 84, timing.totalNanos());
+        buffer.put(position + 92, (byte) ((result.passed() ? 1 : 0) | (timing.connectionReused() ? 2 : 0)));
+        buffer.putInt(position + 96, result.loadStage());
+        buffer.putInt(position + 100, result.activeUsers());
+    }
+
+    // Результат без тексту відповіді (текст у сховищі не зберігається)
+    private static TestResult readResult(ByteBuffer buffer, int position) {
+        byte flags = buffer.get(position + 92);
+        RequestTiming timing = new RequestTiming(buffer.getLong(position + 44), buffer.getLong(position + 52),
+                buffer.getLong(position + 60), buffer.getLong(position + 68), buffer.getLong(position + 76),
+                buffer.getLong(position + 84), (flags & 2) != 0);
+        return new TestResult("", buffer.getLong(position + 12), buffer.getLong(position + 20),
+                buffer.getInt(position + 28), buffer.getInt(position + 32), buffer.getLong(position + 36), timing,
+                (flags & 1) != 0, "", buffer.getInt(position + 96), buffer.getInt(position + 100));
+    }
+
+    // Перевірка, що наявні сегменти записані в поточному форматі: записи іншого розміру прочиталися б зі зсувом.
+    // Порожній заголовок (сегмент створено, але сховище закрилось до першого запису) вважається придатним
+    private static void checkFormat(List<Path> segments) throws IOException {
+        for (Path segmentFile : segments) {
+            try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+                ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+                channel.read(header, 0);
+                int magic = header.position() == Integer.BYTES ? header.getInt(0) : 0;
+                if (magic != MAGIC && magic != 0) {
+                    throw new IOException("Сегмент " + segmentFile + " записано в іншому форматі сховища; "
+                            + "перенесіть старі результати в іншу папку");
+                }
+            }
+        }
+    }
+
+    // Відкриття сегмента для запису; кількість записів береться із заголовка
+    private void openSegment(int number) throws IOException {
+        segmentChannel = FileChannel.open(segmentPath(number), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        segment = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) SEGMENT_RECORDS * RECORD_SIZE);
+        if (segment.getInt(0) != MAGIC) {
+            segment.putInt(0, MAGIC);
+            segment.putLong(COUNT_OFFSET, 0);
+        }
+        segmentCount = Math.max(0, Math.min(segment.getLong(COUNT_OFFSET), SEGMENT_RECORDS));
+    }
+
+    private void closeSegment() {
+        if (segmentChannel == null) {
+            return;
+        }
+        try {
+            segment.force();
+            segmentChannel.close();
+        } catch (IOException e) {
+            logger.error("Не вдалося закрити сегмент {}: {}", segmentPath(segmentNumber), e.getMessage());
+        }
+        segmentChannel = null;
+        segment = null;
+    }
+
+    private Path segmentPath(int number) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, number, SEGMENT_EXTENSION));
+    }
+
+    // Файли сегментів у порядку номерів
+    private List<Path> listSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_EXTENSION)) {
+            for (Path file : stream) {
+                segments.add(file);
+            }
+        }
+        segments.sort(null);
+        return segments;
+    }
+}
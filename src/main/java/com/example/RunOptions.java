@@ -0,0 +1,40 @@
+package com.example;
+
+// Клас-модель для налаштувань виконання запитів, спільних для всіх віртуальних користувачів
+public record RunOptions(
+        String apiKey, // API Key (може бути порожнім)
+        HttpTransport transport, // Транспорт для виконання запитів
+        int bodyPrefixLimit, // Скільки байтів тіла відповіді зберігати для відображення
+        boolean hashBody, // Чи обчислювати хеш (CRC32C) усього тіла відповіді
+        ResultEventLog eventLog, // Журнал результатів запуску
+        long requestTimeoutMillis, // Тайм-аут очікування відповіді сервера (мс)
+        DataFeeder.Registry dataFeeders // Файли даних тест-кейсів, відкриті в цьому запуску
+) {
+    // Кількість байтів тіла, яка зберігається за замовчуванням
+    public static final int DEFAULT_BODY_PREFIX_LIMIT = 4096;
+    // Тайм-аут очікування відповіді за замовчуванням
+    public static final long DEFAULT_REQUEST_TIMEOUT_MILLIS = 30_000;
+
+    // Налаштування нового запуску: файли даних відкриваються заново, рядки беруться з першого
+    public static RunOptions forRun(String apiKey, HttpTransport transport, int bodyPrefixLimit, boolean hashBody,
+                                    ResultEventLog eventLog, long requestTimeoutMillis) {
+        return new RunOptions(apiKey, transport, bodyPrefixLimit, hashBody, eventLog, requestTimeoutMillis,
+                new DataFeeder.Registry());
+    }
+
+    // Налаштування за замовчуванням для вибраного транспорту
+    public static RunOptions of(String apiKey, HttpTransport transport) {
+        return forRun(apiKey, transport, DEFAULT_BODY_PREFIX_LIMIT, false, ResultEventLog.defaults(),
+                DEFAULT_REQUEST_TIMEOUT_MILLIS);
+    }
+
+    // Новий споживач тіла відповіді для одного запиту
+    public ResponseBodyConsumer newBodyConsumer() {
+        return new ResponseBodyConsumer(bodyPrefixLimit, hashBody);
+    }
+
+    // Новий споживач тіла відповіді, який також виконує потокові перевірки тест-кейсу
+    public ResponseBodyConsumer newBodyConsumer(ResponseAssertions assertions) {
+        return new ResponseBodyConsumer(bodyPrefixLimit, hashBody, assertions);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Прогрес виконання тестів у фоновому потоці: оновлюється потоками віртуальних користувачів,
+// читається інтерфейсом через рівні інтервали
+public class RunProgress {
+    private final AtomicLong total = new AtomicLong(); // Загальна кількість запитів (0 — невідома)
+    private final AtomicLong completed = new AtomicLong(); // Виконано запитів
+    private final AtomicLong failed = new AtomicLong(); // Провалено запитів
+    private final AtomicBoolean cancelled = new AtomicBoolean(); // Прапорець зупинки
+    private final long startTime = System.nanoTime(); // Початок виконання
+    private volatile boolean finished; // Чи завершено виконання
+    private volatile long endTime; // Момент завершення
+    private long lastSampleTime = startTime; // Момент попереднього обчислення швидкості
+    private long lastSampleCompleted; // Кількість виконаних запитів на момент попереднього обчислення
+    private volatile int activeUsers; // Поточна кількість віртуальних користувачів (для профілю навантаження)
+
+    public void setTotal(long total) {
+        this.total.set(total);
+    }
+
+    // Облік результату (викликається з кількох потоків)
+    public void recordResult(TestResult result) {
+        completed.incrementAndGet();
+        if (!result.passed()) {
+            failed.incrementAndGet();
+        }
+    }
+
+    // Запит на зупинку: нові запити не надсилаються, вже надіслані завершуються
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    // Прапорець зупинки для LoadEngine
+    public AtomicBoolean getCancelFlag() {
+        return cancelled;
+    }
+
+    public void setActiveUsers(int activeUsers) {
+        this.activeUsers = activeUsers;
+    }
+
+    public int getActiveUsers() {
+        return activeUsers;
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    public void finish() {
+        endTime = System.nanoTime();
+        finished = true;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public long getTotal() {
+        return total.get();
+    }
+
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    // Тривалість виконання (секунди)
+    public double getElapsedSeconds() {
+        return ((finished ? endTime : System.nanoTime()) - startTime) / 1e9;
+    }
+
+    // Поточна швидкість (запитів/с) з моменту попереднього виклику
+    public synchronized double sampleRequestsPerSecond() {
+        long now = System.nanoTime();
+        long done = completed.get();
+        double rate = now > lastSampleTime ? (done - lastSampleCompleted) * 1e9 / (now - lastSampleTime) : 0;
+        lastSampleTime = now;
+        lastSampleCompleted = done;
+        return rate;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Обмежений текстовий журнал запуску для поля результатів: лічильники всіх запитів, останні результати
+// і останні провалені. Пам'ять не залежить від кількості запитів, а додавання не блокує потоки
+// віртуальних користувачів (запис у кільцевий буфер за атомарним номером).
+public class RunResultLog {
+    public static final int DEFAULT_RECENT = 50; // Скільки останніх результатів показувати
+    public static final int DEFAULT_FAILURES = 20; // Скільки останніх провалених результатів показувати
+    private static final int MAX_TEXT_LENGTH = 2000; // Найбільша довжина тексту одного результату (тіло може бути великим)
+
+    private final AtomicReferenceArray<String> recent; // Останні результати (кільцевий буфер)
+    private final AtomicReferenceArray<String> failures; // Останні провалені результати (кільцевий буфер)
+    private final AtomicLong completed = new AtomicLong(); // Кількість результатів
+    private final AtomicLong failed = new AtomicLong(); // Кількість провалених результатів
+
+    public RunResultLog() {
+        this(DEFAULT_RECENT, DEFAULT_FAILURES);
+    }
+
+    public RunResultLog(int recentCapacity, int failureCapacity) {
+        this.recent = new AtomicReferenceArray<>(Math.max(0, recentCapacity));
+        this.failures = new AtomicReferenceArray<>(Math.max(0, failureCapacity));
+    }
+
+    // Облік результату; title — заголовок запису, наприклад "Запуск 5 для GET https://..."
+    public void add(String title, TestResult result) {
+        long number = completed.getAndIncrement();
+        String text = title + ":\n" + shorten(result.result());
+        if (recent.length() > 0) {
+            recent.set((int) (number % recent.length()), text);
+        }
+        if (!result.passed()) {
+            long failure = failed.getAndIncrement();
+            if (failures.length() > 0) {
+                failures.set((int) (failure % failures.length()), text);
+            }
+        }
+    }
+
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    // Текст для поля результатів: підсумок, останні провалені та останні результати (від старіших до новіших)
+    public String describe() {
+        long done = completed.get();
+        long errors = failed.get();
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Виконано запитів: %d, провалено: %d%n", done, errors));
+        if (errors > 0 && failures.length() > 0) {
+            text.append(String.format("%nОстанні провалені (%d з %d):%n%n", Math.min(errors, failures.length()), errors));
+            appendRing(text, failures, errors);
+        }
+        if (done > 0 && recent.length() > 0) {
+            text.append(String.format("%nОстанні результати (%d з %d):%n%n", Math.min(done, recent.length()), done));
+            appendRing(text, recent, done);
+        }
+        return text.toString();
+    }
+
+    private static void appendRing(StringBuilder text, AtomicReferenceArray<String> ring, long count) {
+        for (long i = Math.max(0, count - ring.length()); i < count; i++) {
+            String entry = ring.get((int) (i % ring.length()));
+            if (entry != null) {
+                text.append(entry).append("\n\n");
+            }
+        }
+    }
+
+    private static String shorten(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.length() <= MAX_TEXT_LENGTH ? text : text.substring(0, MAX_TEXT_LENGTH) + " [Скорочено]";
+    }
+}
@@ -0,0 +1,66 @@
+package com.example;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+// Клас-модель для сценарію: послідовність кроків (наприклад, вхід → створення → отримання → видалення),
+// у якій значення з відповідей записуються у змінні віртуального користувача і підставляються
+// в наступні кроки як ${назва}. Вбудовані змінні: ${vu} — номер віртуального користувача (з 1),
+// ${iteration} — номер виконання сценарію цим користувачем (з 1).
+public record Scenario(
+        String name, // Назва сценарію
+        @JsonInclude(JsonInclude.Include.NON_EMPTY)
+        Map<String, String> variables, // Початкові значення змінних
+        List<Step> steps // Кроки у порядку виконання
+) {
+    // Крок сценарію
+    public record Step(
+            String name, // Назва кроку (для звітів)
+            TestCase request, // Запит з плейсхолдерами ${назва}, очікуваним статусом і перевірками
+            @JsonInclude(JsonInclude.Include.NON_EMPTY)
+            List<Extraction> extract // Значення, які потрібно отримати з відповіді
+    ) {
+        public Step {
+            extract = extract == null ? List.of() : List.copyOf(extract);
+        }
+    }
+
+    public Scenario {
+        variables = variables == null ? Map.of() : Map.copyOf(variables);
+        steps = steps == null ? List.of() : List.copyOf(steps);
+    }
+
+    // Читання сценарію з файлу JSON
+    public static Scenario load(Path file) throws IOException {
+        Scenario scenario = TestSuiteLoader.getMapper().readValue(Files.readAllBytes(file), Scenario.class);
+        if (scenario.steps().isEmpty()) {
+            throw new IllegalArgumentException("Сценарій " + file + " не містить кроків");
+        }
+        for (int i = 0; i < scenario.steps().size(); i++) {
+            Step step = scenario.steps().get(i);
+            if (step.request() == null) {
+                throw new IllegalArgumentException("Крок " + (i + 1) + " сценарію не містить request");
+            }
+            // Некоректні перевірки та змінні виявляються до запуску
+            ResponseAssertions.compile(step.request().assertions(), step.extract());
+        }
+        return scenario;
+    }
+
+    // Назва сценарію для відображення
+    public String displayName() {
+        return name == null || name.isBlank() ? "сценарій" : name;
+    }
+
+    // Назва кроку index (з 0) для відображення
+    public String stepName(int index) {
+        Step step = steps.get(index);
+        return step.name() == null || step.name().isBlank()
+                ? step.request().method() + " " + step.request().url() : step.name();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Клас для виконання сценаріїв під навантаженням: кожен віртуальний користувач — окремий віртуальний потік,
+// який по черзі виконує кроки сценарію зі своїми змінними. Стан екземпляра сценарію — лише мапа змінних,
+// тому тисячі одночасних екземплярів не потребують тисяч потоків ОС.
+public class ScenarioEngine {
+    // Логгер для інформації та помилок
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioEngine.class);
+
+    // Слухач результатів; викликається з потоків віртуальних користувачів, тому має бути потокобезпечним
+    public interface ScenarioListener {
+        // Результат кроку step (з 0)
+        void onStep(int step, TestCase testCase, TestResult result);
+
+        // Завершення екземпляра сценарію: passed — усі кроки пройшли, durationMicros — час від першого до останнього кроку
+        void onScenario(boolean passed, long durationMicros);
+    }
+
+    // Закрита модель: virtualUsers віртуальних користувачів спільно виконують сценарій runCount разів.
+    // Після проваленого кроку решта кроків цього екземпляра пропускається. Метод блокується до завершення.
+    public static void runClosed(Scenario scenario, RunOptions options, int virtualUsers, int runCount,
+                                 ScenarioListener listener, AtomicBoolean cancelled) {
+        if (runCount <= 0) {
+            return;
+        }
+        runUsers(scenario, options, virtualUsers, runCount, Long.MAX_VALUE, listener, cancelled);
+    }
+
+    // Закрита модель з обмеженням за часом: користувачі повторюють сценарій, доки не мине durationMillis
+    // (розпочатий екземпляр виконується до кінця)
+    public static void runClosedForDuration(Scenario scenario, RunOptions options, int virtualUsers, long durationMillis,
+                                            ScenarioListener listener, AtomicBoolean cancelled) {
+        if (durationMillis <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + durationMillis * 1_000_000L;
+        runUsers(scenario, options, virtualUsers, Long.MAX_VALUE, deadline, listener, cancelled);
+    }
+
+    private static void runUsers(Scenario scenario, RunOptions options, int virtualUsers, long totalRuns, long deadline,
+                                 ScenarioListener listener, AtomicBoolean cancelled) {
+        // Перевірки та отримання змінних компілюються один раз для всіх користувачів
+        List<ResponseAssertions> checks = new ArrayList<>();
+        for (Scenario.Step step : scenario.steps()) {
+            checks.add(ResponseAssertions.compile(step.request().assertions(), step.extract()));
+        }
+        int users = (int) Math.max(1, Math.min(virtualUsers, totalRuns)); // Зайві користувачі не потрібні
+        AtomicLong nextRun = new AtomicLong(); // Номер наступного екземпляра сценарію
+        AtomicLong completed = new AtomicLong(); // Кількість завершених екземплярів
+
+        logger.info("Запуск сценарію '{}': {} віртуальних користувачів, {} кроків", scenario.displayName(), users,
+                scenario.steps().size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 1; user <= users; user++) {
+                String userNumber = String.valueOf(user);
+                executor.submit(() -> {
+                    Map<String, String> variables = new HashMap<>(); // Змінні цього віртуального користувача
+                    int iteration = 0;
+                    while (!cancelled.get() && nextRun.getAndIncrement() < totalRuns
+                            && (deadline == Long.MAX_VALUE || System.nanoTime() - deadline < 0)) {
+                        // Кожен екземпляр починається з початкових значень змінних
+                        variables.clear();
+                        variables.putAll(scenario.variables());
+                        variables.put("vu", userNumber);
+                        variables.put("iteration", String.valueOf(++iteration));
+                        if (runScenario(scenario, checks, options, variables, listener, cancelled)) {
+                            completed.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        } // close() чекає завершення всіх віртуальних користувачів
+        options.eventLog().finish();
+
+        logger.info("Сценарій '{}' {}: виконано {} екземплярів", scenario.displayName(),
+                cancelled.get() ? "зупинено" : "завершено", completed.get());
+    }
+
+    // Виконання одного екземпляра сценарію; повертає false, якщо його перервала зупинка
+    private static boolean runScenario(Scenario scenario, List<ResponseAssertions> checks, RunOptions options,
+                                       Map<String, String> variables, ScenarioListener listener, AtomicBoolean cancelled) {
+        long start = System.nanoTime();
+        for (int i = 0; i < scenario.steps().size(); i++) {
+            if (cancelled.get()) {
+                return false;
+            }
+            TestCase testCase = scenario.steps().get(i).request();
+            TestResult result = TestRunner.runStep(testCase, checks.get(i), options, variables);
+            options.eventLog().record(testCase, result);
+            listener.onStep(i, testCase, result);
+            if (!result.passed()) {
+                // Наступні кроки залежать від результатів попередніх, тому екземпляр завершується
+                listener.onScenario(false, (System.nanoTime() - start) / 1000);
+                return true;
+            }
+        }
+        listener.onScenario(true, (System.nanoTime() - start) / 1000);
+        return true;
+    }
+}
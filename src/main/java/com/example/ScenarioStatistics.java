@@ -0,0 +1,65 @@
+package com.example;
+
+import org.HdrHistogram.Histogram;
+
+// Статистика виконання сценарію: для кожного кроку і для сценарію в цілому — кількість, помилки
+// та гістограма часу виконання. Пам'ять не залежить від кількості запитів.
+public class ScenarioStatistics {
+    private final Scenario scenario; // Сценарій
+    private final long[] stepCounts; // Кількість виконань кожного кроку
+    private final long[] stepFailures; // Кількість провалених виконань кожного кроку
+    private final Histogram[] stepHistograms; // Час виконання кожного кроку
+    private long scenarioCount; // Кількість завершених екземплярів сценарію
+    private long scenarioFailures; // Кількість екземплярів з проваленим кроком
+    private final Histogram scenarioHistogram = LatencyPercentiles.newHistogram(); // Час виконання екземпляра
+
+    public ScenarioStatistics(Scenario scenario) {
+        this.scenario = scenario;
+        int steps = scenario.steps().size();
+        this.stepCounts = new long[steps];
+        this.stepFailures = new long[steps];
+        this.stepHistograms = new Histogram[steps];
+        for (int i = 0; i < steps; i++) {
+            stepHistograms[i] = LatencyPercentiles.newHistogram();
+        }
+    }
+
+    // Облік результату кроку
+    public synchronized void addStep(int step, TestResult result) {
+        stepCounts[step]++;
+        if (!result.passed()) {
+            stepFailures[step]++;
+        }
+        LatencyPercentiles.recordMicros(stepHistograms[step], result.latencyMicros());
+    }
+
+    // Облік завершеного екземпляра сценарію
+    public synchronized void addScenario(boolean passed, long durationMicros) {
+        scenarioCount++;
+        if (!passed) {
+            scenarioFailures++;
+        }
+        LatencyPercentiles.recordMicros(scenarioHistogram, durationMicros);
+    }
+
+    public int getStepCount() {
+        return stepCounts.length;
+    }
+
+    public synchronized long getScenarioFailures() {
+        return scenarioFailures;
+    }
+
+    // Опис кроку step (з 0); кроки після проваленого не виконуються, тому їхня кількість може бути меншою
+    public synchronized String describeStep(int step) {
+        return String.format("Крок %d (%s): виконано %d, помилок %d, %s", step + 1, scenario.stepName(step),
+                stepCounts[step], stepFailures[step], LatencyPercentiles.format(stepHistograms[step]));
+    }
+
+    // Опис сценарію загалом
+    public synchronized String describeScenario() {
+        return String.format("Сценарій '%s': виконано %d, успішно %d, з помилками %d%nЧас сценарію: %s",
+                scenario.displayName(), scenarioCount, scenarioCount - scenarioFailures, scenarioFailures,
+                LatencyPercentiles.format(scenarioHistogram));
+    }
+}
@@ -0,0 +1,271 @@
+package com.example;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Вбудований локальний сервер-заглушка для перевірки тестувальника без доступу до інтернету:
+// маршрути з заданими статус-кодом, затримкою (фіксованою або випадковою), розміром і способом передачі тіла.
+// Кожен запит обробляється окремим потоком, тіло не створюється для кожного запиту, а пишеться
+// зі спільного буфера, тому сервер на loopback не обмежує швидкість тестувальника.
+// Параметри маршруту можна перевизначити в самому запиті: ?status=500&delay=10-50&size=1048576&chunked=true
+public class StubServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(StubServer.class);
+    // Порт за замовчуванням
+    public static final int DEFAULT_PORT = 18080;
+    // Розмір спільного буфера, з якого пишеться тіло відповіді
+    private static final int FILLER_SIZE = 64 * 1024;
+    private static final byte[] FILLER = new byte[FILLER_SIZE];
+    // Початок і кінець тіла JSON: {"data":"xxx...x"}
+    private static final byte[] JSON_START = "{\"data\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JSON_END = "\"}".getBytes(StandardCharsets.US_ASCII);
+
+    static {
+        Arrays.fill(FILLER, (byte) 'x');
+        // Без TCP_NODELAY маленькі відповіді затримуються алгоритмом Нейгла на десятки мілісекунд.
+        // Властивість читається під час першого створення HttpServer, тому задається заздалегідь
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    // Маршрут сервера (усі поля необов'язкові у файлі маршрутів)
+    public record Route(
+            String path, // Префікс шляху (довший префікс має пріоритет)
+            String method, // HTTP-метод або "*" для будь-якого
+            int status, // Статус-код відповіді
+            long minDelayMs, // Найменша затримка перед відповіддю (мс)
+            long maxDelayMs, // Найбільша затримка (мс); випадкова між min і max, якщо max > min
+            long size, // Розмір тіла відповіді (байти)
+            boolean chunked, // Передавати тіло частинами (Transfer-Encoding: chunked) без Content-Length
+            int chunkSize, // Розмір частини (байти)
+            long chunkDelayMs, // Пауза між частинами (мс) — для повільного потокового тіла
+            String contentType // Тип вмісту
+    ) {
+        // Значення за замовчуванням для незаповнених полів
+        public Route {
+            path = path == null || path.isBlank() ? "/" : path;
+            method = method == null || method.isBlank() ? "*" : method.toUpperCase(Locale.ROOT);
+            status = status <= 0 ? 200 : status;
+            minDelayMs = Math.max(0, minDelayMs);
+            maxDelayMs = Math.max(minDelayMs, maxDelayMs);
+            size = Math.max(0, size);
+            chunkSize = chunkSize <= 0 ? 8192 : chunkSize;
+            chunkDelayMs = Math.max(0, chunkDelayMs);
+            contentType = contentType == null || contentType.isBlank() ? "application/json" : contentType;
+        }
+
+        // Маршрут за замовчуванням: будь-який шлях, 200, 128 байтів JSON без затримки
+        public static Route defaults() {
+            return new Route("/", "*", 200, 0, 0, 128, false, 0, 0, null);
+        }
+
+        // Чи підходить маршрут для запиту
+        boolean matches(String requestMethod, String requestPath) {
+            return ("*".equals(method) || method.equals(requestMethod)) && requestPath.startsWith(path);
+        }
+    }
+
+    private final HttpServer server; // HTTP-сервер JDK
+    private final ExecutorService executor; // Потоки для обробки запитів
+    private final List<Route> routes; // Маршрути (від довшого префікса до коротшого)
+    private final LongAdder requestCount = new LongAdder(); // Кількість оброблених запитів
+    private final LongAdder bytesSent = new LongAdder(); // Кількість надісланих байтів тіла
+
+    private StubServer(HttpServer server, ExecutorService executor, List<Route> routes) {
+        this.server = server;
+        this.executor = executor;
+        this.routes = routes;
+    }
+
+    // Запуск сервера на loopback-інтерфейсі (port 0 — будь-який вільний порт)
+    public static StubServer start(int port, List<Route> routes) throws IOException {
+        List<Route> sorted = (routes == null || routes.isEmpty() ? List.of(Route.defaults()) : routes).stream()
+                .sorted(Comparator.comparingInt((Route route) -> route.path().length()).reversed())
+                .toList();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        // Платформні, а не віртуальні потоки: сервер працює в одному процесі з тестувальником, а RestAssured
+        // (Apache HttpClient) під час читання відповіді закріплює віртуальний потік за потоком-носієм. Якщо носіїв
+        // мало (1–2 ядра), а тіло не вміщується в буфер сокета, клієнт і сервер чекають одне на одного без кінця
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        StubServer stub = new StubServer(server, executor, sorted);
+        server.createContext("/", stub::handle);
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Сервер-заглушка запущено на {} ({} маршрутів)", stub.getBaseUrl(), sorted.size());
+        return stub;
+    }
+
+    // Читання маршрутів із файлу JSON (масив об'єктів з полями Route)
+    public static List<Route> loadRoutes(Path file) throws IOException {
+        return TestSuiteLoader.getMapper().readValue(Files.readAllBytes(file), new TypeReference<List<Route>>() {
+        });
+    }
+
+    // Адреса сервера, наприклад http://127.0.0.1:18080
+    public String getBaseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    // Зупинка сервера (з'єднання закриваються без очікування)
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        logger.info("Сервер-заглушка зупинено, оброблено запитів: {}", getRequestCount());
+    }
+
+    // Обробка запиту
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream input = exchange.getRequestBody()) {
+            // Тіло запиту потрібно дочитати, інакше з'єднання не можна використати повторно
+            input.transferTo(OutputStream.nullOutputStream());
+
+            String method = exchange.getRequestMethod();
+            Route route = findRoute(method, exchange.getRequestURI().getPath());
+            if (route == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            route = applyOverrides(route, exchange.getRequestURI().getRawQuery());
+
+            long delay = route.maxDelayMs() > route.minDelayMs()
+                    ? ThreadLocalRandom.current().nextLong(route.minDelayMs(), route.maxDelayMs() + 1)
+                    : route.minDelayMs();
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+
+            // Відповіді без тіла: HEAD, 1xx, 204 і 304
+            boolean noBody = "HEAD".equals(method) || route.status() < 200 || route.status() == 204
+                    || route.status() == 304;
+            exchange.getResponseHeaders().set("Content-Type", route.contentType());
+            if (noBody || route.size() == 0) {
+                exchange.sendResponseHeaders(route.status(), -1);
+            } else {
+                exchange.sendResponseHeaders(route.status(), route.chunked() ? 0 : route.size());
+                writeBody(exchange.getResponseBody(), route);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            requestCount.increment();
+        }
+    }
+
+    // Найдовший маршрут, що підходить для запиту
+    private Route findRoute(String method, String path) {
+        for (Route route : routes) {
+            if (route.matches(method, path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    // Перевизначення параметрів маршруту з рядка запиту: status, delay (мс або діапазон min-max), size, chunked
+    static Route applyOverrides(Route route, String query) {
+        if (query == null || query.isEmpty()) {
+            return route;
+        }
+        Map<String, String> params = PreparedRequest.parseParams(query);
+        String status = params.get("status");
+        String delay = params.get("delay");
+        String size = params.get("size");
+        String chunked = params.get("chunked");
+        if (status == null && delay == null && size == null && chunked == null) {
+            return route;
+        }
+        try {
+            long minDelay = route.minDelayMs();
+            long maxDelay = route.maxDelayMs();
+            if (delay != null) {
+                int separator = delay.indexOf('-');
+                minDelay = Long.parseLong(separator < 0 ? delay : delay.substring(0, separator));
+                maxDelay = separator < 0 ? minDelay : Long.parseLong(delay.substring(separator + 1));
+            }
+            return new Route(route.path(), route.method(),
+                    status != null ? Integer.parseInt(status) : route.status(),
+                    minDelay, maxDelay,
+                    size != null ? Long.parseLong(size) : route.size(),
+                    chunked != null ? Boolean.parseBoolean(chunked) : route.chunked(),
+                    route.chunkSize(), route.chunkDelayMs(), route.contentType());
+        } catch (NumberFormatException e) {
+            // Некоректні значення ігноруються — відповідь за налаштуваннями маршруту
+            return route;
+        }
+    }
+
+    // Запис тіла заданого розміру зі спільного буфера (для JSON — у вигляді {"data":"xxx"})
+    private void writeBody(OutputStream output, Route route) throws IOException, InterruptedException {
+        long remaining = route.size();
+        boolean json = route.contentType().contains("json") && remaining >= JSON_START.length + JSON_END.length;
+        if (json) {
+            output.write(JSON_START);
+            remaining -= JSON_START.length + JSON_END.length;
+        }
+        long untilChunk = route.chunkSize();
+        while (remaining > 0) {
+            int length = (int) Math.min(Math.min(remaining, FILLER_SIZE), untilChunk);
+            output.write(FILLER, 0, length);
+            remaining -= length;
+            untilChunk -= length;
+            if (untilChunk == 0 && route.chunked()) {
+                // Кінець частини: надсилаємо її клієнту і, якщо задано, робимо паузу
+                output.flush();
+                if (route.chunkDelayMs() > 0 && remaining > 0) {
+                    Thread.sleep(route.chunkDelayMs());
+                }
+            }
+            if (untilChunk == 0) {
+                untilChunk = route.chunkSize();
+            }
+        }
+        if (json) {
+            output.write(JSON_END);
+        }
+        output.close();
+        bytesSent.add(route.size());
+    }
+}
@@ -0,0 +1,297 @@
+package com.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Набір тест-кейсів в одному файлі формату JSON Lines (один тест-кейс на рядок) з індексом зміщень.
+// Тест-кейси читаються з диска на запит за номером, тому великий набір не завантажується в пам'ять повністю.
+// Прочитаний тест-кейс розбирається один раз за час життя набору (зазвичай один запуск) і тримається
+// м'яким посиланням: повторні запити не читають диск і не розбирають JSON, а при нестачі пам'яті
+// збирач сміття може звільнити розібрані тест-кейси, і вони прочитаються знову.
+//
+// Файл індексу (<набір>.idx): довжина набору, яку покриває індекс (long), далі зміщення початку кожного рядка (long).
+// Якщо набір доповнено іншою програмою, індекс дочитується з місця, де він закінчився; якщо набір змінено
+// всередині (рядки, які покриває індекс, більше не закінчуються там, де вказано), індекс будується заново.
+public class SuiteBundle extends AbstractList<TestCase> implements RandomAccess, Closeable {
+    public static final String EXTENSION = ".jsonl"; // Розширення файлу набору
+    private static final String INDEX_EXTENSION = ".idx"; // Розширення файлу індексу
+
+    private final Path path; // Файл набору
+    private final FileChannel channel; // Канал для читання рядків за зміщенням (потокобезпечний)
+    private final long[] offsets; // Зміщення початку кожного тест-кейсу
+    private final long coveredLength; // Кінець останнього повного рядка
+    private final AtomicReferenceArray<SoftReference<TestCase>> parsed; // Розібрані тест-кейси за номером
+
+    private SuiteBundle(Path path, FileChannel channel, long[] offsets, long coveredLength) {
+        this.path = path;
+        this.channel = channel;
+        this.offsets = offsets;
+        this.coveredLength = coveredLength;
+        this.parsed = new AtomicReferenceArray<>(offsets.length);
+    }
+
+    // Відкриття набору: індекс читається з файлу або будується (дочитується), якщо він застарів
+    public static SuiteBundle open(Path bundle) throws IOException {
+        Path indexFile = indexPath(bundle);
+        long bundleSize = Files.size(bundle);
+
+        long[] offsets = new long[0];
+        long covered = 0;
+        if (Files.exists(indexFile)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+                long indexedLength = in.readLong();
+                int count = (int) ((Files.size(indexFile) - Long.BYTES) / Long.BYTES);
+                long[] stored = new long[count];
+                for (int i = 0; i < count; i++) {
+                    stored[i] = in.readLong();
+                }
+                // Індекс придатний, якщо набір не став коротшим, а останній проіндексований рядок і рядок
+                // перед ним закінчуються там, де вказано (файл доповнювали, а не перезаписували)
+                if (indexedLength <= bundleSize && endsLines(bundle, stored, indexedLength)) {
+                    offsets = stored;
+                    covered = indexedLength;
+                }
+            } catch (EOFException e) {
+                // Пошкоджений індекс будується заново
+            }
+        }
+
+        if (covered < bundleSize) {
+            IndexTail tail = scanLines(bundle, covered);
+            if (tail.offsets().length > 0 || tail.coveredLength() != covered) {
+                long[] merged = Arrays.copyOf(offsets, offsets.length + tail.offsets().length);
+                System.arraycopy(tail.offsets(), 0, merged, offsets.length, tail.offsets().length);
+                offsets = merged;
+                covered = tail.coveredLength();
+                writeIndex(indexFile, offsets, covered);
+            }
+        } else if (!Files.exists(indexFile)) {
+            writeIndex(indexFile, offsets, covered);
+        }
+
+        return new SuiteBundle(bundle, FileChannel.open(bundle, StandardOpenOption.READ), offsets, covered);
+    }
+
+    // Додавання тест-кейсу в кінець набору (файл створюється за потреби); індекс доповнюється
+    public static synchronized void append(Path bundle, TestCase testCase) throws IOException {
+        byte[] line = toLine(testCase);
+        if (bundle.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(bundle.toAbsolutePath().getParent());
+        }
+        Path indexFile = indexPath(bundle);
+        long offset;
+        if (!Files.exists(bundle)) {
+            Files.deleteIfExists(indexFile);
+            offset = 0;
+        } else if (readCoveredLength(indexFile) == Files.size(bundle)) {
+            offset = Files.size(bundle);
+        } else {
+            // Індекс застарів (набір змінено ззовні) — актуалізуємо його перед дописуванням
+            try (SuiteBundle existing = open(bundle)) {
+                offset = existing.coveredLength;
+            }
+        }
+        try (FileChannel out = FileChannel.open(bundle, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            out.truncate(Math.max(offset, 0)); // Незавершений рядок у кінці відкидається
+            out.position(offset);
+            writeFully(out, ByteBuffer.wrap(line));
+        }
+        appendToIndex(indexFile, offset, offset + line.length);
+    }
+
+    // Пакування всіх тест-кейсів (*.json) з папки в один набір
+    public static int pack(String testsDirectory, Path bundle) throws IOException {
+        List<TestCase> testCases = TestSuiteLoader.loadDirectory(testsDirectory);
+        long[] offsets = new long[testCases.size()];
+        long position = 0;
+        try (BufferedOutputStream out = new BufferedOutputStream(Files.newOutputStream(bundle))) {
+            for (int i = 0; i < testCases.size(); i++) {
+                byte[] line = toLine(testCases.get(i));
+                offsets[i] = position;
+                out.write(line);
+                position += line.length;
+            }
+        }
+        writeIndex(indexPath(bundle), offsets, position);
+        return testCases.size();
+    }
+
+    // Чи є файл набором тест-кейсів
+    public static boolean isBundle(Path file) {
+        return file.getFileName().toString().endsWith(EXTENSION);
+    }
+
+    // Тест-кейс за номером: під час першого звернення читається з диска і розбирається, далі береться
+    // вже розібраний (той самий об'єкт, тому кеш PreparedRequest знаходить його без порівняння рядків)
+    @Override
+    public TestCase get(int index) {
+        if (index < 0 || index >= offsets.length) {
+            throw new IndexOutOfBoundsException("Індекс " + index + ", тест-кейсів " + offsets.length);
+        }
+        SoftReference<TestCase> reference = parsed.get(index);
+        TestCase testCase = reference != null ? reference.get() : null;
+        if (testCase == null) {
+            // Кілька потоків можуть одночасно розібрати той самий рядок; зберігається будь-який результат
+            testCase = read(index);
+            parsed.set(index, new SoftReference<>(testCase));
+        }
+        return testCase;
+    }
+
+    // Читання і розбір рядка тест-кейсу з диска
+    private TestCase read(int index) {
+        long start = offsets[index];
+        long end = index + 1 < offsets.length ? offsets[index + 1] : coveredLength;
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    throw new EOFException("Набір " + path + " скорочено після відкриття");
+                }
+            }
+            int length = buffer.position();
+            byte[] bytes = buffer.array();
+            while (length > 0 && (bytes[length - 1] == '\n' || bytes[length - 1] == '\r')) {
+                length--;
+            }
+            return TestSuiteLoader.parseTestCase(bytes, 0, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Помилка читання тест-кейсу " + index + " з набору " + path, e);
+        }
+    }
+
+    @Override
+    public int size() {
+        return offsets.length;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Рядок JSON Lines для тест-кейсу (Jackson не вставляє переносів рядка в компактний JSON)
+    private static byte[] toLine(TestCase testCase) throws IOException {
+        byte[] json = TestSuiteLoader.getMapper().writeValueAsBytes(testCase);
+        byte[] line = Arrays.copyOf(json, json.length + 1);
+        line[json.length] = '\n';
+        return line;
+    }
+
+    private static Path indexPath(Path bundle) {
+        return bundle.resolveSibling(bundle.getFileName() + INDEX_EXTENSION);
+    }
+
+    // Зміщення непорожніх повних рядків, починаючи з позиції from
+    private record IndexTail(long[] offsets, long coveredLength) {
+    }
+
+    private static IndexTail scanLines(Path bundle, long from) throws IOException {
+        long[] offsets = new long[64];
+        int count = 0;
+        long covered = from;
+        try (FileChannel channel = FileChannel.open(bundle, StandardOpenOption.READ)) {
+            channel.position(from);
+            InputStream in = new BufferedInputStream(Channels.newInputStream(channel), 1 << 16);
+            long position = from;
+            long lineStart = from;
+            boolean hasContent = false;
+            int b;
+            while ((b = in.read()) >= 0) {
+                if (b == '\n') {
+                    if (hasContent) {
+                        if (count == offsets.length) {
+                            offsets = Arrays.copyOf(offsets, count * 2);
+                        }
+                        offsets[count++] = lineStart;
+                    }
+                    covered = position + 1;
+                    lineStart = position + 1;
+                    hasContent = false;
+                } else if (b != '\r' && b != ' ' && b != '\t') {
+                    hasContent = true;
+                }
+                position++;
+            }
+        }
+        return new IndexTail(Arrays.copyOf(offsets, count), covered);
+    }
+
+    // Довжина набору, яку покриває індекс, або -1, якщо індексу немає
+    private static long readCoveredLength(Path indexFile) throws IOException {
+        if (!Files.exists(indexFile) || Files.size(indexFile) < Long.BYTES) {
+            return -1;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(indexFile))) {
+            return in.readLong();
+        }
+    }
+
+    // Чи стоїть перенос рядка перед кінцем покритої частини та перед початком останнього рядка
+    private static boolean endsLines(Path bundle, long[] offsets, long coveredLength) throws IOException {
+        try (FileChannel channel = FileChannel.open(bundle, StandardOpenOption.READ)) {
+            return isLineEnd(channel, coveredLength - 1)
+                    && (offsets.length == 0 || isLineEnd(channel, offsets[offsets.length - 1] - 1));
+        }
+    }
+
+    // Чи є байт на позиції переносом рядка; позиція перед початком файлу вважається кінцем рядка
+    private static boolean isLineEnd(FileChannel channel, long position) throws IOException {
+        if (position < 0) {
+            return true;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        return channel.read(buffer, position) == 1 && buffer.get(0) == '\n';
+    }
+
+    private static void writeIndex(Path indexFile, long[] offsets, long coveredLength) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile)))) {
+            out.writeLong(coveredLength);
+            for (long offset : offsets) {
+                out.writeLong(offset);
+            }
+        }
+    }
+
+    // Дописування одного зміщення та оновлення довжини, яку покриває індекс
+    private static void appendToIndex(Path indexFile, long offset, long coveredLength) throws IOException {
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (index.size() < Long.BYTES) {
+                writeFully(index, ByteBuffer.allocate(Long.BYTES).putLong(0, 0));
+            }
+            index.position(index.size());
+            writeFully(index, ByteBuffer.allocate(Long.BYTES).putLong(0, offset));
+            index.position(0);
+            writeFully(index, ByteBuffer.allocate(Long.BYTES).putLong(0, coveredLength));
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
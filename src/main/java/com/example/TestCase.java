@@ -1,5 +1,9 @@
 package com.example;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
 // Клас-модель для тест-кейсу
 public record TestCase(
         String url, // URL запиту
@@ -7,7 +11,19 @@ public record TestCase(
         String headers, // Заголовки
         String params, // Параметри
         String body, // Тіло запиту
-        String expectedStatus // Очікуваний статус-код
+        String expectedStatus, // Очікуваний статус-код
+        @JsonInclude(JsonInclude.Include.NON_EMPTY)
+        List<Assertion> assertions, // Додаткові перевірки відповіді (порожній — лише статус-код)
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        DataSource data // Файл даних для плейсхолдерів ${колонка} (null — запит завжди однаковий)
 ) {
-    // Методи геттерів генеруються автоматично
-}
\ No newline at end of file
+    public TestCase {
+        assertions = assertions == null ? List.of() : List.copyOf(assertions);
+    }
+
+    // Тест-кейс без додаткових перевірок і без файлу даних
+    public static TestCase of(String url, String method, String headers, String params, String body,
+                              String expectedStatus) {
+        return new TestCase(url, method, headers, params, body, expectedStatus, List.of(), null);
+    }
+}
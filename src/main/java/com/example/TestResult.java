@@ -3,10 +3,47 @@ package com.example;
 // Клас для збереження результатів тесту
 public record TestResult(
         String result, // Текстовий результат тесту
-        long timeTaken, // Час виконання (мс)
+        long timeTaken, // Час виконання (мс), для відкритої моделі — від запланованого моменту відправлення
         long responseSize, // Розмір відповіді (байти)
         int statusCode, // Статус-код відповіді
-        int headerCount // Кількість заголовків у відповіді
+        int headerCount, // Кількість заголовків у відповіді
+        long scheduleDelayMicros, // Запізнення відправлення відносно розкладу (мкс), 0 для закритої моделі
+        RequestTiming timing, // Тривалість фаз запиту (наносекунди)
+        boolean passed, // Чи пройшов тест (статус-код збігся з очікуваним)
+        String bodyPrefix, // Початок тіла відповіді (обмежена кількість байтів), "" якщо тіла немає
+        int loadStage, // Номер етапу профілю навантаження (з 1), 0 — запуск без профілю
+        int activeUsers // Кількість віртуальних користувачів у момент відправлення (0 — запуск без профілю)
 ) {
-    // Методи геттерів генеруються автоматично
-}
\ No newline at end of file
+    // Результат отриманої відповіді; запізнення від розкладу та етап профілю додаються через with...
+    public static TestResult of(String result, long timeTaken, long responseSize, int statusCode, int headerCount,
+                                RequestTiming timing, boolean passed, String bodyPrefix) {
+        return new TestResult(result, timeTaken, responseSize, statusCode, headerCount, 0, timing, passed, bodyPrefix,
+                0, 0);
+    }
+
+    // Невдалий результат без відповіді (помилка з'єднання, некоректний тест-кейс тощо): статус 0, без фаз
+    public static TestResult failure(String result, long timeTaken) {
+        return of(result, timeTaken, 0, 0, 0, RequestTiming.NONE, false, "");
+    }
+
+    // Копія результату з урахуванням запізнення (мкс): час рахується від моменту, коли запит мав бути надісланий.
+    // Запізнення зберігається без округлення, до мілісекунд воно переводиться лише в timeTaken
+    public TestResult withScheduleDelay(long delayMicros) {
+        return new TestResult(result, timeTaken + delayMicros / 1000, responseSize, statusCode, headerCount, delayMicros,
+                timing, passed, bodyPrefix, loadStage, activeUsers);
+    }
+
+    // Копія результату з позначкою етапу профілю навантаження та кількості користувачів
+    public TestResult withLoadStage(int stage, int users) {
+        return new TestResult(result, timeTaken, responseSize, statusCode, headerCount, scheduleDelayMicros, timing, passed,
+                bodyPrefix, stage, users);
+    }
+
+    // Час виконання в мікросекундах: з виміру фаз, якщо він є, інакше з мілісекунд
+    public long latencyMicros() {
+        if (timing.isMeasured()) {
+            return timing.totalNanos() / 1000 + scheduleDelayMicros;
+        }
+        return timeTaken * 1000;
+    }
+}
@@ -1,120 +1,140 @@
 package com.example;
 
-import io.restassured.RestAssured;
-import io.restassured.response.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 // Клас для виконання HTTP-запитів
 public class TestRunner {
     // Логгер для інформації та помилок
     private static final Logger logger = LoggerFactory.getLogger(TestRunner.class);
 
-    // Метод для виконання одного тесту
+    // Метод для виконання одного тесту через транспорт за замовчуванням (RestAssured)
     public static TestResult runTest(TestCase testCase, String apiKey) {
+        return runTest(testCase, apiKey, TransportType.REST_ASSURED.getTransport());
+    }
+
+    // Метод для виконання одного тесту через вибраний транспорт
+    public static TestResult runTest(TestCase testCase, String apiKey, HttpTransport transport) {
+        return runTest(testCase, RunOptions.of(apiKey, transport));
+    }
+
+    // Метод для виконання одного тесту з заданими налаштуваннями
+    public static TestResult runTest(TestCase testCase, RunOptions options) {
+        return runTest(testCase, null, options, null);
+    }
+
+    // Виконання кроку сценарію: плейсхолдери ${змінна} заповнюються зі змінних віртуального користувача,
+    // а значення, отримані з відповіді (checks), записуються у ці ж змінні
+    public static TestResult runStep(TestCase testCase, ResponseAssertions checks, RunOptions options,
+                                     Map<String, String> variables) {
+        return runTest(testCase, checks, options, variables);
+    }
+
+    // Виконання запиту; checks — перевірки замість перевірок тест-кейсу (null — перевірки тест-кейсу)
+    private static TestResult runTest(TestCase testCase, ResponseAssertions checks, RunOptions options,
+                                      Map<String, String> variables) {
+        long startTime = System.nanoTime(); // Початок запиту (для часу невдалих запитів без виміру фаз)
         try {
-            // Налаштування заголовків
-            Map<String, String> headers = new HashMap<>();
-            if (!testCase.headers().isEmpty()) {
-                for (String header : testCase.headers().split(";")) {
-                    String[] parts = header.split(":");
-                    headers.put(parts[0].trim(), parts[1].trim());
-                }
+            // Підготовлений запит береться з кешу, тому рядки тест-кейсу розбираються лише один раз
+            if (HttpMethod.parse(testCase.method()) == null) {
+                return TestResult.failure("Невідомий метод!", 0);
             }
-
-            // Налаштування параметрів
-            Map<String, String> params = new HashMap<>();
-            if (!testCase.params().isEmpty()) {
-                for (String param : testCase.params().split("&")) {
-                    String[] parts = param.split("=");
-                    params.put(parts[0].trim(), parts[1].trim());
+            // Рядок файлу даних береться для кожного запиту; змінні сценарію мають пріоритет над колонками
+            Map<String, String> row = null;
+            if (testCase.data() != null) {
+                DataFeeder feeder = options.dataFeeders().get(testCase.data());
+                row = feeder.next();
+                if (row == null) {
+                    return TestResult.failure("Помилка: рядки файлу даних " + testCase.data().file() + " закінчилися ("
+                            + feeder.getRowCount() + ")", 0);
                 }
             }
-
-            // Додаємо API Key до параметрів, якщо він введений
-            if (apiKey != null && !apiKey.trim().isEmpty()) {
-                params.put("appid", apiKey); // Для OpenWeatherMap використовується параметр "appid"
-                logger.info("Додано API Key до запиту: appid={}", maskApiKey(apiKey));
-            }
+            PreparedRequest request = PreparedRequest.of(testCase, options.apiKey()).resolve(lookup(variables, row));
+            ResponseAssertions assertions = checks != null ? checks : request.assertions();
 
             // Виконання запиту
-            Response response;
-            long startTime = System.currentTimeMillis();
-            switch (testCase.method().toUpperCase()) {
-                case "GET":
-                    response = RestAssured.given()
-                            .headers(headers)
-                            .params(params)
-                            .get(testCase.url());
-                    break;
-                case "POST":
-                    response = RestAssured.given()
-                            .headers(headers)
-                            .params(params)
-                            .body(testCase.body())
-                            .post(testCase.url());
-                    break;
-                case "PUT":
-                    response = RestAssured.given()
-                            .headers(headers)
-                            .params(params)
-                            .body(testCase.body())
-                            .put(testCase.url());
-                    break;
-                case "DELETE":
-                    response = RestAssured.given()
-                            .headers(headers)
-                            .params(params)
-                            .delete(testCase.url());
-                    break;
-                default:
-                    return new TestResult("Невідомий метод!", 0, 0, 0, 0);
-            }
-            long timeTaken = System.currentTimeMillis() - startTime;
-            long responseSize = response.getBody().asByteArray().length; // Розмір відповіді в байтах
-            int statusCode = response.getStatusCode(); // Статус-код
-            int headerCount = response.getHeaders().size(); // Кількість заголовків
+            ResponseBodyConsumer body = options.newBodyConsumer(assertions);
+            TransportResponse response = options.transport().execute(request, body, options.requestTimeoutMillis());
+            RequestTiming timing = response.timing(); // Тривалість фаз запиту
+            long timeTaken = timing.totalNanos() / 1_000_000;
+            long responseSize = body.getSize(); // Розмір відповіді в байтах
+            int statusCode = response.statusCode(); // Статус-код
+            int headerCount = response.headerCount(); // Кількість заголовків
+            String bodyPrefix = body.getPrefixText(); // Початок тіла відповіді
 
             // Перевірка помилок автентифікації
             if (statusCode == 401) {
                 String errorMessage = "Помилка автентифікації: статус 401 Unauthorized. Перевірте API Key.";
                 logger.error(errorMessage);
-                return new TestResult(errorMessage, timeTaken, responseSize, statusCode, headerCount);
+                return TestResult.of(errorMessage, timeTaken, responseSize, statusCode, headerCount, timing, false,
+                        bodyPrefix);
             } else if (statusCode == 403) {
                 String errorMessage = "Помилка автентифікації: статус 403 Forbidden. Доступ заборонено.";
                 logger.error(errorMessage);
-                return new TestResult(errorMessage, timeTaken, responseSize, statusCode, headerCount);
+                return TestResult.of(errorMessage, timeTaken, responseSize, statusCode, headerCount, timing, false,
+                        bodyPrefix);
             }
 
             // Формування результату
             String result = String.format(
-                    "Статус: %d\nЧас: %dмс\nТіло відповіді: %s",
-                    statusCode, timeTaken, response.getBody().asString()
+                    "Статус: %d\nЧас: %dмс\n%s\nТіло відповіді: %s%s",
+                    statusCode, timeTaken, timing.describe(), bodyPrefix,
+                    body.isTruncated() ? " [Скорочено]" : ""
             );
-            logger.info("Результат тесту: {}", result);
+            if (body.getHash() != null) {
+                result += "\nХеш тіла (CRC32C): " + body.getHash();
+            }
 
-            // Перевірка статус-коду
-            if (String.valueOf(statusCode).equals(testCase.expectedStatus())) {
+            // Перевірка статус-коду і додаткових перевірок тест-кейсу
+            boolean passed = String.valueOf(statusCode).equals(testCase.expectedStatus());
+            List<String> failures = assertions.evaluate(response, body, timeTaken, variables);
+            if (!failures.isEmpty()) {
+                passed = false;
+                result += "\nПеревірки не пройшли:\n  " + String.join("\n  ", failures);
+            }
+            if (passed) {
                 result += "\nТест пройшов успішно!";
             } else {
                 result += "\nТест провалився!";
             }
-            return new TestResult(result, timeTaken, responseSize, statusCode, headerCount);
+            return TestResult.of(result, timeTaken, responseSize, statusCode, headerCount, timing, passed, bodyPrefix);
         } catch (Exception e) {
             // Обробка помилок
             logger.error("Помилка при виконанні тесту: {}", e.getMessage());
-            return new TestResult("Помилка: " + e.getMessage(), 0, 0, 0, 0);
+            // Сервер прийняв з'єднання, але не відповідає: запит перервано, віртуальний користувач вільний
+            String message = isResponseTimeout(e)
+                    ? String.format("Помилка: тайм-аут, сервер не відповідав %d мс", options.requestTimeoutMillis())
+                    : "Помилка: " + e.getMessage();
+            // Записується реальний час до помилки: інакше відмови з'єднання й тайм-аути потрапляли б у гістограму
+            // як миттєві запити і знижували перцентилі саме тоді, коли сервіс деградує
+            return TestResult.failure(message, (System.nanoTime() - startTime) / 1_000_000);
         }
     }
 
-    // Метод для маскування API Key у логах
-    private static String maskApiKey(String apiKey) {
-        if (apiKey == null || apiKey.length() < 8) {
-            return "****";
+    // Чи перервано запит через тайм-аут очікування відповіді (а не встановлення з'єднання)
+    private static boolean isResponseTimeout(Exception e) {
+        return e instanceof SocketTimeoutException
+                || e instanceof HttpTimeoutException && !(e instanceof HttpConnectTimeoutException);
+    }
+
+    // Пошук значення плейсхолдера: спочатку у змінних, потім у рядку файлу даних
+    private static Function<String, String> lookup(Map<String, String> variables, Map<String, String> row) {
+        if (row == null) {
+            return variables != null ? variables::get : name -> null;
+        }
+        if (variables == null) {
+            return row::get;
         }
-        return apiKey.substring(0, 4) + "****" + apiKey.substring(apiKey.length() - 4);
+        return name -> {
+            String value = variables.get(name);
+            return value != null ? value : row.get(name);
+        };
     }
 }
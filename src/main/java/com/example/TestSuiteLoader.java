@@ -0,0 +1,129 @@
+package com.example;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Клас для швидкого завантаження тест-кейсів: файли розбираються паралельно,
+// а вже розібрані файли, які не змінювалися, беруться з кешу
+public class TestSuiteLoader {
+    // Спільний ObjectMapper: створення дороге, а після налаштування він потокобезпечний
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectReader TEST_CASE_READER = MAPPER.readerFor(TestCase.class);
+
+    // Кеш розібраних файлів: файл перечитується лише при зміні часу модифікації або розміру
+    private static final Map<Path, CachedTestCase> CACHE = new ConcurrentHashMap<>();
+
+    private record CachedTestCase(FileTime modified, long size, TestCase testCase) {
+    }
+
+    // Спільний ObjectMapper для запису та читання тест-кейсів
+    public static ObjectMapper getMapper() {
+        return MAPPER;
+    }
+
+    // Завантаження всіх тест-кейсів (*.json) із папки в порядку імен файлів
+    public static List<TestCase> loadDirectory(String testsDirectory) {
+        Path directory = Path.of(testsDirectory).toAbsolutePath().normalize();
+
+        // Перевірка: чи існує папка і чи є вона папкою
+        if (!Files.isDirectory(directory)) {
+            System.err.println("Папка для тестів не існує або не є папкою: " + testsDirectory);
+            return new ArrayList<>(); // Повертаємо порожній список
+        }
+
+        // Перевірка: чи є права на читання папки
+        if (!Files.isReadable(directory)) {
+            System.err.println("Немає прав на читання папки для тестів: " + testsDirectory);
+            return new ArrayList<>(); // Повертаємо порожній список
+        }
+
+        List<Path> files;
+        try {
+            files = listFiles(directory);
+        } catch (IOException e) {
+            System.err.println("Помилка при читанні папки для тестів " + testsDirectory + ": " + e.getMessage());
+            return new ArrayList<>();
+        }
+
+        // Паралельний розбір зі збереженням порядку файлів
+        return loadFiles(files).stream()
+                .filter(Objects::nonNull)
+                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+    }
+
+    // Файли тест-кейсів (*.json) папки в порядку імен; з кешу видаляються файли цієї папки, яких більше немає
+    public static List<Path> listFiles(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.json")) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        files.sort(null);
+
+        Set<Path> present = new HashSet<>(files);
+        CACHE.keySet().removeIf(path -> directory.equals(path.getParent()) && !present.contains(path));
+        return files;
+    }
+
+    // Паралельне завантаження файлів (з кешем) у тому ж порядку; на місці файлів, які не вдалося
+    // прочитати, — null (помилки виводяться)
+    public static List<TestCase> loadFiles(List<Path> files) {
+        return files.parallelStream()
+                .map(TestSuiteLoader::loadCached)
+                .toList();
+    }
+
+    // Завантаження одного тест-кейсу з файлу (з використанням кешу)
+    public static TestCase loadFile(Path file) throws IOException {
+        Path path = file.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        CachedTestCase cached = CACHE.get(path);
+        if (cached != null && cached.modified().equals(attributes.lastModifiedTime()) && cached.size() == attributes.size()) {
+            return cached.testCase();
+        }
+        TestCase testCase = TEST_CASE_READER.readValue(Files.readAllBytes(path));
+        CACHE.put(path, new CachedTestCase(attributes.lastModifiedTime(), attributes.size(), testCase));
+        return testCase;
+    }
+
+    // Розбір тест-кейсу з фрагмента байтів (рядок набору JSON Lines)
+    static TestCase parseTestCase(byte[] bytes, int offset, int length) throws IOException {
+        return TEST_CASE_READER.readValue(bytes, offset, length);
+    }
+
+    // Очищення кешу розібраних файлів (наступне завантаження розбере всі файли заново)
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    // Завантаження файлу для списку тестів: помилки виводяться, а файл пропускається
+    private static TestCase loadCached(Path file) {
+        // Перевірка: чи є права на читання файлу
+        if (!Files.isReadable(file)) {
+            System.err.println("Немає прав на читання файлу: " + file);
+            return null;
+        }
+        try {
+            return loadFile(file);
+        } catch (IOException e) {
+            CACHE.remove(file);
+            System.err.println("Помилка при завантаженні тесту з файлу " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Спостереження за папкою з тест-кейсами: створені, змінені та видалені файли *.json
+// застосовуються до набору в пам'яті без повторного сканування всієї папки
+public class TestSuiteWatcher implements Closeable {
+    // Логгер для інформації та помилок
+    private static final Logger logger = LoggerFactory.getLogger(TestSuiteWatcher.class);
+    // Затримка для об'єднання подій: редактори часто записують файл у кілька кроків
+    private static final long DEBOUNCE_MILLIS = 100;
+
+    private final Path directory; // Папка, за якою ведеться спостереження
+    private final WatchService watchService; // Служба сповіщень файлової системи
+    private final ConcurrentSkipListMap<Path, TestCase> testCases = new ConcurrentSkipListMap<>(); // Тест-кейси за файлами
+    private final Runnable onChange; // Викликається після кожної зміни набору (може бути null)
+    private volatile List<TestCase> snapshot = List.of(); // Поточний набір у порядку імен файлів
+    private final Thread thread; // Потік спостереження
+
+    private TestSuiteWatcher(Path directory, Runnable onChange) throws IOException {
+        this.directory = directory;
+        this.onChange = onChange;
+        this.watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        rescan();
+        this.thread = new Thread(this::watch, "tests-watcher");
+        this.thread.setDaemon(true);
+    }
+
+    // Запуск спостереження за папкою; набір завантажується одразу
+    public static TestSuiteWatcher start(String testsDirectory, Runnable onChange) throws IOException {
+        Path directory = Path.of(testsDirectory).toAbsolutePath().normalize();
+        if (!Files.isDirectory(directory)) {
+            throw new IOException("Папка для тестів не існує або не є папкою: " + testsDirectory);
+        }
+        TestSuiteWatcher watcher = new TestSuiteWatcher(directory, onChange);
+        watcher.thread.start();
+        logger.info("Спостереження за папкою {}: {} тест-кейсів", directory, watcher.snapshot.size());
+        return watcher;
+    }
+
+    // Поточний набір тест-кейсів (незмінний список)
+    public List<TestCase> getTestCases() {
+        return snapshot;
+    }
+
+    // Поточна версія тест-кейсу з файлу або null, якщо файлу немає
+    public TestCase getTestCase(Path file) {
+        return testCases.get(file.toAbsolutePath().normalize());
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // Зупинка спостереження
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    // Основний цикл: обробка подій, доки службу не закрито
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Thread.sleep(DEBOUNCE_MILLIS);
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // Частину подій втрачено — звіряємо набір з папкою повністю
+                        try {
+                            rescan();
+                            changed = true;
+                        } catch (IOException e) {
+                            logger.warn("Не вдалося перечитати папку {}: {}", directory, e.getMessage());
+                        }
+                        continue;
+                    }
+                    Path file = directory.resolve((Path) event.context());
+                    if (!file.getFileName().toString().endsWith(".json")) {
+                        continue;
+                    }
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                        changed |= testCases.remove(file) != null;
+                    } else {
+                        changed |= reload(file);
+                    }
+                }
+                if (changed) {
+                    publish();
+                }
+                if (!key.reset()) {
+                    logger.warn("Папка {} більше недоступна, спостереження зупинено", directory);
+                    return;
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Спостереження зупинено
+        }
+    }
+
+    // Повторне читання змінених файлів; якщо файл записано не до кінця, лишається попередня версія
+    private boolean reload(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return testCases.remove(file) != null;
+        }
+        try {
+            TestCase testCase = TestSuiteLoader.loadFile(file);
+            return !testCase.equals(testCases.put(file, testCase));
+        } catch (IOException e) {
+            logger.warn("Не вдалося прочитати тест-кейс {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    // Звірка набору з вмістом папки: файли розбираються паралельно, незмінені беруться з кешу завантажувача;
+    // файл, який не вдалося прочитати, лишається в попередній версії
+    private void rescan() throws IOException {
+        List<Path> files = TestSuiteLoader.listFiles(directory);
+        List<TestCase> loaded = TestSuiteLoader.loadFiles(files);
+        for (int i = 0; i < files.size(); i++) {
+            if (loaded.get(i) != null) {
+                testCases.put(files.get(i), loaded.get(i));
+            }
+        }
+        testCases.keySet().retainAll(new HashSet<>(files));
+        snapshot = List.copyOf(testCases.values());
+    }
+
+    // Оновлення знімка та сповіщення слухача
+    private void publish() {
+        snapshot = List.copyOf(testCases.values());
+        logger.info("Набір тест-кейсів у {} оновлено: {} тест-кейсів", directory, snapshot.size());
+        if (onChange != null) {
+            onChange.run();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example;
+
+// Клас-модель для відповіді, отриманої транспортом (тіло обробляє ResponseBodyConsumer)
+public record TransportResponse(
+        int statusCode, // Статус-код відповіді
+        int headerCount, // Кількість заголовків у відповіді
+        RequestTiming timing, // Тривалість фаз запиту
+        Headers headers // Доступ до заголовків відповіді
+) {
+    // Заголовки відповіді без копіювання: значення читається з відповіді транспорту лише для перевірок
+    public interface Headers {
+        Headers NONE = name -> null;
+
+        // Перше значення заголовка без урахування регістру назви (null — заголовка немає)
+        String get(String name);
+    }
+
+    // Відповідь без доступу до заголовків
+    public TransportResponse(int statusCode, int headerCount, RequestTiming timing) {
+        this(statusCode, headerCount, timing, Headers.NONE);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example;
+
+import java.net.http.HttpClient;
+
+// Доступні транспорти; вибираються для кожного запуску окремо
+public enum TransportType {
+    REST_ASSURED("RestAssured"),
+    HTTP_CLIENT_1_1("HttpClient (HTTP/1.1)"),
+    HTTP_CLIENT_2("HttpClient (HTTP/2)");
+
+    private final String displayName; // Назва для відображення у списку
+
+    TransportType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    // Спільний екземпляр транспорту (створюється під час першого звернення)
+    public HttpTransport getTransport() {
+        return switch (this) {
+            case REST_ASSURED -> RestAssuredHolder.TRANSPORT;
+            case HTTP_CLIENT_1_1 -> Http11Holder.TRANSPORT;
+            case HTTP_CLIENT_2 -> Http2Holder.TRANSPORT;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+
+    // Ліниве створення транспортів: клієнт і пул з'єднань створюються лише для того транспорту, який використовується
+    private static class RestAssuredHolder {
+        private static final HttpTransport TRANSPORT = new RestAssuredTransport();
+    }
+
+    private static class Http11Holder {
+        private static final HttpTransport TRANSPORT = new HttpClientTransport(HttpClient.Version.HTTP_1_1);
+    }
+
+    private static class Http2Holder {
+        private static final HttpTransport TRANSPORT = new HttpClientTransport(HttpClient.Version.HTTP_2);
+    }
+}
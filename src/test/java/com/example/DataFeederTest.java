@@ -0,0 +1,133 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Джерело даних для параметризації: розбір CSV, індекс рядків, стратегії та спільний курсор запуску
+class DataFeederTest {
+    @TempDir
+    Path directory;
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content);
+    }
+
+    private static DataFeeder feeder(Path file, String strategy) {
+        return DataFeeder.of(new DataSource(file.toString(), strategy));
+    }
+
+    @Test
+    void parsesQuotedCsvFields() {
+        assertEquals(List.of("a", "b,c", "d \"e\"", ""), DataFeeder.parseCsvLine("a,\"b,c\",\"d \"\"e\"\"\","));
+        assertEquals(List.of("", ""), DataFeeder.parseCsvLine(","));
+        assertEquals(List.of(""), DataFeeder.parseCsvLine(""));
+        assertEquals(List.of(" пробіл ", "x"), DataFeeder.parseCsvLine(" пробіл ,x"));
+        // Позначка порядку байтів на початку першого рядка не входить до назви колонки
+        assertEquals(List.of("login", "password"), DataFeeder.parseCsvLine("\uFEFFlogin,password"));
+    }
+
+    @Test
+    void indexesCrlfFileSkippingBlankLines() throws IOException {
+        Path file = write("users.csv", "\uFEFFlogin, password\r\n\r\nadmin,\"p,1\"\r\n   \r\nguest,\"say \"\"hi\"\"\"\r\nlast,3");
+        DataFeeder feeder = feeder(file, DataSource.SEQUENTIAL);
+        assertEquals(3, feeder.getRowCount());
+        assertEquals(Map.of("login", "admin", "password", "p,1"), feeder.row(0));
+        assertEquals(Map.of("login", "guest", "password", "say \"hi\""), feeder.row(1));
+        // Останній рядок без переносу
+        assertEquals(Map.of("login", "last", "password", "3"), feeder.row(2));
+        assertTrue(Files.exists(directory.resolve("users.csv.rows")));
+    }
+
+    @Test
+    void sequentialRowsRunOut() throws IOException {
+        Path file = write("ids.csv", "id\n1\n2\n");
+        DataFeeder feeder = feeder(file, DataSource.SEQUENTIAL);
+        assertEquals("1", feeder.next().get("id"));
+        assertEquals("2", feeder.next().get("id"));
+        assertNull(feeder.next());
+        assertNull(feeder.next());
+    }
+
+    @Test
+    void circularRowsWrapAround() throws IOException {
+        Path file = write("ids.csv", "id\n1\n2\n3\n");
+        DataFeeder feeder = feeder(file, null);
+        StringBuilder order = new StringBuilder();
+        for (int i = 0; i < 7; i++) {
+            order.append(feeder.next().get("id"));
+        }
+        assertEquals("1231231", order.toString());
+    }
+
+    @Test
+    void randomRowsStayInFile() throws IOException {
+        Path file = write("ids.csv", "id\n1\n2\n3\n");
+        DataFeeder feeder = feeder(file, "RANDOM");
+        for (int i = 0; i < 50; i++) {
+            assertTrue(List.of("1", "2", "3").contains(feeder.next().get("id")));
+        }
+    }
+
+    @Test
+    void readsJsonLinesRows() throws IOException {
+        Path file = write("users.jsonl", "{\"login\":\"admin\",\"age\":42,\"roles\":[\"a\",\"b\"]}\n\n{\"login\":\"guest\"}\n");
+        DataFeeder feeder = feeder(file, DataSource.SEQUENTIAL);
+        assertEquals(2, feeder.getRowCount());
+        assertEquals(Map.of("login", "admin", "age", "42", "roles", "[\"a\",\"b\"]"), feeder.row(0));
+        assertEquals(Map.of("login", "guest"), feeder.row(1));
+
+        Path invalid = write("invalid.jsonl", "[1,2]\n");
+        assertThrows(IllegalArgumentException.class, () -> feeder(invalid, null).row(0));
+    }
+
+    @Test
+    void rejectsEmptyFilesAndUnknownStrategies() throws IOException {
+        Path header = write("header.csv", "id\n");
+        assertThrows(IllegalArgumentException.class, () -> feeder(header, null));
+        assertThrows(IllegalArgumentException.class, () -> feeder(write("ids.csv", "id\n1\n"), "shuffle"));
+        assertThrows(IllegalArgumentException.class, () -> DataFeeder.of(new DataSource(" ", null)));
+    }
+
+    @Test
+    void rebuildsIndexAfterFileChange() throws IOException {
+        Path file = write("ids.csv", "id\n1\n2\n");
+        assertEquals(2, feeder(file, null).getRowCount());
+        Files.writeString(file, "id\n10\n20\n30\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2_000));
+        DataFeeder feeder = feeder(file, DataSource.SEQUENTIAL);
+        assertEquals(3, feeder.getRowCount());
+        assertEquals("30", feeder.row(2).get("id"));
+    }
+
+    @Test
+    void registrySharesCursorWithinRun() throws IOException {
+        Path file = write("ids.csv", "id\n1\n2\n3\n");
+        DataFeeder.Registry run = new DataFeeder.Registry();
+        // Той самий файл, записаний інакше, і стратегія за замовчуванням — одне джерело
+        DataFeeder first = run.get(new DataSource(file.toString(), null));
+        DataFeeder second = run.get(new DataSource(directory.resolve(".").resolve("ids.csv").toString(), " Circular "));
+        assertSame(first, second);
+        assertEquals("1", first.next().get("id"));
+        assertEquals("2", second.next().get("id"));
+        assertNotSame(first, run.get(new DataSource(file.toString(), DataSource.SEQUENTIAL)));
+
+        // Новий запуск починає файл спочатку
+        DataFeeder next = new DataFeeder.Registry().get(new DataSource(file.toString(), null));
+        assertNotSame(first, next);
+        assertEquals("1", next.next().get("id"));
+    }
+}
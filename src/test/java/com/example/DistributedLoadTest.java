@@ -0,0 +1,104 @@
+package com.example;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Розподілене навантаження в одному процесі: координатор і два виконавці на loopback-інтерфейсі
+// надсилають запити серверу-заглушці; зведені показники мають дорівнювати сумі показників виконавців
+class DistributedLoadTest {
+    private StubServer stub;
+    private final List<ServerSocket> workerSockets = new ArrayList<>();
+    private final List<InetSocketAddress> workers = new ArrayList<>();
+
+    @BeforeEach
+    void startWorkers() throws IOException {
+        stub = StubServer.start(0, List.of(
+                new StubServer.Route("/fail", "*", 500, 0, 0, 16, false, 0, 0, null),
+                StubServer.Route.defaults()));
+        for (int i = 0; i < 2; i++) {
+            ServerSocket socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            workerSockets.add(socket);
+            workers.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), socket.getLocalPort()));
+            Thread.ofVirtual().start(() -> LoadWorker.serve(socket));
+        }
+    }
+
+    @AfterEach
+    void stopWorkers() throws IOException {
+        for (ServerSocket socket : workerSockets) {
+            socket.close();
+        }
+        stub.close();
+    }
+
+    private DistributedJob job(int virtualUsers, int iterations, long durationMillis, double rate) {
+        List<TestCase> testCases = List.of(
+                TestCase.of(stub.getBaseUrl() + "/ok", "GET", "", "", "", "200"),
+                TestCase.of(stub.getBaseUrl() + "/fail", "GET", "", "", "", "200"));
+        return new DistributedJob(testCases, TransportType.HTTP_CLIENT_1_1, "", 0, false, virtualUsers, iterations,
+                durationMillis, rate, List.of(), 100, 5000);
+    }
+
+    // Запуск і очікування завершення; перевіряє, що виконавці завершили завдання без помилок
+    private List<LoadCoordinator.WorkerStatus> runToEnd(LoadCoordinator coordinator) throws InterruptedException {
+        assertTrue(coordinator.awaitFinished(30_000), "виконавці не завершили завдання");
+        List<LoadCoordinator.WorkerStatus> statuses = coordinator.getWorkers();
+        assertEquals(2, statuses.size());
+        for (LoadCoordinator.WorkerStatus status : statuses) {
+            assertNull(status.error(), status.address());
+            assertTrue(status.finished(), status.address());
+            assertTrue(status.completed() > 0, status.address());
+        }
+        assertFalse(coordinator.hasErrors());
+        return statuses;
+    }
+
+    @Test
+    void mergesCountsOfClosedModelWorkers() throws Exception {
+        // 4 користувачі і 10 запусків кожного тест-кейсу діляться між виконавцями порівну
+        try (LoadCoordinator coordinator = LoadCoordinator.start(workers, job(4, 10, 0, 0))) {
+            List<LoadCoordinator.WorkerStatus> statuses = runToEnd(coordinator);
+
+            for (LoadCoordinator.WorkerStatus status : statuses) {
+                assertEquals(10, status.completed(), status.address()); // 5 запусків × 2 тест-кейси
+                assertEquals(5, status.failed(), status.address());
+                assertEquals(10, status.histogram().getTotalCount(), status.address());
+            }
+            assertEquals(20, coordinator.getCompleted());
+            assertEquals(10, coordinator.getFailed());
+            assertEquals(20, coordinator.getTotalHistogram().getTotalCount());
+            assertEquals(20, stub.getRequestCount());
+        }
+    }
+
+    @Test
+    void mergesCountsOfOpenModelWorkers() throws Exception {
+        // Кількість запитів за відкритою моделлю залежить від часу, тому перевіряється лише зведення
+        try (LoadCoordinator coordinator = LoadCoordinator.start(workers, job(1, 0, 1000, 40))) {
+            List<LoadCoordinator.WorkerStatus> statuses = runToEnd(coordinator);
+
+            long completed = statuses.stream().mapToLong(LoadCoordinator.WorkerStatus::completed).sum();
+            long failed = statuses.stream().mapToLong(LoadCoordinator.WorkerStatus::failed).sum();
+            long recorded = statuses.stream().mapToLong(status -> status.histogram().getTotalCount()).sum();
+            assertEquals(completed, coordinator.getCompleted());
+            assertEquals(failed, coordinator.getFailed());
+            assertEquals(completed, recorded);
+            assertEquals(completed, coordinator.getTotalHistogram().getTotalCount());
+            assertEquals(completed, stub.getRequestCount());
+            assertTrue(failed > 0 && failed < completed, "failed=" + failed + ", completed=" + completed);
+        }
+    }
+}
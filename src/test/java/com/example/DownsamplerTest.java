@@ -0,0 +1,109 @@
+package com.example;
+
+import javafx.scene.chart.XYChart;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Зменшення кількості точок графіка: LTTB і ряд, що оновлюється лише новими точками
+class DownsamplerTest {
+
+    private static long[] range(int count) {
+        long[] x = new long[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = i + 1;
+        }
+        return x;
+    }
+
+    private static double[] noise(int count) {
+        double[] y = new double[count];
+        for (int i = 0; i < count; i++) {
+            y[i] = 100 + (i * 37 % 11);
+        }
+        return y;
+    }
+
+    @Test
+    void keepsAllPointsWithinThreshold() {
+        assertArrayEquals(new int[]{0, 1, 2, 3}, Downsampler.lttb(range(4), noise(4), 4, 10));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, Downsampler.lttb(range(4), noise(4), 4, 2));
+        assertArrayEquals(new int[0], Downsampler.lttb(new long[0], new double[0], 0, 10));
+    }
+
+    @Test
+    void keepsEndpointsAndOrder() {
+        int count = 1_000;
+        for (int threshold : new int[]{3, 10, 99, 500, 999}) {
+            int[] indexes = Downsampler.lttb(range(count), noise(count), count, threshold);
+            assertEquals(threshold, indexes.length);
+            assertEquals(0, indexes[0]);
+            assertEquals(count - 1, indexes[threshold - 1]);
+            for (int i = 1; i < indexes.length; i++) {
+                assertTrue(indexes[i] > indexes[i - 1], "індекси мають зростати: " + threshold);
+            }
+        }
+    }
+
+    @Test
+    void keepsSpike() {
+        int count = 1_000;
+        double[] y = noise(count);
+        y[437] = 10_000;
+        int[] indexes = Downsampler.lttb(range(count), y, count, 20);
+        assertTrue(contains(indexes, 437), "пік має залишитися на графіку");
+    }
+
+    @Test
+    void seriesStaysWithinBudgetAndKeepsSpike() {
+        DownsampledSeries series = new DownsampledSeries("Час");
+        int budget = 100;
+        int total = 5_000;
+        long[] x = range(total);
+        double[] y = noise(total);
+        y[3_210] = 10_000;
+        // Точки надходять порціями різного розміру, як під час запуску
+        int sent = 0;
+        for (int chunk = 1; sent < total; chunk = chunk * 3 % 97 + 1) {
+            int count = Math.min(chunk, total - sent);
+            series.update(Arrays.copyOfRange(x, sent, sent + count),
+                    Arrays.copyOfRange(y, sent, sent + count), count, 1, budget);
+            sent += count;
+            assertTrue(series.getSeries().getData().size() <= budget + 4,
+                    "точок " + series.getSeries().getData().size() + " після " + sent);
+        }
+        List<XYChart.Data<Number, Number>> data = series.getSeries().getData();
+        assertEquals(1L, data.get(0).getXValue().longValue());
+        assertTrue(data.stream().anyMatch(point -> point.getYValue().doubleValue() == 10_000));
+        for (int i = 1; i < data.size(); i++) {
+            assertTrue(data.get(i).getXValue().longValue() > data.get(i - 1).getXValue().longValue());
+        }
+    }
+
+    @Test
+    void seriesDropsPointsOutsideWindowAndRestartsAfterClear() {
+        DownsampledSeries series = new DownsampledSeries("Час");
+        series.update(range(10), noise(10), 10, 1, 100);
+        assertEquals(10, series.getSeries().getData().size());
+        series.update(new long[]{11, 12}, new double[]{1, 2}, 2, 6, 100);
+        assertEquals(6L, series.getSeries().getData().get(0).getXValue().longValue());
+        assertEquals(7, series.getSeries().getData().size());
+        // Номери почалися спочатку — історію очищено
+        series.update(new long[]{1}, new double[]{5}, 1, 1, 100);
+        assertEquals(1, series.getSeries().getData().size());
+    }
+
+    private static boolean contains(int[] indexes, int index) {
+        for (int value : indexes) {
+            if (value == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Профіль навантаження: розбір запису, кількість користувачів у часі та поділ між виконавцями
+class LoadProfileTest {
+
+    @Test
+    void parsesStagesWithDurationSuffixes() {
+        LoadProfile profile = LoadProfile.parse(" 2m:200, 10m:200;1m:0 ,500ms:5, 1.5s:3 ");
+        assertEquals(List.of(
+                new LoadProfile.Stage(120_000, 200),
+                new LoadProfile.Stage(600_000, 200),
+                new LoadProfile.Stage(60_000, 0),
+                new LoadProfile.Stage(500, 5),
+                new LoadProfile.Stage(1_500, 3)), profile.getStages());
+        assertEquals(782_000, profile.getTotalDurationMillis());
+        assertEquals(200, profile.getMaxUsers());
+    }
+
+    @Test
+    void rejectsInvalidProfiles() {
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.parse("10s"));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.parse(":10"));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.parse("10s:багато"));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.parse("0s:10"));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.parse("10s:-1"));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.parse("10s:0, 5s:0"));
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.parse("x:10"));
+    }
+
+    @Test
+    void interpolatesUsersWithinStages() {
+        LoadProfile profile = LoadProfile.parse("10s:100, 10s:100, 5s:0");
+        assertEquals(0, profile.usersAt(0));
+        assertEquals(25, profile.usersAt(2_500));
+        assertEquals(50, profile.usersAt(5_000));
+        assertEquals(100, profile.usersAt(10_000));
+        assertEquals(100, profile.usersAt(15_000));
+        assertEquals(60, profile.usersAt(22_000));
+        assertEquals(0, profile.usersAt(25_000));
+        // Після завершення — кількість останнього етапу
+        assertEquals(0, profile.usersAt(60_000));
+        assertEquals(0, profile.usersAt(-1));
+    }
+
+    @Test
+    void roundsFractionalUsers() {
+        LoadProfile profile = LoadProfile.parse("3s:1");
+        assertEquals(0, profile.usersAt(1_000));
+        assertEquals(1, profile.usersAt(1_500));
+        assertEquals(1, profile.usersAt(3_000));
+    }
+
+    @Test
+    void findsStageNumbers() {
+        LoadProfile profile = LoadProfile.parse("1s:10, 2s:10, 1s:0");
+        assertEquals(1, profile.stageAt(0));
+        assertEquals(1, profile.stageAt(999));
+        assertEquals(2, profile.stageAt(1_000));
+        assertEquals(3, profile.stageAt(3_500));
+        assertEquals(3, profile.stageAt(10_000));
+        assertEquals(0, profile.startUsers(1));
+        assertEquals(10, profile.startUsers(3));
+        assertEquals("етап 1: 0→10 корист. за 1 с", profile.describeStage(1));
+    }
+
+    @Test
+    void sharesRemainderWithFirstProcesses() {
+        assertEquals(4, LoadProfile.share(10, 0, 3));
+        assertEquals(3, LoadProfile.share(10, 1, 3));
+        assertEquals(3, LoadProfile.share(10, 2, 3));
+        assertEquals(1, LoadProfile.share(2, 1, 3));
+        assertEquals(0, LoadProfile.share(2, 2, 3));
+        // Сума часток завжди дорівнює загальному значенню
+        for (int total = 0; total < 50; total++) {
+            for (int count = 1; count < 8; count++) {
+                int sum = 0;
+                for (int index = 0; index < count; index++) {
+                    sum += LoadProfile.share(total, index, count);
+                }
+                assertEquals(total, sum, total + " на " + count);
+            }
+        }
+    }
+
+    @Test
+    void sharesProfileStagesBetweenWorkers() {
+        LoadProfile profile = LoadProfile.parse("10s:5, 20s:2, 5s:0");
+        LoadProfile first = profile.share(0, 3);
+        LoadProfile last = profile.share(2, 3);
+        assertEquals(List.of(
+                new LoadProfile.Stage(10_000, 2),
+                new LoadProfile.Stage(20_000, 1),
+                new LoadProfile.Stage(5_000, 0)), first.getStages());
+        assertEquals(List.of(
+                new LoadProfile.Stage(10_000, 1),
+                new LoadProfile.Stage(20_000, 0),
+                new LoadProfile.Stage(5_000, 0)), last.getStages());
+        assertEquals(profile.getTotalDurationMillis(), last.getTotalDurationMillis());
+        // Виконавцю без жодного користувача частка не дістається
+        assertNull(LoadProfile.parse("10s:1").share(1, 2));
+    }
+}
@@ -0,0 +1,122 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Підготовлений запит: розбір заголовків і параметрів, кодування URI, підстановка плейсхолдерів і кеш
+class PreparedRequestTest {
+
+    private static TestCase testCase(String url, String headers, String params, String body) {
+        return TestCase.of(url, "POST", headers, params, body, "200");
+    }
+
+    @Test
+    void parsesHeadersOnFirstColon() {
+        Map<String, String> headers = PreparedRequest.parseHeaders(
+                " Content-Type : application/json ;X-Time:12:30:00;; Referer:http://host:8080/a ");
+        assertEquals(List.of("Content-Type", "X-Time", "Referer"), List.copyOf(headers.keySet()));
+        assertEquals("application/json", headers.get("Content-Type"));
+        assertEquals("12:30:00", headers.get("X-Time"));
+        assertEquals("http://host:8080/a", headers.get("Referer"));
+        assertTrue(PreparedRequest.parseHeaders(null).isEmpty());
+        assertTrue(PreparedRequest.parseHeaders("  ").isEmpty());
+    }
+
+    @Test
+    void rejectsMalformedHeaders() {
+        IllegalArgumentException noColon = assertThrows(IllegalArgumentException.class,
+                () -> PreparedRequest.parseHeaders("Accept:*/*;Authorization"));
+        assertTrue(noColon.getMessage().contains("Authorization"), noColon.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> PreparedRequest.parseHeaders(":значення"));
+    }
+
+    @Test
+    void parsesParamsOnFirstEquals() {
+        Map<String, String> params = PreparedRequest.parseParams("q=a=b& flag &&city = Київ&empty=");
+        assertEquals(List.of("q", "flag", "city", "empty"), List.copyOf(params.keySet()));
+        assertEquals("a=b", params.get("q"));
+        assertEquals("", params.get("flag"));
+        assertEquals("Київ", params.get("city"));
+        assertEquals("", params.get("empty"));
+        assertTrue(PreparedRequest.parseParams(null).isEmpty());
+    }
+
+    @Test
+    void encodesParamsIntoUri() {
+        PreparedRequest request = PreparedRequest.compile(
+                testCase("http://localhost/search", "", "q=a b&city=Київ&expr=1+1=2", ""), "");
+        assertEquals("http://localhost/search?q=a+b&city=%D0%9A%D0%B8%D1%97%D0%B2&expr=1%2B1%3D2",
+                request.uri().toString());
+        assertFalse(request.templated());
+
+        // Наявний рядок запиту доповнюється через '&', API Key додається параметром appid
+        PreparedRequest withKey = PreparedRequest.compile(testCase("http://localhost/search?page=2", "", "q=x", ""),
+                " ключ ");
+        assertEquals("http://localhost/search?page=2&q=x&appid=%D0%BA%D0%BB%D1%8E%D1%87", withKey.uri().toString());
+        assertEquals("http://localhost/plain",
+                PreparedRequest.compile(testCase("http://localhost/plain", "", "", ""), null).uri().toString());
+    }
+
+    @Test
+    void resolvesPlaceholdersEverywhere() {
+        PreparedRequest template = PreparedRequest.compile(testCase("http://localhost/users/${id}",
+                "Authorization:Bearer ${token}", "${field}=${value}&fixed=1", "{\"name\":\"${name}\"}"), "");
+        assertTrue(template.templated());
+        assertNull(template.uri()); // URL з плейсхолдерами будується лише після підстановки
+
+        Map<String, String> values = Map.of("id", "7", "token", "abc", "field", "sort", "value", "ім'я",
+                "name", "Олена");
+        PreparedRequest resolved = template.resolve(values::get);
+        assertFalse(resolved.templated());
+        assertEquals("http://localhost/users/7", resolved.url());
+        assertEquals("http://localhost/users/7?sort=%D1%96%D0%BC%27%D1%8F&fixed=1", resolved.uri().toString());
+        assertEquals("Bearer abc", resolved.headers().get("Authorization"));
+        assertEquals("{\"name\":\"Олена\"}", resolved.body());
+        assertArrayEquals("{\"name\":\"Олена\"}".getBytes(StandardCharsets.UTF_8), resolved.bodyBytes());
+
+        // Плейсхолдер без значення лишається як є
+        PreparedRequest header = PreparedRequest.compile(testCase("http://localhost/users",
+                "Authorization:Bearer ${token}", "", ""), "");
+        assertEquals("Bearer ${token}", header.resolve(name -> null).headers().get("Authorization"));
+    }
+
+    @Test
+    void resolveKeepsRequestWithoutPlaceholders() {
+        PreparedRequest request = PreparedRequest.compile(testCase("http://localhost/a", "Accept:*/*", "", "тіло"), "");
+        assertSame(request, request.resolve(name -> "x"));
+        assertThrows(IllegalArgumentException.class,
+                () -> PreparedRequest.compile(TestCase.of("http://localhost/a", "FETCH", "", "", "", "200"), ""));
+    }
+
+    @Test
+    void clearsWholeCacheWhenFull() {
+        TestCase first = testCase("http://localhost/cache/first", "", "", "");
+        PreparedRequest cached = PreparedRequest.of(first, "");
+        assertSame(cached, PreparedRequest.of(TestCase.of("http://localhost/cache/first", "POST", "", "", "", "200"), ""));
+
+        // Заповнюємо кеш до межі (10 000 записів); наступний новий запит очищає кеш повністю
+        int filler = 0;
+        while (PreparedRequest.cacheSize() < 10_000) {
+            PreparedRequest.of(testCase("http://localhost/cache/" + filler++, "", "", ""), "");
+        }
+        PreparedRequest.of(testCase("http://localhost/cache/overflow", "", "", ""), "");
+        assertEquals(1, PreparedRequest.cacheSize());
+
+        PreparedRequest recompiled = PreparedRequest.of(first, "");
+        assertNotSame(cached, recompiled);
+        assertEquals(cached.uri(), recompiled.uri());
+        assertEquals(2, PreparedRequest.cacheSize());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Середні фази запитів: невиміряні фази (-1) не потрапляють у середнє, а повторне використання
+// з'єднань рахується лише там, де транспорт його бачить
+class RequestTimingTest {
+
+    @Test
+    void averagesOnlyMeasuredPhases() {
+        RequestTiming.Averages averages = new RequestTiming.Averages();
+        // Запит через HttpClient: DNS, з'єднання і TLS не вимірюються
+        averages.add(new RequestTiming(-1, -1, -1, 4_000_000, 2_000_000, 6_000_000, false));
+        // Запит через OkHttp з новим з'єднанням
+        averages.add(new RequestTiming(1_000_000, 3_000_000, 0, 2_000_000, 0, 6_000_000, false));
+        // Результат без даних про фази не враховується зовсім
+        averages.add(RequestTiming.NONE);
+
+        assertEquals(1.0, averages.averageMillis(RequestTiming.Averages.DNS), 1e-9);
+        assertEquals(3.0, averages.averageMillis(RequestTiming.Averages.CONNECT), 1e-9);
+        assertEquals(0.0, averages.averageMillis(RequestTiming.Averages.TLS), 1e-9);
+        assertEquals(3.0, averages.averageMillis(RequestTiming.Averages.TTFB), 1e-9);
+        assertEquals(1.0, averages.averageMillis(RequestTiming.Averages.DOWNLOAD), 1e-9);
+        assertTrue(averages.hasReuse());
+        assertEquals(0.0, averages.reusedPercent(), 1e-9);
+    }
+
+    @Test
+    void describesUnmeasuredPhasesAsUnavailable() {
+        RequestTiming.Averages averages = new RequestTiming.Averages();
+        averages.add(new RequestTiming(-1, -1, -1, 4_000_000, 2_000_000, 6_000_000, false));
+
+        String text = averages.describe();
+        assertTrue(text.startsWith("DNS: н/д, з'єднання: н/д, TLS: н/д"), text);
+        assertFalse(text.contains("-0"), text);
+        assertFalse(averages.hasReuse());
+        assertFalse(text.contains("повторне використання"), text);
+    }
+
+    @Test
+    void countsReuseOnlyWhereObserved() {
+        RequestTiming.Averages averages = new RequestTiming.Averages();
+        averages.add(new RequestTiming(-1, -1, -1, 1_000_000, 0, 1_000_000, false));
+        averages.add(new RequestTiming(0, 0, 0, 1_000_000, 0, 1_000_000, true));
+        averages.add(new RequestTiming(1_000_000, 1_000_000, 0, 1_000_000, 0, 3_000_000, false));
+
+        assertEquals(50.0, averages.reusedPercent(), 1e-9);
+        assertTrue(averages.describe().endsWith("повторне використання з'єднань: 50%"), averages.describe());
+    }
+
+    @Test
+    void reportsNoDataWithoutMeasuredResults() {
+        RequestTiming.Averages averages = new RequestTiming.Averages();
+        averages.add(RequestTiming.NONE);
+        assertTrue(averages.isEmpty());
+        assertEquals(-1, averages.averageMillis(RequestTiming.Averages.TTFB));
+        assertEquals("Фази запиту: немає даних", averages.describe());
+    }
+}
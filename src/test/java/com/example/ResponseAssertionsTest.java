@@ -0,0 +1,170 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Перевірки відповіді: потоковий JSONPath (JsonStreamMatcher) і підсумкова перевірка ResponseAssertions
+class ResponseAssertionsTest {
+    private static final String BODY = "{\"data\":{\"items\":[{\"id\":41,\"name\":\"перший\"},"
+            + "{\"id\":42,\"name\":\"другий\",\"price\":1.50}]},\"status\":\"ok\",\"empty\":null}";
+
+    private static final TransportResponse RESPONSE = new TransportResponse(200, 1, RequestTiming.NONE,
+            name -> name.equalsIgnoreCase("Content-Type") ? "application/json; charset=utf-8" : null);
+
+    // Тіло передається порціями по chunkSize байтів, кожна в окремому ByteBuffer
+    private static ResponseBodyConsumer feed(ResponseAssertions assertions, String body, int chunkSize) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        ResponseBodyConsumer consumer = new ResponseBodyConsumer(0, false, assertions);
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            int length = Math.min(chunkSize, bytes.length - offset);
+            ByteBuffer chunk = ByteBuffer.allocate(length).put(bytes, offset, length).flip();
+            consumer.accept(chunk);
+        }
+        return consumer;
+    }
+
+    private static List<String> evaluate(ResponseAssertions assertions, String body, int chunkSize) {
+        return assertions.evaluate(RESPONSE, feed(assertions, body, chunkSize), 10, null);
+    }
+
+    @Test
+    void jsonPathMatchesAcrossBufferBoundaries() {
+        ResponseAssertions assertions = ResponseAssertions.compile(List.of(
+                Assertion.json("$.data.items[1].id", "42"),
+                Assertion.json("$.data.items[*].name", "другий"),
+                Assertion.json("$['status']", "ok"),
+                Assertion.json("$.data.items[1].price", "1.5")));
+        int length = BODY.getBytes(StandardCharsets.UTF_8).length;
+        // Кожен розмір порції ділить назви, числа й багатобайтові символи UTF-8 у різних місцях
+        for (int chunkSize = 1; chunkSize <= length; chunkSize++) {
+            assertEquals(List.of(), evaluate(assertions, BODY, chunkSize), "порції по " + chunkSize + " байтів");
+        }
+    }
+
+    @Test
+    void reportsMismatchedAndMissingPaths() {
+        ResponseAssertions assertions = ResponseAssertions.compile(List.of(
+                Assertion.json("$.data.items[0].id", "42"),
+                Assertion.json("$.data.items[5].id", null),
+                new Assertion(Assertion.JSON, "$.status", null, null, null, false, null, null)));
+        List<String> failures = evaluate(assertions, BODY, 7);
+        assertEquals(List.of(
+                "JSON $.data.items[0].id = 42 (значення інше)",
+                "JSON $.data.items[5].id (шлях не знайдено)",
+                "JSON $.status відсутній (вузол знайдено)"), failures);
+    }
+
+    @Test
+    void matchesRegexOnAnyArrayElement() {
+        ResponseAssertions assertions = ResponseAssertions.compile(List.of(
+                new Assertion(Assertion.JSON, "$.data.items[*].id", null, null, "4[0-9]", null, null, null),
+                new Assertion(Assertion.JSON, "$.data.*[1].name", null, null, "друг.*", null, null, null)));
+        assertEquals(List.of(), evaluate(assertions, BODY, 3));
+    }
+
+    @Test
+    void reportsTruncatedJson() {
+        ResponseAssertions assertions = ResponseAssertions.compile(List.of(Assertion.json("$.status", "ok")));
+        // Тіло обірвано після повного елемента масиву: лексеми коректні, але документ не закрито
+        List<String> failures = evaluate(assertions, BODY.substring(0, BODY.indexOf(",{\"id\":42")), 16);
+        assertEquals(1, failures.size());
+        assertTrue(failures.get(0).startsWith("JSON $.status = ok (некоректний JSON: Unexpected end-of-input"),
+                failures.get(0));
+    }
+
+    @Test
+    void reportsInvalidJson() {
+        ResponseAssertions assertions = ResponseAssertions.compile(List.of(Assertion.json("$.status", "ok")));
+        List<String> failures = evaluate(assertions, "{\"status\" \"ok\"}", 4);
+        assertEquals(1, failures.size());
+        assertTrue(failures.get(0).contains("некоректний JSON"), failures.get(0));
+    }
+
+    @Test
+    void stopsParsingWhenAllChecksDecided() {
+        JsonStreamMatcher matcher = ResponseAssertions.compile(List.of(Assertion.json("$.first", "1")))
+                .newJsonMatcher();
+        // Після вирішення перевірки решта тіла (навіть некоректна) не розбирається
+        matcher.accept("{\"first\":1,".getBytes(StandardCharsets.UTF_8), 0, 11);
+        matcher.accept("це не JSON".getBytes(StandardCharsets.UTF_8), 0, 10);
+        matcher.finish();
+        assertTrue(matcher.isMatched(0));
+        assertNull(matcher.getError());
+    }
+
+    @Test
+    void checksHeaderBodyAndSize() {
+        ResponseAssertions assertions = ResponseAssertions.compile(List.of(
+                new Assertion(Assertion.HEADER, null, "content-type", null, "application/json.*", null, null, null),
+                new Assertion(Assertion.HEADER, null, "X-Missing", null, null, null, null, null),
+                new Assertion(Assertion.BODY, null, null, null, "\"status\":\"o.\"", null, null, null),
+                new Assertion(Assertion.SIZE, null, null, null, null, null, 1L, 10L)));
+        List<String> failures = evaluate(assertions, BODY, 64);
+        assertEquals(2, failures.size());
+        assertEquals("заголовок X-Missing присутній (заголовка немає)", failures.get(0));
+        assertTrue(failures.get(1).startsWith("розмір від 1 до 10 байт"), failures.get(1));
+    }
+
+    @Test
+    void extractsVariablesFromSplitBody() {
+        ResponseAssertions assertions = ResponseAssertions.compile(List.of(), List.of(
+                new Extraction("id", Assertion.JSON, "$.data.items[1].id", null, null),
+                new Extraction("name", Assertion.JSON, "$.data.items[0].name", null, null),
+                new Extraction("type", Assertion.HEADER, null, "Content-Type", null)));
+        Map<String, String> variables = new HashMap<>();
+        List<String> failures = assertions.evaluate(RESPONSE, feed(assertions, BODY, 5), 10, variables);
+        assertEquals(List.of(), failures);
+        assertEquals("42", variables.get("id"));
+        assertEquals("перший", variables.get("name"));
+        assertEquals("application/json; charset=utf-8", variables.get("type"));
+    }
+
+    @Test
+    void parsesPathSegments() {
+        List<ResponseAssertions.PathSegment> path = ResponseAssertions.parsePath("$.data['a.b'][3][*].*");
+        assertEquals(List.of(
+                new ResponseAssertions.PathSegment("data", -1),
+                new ResponseAssertions.PathSegment("a.b", -1),
+                new ResponseAssertions.PathSegment(null, 3),
+                ResponseAssertions.PathSegment.WILDCARD,
+                ResponseAssertions.PathSegment.WILDCARD), path);
+        assertTrue(ResponseAssertions.parsePath("$").isEmpty());
+    }
+
+    @Test
+    void rejectsUnsupportedPaths() {
+        assertThrows(IllegalArgumentException.class, () -> ResponseAssertions.parsePath("data.id"));
+        assertThrows(IllegalArgumentException.class, () -> ResponseAssertions.parsePath("$..id"));
+        assertThrows(IllegalArgumentException.class, () -> ResponseAssertions.parsePath("$.items[-1]"));
+        assertThrows(IllegalArgumentException.class, () -> ResponseAssertions.parsePath("$.items[0"));
+    }
+
+    @Test
+    void rejectsIncompleteAssertions() {
+        assertThrows(IllegalArgumentException.class, () -> ResponseAssertions.compile(List.of(
+                new Assertion(Assertion.JSON, null, null, "1", null, null, null, null))));
+        assertThrows(IllegalArgumentException.class, () -> ResponseAssertions.compile(List.of(
+                new Assertion("xml", "$", null, null, null, null, null, null))));
+    }
+
+    @Test
+    void emptyAssertionsNeedNoMatcher() {
+        ResponseAssertions assertions = ResponseAssertions.compile(List.of());
+        assertTrue(assertions.isEmpty());
+        assertNull(assertions.newJsonMatcher());
+        assertNotNull(ResponseAssertions.compile(List.of(Assertion.json("$.a", null))).newJsonMatcher());
+        assertFalse(ResponseAssertions.compile(List.of(Assertion.json("$.a", null))).isEmpty());
+    }
+}
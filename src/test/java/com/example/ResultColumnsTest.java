@@ -0,0 +1,130 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Стовпцевий кільцевий буфер результатів: перезапис найстаріших записів, номери запусків і копії вікон
+class ResultColumnsTest {
+
+    // Результат, у якому час виконання дорівнює номеру запуску (для перевірки порядку записів)
+    private static TestResult result(long run) {
+        return new TestResult("текст " + run, run, run * 10, run % 2 == 0 ? 200 : 500, 3, 0,
+                RequestTiming.NONE, run % 2 == 0, "тіло", 1, (int) run);
+    }
+
+    private static ResultColumns filled(int capacity, int count) {
+        ResultColumns columns = new ResultColumns(capacity);
+        for (long run = 1; run <= count; run++) {
+            columns.add(1_000 + run, result(run));
+        }
+        return columns;
+    }
+
+    private static long[] times(ResultColumns columns) {
+        return columns.timeTakenValues().toArray();
+    }
+
+    @Test
+    void growsUntilCapacity() {
+        // Початкові масиви менші за capacity і збільшуються під час додавання
+        ResultColumns columns = filled(100, 40);
+        assertEquals(40, columns.size());
+        assertFalse(columns.isFull());
+        assertEquals(1, columns.runNumber(0));
+        assertEquals(40, columns.timeTaken(39));
+        assertEquals(400, columns.responseSize(39));
+        assertEquals(1_040, columns.timestamp(39));
+    }
+
+    @Test
+    void overwritesOldestAfterWrapAround() {
+        ResultColumns columns = filled(5, 12);
+        assertTrue(columns.isFull());
+        assertEquals(5, columns.size());
+        assertArrayEquals(new long[]{8, 9, 10, 11, 12}, times(columns));
+        assertEquals(8, columns.runNumber(0));
+        assertEquals(12, columns.runNumber(4));
+        assertEquals(200, columns.statusCode(0));
+        assertFalse(columns.passed(1));
+        assertEquals(11, columns.activeUsers(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.timeTaken(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.timeTaken(-1));
+    }
+
+    @Test
+    void restoresResultWithoutText() {
+        TestResult restored = filled(3, 4).result(2);
+        assertEquals("", restored.result());
+        assertEquals("", restored.bodyPrefix());
+        assertEquals(4, restored.timeTaken());
+        assertEquals(40, restored.responseSize());
+        assertEquals(200, restored.statusCode());
+        assertTrue(restored.passed());
+        assertEquals(RequestTiming.NONE, restored.timing());
+    }
+
+    @Test
+    void copiesLastRecordsAcrossRingEnd() {
+        ResultColumns columns = filled(5, 12);
+        ResultColumns copy = columns.copyLast(3);
+        assertArrayEquals(new long[]{10, 11, 12}, times(copy));
+        assertEquals(10, copy.runNumber(0));
+        // Копія не залежить від подальших додавань
+        columns.add(0, result(13));
+        assertArrayEquals(new long[]{10, 11, 12}, times(copy));
+        assertEquals(5, columns.copyLast(50).size());
+        assertTrue(columns.copyLast(0).isEmpty());
+    }
+
+    @Test
+    void copiesOnlyRecordsAfterRunNumber() {
+        ResultColumns columns = filled(5, 12);
+        assertArrayEquals(new long[]{11, 12}, times(columns.copyAfter(10, 100)));
+        assertEquals(11, columns.copyAfter(10, 100).runNumber(0));
+        // Не більше count останніх записів і не раніше найстарішого збереженого
+        assertArrayEquals(new long[]{12}, times(columns.copyAfter(10, 1)));
+        assertArrayEquals(new long[]{8, 9, 10, 11, 12}, times(columns.copyAfter(0, 100)));
+        assertTrue(columns.copyAfter(12, 100).isEmpty());
+        assertTrue(columns.copyAfter(20, 100).isEmpty());
+    }
+
+    @Test
+    void viewsLastRecordsWithoutCopying() {
+        ResultColumns columns = filled(5, 12);
+        ResultColumns view = columns.viewLast(4);
+        assertArrayEquals(new long[]{9, 10, 11, 12}, times(view));
+        assertEquals(9, view.runNumber(0));
+        assertEquals(12, view.runNumber(3));
+        assertTrue(columns.viewLast(0).isEmpty());
+        assertEquals(5, columns.viewLast(10).size());
+        // До заповнення буфера вікно починається з початку масивів
+        assertArrayEquals(new long[]{2, 3}, times(filled(10, 3).viewLast(2)));
+    }
+
+    @Test
+    void concatenatesKeepingLastCapacityRecords() {
+        ResultColumns older = filled(4, 6);
+        ResultColumns newer = new ResultColumns(4);
+        for (long run = 7; run <= 9; run++) {
+            newer.add(0, result(run));
+        }
+        ResultColumns merged = ResultColumns.concat(older, newer, 5);
+        assertArrayEquals(new long[]{5, 6, 7, 8, 9}, times(merged));
+        assertEquals(5, merged.runNumber(0));
+        assertTrue(merged.isFull());
+        // Після об'єднання кільце продовжує працювати з новою місткістю
+        merged.add(0, result(10));
+        assertArrayEquals(new long[]{6, 7, 8, 9, 10}, times(merged));
+        assertEquals(6, merged.runNumber(0));
+    }
+
+    @Test
+    void rejectsEmptyCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ResultColumns(0));
+    }
+}
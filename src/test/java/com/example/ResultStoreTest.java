@@ -0,0 +1,145 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Сховище результатів: запис, повторне відкриття і читання, у тому числі після переходу в наступний сегмент
+class ResultStoreTest {
+    @TempDir
+    Path directory;
+
+    private static final TestCase FIRST = TestCase.of("http://localhost/first", "GET", "", "", "", "200");
+    private static final TestCase SECOND = TestCase.of("http://localhost/second", "POST", "", "a=1", "{}", "201");
+
+    // Результат, усі поля якого виводяться з номера запису (для перевірки після читання)
+    private static TestResult result(long n) {
+        RequestTiming timing = n % 3 == 0 ? RequestTiming.NONE
+                : new RequestTiming(n % 7, -1, n % 5, 1000 + n, 2000 + n, 3000 + 10 * n, n % 2 == 0);
+        return new TestResult("не зберігається", n % 1000, 100 + n, n % 2 == 0 ? 200 : 500, (int) (n % 9), n % 11,
+                timing, n % 2 == 0, "", (int) (n % 4), (int) (n % 13));
+    }
+
+    private static long time(long n) {
+        return 1_700_000_000_000L + n;
+    }
+
+    // Запис count результатів, що чергуються між двома тест-кейсами; черга не переповнюється,
+    // бо запис періодично чекає, поки потік запису встигне
+    private static void append(ResultStore store, long from, long count) throws InterruptedException {
+        for (long n = from; n < from + count; n++) {
+            store.append(n % 2 == 0 ? FIRST : SECOND, time(n), result(n));
+            if (n % 10_000 == 0) {
+                store.flush();
+            }
+        }
+        store.flush();
+        assertEquals(0, store.getDroppedCount());
+    }
+
+    // Усі записані результати одного тест-кейсу з номерами, відновленими з часу
+    private static List<Long> readNumbers(ResultStore store, TestCase testCase) throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        store.forEach(testCase::equals, (time, stored) -> {
+            long n = time - time(0);
+            assertResult(n, stored);
+            numbers.add(n);
+        });
+        return numbers;
+    }
+
+    private static void assertResult(long n, TestResult stored) {
+        TestResult expected = result(n);
+        assertEquals("", stored.result());
+        assertEquals(expected.timeTaken(), stored.timeTaken());
+        assertEquals(expected.responseSize(), stored.responseSize());
+        assertEquals(expected.statusCode(), stored.statusCode());
+        assertEquals(expected.headerCount(), stored.headerCount());
+        assertEquals(expected.scheduleDelayMicros(), stored.scheduleDelayMicros());
+        assertEquals(expected.timing(), stored.timing());
+        assertEquals(expected.passed(), stored.passed());
+        assertEquals(expected.loadStage(), stored.loadStage());
+        assertEquals(expected.activeUsers(), stored.activeUsers());
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("segment-")).count();
+        }
+    }
+
+    @Test
+    void readsBackResultsAfterReopening() throws Exception {
+        try (ResultStore store = ResultStore.open(directory)) {
+            append(store, 0, 1000);
+        }
+
+        try (ResultStore store = ResultStore.open(directory)) {
+            assertEquals(1000, store.getStoredCount());
+            assertEquals(List.of(FIRST, SECOND), store.getStoredTestCases());
+            List<Long> numbers = readNumbers(store, SECOND);
+            assertEquals(500, numbers.size());
+            for (int i = 0; i < numbers.size(); i++) {
+                assertEquals(2L * i + 1, numbers.get(i));
+            }
+
+            // Результати попередніх сеансів: останні capacity записів і гістограма за весь час
+            ResultStore.StoredResults previous = store.loadPrevious(FIRST::equals, 100);
+            assertEquals(500, previous.count());
+            assertEquals(500, previous.latencyHistogram().getTotalCount());
+            assertEquals(100, previous.results().size());
+            assertEquals(time(800), previous.results().timestamp(0));
+            assertEquals(time(998), previous.results().timestamp(99));
+            assertResult(998, previous.results().result(99));
+        }
+    }
+
+    @Test
+    void continuesAcrossSegments() throws Exception {
+        // Перший сеанс заповнює сегмент і переходить у другий; другий сеанс дописує в другий сегмент
+        long firstSession = ResultStore.SEGMENT_RECORDS + 1000;
+        try (ResultStore store = ResultStore.open(directory)) {
+            append(store, 0, firstSession);
+        }
+        assertEquals(2, segmentCount());
+
+        try (ResultStore store = ResultStore.open(directory)) {
+            assertEquals(firstSession, store.getStoredCount());
+            append(store, firstSession, 2000);
+            // Записи поточного сеансу доступні через forEach одразу після запису
+            assertEquals((firstSession + 2000) / 2, readNumbers(store, FIRST).size());
+            // loadPrevious бачить лише попередні сеанси
+            assertEquals(firstSession / 2, store.loadPrevious(FIRST::equals, 10).count());
+        }
+        assertEquals(2, segmentCount());
+
+        try (ResultStore store = ResultStore.open(directory)) {
+            long total = firstSession + 2000;
+            assertEquals(total, store.getStoredCount());
+            List<Long> first = readNumbers(store, FIRST);
+            List<Long> second = readNumbers(store, SECOND);
+            assertEquals(total / 2, first.size());
+            assertEquals(total / 2, second.size());
+            // Порядок зберігається і на межі сегментів
+            for (int i = 0; i < first.size(); i++) {
+                assertEquals(2L * i, first.get(i));
+                assertEquals(2L * i + 1, second.get(i));
+            }
+        }
+    }
+
+    @Test
+    void rejectsSegmentsOfAnotherFormat() throws Exception {
+        Files.write(directory.resolve("segment-000000.dat"), new byte[]{'R', 'S', 'T', '1', 0, 0, 0, 0});
+        assertThrows(IOException.class, () -> ResultStore.open(directory));
+    }
+}
@@ -0,0 +1,136 @@
+package com.example;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Сценарії проти сервера-заглушки: значення, отримане з відповіді одного кроку, підставляється в наступний крок,
+// змінні кожного віртуального користувача окремі, а ${vu} та ${iteration} мають правильні значення.
+// Заглушка повертає тіло розміром з параметра size, тому значення змінної видно з розміру відповіді.
+class ScenarioEngineTest {
+    private StubServer stub;
+
+    // Результати кроків у порядку виконання для кожного віртуального користувача (потоку)
+    private final Map<Thread, List<TestResult>> stepsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger passedScenarios = new AtomicInteger();
+    private final AtomicInteger failedScenarios = new AtomicInteger();
+
+    private final ScenarioEngine.ScenarioListener listener = new ScenarioEngine.ScenarioListener() {
+        @Override
+        public void onStep(int step, TestCase testCase, TestResult result) {
+            stepsByUser.computeIfAbsent(Thread.currentThread(), thread -> new ArrayList<>()).add(result);
+        }
+
+        @Override
+        public void onScenario(boolean passed, long durationMicros) {
+            (passed ? passedScenarios : failedScenarios).incrementAndGet();
+        }
+    };
+
+    @BeforeEach
+    void startStub() throws IOException {
+        stub = StubServer.start(0, List.of(StubServer.Route.defaults()));
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.close();
+    }
+
+    private static RunOptions options() {
+        return RunOptions.of("", TransportType.HTTP_CLIENT_1_1.getTransport());
+    }
+
+    private Scenario.Step step(String name, String path, List<Extraction> extract) {
+        return new Scenario.Step(name, TestCase.of(stub.getBaseUrl() + path, "GET", "", "", "", "200"), extract);
+    }
+
+    @Test
+    void passesExtractedValuesToLaterStepsPerUser() {
+        // Крок 1: розмір тіла = ${vu}0${iteration} (користувач 2, ітерація 3 → 203), Content-Length → ${length}.
+        // Крок 2: розмір тіла = ${length}, тобто збігається з кроком 1, якщо змінну отримано й підставлено.
+        // Затримка відповіді не дає першому користувачеві виконати всі екземпляри до старту другого
+        Scenario scenario = new Scenario("вхід і перевірка", Map.of(), List.of(
+                step("вхід", "/login?size=${vu}0${iteration}&delay=20",
+                        List.of(new Extraction("length", Assertion.HEADER, null, "Content-Length", null))),
+                step("перевірка", "/items?size=${length}", List.of())));
+
+        ScenarioEngine.runClosed(scenario, options(), 2, 6, listener, new AtomicBoolean());
+
+        assertEquals(6, passedScenarios.get());
+        assertEquals(0, failedScenarios.get());
+        assertEquals(12, stub.getRequestCount());
+
+        Set<Long> users = new HashSet<>();
+        int steps = 0;
+        for (List<TestResult> results : stepsByUser.values()) {
+            assertEquals(0, results.size() % 2);
+            long user = results.get(0).responseSize() / 100;
+            assertTrue(users.add(user), "користувач " + user + " у двох потоках");
+            for (int i = 0; i < results.size(); i += 2) {
+                TestResult login = results.get(i);
+                TestResult check = results.get(i + 1);
+                assertTrue(login.passed() && check.passed(), login.result() + " / " + check.result());
+                // ${vu} однаковий для всіх екземплярів користувача, ${iteration} зростає з 1
+                assertEquals(user * 100 + i / 2 + 1, login.responseSize());
+                // Значення з кроку 1 цього ж користувача, а не іншого
+                assertEquals(login.responseSize(), check.responseSize());
+            }
+            steps += results.size();
+        }
+        assertEquals(Set.of(1L, 2L), users);
+        assertEquals(12, steps);
+    }
+
+    @Test
+    void startsEachRunWithInitialVariables() {
+        // Крок 2 перезаписує змінну size (7${iteration}), але наступний екземпляр знову починає з початкового значення
+        Scenario scenario = new Scenario("скидання змінних", Map.of("size", "150"), List.of(
+                step("перший", "/first?size=${size}", List.of()),
+                step("другий", "/second?size=7${iteration}",
+                        List.of(new Extraction("size", Assertion.HEADER, null, "Content-Length", null)))));
+
+        ScenarioEngine.runClosed(scenario, options(), 1, 3, listener, new AtomicBoolean());
+
+        assertEquals(3, passedScenarios.get());
+        List<TestResult> results = stepsByUser.values().iterator().next();
+        assertEquals(6, results.size());
+        for (int i = 0; i < results.size(); i += 2) {
+            assertEquals(150, results.get(i).responseSize());
+            assertEquals(71 + i / 2, results.get(i + 1).responseSize());
+        }
+    }
+
+    @Test
+    void stopsRunWhenExtractionFails() {
+        Scenario scenario = new Scenario("без заголовка", Map.of(), List.of(
+                step("вхід", "/login", List.of(new Extraction("token", Assertion.HEADER, null, "X-Token", null))),
+                step("дані", "/data?token=${token}", List.of())));
+
+        ScenarioEngine.runClosed(scenario, options(), 2, 4, listener, new AtomicBoolean());
+
+        assertEquals(0, passedScenarios.get());
+        assertEquals(4, failedScenarios.get());
+        assertEquals(4, stub.getRequestCount()); // Другий крок не виконувався
+        for (List<TestResult> results : stepsByUser.values()) {
+            for (TestResult result : results) {
+                assertFalse(result.passed());
+                assertTrue(result.result().contains("X-Token"), result.result());
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Набір тест-кейсів JSON Lines з індексом зміщень: повторне використання індексу та його перебудова
+class SuiteBundleTest {
+    @TempDir
+    Path directory;
+
+    private static String line(String url) {
+        return "{\"url\":\"" + url + "\",\"method\":\"GET\",\"headers\":\"\",\"params\":\"\",\"body\":\"\","
+                + "\"expectedStatus\":\"200\"}\n";
+    }
+
+    private static List<String> urls(Path bundle) throws IOException {
+        try (SuiteBundle suite = SuiteBundle.open(bundle)) {
+            return suite.stream().map(TestCase::url).toList();
+        }
+    }
+
+    private Path index(Path bundle) {
+        return bundle.resolveSibling(bundle.getFileName() + ".idx");
+    }
+
+    @Test
+    void buildsIndexSkippingBlankLines() throws IOException {
+        Path bundle = directory.resolve("suite.jsonl");
+        Files.writeString(bundle, line("http://a/1") + "\n  \n" + line("http://a/2").replace("\n", "\r\n"));
+        assertEquals(List.of("http://a/1", "http://a/2"), urls(bundle));
+        assertTrue(Files.exists(index(bundle)));
+    }
+
+    @Test
+    void reusesIndexAfterAppend() throws IOException {
+        Path bundle = directory.resolve("suite.jsonl");
+        Files.writeString(bundle, line("http://a/1") + line("http://a/2"));
+        assertEquals(2, urls(bundle).size());
+        long indexSize = Files.size(index(bundle));
+
+        // Доповнення іншою програмою: індекс дочитується з місця, де закінчився
+        Files.writeString(bundle, line("http://a/3"), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        assertEquals(List.of("http://a/1", "http://a/2", "http://a/3"), urls(bundle));
+        assertEquals(indexSize + Long.BYTES, Files.size(index(bundle)));
+    }
+
+    @Test
+    void ignoresUnfinishedLastLineUntilCompleted() throws IOException {
+        Path bundle = directory.resolve("suite.jsonl");
+        String third = line("http://a/3");
+        Files.writeString(bundle, line("http://a/1") + line("http://a/2") + third.substring(0, 20));
+        assertEquals(List.of("http://a/1", "http://a/2"), urls(bundle));
+
+        Files.writeString(bundle, third.substring(20), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        assertEquals(List.of("http://a/1", "http://a/2", "http://a/3"), urls(bundle));
+    }
+
+    @Test
+    void rebuildsIndexAfterInPlaceEdit() throws IOException {
+        Path bundle = directory.resolve("suite.jsonl");
+        Files.writeString(bundle, line("http://a/1") + line("http://a/2") + line("http://a/3"));
+        assertEquals(3, urls(bundle).size());
+
+        // Довжина файлу та сама, але межі рядків зсунулися: перший рядок коротший, другий довший
+        Files.writeString(bundle, line("http://1") + line("http://aaaa/2") + line("http://a/3"));
+        assertEquals(List.of("http://1", "http://aaaa/2", "http://a/3"), urls(bundle));
+    }
+
+    @Test
+    void rebuildsIndexAfterRewriteWithMoreLines() throws IOException {
+        Path bundle = directory.resolve("suite.jsonl");
+        Files.writeString(bundle, line("http://a/1") + line("http://a/2"));
+        assertEquals(2, urls(bundle).size());
+
+        // Файл перезаписано довшим вмістом з іншими межами рядків
+        Files.writeString(bundle, line("http://bb/1") + line("http://bb/2") + line("http://bb/3"));
+        assertEquals(List.of("http://bb/1", "http://bb/2", "http://bb/3"), urls(bundle));
+    }
+
+    @Test
+    void rebuildsIndexAfterTruncation() throws IOException {
+        Path bundle = directory.resolve("suite.jsonl");
+        Files.writeString(bundle, line("http://a/1") + line("http://a/2") + line("http://a/3"));
+        assertEquals(3, urls(bundle).size());
+
+        Files.writeString(bundle, line("http://b/1"));
+        assertEquals(List.of("http://b/1"), urls(bundle));
+    }
+
+    @Test
+    void appendKeepsIndexCurrent() throws IOException {
+        Path bundle = directory.resolve("nested").resolve("suite.jsonl");
+        SuiteBundle.append(bundle, TestCase.of("http://a/1", "GET", "", "", "", "200"));
+        SuiteBundle.append(bundle, TestCase.of("http://a/2", "POST", "", "", "{}", "201"));
+        try (SuiteBundle suite = SuiteBundle.open(bundle)) {
+            assertEquals(2, suite.size());
+            assertEquals("POST", suite.get(1).method());
+            assertEquals("{}", suite.get(1).body());
+        }
+    }
+
+    @Test
+    void reportsLinesTruncatedAfterOpening() throws IOException {
+        Path bundle = directory.resolve("suite.jsonl");
+        Files.writeString(bundle, line("http://a/1") + line("http://a/2"));
+        try (SuiteBundle suite = SuiteBundle.open(bundle)) {
+            Files.writeString(bundle, "");
+            assertThrows(UncheckedIOException.class, () -> suite.get(1));
+            assertThrows(IndexOutOfBoundsException.class, () -> suite.get(2));
+        }
+    }
+
+    @Test
+    void parsesEachTestCaseOncePerOpenedBundle() throws IOException {
+        Path bundle = directory.resolve("suite.jsonl");
+        Files.writeString(bundle, line("http://a/1") + line("http://a/2"));
+        try (SuiteBundle suite = SuiteBundle.open(bundle)) {
+            TestCase first = suite.get(0);
+            // Повторне звернення не читає диск: навіть після скорочення файлу повертається розібраний тест-кейс
+            Files.writeString(bundle, "");
+            assertSame(first, suite.get(0));
+            assertThrows(UncheckedIOException.class, () -> suite.get(1));
+        }
+    }
+}